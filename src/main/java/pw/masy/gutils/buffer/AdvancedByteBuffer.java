@@ -1,7 +1,16 @@
 package pw.masy.gutils.buffer;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.function.Consumer;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -9,15 +18,21 @@ import lombok.Setter;
  * Advanced implementation of a byte buffer with the ability to read and write all primitive data types.
  *
  * <p>Different to the {@link java.nio.ByteBuffer} buffer, the internal array of the buffer will be resized when more space is needed.
- * The minimum resize amount is defined by the {@link #threshold} of the buffer.</p>
+ * The new size is calculated by the {@link #growthPolicy} of the buffer. The minimum resize amount is defined by the {@link #threshold} of the buffer.</p>
+ *
+ * <p>Multi-byte values are stored in the {@link #order} chosen when constructing the buffer, which is big-endian by default.
+ * Arrays stored in the native byte order of the platform are copied as a single block of memory.</p>
  */
 public class AdvancedByteBuffer {
 
-	@Getter private byte[] data;
-	@Getter private int position;
+	private byte[] data;
+	@Getter @Setter(AccessLevel.PACKAGE) private int position;
 	@Getter @Setter private int threshold;
-	@Getter private int limit;
+	@Getter @Setter private GrowthPolicy growthPolicy = GrowthPolicy.FIXED_STEP;
+	@Getter @Setter(AccessLevel.PROTECTED) private int limit;
 	@Getter private final int initialCapacity;
+	@Getter private final ByteOrder order;
+	private final boolean bigEndian;
 
 	/**
 	 * Constructs a new advanced byte buffer with the capacity 0 and threshold 16.
@@ -42,10 +57,28 @@ public class AdvancedByteBuffer {
 	 * @param threshold the threshold of the buffer
 	 */
 	public AdvancedByteBuffer(int capacity, int threshold) {
-		this.data = new byte[capacity];
-		this.initialCapacity = capacity;
-		this.limit = capacity;
-		this.threshold = threshold;
+		this(new byte[capacity], capacity, threshold, ByteOrder.BIG_ENDIAN);
+	}
+
+	/**
+	 * Constructs a new advanced byte buffer with the given capacity, threshold 16 and growth policy.
+	 *
+	 * @param capacity     the original capacity of the buffer
+	 * @param growthPolicy the {@link GrowthPolicy} used when the buffer has to be resized
+	 */
+	public AdvancedByteBuffer(int capacity, GrowthPolicy growthPolicy) {
+		this(capacity, 16);
+		this.growthPolicy = growthPolicy;
+	}
+
+	/**
+	 * Constructs a new advanced byte buffer with the given capacity, threshold 16 and byte order.
+	 *
+	 * @param capacity the original capacity of the buffer
+	 * @param order    the {@link ByteOrder} multi-byte values will be stored in
+	 */
+	public AdvancedByteBuffer(int capacity, ByteOrder order) {
+		this(new byte[capacity], capacity, 16, order);
 	}
 
 	/**
@@ -64,10 +97,35 @@ public class AdvancedByteBuffer {
 	 * @param threshold the threshold of the buffer
 	 */
 	public AdvancedByteBuffer(byte[] data, int threshold) {
-		this.data = data;
-		this.initialCapacity = data.length;
-		this.limit = data.length;
+		this(data, data.length, threshold, ByteOrder.BIG_ENDIAN);
+	}
+
+	/**
+	 * Constructs a new advanced byte buffer with the given data, threshold 16 and byte order.
+	 *
+	 * @param data  the data of the buffer
+	 * @param order the {@link ByteOrder} multi-byte values are stored in
+	 */
+	public AdvancedByteBuffer(byte[] data, ByteOrder order) {
+		this(data, data.length, 16, order);
+	}
+
+	/**
+	 * Constructs a new advanced byte buffer with the given data, capacity, threshold and byte order.<br>
+	 * Subclasses which do not store their content in an array pass <code>null</code> as data and override every storage access method.
+	 *
+	 * @param data      the data of the buffer, can be null
+	 * @param capacity  the original capacity of the buffer
+	 * @param threshold the threshold of the buffer
+	 * @param order     the {@link ByteOrder} multi-byte values are stored in
+	 */
+	protected AdvancedByteBuffer(byte[] data, int capacity, int threshold, ByteOrder order) {
+		this.initialCapacity = capacity;
+		this.limit = capacity;
 		this.threshold = threshold;
+		this.order = order;
+		this.bigEndian = order == ByteOrder.BIG_ENDIAN;
+		this.data = data;
 	}
 
 	/**
@@ -76,12 +134,15 @@ public class AdvancedByteBuffer {
 	 * @param copy the {@link AdvancedByteBuffer} that will be copied
 	 */
 	public AdvancedByteBuffer(AdvancedByteBuffer copy) {
-		this.data = new byte[copy.data.length];
-		System.arraycopy(copy.data, 0, this.data, 0, copy.data.length);
 		this.initialCapacity = copy.initialCapacity;
 		this.limit = copy.limit;
 		this.threshold = copy.threshold;
+		this.growthPolicy = copy.growthPolicy;
+		this.order = copy.order;
+		this.bigEndian = copy.bigEndian;
 		this.position = copy.position;
+		this.data = new byte[copy.getCapacity()];
+		copy.getBytesAt(0, this.data, 0, this.data.length);
 	}
 
 	/**
@@ -100,6 +161,22 @@ public class AdvancedByteBuffer {
 		return this;
 	}
 
+	/**
+	 * Advances the position by the given amount of bytes without reading or writing them.<br>
+	 * This can be used after bytes have been read from or written to a view created by {@link #asByteBuffer()}.
+	 *
+	 * @param bytes the amount of bytes that will be skipped
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @throws IllegalArgumentException when the amount is negative or the new position is behind the capacity of the buffer
+	 */
+	public AdvancedByteBuffer skip(int bytes) {
+		if (bytes < 0 || (long) this.position + bytes > this.getCapacity())
+			throw new IllegalArgumentException("Tried skipping bytes outside of AdvancedByteBuffer.");
+
+		this.position += bytes;
+		return this;
+	}
+
 	/**
 	 * Writes a byte into the buffer.
 	 *
@@ -109,7 +186,7 @@ public class AdvancedByteBuffer {
 	 */
 	public AdvancedByteBuffer writeByte(int data) {
 		this.ensureSpace(1);
-		this.data[this.position++] = (byte) data;
+		this.putByteAt(this.position++, (byte) data);
 		return this;
 	}
 
@@ -126,7 +203,7 @@ public class AdvancedByteBuffer {
 		if (!this.validatePosition(position))
 			throw new IllegalArgumentException("Tried writing byte to AdvancedByteBuffer at invalid position.");
 
-		this.data[position] = (byte) data;
+		this.putByteAt(position, (byte) data);
 		return this;
 	}
 
@@ -139,9 +216,8 @@ public class AdvancedByteBuffer {
 	 */
 	public AdvancedByteBuffer writeByteArrayRaw(byte[] data) {
 		this.ensureSpace(data.length);
-		for (int n = 0; n < data.length; n++) {
-			this.data[this.position++] = data[n];
-		}
+		this.putBytesAt(this.position, data, 0, data.length);
+		this.position += data.length;
 		return this;
 	}
 
@@ -156,10 +232,10 @@ public class AdvancedByteBuffer {
 	 * @see #ensureSpace(int)
 	 */
 	public AdvancedByteBuffer writeByteArrayRaw(byte[] data, int start, int end) {
-		this.ensureSpace(end - start + 1);
-		for (int n = start; n <= end; n++) {
-			this.data[this.position++] = data[n];
-		}
+		int length = end - start + 1;
+		this.ensureSpace(length);
+		this.putBytesAt(this.position, data, start, length);
+		this.position += length;
 		return this;
 	}
 
@@ -173,7 +249,7 @@ public class AdvancedByteBuffer {
 	 * @see #writeByteArrayRaw(byte[])
 	 */
 	public AdvancedByteBuffer writeByteArray(byte[] data) {
-		this.ensureSpace(4);
+		this.ensureSpace(5 + data.length);
 		this.writeVarInt(data.length);
 		return this.writeByteArrayRaw(data);
 	}
@@ -191,7 +267,7 @@ public class AdvancedByteBuffer {
 	 * @see #writeByteArrayRaw(byte[], int, int)
 	 */
 	public AdvancedByteBuffer writeByteArray(byte[] data, int start, int end) {
-		this.ensureSpace(4);
+		this.ensureSpace(5 + end - start + 1);
 		this.writeVarInt(end - start + 1);
 		return this.writeByteArrayRaw(data, start, end);
 	}
@@ -215,11 +291,42 @@ public class AdvancedByteBuffer {
 	 * @see #writeByte(int)
 	 */
 	public AdvancedByteBuffer writeUnsignedVarInt(int data) {
+		this.ensureSpace(varIntSize(data));
 		while ((data & 0xFFFFFF80) != 0L) {
-			this.writeByte((data & 0x7F) | 0x80);
+			this.putByteAt(this.position++, (byte) ((data & 0x7F) | 0x80));
+			data >>>= 7;
+		}
+		this.putByteAt(this.position++, (byte) data);
+		return this;
+	}
+
+	/**
+	 * Writes a long as zigzag encoded var long into the buffer.<br>
+	 * Small positive and negative values need only a few bytes, a long needs 10 bytes at most.
+	 *
+	 * @param data the long that will be written
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @see #writeUnsignedVarLong(long)
+	 */
+	public AdvancedByteBuffer writeVarLong(long data) {
+		return this.writeUnsignedVarLong((data << 1) ^ (data >> 63));
+	}
+
+	/**
+	 * Writes a long as unsigned var long into the buffer.
+	 *
+	 * @param data the long that will be written
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @see #ensureSpace(int)
+	 */
+	public AdvancedByteBuffer writeUnsignedVarLong(long data) {
+		this.ensureSpace(varLongSize(data));
+		while ((data & 0xFFFFFFFFFFFFFF80L) != 0L) {
+			this.putByteAt(this.position++, (byte) ((data & 0x7F) | 0x80));
 			data >>>= 7;
 		}
-		return this.writeByte(data & 0x7F);
+		this.putByteAt(this.position++, (byte) data);
+		return this;
 	}
 
 	/**
@@ -372,6 +479,354 @@ public class AdvancedByteBuffer {
 		return this.writeUnsignedVarIntArrayRaw(data, start, end);
 	}
 
+	/**
+	 * Writes the length and the long array itself as var long array into the buffer.
+	 *
+	 * @param data the long array that will be written
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @see #writeVarInt(int)
+	 * @see #writeVarLong(long)
+	 */
+	public AdvancedByteBuffer writeVarLongArray(long[] data) {
+		this.writeVarInt(data.length);
+		for (int n = 0; n < data.length; n++) {
+			this.writeVarLong(data[n]);
+		}
+		return this;
+	}
+
+	/**
+	 * Writes the int array as group var int array into the buffer.
+	 *
+	 * <p>The ints are written in groups of four. Every group starts with a tag byte holding the byte count of each int in two bits,
+	 * followed by the ints using only as many bytes as needed in the byte order of the buffer.
+	 * The ints are treated as unsigned, so negative values always need four bytes.
+	 * Compared to {@link #writeUnsignedVarIntArrayRaw(int[])} the ints are slightly bigger, but can be read without branching on every byte.</p>
+	 *
+	 * @param data the int array that will be written
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @see #readGroupVarIntArray(int[])
+	 */
+	public AdvancedByteBuffer writeGroupVarIntArrayRaw(int[] data) {
+		int size = (data.length + 3) >> 2;
+		for (int n = 0; n < data.length; n++) {
+			size += groupVarIntSize(data[n]);
+		}
+		this.ensureSpace(size);
+
+		for (int group = 0; group < data.length; group += 4) {
+			int tagPosition = this.position++;
+			int tag = 0;
+			for (int n = 0; n < 4 && group + n < data.length; n++) {
+				int value = data[group + n];
+				int bytes = groupVarIntSize(value);
+				tag |= (bytes - 1) << (n << 1);
+				if (this.bigEndian) {
+					for (int shift = (bytes - 1) << 3; shift >= 0; shift -= 8) {
+						this.putByteAt(this.position++, (byte) (value >>> shift));
+					}
+				} else {
+					for (int shift = 0; shift < bytes << 3; shift += 8) {
+						this.putByteAt(this.position++, (byte) (value >>> shift));
+					}
+				}
+			}
+			this.putByteAt(tagPosition, (byte) tag);
+		}
+		return this;
+	}
+
+	/**
+	 * Writes the length and the int array itself as group var int array into the buffer.
+	 *
+	 * @param data the int array that will be written
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @see #writeVarInt(int)
+	 * @see #writeGroupVarIntArrayRaw(int[])
+	 */
+	public AdvancedByteBuffer writeGroupVarIntArray(int[] data) {
+		this.writeVarInt(data.length);
+		return this.writeGroupVarIntArrayRaw(data);
+	}
+
+	/**
+	 * Writes the lowest <code>bitsPerValue</code> bits of every int of the given array into the buffer without any padding between them.<br>
+	 * The packed ints take <code>ceil(values.length * bitsPerValue / 8)</code> bytes. The length of the array is not written.
+	 *
+	 * @param values       the int array that will be packed
+	 * @param bitsPerValue the amount of bits of every int, between 1 and 32
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @throws IllegalArgumentException when the amount of bits is not between 1 and 32
+	 * @see BitWriter
+	 */
+	public AdvancedByteBuffer packInts(int[] values, int bitsPerValue) {
+		if (bitsPerValue < 1 || bitsPerValue > 32)
+			throw new IllegalArgumentException("Tried packing ints with " + bitsPerValue + " bits into AdvancedByteBuffer.");
+
+		this.ensureSpace((int) (((long) values.length * bitsPerValue + 7) >>> 3));
+		BitWriter writer = new BitWriter(this);
+		for (int n = 0; n < values.length; n++) {
+			writer.writeBits(values[n], bitsPerValue);
+		}
+		return writer.flush();
+	}
+
+	/**
+	 * Writes the length, the first int and the differences between all following ints of the array as var ints into the buffer.<br>
+	 * Sorted or slowly changing values like ids need only one or two bytes per int this way.
+	 *
+	 * @param data the int array that will be written
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @see #writeVarInt(int)
+	 * @see #readDeltaIntArray()
+	 */
+	public AdvancedByteBuffer writeDeltaIntArray(int[] data) {
+		this.writeVarInt(data.length);
+		int previous = 0;
+		for (int n = 0; n < data.length; n++) {
+			this.writeVarInt(data[n] - previous);
+			previous = data[n];
+		}
+		return this;
+	}
+
+	/**
+	 * Writes the length, the first long and the differences between all following longs of the array as var longs into the buffer.
+	 *
+	 * @param data the long array that will be written
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @see #writeVarLong(long)
+	 * @see #readDeltaLongArray()
+	 */
+	public AdvancedByteBuffer writeDeltaLongArray(long[] data) {
+		this.writeVarInt(data.length);
+		long previous = 0;
+		for (int n = 0; n < data.length; n++) {
+			this.writeVarLong(data[n] - previous);
+			previous = data[n];
+		}
+		return this;
+	}
+
+	/**
+	 * Writes the length, the first int, the first difference and the changes between all following differences of the array
+	 * as var ints into the buffer.<br>
+	 * Values changing at a nearly constant rate like positions need about one byte per int this way.
+	 *
+	 * @param data the int array that will be written
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @see #writeVarInt(int)
+	 * @see #readDeltaOfDeltaIntArray()
+	 */
+	public AdvancedByteBuffer writeDeltaOfDeltaIntArray(int[] data) {
+		this.writeVarInt(data.length);
+		int previous = 0;
+		int previousDelta = 0;
+		for (int n = 0; n < data.length; n++) {
+			int delta = data[n] - previous;
+			this.writeVarInt(delta - previousDelta);
+			previous = data[n];
+			previousDelta = delta;
+		}
+		return this;
+	}
+
+	/**
+	 * Writes the length, the first long, the first difference and the changes between all following differences of the array
+	 * as var longs into the buffer.<br>
+	 * Timestamps recorded at a nearly constant rate need about one byte per long this way.
+	 *
+	 * @param data the long array that will be written
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @see #writeVarLong(long)
+	 * @see #readDeltaOfDeltaLongArray()
+	 */
+	public AdvancedByteBuffer writeDeltaOfDeltaLongArray(long[] data) {
+		this.writeVarInt(data.length);
+		long previous = 0;
+		long previousDelta = 0;
+		for (int n = 0; n < data.length; n++) {
+			long delta = data[n] - previous;
+			this.writeVarLong(delta - previousDelta);
+			previous = data[n];
+			previousDelta = delta;
+		}
+		return this;
+	}
+
+	/**
+	 * Writes the int array with frame-of-reference encoding into the buffer.
+	 *
+	 * <p>The length, the smallest int and the amount of bits needed for the difference between the smallest and the biggest int are written first.
+	 * Afterwards the difference of every int to the smallest int is packed with that amount of bits.
+	 * Values within a small range need only a few bits per int this way, no matter how big they are.</p>
+	 *
+	 * @param data the int array that will be written
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @see #packInts(int[], int)
+	 * @see #readFrameOfReferenceIntArray()
+	 */
+	public AdvancedByteBuffer writeFrameOfReferenceIntArray(int[] data) {
+		int min = Integer.MAX_VALUE;
+		int max = Integer.MIN_VALUE;
+		for (int n = 0; n < data.length; n++) {
+			min = Math.min(min, data[n]);
+			max = Math.max(max, data[n]);
+		}
+
+		this.writeVarInt(data.length);
+		if (data.length == 0)
+			return this;
+
+		int bits = 64 - Long.numberOfLeadingZeros((long) max - min);
+		this.writeVarInt(min);
+		this.writeByte(bits);
+		if (bits == 0)
+			return this;
+
+		this.ensureSpace((int) (((long) data.length * bits + 7) >>> 3));
+		BitWriter writer = new BitWriter(this);
+		for (int n = 0; n < data.length; n++) {
+			writer.writeBits(data[n] - min, bits);
+		}
+		return writer.flush();
+	}
+
+	/**
+	 * Writes the long array with frame-of-reference encoding into the buffer.
+	 *
+	 * @param data the long array that will be written
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @see #writeFrameOfReferenceIntArray(int[])
+	 * @see #readFrameOfReferenceLongArray()
+	 */
+	public AdvancedByteBuffer writeFrameOfReferenceLongArray(long[] data) {
+		long min = Long.MAX_VALUE;
+		long max = Long.MIN_VALUE;
+		for (int n = 0; n < data.length; n++) {
+			min = Math.min(min, data[n]);
+			max = Math.max(max, data[n]);
+		}
+
+		this.writeVarInt(data.length);
+		if (data.length == 0)
+			return this;
+
+		int bits = 64 - Long.numberOfLeadingZeros(max - min);
+		this.writeVarLong(min);
+		this.writeByte(bits);
+		if (bits == 0)
+			return this;
+
+		this.ensureSpace((int) (((long) data.length * bits + 7) >>> 3));
+		BitWriter writer = new BitWriter(this);
+		for (int n = 0; n < data.length; n++) {
+			writer.writeBits(data[n] - min, bits);
+		}
+		return writer.flush();
+	}
+
+	/**
+	 * Writes a float as IEEE 754 half-precision float into the buffer.<br>
+	 * The float is rounded to about 3 significant decimal digits, values above 65504 become infinity.
+	 *
+	 * @param data the float that will be written
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @see #ensureSpace(int)
+	 */
+	public AdvancedByteBuffer writeHalfFloat(float data) {
+		this.ensureSpace(2);
+		this.putShortAt(this.position, HalfFloat.fromFloat(data));
+		this.position += 2;
+		return this;
+	}
+
+	/**
+	 * Writes a float array as half-precision float array into the buffer.
+	 *
+	 * @param data the float array that will be written
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @see #writeHalfFloat(float)
+	 */
+	public AdvancedByteBuffer writeHalfFloatArrayRaw(float[] data) {
+		this.ensureSpace(data.length * 2);
+		for (int n = 0; n < data.length; n++) {
+			this.putShortAt(this.position, HalfFloat.fromFloat(data[n]));
+			this.position += 2;
+		}
+		return this;
+	}
+
+	/**
+	 * Writes the length and the float array itself as half-precision float array into the buffer.
+	 *
+	 * @param data the float array that will be written
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @see #writeVarInt(int)
+	 * @see #writeHalfFloatArrayRaw(float[])
+	 */
+	public AdvancedByteBuffer writeHalfFloatArray(float[] data) {
+		this.writeVarInt(data.length);
+		return this.writeHalfFloatArrayRaw(data);
+	}
+
+	/**
+	 * Writes a float between the given minimum and maximum quantized to the given amount of bits into the buffer.<br>
+	 * The range is divided into <code>2<sup>bits</sup> - 1</code> equal steps and the float is rounded to the nearest step.
+	 * Floats outside of the range are clamped. The quantized float takes <code>ceil(bits / 8)</code> bytes.
+	 *
+	 * @param data the float that will be written
+	 * @param min  the minimum of the range
+	 * @param max  the maximum of the range
+	 * @param bits the amount of bits of the quantized float, between 1 and 32
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @throws IllegalArgumentException when the amount of bits is not between 1 and 32 or the range is empty
+	 * @see BitWriter
+	 */
+	public AdvancedByteBuffer writeQuantizedFloat(float data, float min, float max, int bits) {
+		double scale = quantizationSteps(min, max, bits) / ((double) max - min);
+		return new BitWriter(this).writeBits(quantize(data, min, scale, bits), bits).flush();
+	}
+
+	/**
+	 * Writes a float array quantized to the given amount of bits per float into the buffer without any padding between the floats.
+	 *
+	 * @param data the float array that will be written
+	 * @param min  the minimum of the range
+	 * @param max  the maximum of the range
+	 * @param bits the amount of bits of every quantized float, between 1 and 32
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @throws IllegalArgumentException when the amount of bits is not between 1 and 32 or the range is empty
+	 * @see #writeQuantizedFloat(float, float, float, int)
+	 */
+	public AdvancedByteBuffer writeQuantizedFloatArrayRaw(float[] data, float min, float max, int bits) {
+		double scale = quantizationSteps(min, max, bits) / ((double) max - min);
+		this.ensureSpace((int) (((long) data.length * bits + 7) >>> 3));
+		BitWriter writer = new BitWriter(this);
+		for (int n = 0; n < data.length; n++) {
+			writer.writeBits(quantize(data[n], min, scale, bits), bits);
+		}
+		return writer.flush();
+	}
+
+	/**
+	 * Writes the length and the float array itself quantized to the given amount of bits per float into the buffer.
+	 *
+	 * @param data the float array that will be written
+	 * @param min  the minimum of the range
+	 * @param max  the maximum of the range
+	 * @param bits the amount of bits of every quantized float, between 1 and 32
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @throws IllegalArgumentException when the amount of bits is not between 1 and 32 or the range is empty
+	 * @see #writeVarInt(int)
+	 * @see #writeQuantizedFloatArrayRaw(float[], float, float, int)
+	 */
+	public AdvancedByteBuffer writeQuantizedFloatArray(float[] data, float min, float max, int bits) {
+		quantizationSteps(min, max, bits);
+		this.writeVarInt(data.length);
+		return this.writeQuantizedFloatArrayRaw(data, min, max, bits);
+	}
+
 	/**
 	 * Writes a char into the buffer.
 	 *
@@ -381,7 +836,7 @@ public class AdvancedByteBuffer {
 	 */
 	public AdvancedByteBuffer writeChar(char data) {
 		this.ensureSpace(1);
-		this.data[this.position++] = (byte) data;
+		this.putByteAt(this.position++, (byte) data);
 		return this;
 	}
 
@@ -398,7 +853,7 @@ public class AdvancedByteBuffer {
 		if (!this.validatePosition(position))
 			throw new IllegalArgumentException("Tried writing char to AdvancedByteBuffer at invalid position.");
 
-		this.data[position] = (byte) data;
+		this.putByteAt(position, (byte) data);
 		return this;
 	}
 
@@ -412,7 +867,7 @@ public class AdvancedByteBuffer {
 	public AdvancedByteBuffer writeCharArrayRaw(char[] data) {
 		this.ensureSpace(data.length);
 		for (int n = 0; n < data.length; n++) {
-			this.data[this.position++] = (byte) data[n];
+			this.putByteAt(this.position++, (byte) data[n]);
 		}
 		return this;
 	}
@@ -430,7 +885,7 @@ public class AdvancedByteBuffer {
 	public AdvancedByteBuffer writeCharArrayRaw(char[] data, int start, int end) {
 		this.ensureSpace(end - start + 1);
 		for (int n = start; n <= end; n++) {
-			this.data[this.position++] = (byte) data[n];
+			this.putByteAt(this.position++, (byte) data[n]);
 		}
 		return this;
 	}
@@ -469,13 +924,17 @@ public class AdvancedByteBuffer {
 	}
 
 	/**
-	 * Writes the given string with the given charset into the buffer.
+	 * Writes the given string with the given charset into the buffer.<br>
+	 * UTF-8 strings are encoded directly into the storage of the buffer.
 	 *
 	 * @param value the string that will be written
 	 * @param charset the charset that will be used to convert the string to bytes
 	 * @return the instance of the {@link AdvancedByteBuffer}
 	 */
 	public AdvancedByteBuffer writeString(String value, Charset charset) {
+		if (StandardCharsets.UTF_8.equals(charset))
+			return this.writeString(value);
+
 		byte[] bytes = value.getBytes(charset);
 		this.ensureSpace(bytes.length);
 		return this.writeByteArray(bytes);
@@ -486,9 +945,30 @@ public class AdvancedByteBuffer {
 	 *
 	 * @param value the string that will be written
 	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @see #writeString(CharSequence)
 	 */
 	public AdvancedByteBuffer writeString(String value) {
-		return this.writeString(value, Charset.forName("UTF-8"));
+		return this.writeString((CharSequence) value);
+	}
+
+	/**
+	 * Writes the given characters with the UTF-8 charset into the buffer.
+	 *
+	 * <p>The characters are encoded directly into the storage of the buffer without creating a string or byte array.
+	 * The result is the same as writing <code>value.toString()</code> with {@link #writeString(String)},
+	 * unpaired surrogates are replaced with <code>'?'</code>.</p>
+	 *
+	 * @param value the characters that will be written
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @see #writeVarInt(int)
+	 */
+	public AdvancedByteBuffer writeString(CharSequence value) {
+		int length = utf8Length(value);
+		this.ensureSpace(5 + length);
+		this.writeVarInt(length);
+		this.putUtf8At(this.position, value);
+		this.position += length;
+		return this;
 	}
 
 	/**
@@ -500,7 +980,7 @@ public class AdvancedByteBuffer {
 	 */
 	public AdvancedByteBuffer writeBoolean(boolean data) {
 		this.ensureSpace(1);
-		this.data[this.position++] = data ? (byte) 1 : 0;
+		this.putByteAt(this.position++, data ? (byte) 1 : 0);
 		return this;
 	}
 
@@ -517,7 +997,7 @@ public class AdvancedByteBuffer {
 		if (!this.validatePosition(position))
 			throw new IllegalArgumentException("Tried writing boolean to AdvancedByteBuffer at invalid position.");
 
-		this.data[position] = data ? (byte) 1 : 0;
+		this.putByteAt(position, data ? (byte) 1 : 0);
 		return this;
 	}
 
@@ -531,7 +1011,7 @@ public class AdvancedByteBuffer {
 	public AdvancedByteBuffer writeBooleanArrayRaw(boolean[] data) {
 		this.ensureSpace(data.length);
 		for (int n = 0; n < data.length; n++) {
-			this.data[this.position++] = data[n] ? (byte) 1 : 0;
+			this.putByteAt(this.position++, data[n] ? (byte) 1 : 0);
 		}
 		return this;
 	}
@@ -549,7 +1029,7 @@ public class AdvancedByteBuffer {
 	public AdvancedByteBuffer writeBooleanArrayRaw(boolean[] data, int start, int end) {
 		this.ensureSpace((end - start + 1));
 		for (int n = start; n <= end; n++) {
-			this.data[this.position++] = data[n] ? (byte) 1 : 0;
+			this.putByteAt(this.position++, data[n] ? (byte) 1 : 0);
 		}
 		return this;
 	}
@@ -596,8 +1076,8 @@ public class AdvancedByteBuffer {
 	 */
 	public AdvancedByteBuffer writeShort(short data) {
 		this.ensureSpace(2);
-		this.data[this.position++] = (byte) (data >> 8);
-		this.data[this.position++] = (byte) (data & 0xFF);
+		this.putShortAt(this.position, data);
+		this.position += 2;
 		return this;
 	}
 
@@ -614,8 +1094,7 @@ public class AdvancedByteBuffer {
 		if (!this.validateArea(position, 2))
 			throw new IllegalArgumentException("Tried writing short to AdvancedByteBuffer at invalid position.");
 
-		this.data[position] = (byte) (data >> 8);
-		this.data[position + 1] = (byte) (data & 0xFF);
+		this.putShortAt(position, data);
 		return this;
 	}
 
@@ -628,10 +1107,8 @@ public class AdvancedByteBuffer {
 	 */
 	public AdvancedByteBuffer writeShortArrayRaw(short[] data) {
 		this.ensureSpace(data.length * 2);
-		for (int n = 0; n < data.length; n++) {
-			this.data[this.position++] = (byte) (data[n] >> 8);
-			this.data[this.position++] = (byte) (data[n] & 0xFF);
-		}
+		this.putShortsAt(this.position, data, 0, data.length);
+		this.position += data.length * 2;
 		return this;
 	}
 
@@ -646,11 +1123,10 @@ public class AdvancedByteBuffer {
 	 * @see #ensureSpace(int)
 	 */
 	public AdvancedByteBuffer writeShortArrayRaw(short[] data, int start, int end) {
-		this.ensureSpace((end - start + 1) * 2);
-		for (int n = start; n <= end; n++) {
-			this.data[this.position++] = (byte) (data[n] >> 8);
-			this.data[this.position++] = (byte) (data[n] & 0xFF);
-		}
+		int length = end - start + 1;
+		this.ensureSpace(length * 2);
+		this.putShortsAt(this.position, data, start, length);
+		this.position += length * 2;
 		return this;
 	}
 
@@ -696,10 +1172,8 @@ public class AdvancedByteBuffer {
 	 */
 	public AdvancedByteBuffer writeInt(int data) {
 		this.ensureSpace(4);
-		this.data[this.position++] = (byte) (data >> 24);
-		this.data[this.position++] = (byte) ((data >> 16) & 0xFF);
-		this.data[this.position++] = (byte) ((data >> 8) & 0xFF);
-		this.data[this.position++] = (byte) (data & 0xFF);
+		this.putIntAt(this.position, data);
+		this.position += 4;
 		return this;
 	}
 
@@ -716,10 +1190,7 @@ public class AdvancedByteBuffer {
 		if (!this.validateArea(position, 4))
 			throw new IllegalArgumentException("Tried writing int to AdvancedByteBuffer at invalid position.");
 
-		this.data[position] = (byte) (data >> 24);
-		this.data[position + 1] = (byte) ((data >> 16) & 0xFF);
-		this.data[position + 2] = (byte) ((data >> 8) & 0xFF);
-		this.data[position + 3] = (byte) (data & 0xFF);
+		this.putIntAt(position, data);
 		return this;
 	}
 
@@ -732,12 +1203,8 @@ public class AdvancedByteBuffer {
 	 */
 	public AdvancedByteBuffer writeIntArrayRaw(int[] data) {
 		this.ensureSpace(data.length * 4);
-		for (int n = 0; n < data.length; n++) {
-			this.data[this.position++] = (byte) (data[n] >> 24);
-			this.data[this.position++] = (byte) ((data[n] >> 16) & 0xFF);
-			this.data[this.position++] = (byte) ((data[n] >> 8) & 0xFF);
-			this.data[this.position++] = (byte) (data[n] & 0xFF);
-		}
+		this.putIntsAt(this.position, data, 0, data.length);
+		this.position += data.length * 4;
 		return this;
 	}
 
@@ -752,13 +1219,10 @@ public class AdvancedByteBuffer {
 	 * @see #ensureSpace(int)
 	 */
 	public AdvancedByteBuffer writeIntArrayRaw(int[] data, int start, int end) {
-		this.ensureSpace((end - start + 1) * 4);
-		for (int n = start; n <= end; n++) {
-			this.data[this.position++] = (byte) (data[n] >> 24);
-			this.data[this.position++] = (byte) ((data[n] >> 16) & 0xFF);
-			this.data[this.position++] = (byte) ((data[n] >> 8) & 0xFF);
-			this.data[this.position++] = (byte) (data[n] & 0xFF);
-		}
+		int length = end - start + 1;
+		this.ensureSpace(length * 4);
+		this.putIntsAt(this.position, data, start, length);
+		this.position += length * 4;
 		return this;
 	}
 
@@ -804,14 +1268,8 @@ public class AdvancedByteBuffer {
 	 */
 	public AdvancedByteBuffer writeLong(long data) {
 		this.ensureSpace(8);
-		this.data[this.position++] = (byte) ((data >> 56) & 0xFF);
-		this.data[this.position++] = (byte) ((data >> 48) & 0xFF);
-		this.data[this.position++] = (byte) ((data >> 40) & 0xFF);
-		this.data[this.position++] = (byte) ((data >> 32) & 0xFF);
-		this.data[this.position++] = (byte) ((data >> 24) & 0xFF);
-		this.data[this.position++] = (byte) ((data >> 16) & 0xFF);
-		this.data[this.position++] = (byte) ((data >> 8) & 0xFF);
-		this.data[this.position++] = (byte) (data & 0xFF);
+		this.putLongAt(this.position, data);
+		this.position += 8;
 		return this;
 	}
 
@@ -828,14 +1286,7 @@ public class AdvancedByteBuffer {
 		if (!this.validateArea(position, 8))
 			throw new IllegalArgumentException("Tried writing long to AdvancedByteBuffer at invalid position.");
 
-		this.data[position] = (byte) ((data >> 56) & 0xFF);
-		this.data[position + 1] = (byte) ((data >> 48) & 0xFF);
-		this.data[position + 2] = (byte) ((data >> 40) & 0xFF);
-		this.data[position + 3] = (byte) ((data >> 32) & 0xFF);
-		this.data[position + 4] = (byte) ((data >> 24) & 0xFF);
-		this.data[position + 5] = (byte) ((data >> 16) & 0xFF);
-		this.data[position + 6] = (byte) ((data >> 8) & 0xFF);
-		this.data[position + 7] = (byte) (data & 0xFF);
+		this.putLongAt(position, data);
 		return this;
 	}
 
@@ -848,16 +1299,8 @@ public class AdvancedByteBuffer {
 	 */
 	public AdvancedByteBuffer writeLongArrayRaw(long[] data) {
 		this.ensureSpace(data.length * 8);
-		for (int n = 0; n < data.length; n++) {
-			this.data[this.position++] = (byte) ((data[n] >> 56) & 0xFF);
-			this.data[this.position++] = (byte) ((data[n] >> 48) & 0xFF);
-			this.data[this.position++] = (byte) ((data[n] >> 40) & 0xFF);
-			this.data[this.position++] = (byte) ((data[n] >> 32) & 0xFF);
-			this.data[this.position++] = (byte) ((data[n] >> 24) & 0xFF);
-			this.data[this.position++] = (byte) ((data[n] >> 16) & 0xFF);
-			this.data[this.position++] = (byte) ((data[n] >> 8) & 0xFF);
-			this.data[this.position++] = (byte) (data[n] & 0xFF);
-		}
+		this.putLongsAt(this.position, data, 0, data.length);
+		this.position += data.length * 8;
 		return this;
 	}
 
@@ -872,17 +1315,10 @@ public class AdvancedByteBuffer {
 	 * @see #ensureSpace(int)
 	 */
 	public AdvancedByteBuffer writeLongArrayRaw(long[] data, int start, int end) {
-		this.ensureSpace((end - start + 1) * 8);
-		for (int n = start; n <= end; n++) {
-			this.data[this.position++] = (byte) ((data[n] >> 56) & 0xFF);
-			this.data[this.position++] = (byte) ((data[n] >> 48) & 0xFF);
-			this.data[this.position++] = (byte) ((data[n] >> 40) & 0xFF);
-			this.data[this.position++] = (byte) ((data[n] >> 32) & 0xFF);
-			this.data[this.position++] = (byte) ((data[n] >> 24) & 0xFF);
-			this.data[this.position++] = (byte) ((data[n] >> 16) & 0xFF);
-			this.data[this.position++] = (byte) ((data[n] >> 8) & 0xFF);
-			this.data[this.position++] = (byte) (data[n] & 0xFF);
-		}
+		int length = end - start + 1;
+		this.ensureSpace(length * 8);
+		this.putLongsAt(this.position, data, start, length);
+		this.position += length * 8;
 		return this;
 	}
 
@@ -944,11 +1380,7 @@ public class AdvancedByteBuffer {
 		if (!this.validateArea(position, 4))
 			throw new IllegalArgumentException("Tried writing float to AdvancedByteBuffer at invalid position.");
 
-		int floatBits = Float.floatToIntBits(data);
-		this.data[position] = (byte) (floatBits >> 24);
-		this.data[position + 1] = (byte) ((floatBits >> 16) & 0xFF);
-		this.data[position + 2] = (byte) ((floatBits >> 8) & 0xFF);
-		this.data[position + 3] = (byte) (floatBits & 0xFF);
+		this.putIntAt(position, Float.floatToIntBits(data));
 		return this;
 	}
 
@@ -961,14 +1393,8 @@ public class AdvancedByteBuffer {
 	 */
 	public AdvancedByteBuffer writeFloatArrayRaw(float[] data) {
 		this.ensureSpace(data.length * 4);
-		int floatBits;
-		for (int n = 0; n < data.length; n++) {
-			floatBits = Float.floatToIntBits(data[n]);
-			this.data[this.position++] = (byte) (floatBits >> 24);
-			this.data[this.position++] = (byte) ((floatBits >> 16) & 0xFF);
-			this.data[this.position++] = (byte) ((floatBits >> 8) & 0xFF);
-			this.data[this.position++] = (byte) (floatBits & 0xFF);
-		}
+		this.putFloatsAt(this.position, data, 0, data.length);
+		this.position += data.length * 4;
 		return this;
 	}
 
@@ -983,15 +1409,10 @@ public class AdvancedByteBuffer {
 	 * @see #ensureSpace(int)
 	 */
 	public AdvancedByteBuffer writeFloatArrayRaw(float[] data, int start, int end) {
-		this.ensureSpace((end - start + 1) * 4);
-		int floatBits;
-		for (int n = start; n <= end; n++) {
-			floatBits = Float.floatToIntBits(data[n]);
-			this.data[this.position++] = (byte) (floatBits >> 24);
-			this.data[this.position++] = (byte) ((floatBits >> 16) & 0xFF);
-			this.data[this.position++] = (byte) ((floatBits >> 8) & 0xFF);
-			this.data[this.position++] = (byte) (floatBits & 0xFF);
-		}
+		int length = end - start + 1;
+		this.ensureSpace(length * 4);
+		this.putFloatsAt(this.position, data, start, length);
+		this.position += length * 4;
 		return this;
 	}
 
@@ -1053,15 +1474,7 @@ public class AdvancedByteBuffer {
 		if (!this.validateArea(position, 8))
 			throw new IllegalArgumentException("Tried writing double to AdvancedByteBuffer at invalid position.");
 
-		long doubleBits = Double.doubleToLongBits(data);
-		this.data[position] = (byte) ((doubleBits >> 56) & 0xFF);
-		this.data[position + 1] = (byte) ((doubleBits >> 48) & 0xFF);
-		this.data[position + 2] = (byte) ((doubleBits >> 40) & 0xFF);
-		this.data[position + 3] = (byte) ((doubleBits >> 32) & 0xFF);
-		this.data[position + 4] = (byte) ((doubleBits >> 24) & 0xFF);
-		this.data[position + 5] = (byte) ((doubleBits >> 16) & 0xFF);
-		this.data[position + 6] = (byte) ((doubleBits >> 8) & 0xFF);
-		this.data[position + 7] = (byte) (doubleBits & 0xFF);
+		this.putLongAt(position, Double.doubleToLongBits(data));
 		return this;
 	}
 
@@ -1074,18 +1487,8 @@ public class AdvancedByteBuffer {
 	 */
 	public AdvancedByteBuffer writeDoubleArrayRaw(double[] data) {
 		this.ensureSpace(data.length * 8);
-		long doubleBits;
-		for (int n = 0; n < data.length; n++) {
-			doubleBits = Double.doubleToLongBits(data[n]);
-			this.data[this.position++] = (byte) ((doubleBits >> 56) & 0xFF);
-			this.data[this.position++] = (byte) ((doubleBits >> 48) & 0xFF);
-			this.data[this.position++] = (byte) ((doubleBits >> 40) & 0xFF);
-			this.data[this.position++] = (byte) ((doubleBits >> 32) & 0xFF);
-			this.data[this.position++] = (byte) ((doubleBits >> 24) & 0xFF);
-			this.data[this.position++] = (byte) ((doubleBits >> 16) & 0xFF);
-			this.data[this.position++] = (byte) ((doubleBits >> 8) & 0xFF);
-			this.data[this.position++] = (byte) (doubleBits & 0xFF);
-		}
+		this.putDoublesAt(this.position, data, 0, data.length);
+		this.position += data.length * 8;
 		return this;
 	}
 
@@ -1100,19 +1503,10 @@ public class AdvancedByteBuffer {
 	 * @see #ensureSpace(int)
 	 */
 	public AdvancedByteBuffer writeDoubleArrayRaw(double[] data, int start, int end) {
-		this.ensureSpace((end - start + 1) * 8);
-		long doubleBits;
-		for (int n = start; n <= end; n++) {
-			doubleBits = Double.doubleToLongBits(data[n]);
-			this.data[this.position++] = (byte) ((doubleBits >> 56) & 0xFF);
-			this.data[this.position++] = (byte) ((doubleBits >> 48) & 0xFF);
-			this.data[this.position++] = (byte) ((doubleBits >> 40) & 0xFF);
-			this.data[this.position++] = (byte) ((doubleBits >> 32) & 0xFF);
-			this.data[this.position++] = (byte) ((doubleBits >> 24) & 0xFF);
-			this.data[this.position++] = (byte) ((doubleBits >> 16) & 0xFF);
-			this.data[this.position++] = (byte) ((doubleBits >> 8) & 0xFF);
-			this.data[this.position++] = (byte) (doubleBits & 0xFF);
-		}
+		int length = end - start + 1;
+		this.ensureSpace(length * 8);
+		this.putDoublesAt(this.position, data, start, length);
+		this.position += length * 8;
 		return this;
 	}
 
@@ -1159,6 +1553,18 @@ public class AdvancedByteBuffer {
 		return this;
 	}
 
+	/**
+	 * Sets the position back to 0 and the limit to the capacity of the buffer.<br>
+	 * The storage and therefore the capacity of the buffer are kept, so the buffer can be reused without allocating.
+	 *
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 */
+	public AdvancedByteBuffer clear() {
+		this.limit = this.getCapacity();
+		this.position = 0;
+		return this;
+	}
+
 	/**
 	 * Sets the limit of the buffer to the current position and the reading position back to 0.
 	 *
@@ -1176,11 +1582,8 @@ public class AdvancedByteBuffer {
 	 * @return the instance of the {@link AdvancedByteBuffer}
 	 */
 	public AdvancedByteBuffer shrink() {
-		if (this.position != this.data.length) {
-			byte[] newData = new byte[this.position];
-			System.arraycopy(this.data, 0, newData, 0, this.position);
-			this.data = newData;
-		}
+		if (this.position != this.getCapacity())
+			this.resize(this.position);
 		this.position = 0;
 		return this;
 	}
@@ -1191,7 +1594,7 @@ public class AdvancedByteBuffer {
 	 * @return the read byte
 	 */
 	public byte readByte() {
-		return this.data[this.position++];
+		return this.getByteAt(this.position++);
 	}
 
 	/**
@@ -1200,14 +1603,10 @@ public class AdvancedByteBuffer {
 	 *
 	 * @return the read byte array
 	 * @see #readVarInt()
-	 * @see #readByte()
+	 * @see #readByteArray(byte[])
 	 */
 	public byte[] readByteArray() {
-		byte[] array = new byte[this.readVarInt()];
-		for (int n = 0; n < array.length; n++) {
-			array[n] = this.readByte();
-		}
-		return array;
+		return this.readByteArray(new byte[this.readVarInt()]);
 	}
 
 	/**
@@ -1215,14 +1614,10 @@ public class AdvancedByteBuffer {
 	 *
 	 * @param length the length of the byte array
 	 * @return the read byte array
-	 * @see #readByte()
+	 * @see #readByteArray(byte[])
 	 */
 	public byte[] readByteArray(int length) {
-		byte[] array = new byte[length];
-		for (int n = 0; n < length; n++) {
-			array[n] = this.readByte();
-		}
-		return array;
+		return this.readByteArray(new byte[length]);
 	}
 
 	/**
@@ -1230,12 +1625,10 @@ public class AdvancedByteBuffer {
 	 *
 	 * @param array the byte array the values will be written to.
 	 * @return the read byte array
-	 * @see #readByte()
 	 */
 	public byte[] readByteArray(byte[] array) {
-		for (int n = 0; n < array.length; n++) {
-			array[n] = this.readByte();
-		}
+		this.getBytesAt(this.position, array, 0, array.length);
+		this.position += array.length;
 		return array;
 	}
 
@@ -1246,29 +1639,117 @@ public class AdvancedByteBuffer {
 	 * @see #readUnsignedVarInt()
 	 */
 	public int readVarInt() {
-		int raw = (int) this.readUnsignedVarInt();
-		int temp = (((raw << 31) >> 31) ^ raw) >> 1;
-		return temp ^ (raw & (1 << 31));
+		int raw = this.readRawVarInt();
+		return (raw >>> 1) ^ -(raw & 1);
 	}
 
 	/**
 	 * Reads an unsigned var int from the buffer.
 	 *
-	 * @return the unsigned var int as long
-	 * @see #readByte()
+	 * @return the unsigned var int as long between 0 and 2<sup>32</sup> - 1
+	 * @throws IllegalArgumentException when the var int is longer than 5 bytes
 	 */
 	public long readUnsignedVarInt() {
-		int data = 0;
-		int n = 0;
-		int b;
-		while (((b = this.readByte()) & 0x80) != 0) {
-			data |= (b & 0x7F) << n;
-			n += 7;
-			if (n > 35) {
-				throw new IllegalArgumentException("Variable length quantitiy is too long.");
+		return this.readRawVarInt() & 0xFFFFFFFFL;
+	}
+
+	/**
+	 * Reads a zigzag encoded var long from the buffer.
+	 *
+	 * @return the var long as long
+	 * @see #readUnsignedVarLong()
+	 */
+	public long readVarLong() {
+		long raw = this.readUnsignedVarLong();
+		return (raw >>> 1) ^ -(raw & 1);
+	}
+
+	/**
+	 * Reads an unsigned var long from the buffer.
+	 *
+	 * @return the unsigned var long as long, values above {@link Long#MAX_VALUE} are negative
+	 * @throws IllegalArgumentException when the var long is longer than 10 bytes
+	 */
+	public long readUnsignedVarLong() {
+		long data = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = this.getByteAt(this.position++);
+			data |= (long) (b & 0x7F) << shift;
+			if (b >= 0)
+				return data;
+		}
+		throw new IllegalArgumentException("Variable length quantity is too long.");
+	}
+
+	/**
+	 * Reads a var long array as long array from the buffer.<br>
+	 * This method assumes the next value will be the size of the array.
+	 *
+	 * @return the read long array
+	 * @see #readVarInt()
+	 * @see #readVarLong()
+	 */
+	public long[] readVarLongArray() {
+		long[] array = new long[this.readVarInt()];
+		for (int n = 0; n < array.length; n++) {
+			array[n] = this.readVarLong();
+		}
+		return array;
+	}
+
+	/**
+	 * Reads a group var int array as int array from the buffer.<br>
+	 * This method assumes the next value will be the size of the array.
+	 *
+	 * @return the read int array
+	 * @see #readVarInt()
+	 * @see #readGroupVarIntArray(int[])
+	 */
+	public int[] readGroupVarIntArray() {
+		return this.readGroupVarIntArray(new int[this.readVarInt()]);
+	}
+
+	/**
+	 * Reads a group var int array as int array with the given length from the buffer.
+	 *
+	 * @param length the length of the int array
+	 * @return the read int array
+	 * @see #readGroupVarIntArray(int[])
+	 */
+	public int[] readGroupVarIntArray(int length) {
+		return this.readGroupVarIntArray(new int[length]);
+	}
+
+	/**
+	 * Reads a group var int array from the buffer and writes it into the given array.<br>
+	 * While at least four bytes are left in the buffer, every int is read with a single word access and a shift or mask.
+	 *
+	 * @param array the int array the values will be written to
+	 * @return the read int array
+	 * @see #writeGroupVarIntArrayRaw(int[])
+	 */
+	public int[] readGroupVarIntArray(int[] array) {
+		int capacity = this.getCapacity();
+		for (int group = 0; group < array.length; group += 4) {
+			int tag = this.getByteAt(this.position++);
+			for (int n = 0; n < 4 && group + n < array.length; n++) {
+				int bytes = ((tag >>> (n << 1)) & 3) + 1;
+				int value;
+				if (this.position <= capacity - 4) {
+					int word = this.getIntAt(this.position);
+					value = this.bigEndian ? word >>> ((4 - bytes) << 3) : word & (int) (0xFFFFFFFFL >>> ((4 - bytes) << 3));
+				} else {
+					value = 0;
+					for (int b = 0; b < bytes; b++) {
+						int current = this.getByteAt(this.position + b) & 0xFF;
+						value = this.bigEndian ? (value << 8) | current : value | current << (b << 3);
+					}
+				}
+				array[group + n] = value;
+				this.position += bytes;
 			}
 		}
-		return data | (b << n);
+		return array;
 	}
 
 	/**
@@ -1360,13 +1841,285 @@ public class AdvancedByteBuffer {
 		return array;
 	}
 
+	/**
+	 * Reads the given amount of ints packed by {@link #packInts(int[], int)} from the buffer.
+	 *
+	 * @param length       the amount of packed ints
+	 * @param bitsPerValue the amount of bits of every int, between 1 and 32
+	 * @return the unpacked int array
+	 * @see #unpackInts(int[], int)
+	 */
+	public int[] unpackInts(int length, int bitsPerValue) {
+		return this.unpackInts(new int[length], bitsPerValue);
+	}
+
+	/**
+	 * Reads ints packed by {@link #packInts(int[], int)} from the buffer and writes them into the given array.<br>
+	 * Ints packed with 32 bits keep their sign, all others are read as unsigned values.
+	 *
+	 * @param array        the int array the values will be written to
+	 * @param bitsPerValue the amount of bits of every int, between 1 and 32
+	 * @return the unpacked int array
+	 * @throws IllegalArgumentException when the amount of bits is not between 1 and 32
+	 * @see BitReader
+	 */
+	public int[] unpackInts(int[] array, int bitsPerValue) {
+		if (bitsPerValue < 1 || bitsPerValue > 32)
+			throw new IllegalArgumentException("Tried unpacking ints with " + bitsPerValue + " bits from AdvancedByteBuffer.");
+
+		BitReader reader = new BitReader(this);
+		for (int n = 0; n < array.length; n++) {
+			array[n] = (int) reader.readBits(bitsPerValue);
+		}
+		return array;
+	}
+
+	/**
+	 * Reads a delta encoded int array from the buffer.
+	 *
+	 * @return the read int array
+	 * @see #writeDeltaIntArray(int[])
+	 */
+	public int[] readDeltaIntArray() {
+		int[] array = new int[this.readVarInt()];
+		int previous = 0;
+		for (int n = 0; n < array.length; n++) {
+			previous += this.readVarInt();
+			array[n] = previous;
+		}
+		return array;
+	}
+
+	/**
+	 * Reads a delta encoded long array from the buffer.
+	 *
+	 * @return the read long array
+	 * @see #writeDeltaLongArray(long[])
+	 */
+	public long[] readDeltaLongArray() {
+		long[] array = new long[this.readVarInt()];
+		long previous = 0;
+		for (int n = 0; n < array.length; n++) {
+			previous += this.readVarLong();
+			array[n] = previous;
+		}
+		return array;
+	}
+
+	/**
+	 * Reads a delta-of-delta encoded int array from the buffer.
+	 *
+	 * @return the read int array
+	 * @see #writeDeltaOfDeltaIntArray(int[])
+	 */
+	public int[] readDeltaOfDeltaIntArray() {
+		int[] array = new int[this.readVarInt()];
+		int previous = 0;
+		int delta = 0;
+		for (int n = 0; n < array.length; n++) {
+			delta += this.readVarInt();
+			previous += delta;
+			array[n] = previous;
+		}
+		return array;
+	}
+
+	/**
+	 * Reads a delta-of-delta encoded long array from the buffer.
+	 *
+	 * @return the read long array
+	 * @see #writeDeltaOfDeltaLongArray(long[])
+	 */
+	public long[] readDeltaOfDeltaLongArray() {
+		long[] array = new long[this.readVarInt()];
+		long previous = 0;
+		long delta = 0;
+		for (int n = 0; n < array.length; n++) {
+			delta += this.readVarLong();
+			previous += delta;
+			array[n] = previous;
+		}
+		return array;
+	}
+
+	/**
+	 * Reads a frame-of-reference encoded int array from the buffer.
+	 *
+	 * @return the read int array
+	 * @throws IllegalArgumentException when the stored amount of bits is not between 0 and 32
+	 * @see #writeFrameOfReferenceIntArray(int[])
+	 */
+	public int[] readFrameOfReferenceIntArray() {
+		int[] array = new int[this.readVarInt()];
+		if (array.length == 0)
+			return array;
+
+		int min = this.readVarInt();
+		int bits = this.readByte();
+		if (bits < 0 || bits > 32)
+			throw new IllegalArgumentException("Tried reading frame-of-reference ints with " + bits + " bits from AdvancedByteBuffer.");
+		if (bits == 0) {
+			Arrays.fill(array, min);
+			return array;
+		}
+
+		BitReader reader = new BitReader(this);
+		for (int n = 0; n < array.length; n++) {
+			array[n] = min + (int) reader.readBits(bits);
+		}
+		return array;
+	}
+
+	/**
+	 * Reads a frame-of-reference encoded long array from the buffer.
+	 *
+	 * @return the read long array
+	 * @throws IllegalArgumentException when the stored amount of bits is not between 0 and 64
+	 * @see #writeFrameOfReferenceLongArray(long[])
+	 */
+	public long[] readFrameOfReferenceLongArray() {
+		long[] array = new long[this.readVarInt()];
+		if (array.length == 0)
+			return array;
+
+		long min = this.readVarLong();
+		int bits = this.readByte();
+		if (bits < 0 || bits > 64)
+			throw new IllegalArgumentException("Tried reading frame-of-reference longs with " + bits + " bits from AdvancedByteBuffer.");
+		if (bits == 0) {
+			Arrays.fill(array, min);
+			return array;
+		}
+
+		BitReader reader = new BitReader(this);
+		for (int n = 0; n < array.length; n++) {
+			array[n] = min + reader.readBits(bits);
+		}
+		return array;
+	}
+
+	/**
+	 * Reads a half-precision float from the buffer.
+	 *
+	 * @return the read float
+	 * @see #writeHalfFloat(float)
+	 */
+	public float readHalfFloat() {
+		float value = HalfFloat.toFloat(this.getShortAt(this.position));
+		this.position += 2;
+		return value;
+	}
+
+	/**
+	 * Reads a half-precision float array from the buffer.<br>
+	 * This method assumes the next value will be the size of the array.
+	 *
+	 * @return the read float array
+	 * @see #readVarInt()
+	 * @see #readHalfFloatArray(float[])
+	 */
+	public float[] readHalfFloatArray() {
+		return this.readHalfFloatArray(new float[this.readVarInt()]);
+	}
+
+	/**
+	 * Reads a half-precision float array with the given length from the buffer.
+	 *
+	 * @param length the length of the float array
+	 * @return the read float array
+	 * @see #readHalfFloatArray(float[])
+	 */
+	public float[] readHalfFloatArray(int length) {
+		return this.readHalfFloatArray(new float[length]);
+	}
+
+	/**
+	 * Reads a half-precision float array from the buffer and writes it into the given array.
+	 *
+	 * @param array the float array the values will be written to
+	 * @return the read float array
+	 * @see #readHalfFloat()
+	 */
+	public float[] readHalfFloatArray(float[] array) {
+		for (int n = 0; n < array.length; n++) {
+			array[n] = HalfFloat.toFloat(this.getShortAt(this.position));
+			this.position += 2;
+		}
+		return array;
+	}
+
+	/**
+	 * Reads a float quantized to the given amount of bits from the buffer.<br>
+	 * The minimum, maximum and amount of bits have to be the same as when the float was written.
+	 *
+	 * @param min  the minimum of the range
+	 * @param max  the maximum of the range
+	 * @param bits the amount of bits of the quantized float, between 1 and 32
+	 * @return the read float
+	 * @throws IllegalArgumentException when the amount of bits is not between 1 and 32 or the range is empty
+	 * @see #writeQuantizedFloat(float, float, float, int)
+	 */
+	public float readQuantizedFloat(float min, float max, int bits) {
+		double step = ((double) max - min) / quantizationSteps(min, max, bits);
+		return (float) (min + new BitReader(this).readBits(bits) * step);
+	}
+
+	/**
+	 * Reads a quantized float array from the buffer.<br>
+	 * This method assumes the next value will be the size of the array.
+	 *
+	 * @param min  the minimum of the range
+	 * @param max  the maximum of the range
+	 * @param bits the amount of bits of every quantized float, between 1 and 32
+	 * @return the read float array
+	 * @throws IllegalArgumentException when the amount of bits is not between 1 and 32 or the range is empty
+	 * @see #readVarInt()
+	 * @see #readQuantizedFloatArray(float[], float, float, int)
+	 */
+	public float[] readQuantizedFloatArray(float min, float max, int bits) {
+		quantizationSteps(min, max, bits);
+		return this.readQuantizedFloatArray(new float[this.readVarInt()], min, max, bits);
+	}
+
+	/**
+	 * Reads a quantized float array from the buffer and writes it into the given array.<br>
+	 * Floats with up to 12 bits are converted with a lookup table of all possible values.
+	 *
+	 * @param array the float array the values will be written to
+	 * @param min   the minimum of the range
+	 * @param max   the maximum of the range
+	 * @param bits  the amount of bits of every quantized float, between 1 and 32
+	 * @return the read float array
+	 * @throws IllegalArgumentException when the amount of bits is not between 1 and 32 or the range is empty
+	 * @see #writeQuantizedFloatArrayRaw(float[], float, float, int)
+	 */
+	public float[] readQuantizedFloatArray(float[] array, float min, float max, int bits) {
+		long steps = quantizationSteps(min, max, bits);
+		double step = ((double) max - min) / steps;
+		BitReader reader = new BitReader(this);
+		if (bits <= 12 && array.length > steps) {
+			float[] table = new float[(int) steps + 1];
+			for (int n = 0; n < table.length; n++) {
+				table[n] = (float) (min + n * step);
+			}
+			for (int n = 0; n < array.length; n++) {
+				array[n] = table[(int) reader.readBits(bits)];
+			}
+		} else {
+			for (int n = 0; n < array.length; n++) {
+				array[n] = (float) (min + reader.readBits(bits) * step);
+			}
+		}
+		return array;
+	}
+
 	/**
 	 * Reads a char from the buffer.
 	 *
 	 * @return the read char
 	 */
 	public char readChar() {
-		return (char) this.data[this.position++];
+		return (char) this.getByteAt(this.position++);
 	}
 
 	/**
@@ -1419,11 +2172,13 @@ public class AdvancedByteBuffer {
 	 *
 	 * @param charset the charset that will be used to convert the bytes into a string
 	 * @return the read string
-	 * @see #readByteArray()
+	 * @see #readVarInt()
 	 */
 	public String readString(Charset charset) {
-		byte[] bytes = this.readByteArray();
-		return new String(bytes, charset);
+		int length = this.readVarInt();
+		String value = this.getStringAt(this.position, length, charset);
+		this.position += length;
+		return value;
 	}
 
 	/**
@@ -1433,7 +2188,7 @@ public class AdvancedByteBuffer {
 	 * @see #readString(Charset)
 	 */
 	public String readString() {
-		return this.readString(Charset.forName("UTF-8"));
+		return this.readString(StandardCharsets.UTF_8);
 	}
 
 	/**
@@ -1497,9 +2252,8 @@ public class AdvancedByteBuffer {
 	 * @return the read short
 	 */
 	public short readShort() {
-		short value = 0;
-		value |= (this.data[this.position++] & 0xFF) << 8;
-		value |= (this.data[this.position++] & 0xFF);
+		short value = this.getShortAt(this.position);
+		this.position += 2;
 		return value;
 	}
 
@@ -1512,11 +2266,7 @@ public class AdvancedByteBuffer {
 	 * @see #readShort()
 	 */
 	public short[] readShortArray() {
-		short[] array = new short[this.readVarInt()];
-		for (int n = 0; n < array.length; n++) {
-			array[n] = this.readShort();
-		}
-		return array;
+		return this.readShortArray(new short[this.readVarInt()]);
 	}
 
 	/**
@@ -1527,11 +2277,7 @@ public class AdvancedByteBuffer {
 	 * @see #readShort()
 	 */
 	public short[] readShortArray(int length) {
-		short[] array = new short[length];
-		for (int n = 0; n < length; n++) {
-			array[n] = this.readShort();
-		}
-		return array;
+		return this.readShortArray(new short[length]);
 	}
 
 	/**
@@ -1542,9 +2288,8 @@ public class AdvancedByteBuffer {
 	 * @see #readShort()
 	 */
 	public short[] readShortArray(short[] array) {
-		for (int n = 0; n < array.length; n++) {
-			array[n] = this.readShort();
-		}
+		this.getShortsAt(this.position, array, 0, array.length);
+		this.position += array.length * 2;
 		return array;
 	}
 
@@ -1554,11 +2299,8 @@ public class AdvancedByteBuffer {
 	 * @return the read int.
 	 */
 	public int readInt() {
-		int value = 0;
-		value |= (this.data[this.position++] & 0xFF) << 24;
-		value |= (this.data[this.position++] & 0xFF) << 16;
-		value |= (this.data[this.position++] & 0xFF) << 8;
-		value |= (this.data[this.position++] & 0xFF);
+		int value = this.getIntAt(this.position);
+		this.position += 4;
 		return value;
 	}
 
@@ -1571,11 +2313,7 @@ public class AdvancedByteBuffer {
 	 * @see #readInt()
 	 */
 	public int[] readIntArray() {
-		int[] array = new int[this.readVarInt()];
-		for (int n = 0; n < array.length; n++) {
-			array[n] = this.readInt();
-		}
-		return array;
+		return this.readIntArray(new int[this.readVarInt()]);
 	}
 
 	/**
@@ -1586,11 +2324,7 @@ public class AdvancedByteBuffer {
 	 * @see #readInt()
 	 */
 	public int[] readIntArray(int length) {
-		int[] array = new int[length];
-		for (int n = 0; n < length; n++) {
-			array[n] = this.readInt();
-		}
-		return array;
+		return this.readIntArray(new int[length]);
 	}
 
 	/**
@@ -1601,9 +2335,8 @@ public class AdvancedByteBuffer {
 	 * @see #readInt()
 	 */
 	public int[] readIntArray(int[] array) {
-		for (int n = 0; n < array.length; n++) {
-			array[n] = this.readInt();
-		}
+		this.getIntsAt(this.position, array, 0, array.length);
+		this.position += array.length * 4;
 		return array;
 	}
 
@@ -1613,15 +2346,8 @@ public class AdvancedByteBuffer {
 	 * @return the read long.
 	 */
 	public long readLong() {
-		long value = 0L;
-		value |= (long) (this.data[this.position++] & 0xFF) << 56;
-		value |= (long) (this.data[this.position++] & 0xFF) << 48;
-		value |= (long) (this.data[this.position++] & 0xFF) << 40;
-		value |= (long) (this.data[this.position++] & 0xFF) << 32;
-		value |= (long) (this.data[this.position++] & 0xFF) << 24;
-		value |= (long) (this.data[this.position++] & 0xFF) << 16;
-		value |= (long) (this.data[this.position++] & 0xFF) << 8;
-		value |= (long) (this.data[this.position++] & 0xFF);
+		long value = this.getLongAt(this.position);
+		this.position += 8;
 		return value;
 	}
 
@@ -1634,11 +2360,7 @@ public class AdvancedByteBuffer {
 	 * @see #readLong()
 	 */
 	public long[] readLongArray() {
-		long[] array = new long[this.readVarInt()];
-		for (int n = 0; n < array.length; n++) {
-			array[n] = this.readLong();
-		}
-		return array;
+		return this.readLongArray(new long[this.readVarInt()]);
 	}
 
 	/**
@@ -1649,11 +2371,7 @@ public class AdvancedByteBuffer {
 	 * @see #readLong()
 	 */
 	public long[] readLongArray(int length) {
-		long[] array = new long[length];
-		for (int n = 0; n < length; n++) {
-			array[n] = this.readLong();
-		}
-		return array;
+		return this.readLongArray(new long[length]);
 	}
 
 	/**
@@ -1664,9 +2382,8 @@ public class AdvancedByteBuffer {
 	 * @see #readLong()
 	 */
 	public long[] readLongArray(long[] array) {
-		for (int n = 0; n < array.length; n++) {
-			array[n] = this.readLong();
-		}
+		this.getLongsAt(this.position, array, 0, array.length);
+		this.position += array.length * 8;
 		return array;
 	}
 
@@ -1690,11 +2407,7 @@ public class AdvancedByteBuffer {
 	 * @see #readFloat()
 	 */
 	public float[] readFloatArray() {
-		float[] array = new float[this.readVarInt()];
-		for (int n = 0; n < array.length; n++) {
-			array[n] = this.readFloat();
-		}
-		return array;
+		return this.readFloatArray(new float[this.readVarInt()]);
 	}
 
 	/**
@@ -1705,11 +2418,7 @@ public class AdvancedByteBuffer {
 	 * @see #readFloat()
 	 */
 	public float[] readFloatArray(int length) {
-		float[] array = new float[length];
-		for (int n = 0; n < length; n++) {
-			array[n] = this.readFloat();
-		}
-		return array;
+		return this.readFloatArray(new float[length]);
 	}
 
 	/**
@@ -1720,9 +2429,8 @@ public class AdvancedByteBuffer {
 	 * @see #readFloat()
 	 */
 	public float[] readFloatArray(float[] array) {
-		for (int n = 0; n < array.length; n++) {
-			array[n] = this.readFloat();
-		}
+		this.getFloatsAt(this.position, array, 0, array.length);
+		this.position += array.length * 4;
 		return array;
 	}
 
@@ -1746,11 +2454,7 @@ public class AdvancedByteBuffer {
 	 * @see #readDouble()
 	 */
 	public double[] readDoubleArray() {
-		double[] array = new double[this.readVarInt()];
-		for (int n = 0; n < array.length; n++) {
-			array[n] = this.readDouble();
-		}
-		return array;
+		return this.readDoubleArray(new double[this.readVarInt()]);
 	}
 
 	/**
@@ -1761,11 +2465,7 @@ public class AdvancedByteBuffer {
 	 * @see #readDouble()
 	 */
 	public double[] readDoubleArray(int length) {
-		double[] array = new double[length];
-		for (int n = 0; n < length; n++) {
-			array[n] = this.readDouble();
-		}
-		return array;
+		return this.readDoubleArray(new double[length]);
 	}
 
 	/**
@@ -1776,12 +2476,32 @@ public class AdvancedByteBuffer {
 	 * @see #readDouble()
 	 */
 	public double[] readDoubleArray(double[] array) {
-		for (int n = 0; n < array.length; n++) {
-			array[n] = this.readDouble();
-		}
+		this.getDoublesAt(this.position, array, 0, array.length);
+		this.position += array.length * 8;
 		return array;
 	}
 
+	/**
+	 * Gets the array the content of the buffer is stored in.<br>
+	 * Buffers which are not backed by an array, like direct buffers and views, do not support this, which can be checked with {@link #hasArray()}.
+	 * The array is replaced when the buffer is resized, so a reference to it can become outdated by writing into the buffer.
+	 *
+	 * @return the backing array of the buffer
+	 * @throws UnsupportedOperationException when the buffer is not backed by an array
+	 */
+	public byte[] getData() {
+		return this.data;
+	}
+
+	/**
+	 * Checks whether the buffer is backed by an array, which can be accessed with {@link #getData()}.
+	 *
+	 * @return <i>true</i> if the buffer is backed by an array, otherwise <i>false</i>
+	 */
+	public boolean hasArray() {
+		return true;
+	}
+
 	/**
 	 * Gets the capacity of the byte buffer.
 	 *
@@ -1799,28 +2519,630 @@ public class AdvancedByteBuffer {
 	 */
 	public AdvancedByteBuffer forEach(Consumer<? super Byte> action) {
 		for (int n = 0; n < this.limit; n++) {
-			action.accept(this.data[n]);
+			action.accept(this.getByteAt(n));
 		}
 		return this;
 	}
 
 	/**
-	 * Ensures that the {@link #data} array has enough space to fit the specified bytes.<br>
-	 * If there is not enough space in the array, the array will be resized by either the amount needed or the threshold (which ever is greater).
+	 * Ensures that the buffer has enough space to fit the specified bytes.<br>
+	 * If there is not enough space in the buffer, it will be resized to the capacity calculated by the {@link #growthPolicy}.
 	 *
 	 * @param bytesNeeded the bytes required
+	 * @throws IllegalArgumentException when the required capacity exceeds the maximum size of an array
+	 * @see GrowthPolicy#grow(int, int, int, int)
 	 */
 	public void ensureSpace(int bytesNeeded) {
-		if (this.position + bytesNeeded >= this.data.length) {
-			byte[] newData = new byte[this.data.length + (bytesNeeded < this.threshold ? this.threshold : bytesNeeded)];
-			this.limit = this.data.length;
-			System.arraycopy(this.data, 0, newData, 0, this.limit);
-			this.data = newData;
+		int capacity = this.getCapacity();
+		int minCapacity = this.position + bytesNeeded;
+		if (minCapacity > capacity) {
+			if (minCapacity < 0)
+				throw new IllegalArgumentException("Tried growing AdvancedByteBuffer beyond the maximum capacity.");
+
+			int newCapacity = this.growthPolicy.grow(capacity, bytesNeeded, minCapacity, this.threshold);
+			this.limit = capacity;
+			this.resize(newCapacity < minCapacity ? minCapacity : newCapacity);
+		}
+	}
+
+	/**
+	 * Reserves space for the given amount of bytes after the current position.<br>
+	 * If there is not enough space in the buffer, it will be resized exactly once to fit the bytes, ignoring the {@link #growthPolicy}.
+	 * This should be used when the final size of the content is known up front.
+	 *
+	 * @param bytes the amount of bytes that will be written after the current position
+	 * @return the instance of the {@link AdvancedByteBuffer}
+	 * @throws IllegalArgumentException when the required capacity exceeds the maximum size of an array
+	 */
+	public AdvancedByteBuffer reserve(int bytes) {
+		int capacity = this.getCapacity();
+		int minCapacity = this.position + bytes;
+		if (minCapacity < 0)
+			throw new IllegalArgumentException("Tried reserving more space in AdvancedByteBuffer than the maximum capacity.");
+
+		if (minCapacity > capacity) {
+			this.limit = capacity;
+			this.resize(minCapacity);
 		}
+		return this;
+	}
+
+	/**
+	 * Creates a view of the content between the position and the limit of the buffer.
+	 *
+	 * <p>The view shares the storage with this buffer, so no bytes are copied. Changing the position or the limit of the view
+	 * does not affect this buffer. Once the buffer is resized, the view keeps viewing the old storage and does not reflect later writes.
+	 * This can be used to hand the content to APIs like {@link java.nio.channels.AsynchronousFileChannel}.</p>
+	 *
+	 * @return a {@link ByteBuffer} viewing the content of the buffer
+	 * @throws IllegalArgumentException when the position of the buffer is greater than its limit
+	 */
+	public ByteBuffer asByteBuffer() {
+		ByteBuffer view = this.createStorageView();
+		view.limit(this.limit);
+		view.position(this.position);
+		return view;
+	}
+
+	/**
+	 * Creates a view of the given region of the buffer.
+	 *
+	 * <p>The view shares the storage with this buffer, so no bytes are copied and changes are visible in both buffers.
+	 * The view starts at position 0, its limit and capacity are the given length and it cannot grow.
+	 * Views of read-only buffers are read-only as well.</p>
+	 *
+	 * @param offset the index of the first byte of the view
+	 * @param length the amount of bytes of the view
+	 * @return a view of the region
+	 * @throws IllegalArgumentException when the region is not inside of the buffer
+	 */
+	public AdvancedByteBuffer slice(int offset, int length) {
+		if (offset < 0 || length < 0 || offset > this.getCapacity() - length)
+			throw new IllegalArgumentException("Tried slicing AdvancedByteBuffer outside of its capacity.");
+
+		return new AdvancedByteBufferView(this, offset, length, this.isReadOnly());
+	}
+
+	/**
+	 * Creates a view of the whole buffer with the same position and limit.<br>
+	 * The view shares the storage with this buffer but keeps its own position and limit.
+	 *
+	 * @return a view of the buffer
+	 * @see #slice(int, int)
+	 */
+	public AdvancedByteBuffer duplicate() {
+		return this.view(this.isReadOnly());
+	}
+
+	/**
+	 * Creates a read-only view of the whole buffer with the same position and limit.<br>
+	 * Every write to the view throws a {@link java.nio.ReadOnlyBufferException}.
+	 *
+	 * @return a read-only view of the buffer
+	 * @see #duplicate()
+	 */
+	public AdvancedByteBuffer asReadOnlyBuffer() {
+		return this.view(true);
+	}
+
+	/**
+	 * Checks if the buffer rejects writes.
+	 *
+	 * @return <i>true</i> if the buffer is read-only, <i>false</i> otherwise
+	 */
+	public boolean isReadOnly() {
+		return false;
+	}
+
+	/**
+	 * Writes the content between the position and the limit of the buffer into the given channel.<br>
+	 * The position is advanced by the amount of written bytes. Non-blocking channels might not write all bytes at once.
+	 *
+	 * @param channel the {@link WritableByteChannel} the content will be written to
+	 * @return the amount of written bytes
+	 * @throws IOException when the channel could not be written to
+	 */
+	public int writeTo(WritableByteChannel channel) throws IOException {
+		int written = channel.write(this.asByteBuffer());
+		this.position += written;
+		return written;
+	}
+
+	/**
+	 * Writes the content between the position and the limit of all given buffers into the given channel with a single gathering write.<br>
+	 * The position of every buffer is advanced by the amount of bytes written from it.
+	 *
+	 * @param channel the {@link GatheringByteChannel} the content will be written to
+	 * @param buffers the {@link AdvancedByteBuffer}s that will be written in order
+	 * @return the amount of written bytes
+	 * @throws IOException when the channel could not be written to
+	 */
+	public static long writeTo(GatheringByteChannel channel, AdvancedByteBuffer... buffers) throws IOException {
+		ByteBuffer[] views = new ByteBuffer[buffers.length];
+		for (int n = 0; n < buffers.length; n++) {
+			views[n] = buffers[n].asByteBuffer();
+		}
+
+		long written = channel.write(views);
+		for (int n = 0; n < buffers.length; n++) {
+			buffers[n].position = views[n].position();
+		}
+		return written;
+	}
+
+	/**
+	 * Reads up to the given amount of bytes from the given channel into the buffer, starting at the current position.<br>
+	 * The buffer is resized if necessary and the position is advanced by the amount of read bytes.
+	 *
+	 * @param channel the {@link ReadableByteChannel} the bytes will be read from
+	 * @param length  the maximum amount of bytes that will be read
+	 * @return the amount of read bytes, or -1 if the channel has reached end-of-stream
+	 * @throws IOException when the channel could not be read from
+	 * @see #ensureSpace(int)
+	 */
+	public int readFrom(ReadableByteChannel channel, int length) throws IOException {
+		this.ensureSpace(length);
+		ByteBuffer view = this.createStorageView();
+		view.limit(this.position + length);
+		view.position(this.position);
+
+		int read = channel.read(view);
+		if (read > 0)
+			this.position += read;
+		return read;
+	}
+
+	/**
+	 * Creates a {@link ByteBuffer} sharing the whole storage of the buffer, using the byte order of the buffer.
+	 *
+	 * @return a view of the storage of the buffer
+	 */
+	protected ByteBuffer createStorageView() {
+		return ByteBuffer.wrap(this.data).order(this.order);
+	}
+
+	/**
+	 * Resizes the storage of the buffer to the given capacity while keeping as much of its content as fits.
+	 *
+	 * @param newCapacity the new capacity of the buffer
+	 */
+	protected void resize(int newCapacity) {
+		byte[] newData = new byte[newCapacity];
+		System.arraycopy(this.data, 0, newData, 0, Math.min(this.data.length, newCapacity));
+		this.data = newData;
+	}
+
+	/**
+	 * Gets the byte at the given index of the storage.
+	 *
+	 * @param index the index of the byte
+	 * @return the byte at the given index
+	 */
+	protected byte getByteAt(int index) {
+		return this.data[index];
+	}
+
+	/**
+	 * Sets the byte at the given index of the storage.
+	 *
+	 * @param index the index of the byte
+	 * @param value the new value of the byte
+	 */
+	protected void putByteAt(int index, byte value) {
+		this.data[index] = value;
+	}
+
+	/**
+	 * Gets the short starting at the given index of the storage.
+	 *
+	 * @param index the index of the first byte of the short
+	 * @return the short at the given index
+	 */
+	protected short getShortAt(int index) {
+		return ByteArrayAccess.getShort(this.data, index, this.bigEndian);
+	}
+
+	/**
+	 * Sets the short starting at the given index of the storage.
+	 *
+	 * @param index the index of the first byte of the short
+	 * @param value the new value of the short
+	 */
+	protected void putShortAt(int index, short value) {
+		ByteArrayAccess.putShort(this.data, index, value, this.bigEndian);
+	}
+
+	/**
+	 * Gets the int starting at the given index of the storage.
+	 *
+	 * @param index the index of the first byte of the int
+	 * @return the int at the given index
+	 */
+	protected int getIntAt(int index) {
+		return ByteArrayAccess.getInt(this.data, index, this.bigEndian);
+	}
+
+	/**
+	 * Sets the int starting at the given index of the storage.
+	 *
+	 * @param index the index of the first byte of the int
+	 * @param value the new value of the int
+	 */
+	protected void putIntAt(int index, int value) {
+		ByteArrayAccess.putInt(this.data, index, value, this.bigEndian);
+	}
+
+	/**
+	 * Gets the long starting at the given index of the storage.
+	 *
+	 * @param index the index of the first byte of the long
+	 * @return the long at the given index
+	 */
+	protected long getLongAt(int index) {
+		return ByteArrayAccess.getLong(this.data, index, this.bigEndian);
+	}
+
+	/**
+	 * Sets the long starting at the given index of the storage.
+	 *
+	 * @param index the index of the first byte of the long
+	 * @param value the new value of the long
+	 */
+	protected void putLongAt(int index, long value) {
+		ByteArrayAccess.putLong(this.data, index, value, this.bigEndian);
+	}
+
+	/**
+	 * Reads the given amount of shorts starting at the given index of the storage into the given array.
+	 *
+	 * @param index  the index of the first byte of the first short
+	 * @param dst    the array the shorts will be written to
+	 * @param offset the index in the array where the first short will be written to
+	 * @param length the amount of shorts that will be read
+	 */
+	protected void getShortsAt(int index, short[] dst, int offset, int length) {
+		ByteArrayAccess.getShorts(this.data, index, dst, offset, length, this.bigEndian);
+	}
+
+	/**
+	 * Writes the given amount of shorts from the given array into the storage starting at the given index.
+	 *
+	 * @param index  the index of the first byte of the first short
+	 * @param src    the array the shorts will be read from
+	 * @param offset the index of the first short in the array
+	 * @param length the amount of shorts that will be written
+	 */
+	protected void putShortsAt(int index, short[] src, int offset, int length) {
+		ByteArrayAccess.putShorts(this.data, index, src, offset, length, this.bigEndian);
+	}
+
+	/**
+	 * Reads the given amount of ints starting at the given index of the storage into the given array.
+	 *
+	 * @param index  the index of the first byte of the first int
+	 * @param dst    the array the ints will be written to
+	 * @param offset the index in the array where the first int will be written to
+	 * @param length the amount of ints that will be read
+	 */
+	protected void getIntsAt(int index, int[] dst, int offset, int length) {
+		ByteArrayAccess.getInts(this.data, index, dst, offset, length, this.bigEndian);
+	}
+
+	/**
+	 * Writes the given amount of ints from the given array into the storage starting at the given index.
+	 *
+	 * @param index  the index of the first byte of the first int
+	 * @param src    the array the ints will be read from
+	 * @param offset the index of the first int in the array
+	 * @param length the amount of ints that will be written
+	 */
+	protected void putIntsAt(int index, int[] src, int offset, int length) {
+		ByteArrayAccess.putInts(this.data, index, src, offset, length, this.bigEndian);
+	}
+
+	/**
+	 * Reads the given amount of longs starting at the given index of the storage into the given array.
+	 *
+	 * @param index  the index of the first byte of the first long
+	 * @param dst    the array the longs will be written to
+	 * @param offset the index in the array where the first long will be written to
+	 * @param length the amount of longs that will be read
+	 */
+	protected void getLongsAt(int index, long[] dst, int offset, int length) {
+		ByteArrayAccess.getLongs(this.data, index, dst, offset, length, this.bigEndian);
+	}
+
+	/**
+	 * Writes the given amount of longs from the given array into the storage starting at the given index.
+	 *
+	 * @param index  the index of the first byte of the first long
+	 * @param src    the array the longs will be read from
+	 * @param offset the index of the first long in the array
+	 * @param length the amount of longs that will be written
+	 */
+	protected void putLongsAt(int index, long[] src, int offset, int length) {
+		ByteArrayAccess.putLongs(this.data, index, src, offset, length, this.bigEndian);
+	}
+
+	/**
+	 * Reads the given amount of floats starting at the given index of the storage into the given array.
+	 *
+	 * @param index  the index of the first byte of the first float
+	 * @param dst    the array the floats will be written to
+	 * @param offset the index in the array where the first float will be written to
+	 * @param length the amount of floats that will be read
+	 */
+	protected void getFloatsAt(int index, float[] dst, int offset, int length) {
+		ByteArrayAccess.getFloats(this.data, index, dst, offset, length, this.bigEndian);
+	}
+
+	/**
+	 * Writes the given amount of floats from the given array into the storage starting at the given index.
+	 *
+	 * @param index  the index of the first byte of the first float
+	 * @param src    the array the floats will be read from
+	 * @param offset the index of the first float in the array
+	 * @param length the amount of floats that will be written
+	 */
+	protected void putFloatsAt(int index, float[] src, int offset, int length) {
+		ByteArrayAccess.putFloats(this.data, index, src, offset, length, this.bigEndian);
+	}
+
+	/**
+	 * Reads the given amount of doubles starting at the given index of the storage into the given array.
+	 *
+	 * @param index  the index of the first byte of the first double
+	 * @param dst    the array the doubles will be written to
+	 * @param offset the index in the array where the first double will be written to
+	 * @param length the amount of doubles that will be read
+	 */
+	protected void getDoublesAt(int index, double[] dst, int offset, int length) {
+		ByteArrayAccess.getDoubles(this.data, index, dst, offset, length, this.bigEndian);
+	}
+
+	/**
+	 * Writes the given amount of doubles from the given array into the storage starting at the given index.
+	 *
+	 * @param index  the index of the first byte of the first double
+	 * @param src    the array the doubles will be read from
+	 * @param offset the index of the first double in the array
+	 * @param length the amount of doubles that will be written
+	 */
+	protected void putDoublesAt(int index, double[] src, int offset, int length) {
+		ByteArrayAccess.putDoubles(this.data, index, src, offset, length, this.bigEndian);
+	}
+
+	/**
+	 * Copies the given amount of bytes starting at the given index of the storage into the given array.
+	 *
+	 * @param index  the index of the first byte that will be copied
+	 * @param dst    the array the bytes will be copied to
+	 * @param offset the index in the array where the first byte will be copied to
+	 * @param length the amount of bytes that will be copied
+	 */
+	protected void getBytesAt(int index, byte[] dst, int offset, int length) {
+		System.arraycopy(this.data, index, dst, offset, length);
+	}
+
+	/**
+	 * Copies the given amount of bytes from the given array into the storage starting at the given index.
+	 *
+	 * @param index  the index in the storage where the first byte will be copied to
+	 * @param src    the array the bytes will be copied from
+	 * @param offset the index of the first byte in the array
+	 * @param length the amount of bytes that will be copied
+	 */
+	protected void putBytesAt(int index, byte[] src, int offset, int length) {
+		System.arraycopy(src, offset, this.data, index, length);
+	}
+
+	/**
+	 * Decodes the given amount of bytes starting at the given index of the storage into a string.
+	 *
+	 * @param index   the index of the first byte of the string
+	 * @param length  the amount of bytes of the string
+	 * @param charset the charset that will be used to convert the bytes into a string
+	 * @return the decoded string
+	 */
+	protected String getStringAt(int index, int length, Charset charset) {
+		return new String(this.data, index, length, charset);
+	}
+
+	/**
+	 * Encodes the given characters with the UTF-8 charset into the storage starting at the given index.<br>
+	 * The storage must have space for {@link #utf8Length(CharSequence)} bytes.
+	 *
+	 * @param index the index in the storage where the first byte will be written to
+	 * @param value the characters that will be encoded
+	 */
+	private void putUtf8At(int index, CharSequence value) {
+		int length = value.length();
+		int n = 0;
+		for (; n < length; n++) {
+			char c = value.charAt(n);
+			if (c >= 0x80)
+				break;
+			this.putByteAt(index++, (byte) c);
+		}
+
+		for (; n < length; n++) {
+			char c = value.charAt(n);
+			if (c < 0x80) {
+				this.putByteAt(index++, (byte) c);
+			} else if (c < 0x800) {
+				this.putByteAt(index++, (byte) (0xC0 | (c >> 6)));
+				this.putByteAt(index++, (byte) (0x80 | (c & 0x3F)));
+			} else if (!Character.isSurrogate(c)) {
+				this.putByteAt(index++, (byte) (0xE0 | (c >> 12)));
+				this.putByteAt(index++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+				this.putByteAt(index++, (byte) (0x80 | (c & 0x3F)));
+			} else if (Character.isHighSurrogate(c) && n + 1 < length && Character.isLowSurrogate(value.charAt(n + 1))) {
+				int codePoint = Character.toCodePoint(c, value.charAt(++n));
+				this.putByteAt(index++, (byte) (0xF0 | (codePoint >> 18)));
+				this.putByteAt(index++, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+				this.putByteAt(index++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+				this.putByteAt(index++, (byte) (0x80 | (codePoint & 0x3F)));
+			} else {
+				this.putByteAt(index++, (byte) '?');
+			}
+		}
+	}
+
+	/**
+	 * Calculates the amount of bytes needed to encode the given characters with the UTF-8 charset.
+	 *
+	 * @param value the characters
+	 * @return the amount of bytes of the encoded characters
+	 */
+	private static int utf8Length(CharSequence value) {
+		int length = value.length();
+		int bytes = length;
+		for (int n = 0; n < length; n++) {
+			char c = value.charAt(n);
+			if (c < 0x80)
+				continue;
+
+			if (c < 0x800) {
+				bytes += 1;
+			} else if (!Character.isSurrogate(c)) {
+				bytes += 2;
+			} else if (Character.isHighSurrogate(c) && n + 1 < length && Character.isLowSurrogate(value.charAt(n + 1))) {
+				bytes += 2;
+				n++;
+			}
+		}
+		return bytes;
+	}
+
+	/**
+	 * Calculates the amount of steps of a quantized float with the given range and amount of bits.
+	 *
+	 * @param min  the minimum of the range
+	 * @param max  the maximum of the range
+	 * @param bits the amount of bits of the quantized float
+	 * @return the amount of steps between the minimum and the maximum
+	 * @throws IllegalArgumentException when the amount of bits is not between 1 and 32 or the range is empty
+	 */
+	private static long quantizationSteps(float min, float max, int bits) {
+		if (bits < 1 || bits > 32)
+			throw new IllegalArgumentException("Tried quantizing float with " + bits + " bits in AdvancedByteBuffer.");
+		if (!(max > min) || Float.isInfinite(min) || Float.isInfinite(max))
+			throw new IllegalArgumentException("Tried quantizing float in invalid range from " + min + " to " + max + " in AdvancedByteBuffer.");
+		return (1L << bits) - 1;
+	}
+
+	/**
+	 * Quantizes the given float to the nearest step, clamping it to the range.
+	 *
+	 * @param value the float that will be quantized
+	 * @param min   the minimum of the range
+	 * @param scale the amount of steps per unit
+	 * @param bits  the amount of bits of the quantized float
+	 * @return the step of the float
+	 */
+	private static long quantize(float value, float min, double scale, int bits) {
+		long step = (long) Math.floor((value - (double) min) * scale + 0.5);
+		return Math.max(0, Math.min((1L << bits) - 1, step));
+	}
+
+	/**
+	 * Reads an unsigned var int.<br>
+	 * Single byte var ints are returned right away. While at least 8 bytes are left in the buffer,
+	 * longer var ints are decoded from a single word without branching on every byte.
+	 * Otherwise it is read byte by byte with an unrolled loop.
+	 *
+	 * @return the raw 32 bits of the var int
+	 * @throws IllegalArgumentException when the var int is longer than 5 bytes
+	 */
+	private int readRawVarInt() {
+		int first = this.getByteAt(this.position);
+		if (first >= 0) {
+			this.position++;
+			return first;
+		}
+
+		if (this.position <= this.getCapacity() - 8) {
+			long word = this.getLongAt(this.position);
+			if (this.bigEndian)
+				word = Long.reverseBytes(word);
+
+			long stops = ~word & 0x8080808080808080L;
+			int bytes = (Long.numberOfTrailingZeros(stops) + 1) >> 3;
+			if (bytes > 5)
+				throw new IllegalArgumentException("Variable length quantity is too long.");
+
+			this.position += bytes;
+			word &= -1L >>> (64 - (bytes << 3));
+			return (int) ((word & 0x7F) | (word >>> 1 & 0x3F80) | (word >>> 2 & 0x1FC000) | (word >>> 3 & 0xFE00000) | (word >>> 4 & 0xF0000000L));
+		}
+
+		int b = first;
+		this.position++;
+		int data = b & 0x7F;
+		if ((b = this.getByteAt(this.position++)) >= 0)
+			return data | b << 7;
+
+		data |= (b & 0x7F) << 7;
+		if ((b = this.getByteAt(this.position++)) >= 0)
+			return data | b << 14;
+
+		data |= (b & 0x7F) << 14;
+		if ((b = this.getByteAt(this.position++)) >= 0)
+			return data | b << 21;
+
+		data |= (b & 0x7F) << 21;
+		if ((b = this.getByteAt(this.position++)) >= 0)
+			return data | b << 28;
+
+		throw new IllegalArgumentException("Variable length quantity is too long.");
+	}
+
+	/**
+	 * Calculates the amount of bytes of the given int as unsigned var int.
+	 *
+	 * @param value the int
+	 * @return the amount of bytes between 1 and 5
+	 */
+	private static int varIntSize(int value) {
+		return (38 - Integer.numberOfLeadingZeros(value | 1)) / 7;
+	}
+
+	/**
+	 * Calculates the amount of bytes of the given long as unsigned var long.
+	 *
+	 * @param value the long
+	 * @return the amount of bytes between 1 and 10
+	 */
+	private static int varLongSize(long value) {
+		return (70 - Long.numberOfLeadingZeros(value | 1)) / 7;
+	}
+
+	/**
+	 * Calculates the amount of bytes of the given int in a group var int array.
+	 *
+	 * @param value the int
+	 * @return the amount of bytes between 1 and 4
+	 */
+	private static int groupVarIntSize(int value) {
+		return (39 - Integer.numberOfLeadingZeros(value | 1)) >> 3;
+	}
+
+	/**
+	 * Creates a view of the whole storage with the same position and limit as this buffer.
+	 *
+	 * @param readOnly whether the view rejects writes
+	 * @return the view of the buffer
+	 */
+	private AdvancedByteBuffer view(boolean readOnly) {
+		AdvancedByteBuffer view = new AdvancedByteBufferView(this, 0, this.getCapacity(), readOnly);
+		view.position = this.position;
+		view.limit = this.limit;
+		view.growthPolicy = this.growthPolicy;
+		return view;
 	}
 
 	/**
-	 * Checks if the position is valid for the {@link #data} array.
+	 * Checks if the position is valid for the storage of the buffer.
 	 *
 	 * @param position the position that will be checked
 	 * @return <i>true</i> if the position is valid
@@ -1829,7 +3151,7 @@ public class AdvancedByteBuffer {
 		if (position < 0) {
 			return false;
 		} else {
-			return position < this.data.length;
+			return position < this.getCapacity();
 		}
 	}
 
@@ -0,0 +1,273 @@
+package pw.masy.gutils.buffer;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteOrder;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Pool of {@link PooledAdvancedByteBuffer}s for reusing buffers instead of allocating a new one for every packet.
+ *
+ * <p>Buffers are grouped into size classes, each class holding buffers with a capacity of a power of two between the minimum
+ * and the maximum capacity of the pool. Every thread keeps a small cache of buffers per size class, so acquiring and releasing
+ * buffers on the same thread does not need any synchronization. Buffers which do not fit into the cache of a thread are
+ * moved into a bounded shared queue, buffers which do not fit into the shared queue are left to the garbage collector.</p>
+ *
+ * <p>When leak detection is enabled, the pool remembers where each buffer has been acquired and reports buffers which
+ * have been garbage collected without being released to the {@link #leakListener}. Leak detection is meant for debugging,
+ * since it captures a stack trace for every acquired buffer. It can be enabled for all pools with the system property
+ * <code>gutils.buffer.leakDetection</code>.</p>
+ */
+public class AdvancedByteBufferPool {
+
+	@Getter private final int minCapacity;
+	@Getter private final int maxCapacity;
+	@Getter private final int maxPooledBuffers;
+	@Getter private final int threadCacheSize;
+	@Getter private final ByteOrder order;
+	@Getter @Setter private volatile boolean leakDetection = Boolean.getBoolean("gutils.buffer.leakDetection");
+	@Getter @Setter private volatile Consumer<Throwable> leakListener = Throwable::printStackTrace;
+
+	private final int minShift;
+	private final ArrayBlockingQueue<PooledAdvancedByteBuffer>[] shared;
+	private final ThreadLocal<ThreadCache> threadCache;
+	private final AtomicLong allocations = new AtomicLong();
+	private final AtomicLong leaks = new AtomicLong();
+	private final ReferenceQueue<PooledAdvancedByteBuffer> leakQueue = new ReferenceQueue<>();
+	private final Set<LeakTracker> trackers = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Constructs a new pool for buffers between 256 bytes and 1 MiB, 64 shared and 8 thread cached buffers per size class.
+	 */
+	public AdvancedByteBufferPool() {
+		this(256, 1 << 20, 64, 8, ByteOrder.BIG_ENDIAN);
+	}
+
+	/**
+	 * Constructs a new pool with the given size classes and cache sizes.
+	 *
+	 * @param minCapacity      the capacity of the smallest size class, rounded up to the next power of two
+	 * @param maxCapacity      the capacity of the biggest size class, rounded up to the next power of two
+	 * @param maxPooledBuffers the maximum amount of buffers per size class in the shared queue
+	 * @param threadCacheSize  the maximum amount of buffers per size class in the cache of a thread
+	 * @param order            the {@link ByteOrder} of the buffers of the pool
+	 * @throws IllegalArgumentException when the capacities are not positive, the maximum capacity is smaller than the minimum capacity,
+	 *                                  the shared queue size is not positive or the thread cache size is negative
+	 */
+	@SuppressWarnings("unchecked")
+	public AdvancedByteBufferPool(int minCapacity, int maxCapacity, int maxPooledBuffers, int threadCacheSize, ByteOrder order) {
+		if (minCapacity <= 0 || maxCapacity < minCapacity || maxCapacity > 1 << 30)
+			throw new IllegalArgumentException("Tried creating AdvancedByteBufferPool with invalid capacities " + minCapacity + " and " + maxCapacity + ".");
+		if (maxPooledBuffers <= 0 || threadCacheSize < 0)
+			throw new IllegalArgumentException("Tried creating AdvancedByteBufferPool with invalid cache sizes " + maxPooledBuffers + " and " + threadCacheSize + ".");
+
+		this.minShift = 32 - Integer.numberOfLeadingZeros(minCapacity - 1);
+		this.minCapacity = 1 << this.minShift;
+		this.maxCapacity = Math.max(this.minCapacity, 1 << (32 - Integer.numberOfLeadingZeros(maxCapacity - 1)));
+		this.maxPooledBuffers = maxPooledBuffers;
+		this.threadCacheSize = threadCacheSize;
+		this.order = order;
+
+		int classes = Integer.numberOfTrailingZeros(this.maxCapacity) - this.minShift + 1;
+		this.shared = new ArrayBlockingQueue[classes];
+		for (int n = 0; n < classes; n++) {
+			this.shared[n] = new ArrayBlockingQueue<>(maxPooledBuffers);
+		}
+		this.threadCache = ThreadLocal.withInitial(() -> new ThreadCache(classes, threadCacheSize));
+	}
+
+	/**
+	 * Acquires a buffer with the minimum capacity of the pool.
+	 *
+	 * @return an empty {@link PooledAdvancedByteBuffer}
+	 * @see #acquire(int)
+	 */
+	public PooledAdvancedByteBuffer acquire() {
+		return this.acquire(this.minCapacity);
+	}
+
+	/**
+	 * Acquires a buffer with at least the given capacity.<br>
+	 * The position of the buffer is 0 and its limit is its capacity. The content of a reused buffer is not cleared.
+	 * Buffers bigger than the maximum capacity of the pool are allocated on every call.
+	 *
+	 * @param capacity the minimum capacity of the buffer
+	 * @return an empty {@link PooledAdvancedByteBuffer}
+	 * @throws IllegalArgumentException when the capacity is negative
+	 */
+	public PooledAdvancedByteBuffer acquire(int capacity) {
+		if (capacity < 0)
+			throw new IllegalArgumentException("Tried acquiring AdvancedByteBuffer with negative capacity.");
+
+		PooledAdvancedByteBuffer buffer = null;
+		if (capacity <= this.maxCapacity) {
+			int sizeClass = capacity <= this.minCapacity ? 0 : 32 - Integer.numberOfLeadingZeros(capacity - 1) - this.minShift;
+			buffer = this.threadCache.get().poll(sizeClass);
+			if (buffer == null)
+				buffer = this.shared[sizeClass].poll();
+			if (buffer == null)
+				buffer = this.allocate(this.minCapacity << sizeClass);
+		} else {
+			buffer = this.allocate(capacity);
+		}
+
+		buffer.getReleased().set(false);
+		if (this.leakDetection)
+			this.track(buffer);
+		return buffer;
+	}
+
+	/**
+	 * Gives the given buffer back to the pool.<br>
+	 * The buffer is cleared and put into the size class fitting its current capacity, so buffers which grew while
+	 * being used are reused for bigger requests afterwards.
+	 *
+	 * @param buffer the {@link PooledAdvancedByteBuffer} that will be released
+	 * @throws IllegalArgumentException when the buffer does not belong to this pool
+	 * @throws IllegalStateException    when the buffer has already been released
+	 */
+	public void release(PooledAdvancedByteBuffer buffer) {
+		if (buffer.getPool() != this)
+			throw new IllegalArgumentException("Tried releasing AdvancedByteBuffer into a pool it does not belong to.");
+		if (!buffer.getReleased().compareAndSet(false, true))
+			throw new IllegalStateException("Tried releasing AdvancedByteBuffer which has already been released.");
+
+		LeakTracker tracker = buffer.getTracker();
+		if (tracker != null) {
+			buffer.setTracker(null);
+			this.trackers.remove(tracker);
+			tracker.clear();
+		}
+
+		int capacity = buffer.getCapacity();
+		if (capacity < this.minCapacity || capacity > this.maxCapacity)
+			return;
+
+		buffer.clear();
+		int sizeClass = 31 - Integer.numberOfLeadingZeros(capacity) - this.minShift;
+		if (!this.threadCache.get().offer(sizeClass, buffer))
+			this.shared[sizeClass].offer(buffer);
+	}
+
+	/**
+	 * Reports every buffer which has been garbage collected without being released to the {@link #leakListener}.<br>
+	 * This is also done every time a buffer is acquired while leak detection is enabled.
+	 *
+	 * @return the amount of newly detected leaks
+	 */
+	public int checkLeaks() {
+		int found = 0;
+		LeakTracker tracker;
+		while ((tracker = (LeakTracker) this.leakQueue.poll()) != null) {
+			if (this.trackers.remove(tracker)) {
+				found++;
+				this.leaks.incrementAndGet();
+				Consumer<Throwable> listener = this.leakListener;
+				if (listener != null)
+					listener.accept(tracker.origin);
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Gets the amount of buffers the pool had to allocate because no pooled buffer was available.
+	 *
+	 * @return the amount of allocated buffers
+	 */
+	public long getAllocations() {
+		return this.allocations.get();
+	}
+
+	/**
+	 * Gets the amount of buffers which have been detected as leaked.
+	 *
+	 * @return the amount of leaked buffers
+	 */
+	public long getLeaks() {
+		return this.leaks.get();
+	}
+
+	/**
+	 * Allocates a new buffer for the pool.
+	 *
+	 * @param capacity the capacity of the buffer
+	 * @return the new {@link PooledAdvancedByteBuffer}
+	 */
+	private PooledAdvancedByteBuffer allocate(int capacity) {
+		this.allocations.incrementAndGet();
+		PooledAdvancedByteBuffer buffer = new PooledAdvancedByteBuffer(this, capacity, this.order);
+		buffer.setGrowthPolicy(GrowthPolicy.DOUBLING);
+		return buffer;
+	}
+
+	/**
+	 * Remembers where the given buffer has been acquired.
+	 *
+	 * @param buffer the {@link PooledAdvancedByteBuffer} that has been acquired
+	 */
+	private void track(PooledAdvancedByteBuffer buffer) {
+		this.checkLeaks();
+		LeakTracker tracker = new LeakTracker(buffer, this.leakQueue,
+				new Throwable("AdvancedByteBuffer with capacity " + buffer.getCapacity() + " has been garbage collected without being released. It was acquired here:"));
+		this.trackers.add(tracker);
+		buffer.setTracker(tracker);
+	}
+
+	/**
+	 * Weak reference to an acquired buffer remembering where it has been acquired.
+	 */
+	static final class LeakTracker extends WeakReference<PooledAdvancedByteBuffer> {
+
+		private final Throwable origin;
+
+		private LeakTracker(PooledAdvancedByteBuffer buffer, ReferenceQueue<PooledAdvancedByteBuffer> queue, Throwable origin) {
+			super(buffer, queue);
+			this.origin = origin;
+		}
+
+	}
+
+	/**
+	 * Buffers cached by a single thread, stored as a stack per size class.
+	 */
+	private static final class ThreadCache {
+
+		private final PooledAdvancedByteBuffer[][] buffers;
+		private final int[] sizes;
+
+		private ThreadCache(int classes, int size) {
+			this.buffers = new PooledAdvancedByteBuffer[classes][size];
+			this.sizes = new int[classes];
+		}
+
+		private PooledAdvancedByteBuffer poll(int sizeClass) {
+			int size = this.sizes[sizeClass];
+			if (size == 0)
+				return null;
+
+			PooledAdvancedByteBuffer buffer = this.buffers[sizeClass][--size];
+			this.buffers[sizeClass][size] = null;
+			this.sizes[sizeClass] = size;
+			return buffer;
+		}
+
+		private boolean offer(int sizeClass, PooledAdvancedByteBuffer buffer) {
+			int size = this.sizes[sizeClass];
+			if (size == this.buffers[sizeClass].length)
+				return false;
+
+			this.buffers[sizeClass][size] = buffer;
+			this.sizes[sizeClass] = size + 1;
+			return true;
+		}
+
+	}
+
+}
@@ -0,0 +1,249 @@
+package pw.masy.gutils.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.Charset;
+
+/**
+ * View of a region of another {@link AdvancedByteBuffer}, created by {@link AdvancedByteBuffer#slice(int, int)},
+ * {@link AdvancedByteBuffer#duplicate()} and {@link AdvancedByteBuffer#asReadOnlyBuffer()}.
+ *
+ * <p>Every storage access is translated into the region of the parent buffer, so the view keeps seeing the content
+ * of the parent even after the parent has been resized. The view itself cannot grow.</p>
+ */
+class AdvancedByteBufferView extends AdvancedByteBuffer {
+
+	private final AdvancedByteBuffer parent;
+	private int offset;
+	private int capacity;
+	private final boolean readOnly;
+
+	/**
+	 * Constructs a new view of the given region of the given buffer.<br>
+	 * Views of views are flattened, so every access goes straight to the buffer owning the storage.
+	 *
+	 * @param parent   the {@link AdvancedByteBuffer} the view shares the storage with
+	 * @param offset   the index of the first byte of the view in the parent
+	 * @param capacity the amount of bytes of the view
+	 * @param readOnly whether the view rejects writes
+	 */
+	AdvancedByteBufferView(AdvancedByteBuffer parent, int offset, int capacity, boolean readOnly) {
+		super(null, capacity, parent.getThreshold(), parent.getOrder());
+		if (parent instanceof AdvancedByteBufferView) {
+			AdvancedByteBufferView view = (AdvancedByteBufferView) parent;
+			this.parent = view.parent;
+			this.offset = view.offset + offset;
+		} else {
+			this.parent = parent;
+			this.offset = offset;
+		}
+		this.capacity = capacity;
+		this.readOnly = readOnly;
+	}
+
+	/**
+	 * Moves the view to another region of its parent, so a single view can be reused for many regions.<br>
+	 * The position is set to 0 and the limit to the new capacity.
+	 *
+	 * @param offset   the index of the first byte of the view in the parent
+	 * @param capacity the amount of bytes of the view
+	 * @throws IllegalArgumentException when the region is not inside of the parent
+	 */
+	void moveTo(int offset, int capacity) {
+		if (offset < 0 || capacity < 0 || offset > this.parent.getCapacity() - capacity)
+			throw new IllegalArgumentException("Tried moving view of AdvancedByteBuffer outside of its parent.");
+
+		this.offset = offset;
+		this.capacity = capacity;
+		this.setPosition(0);
+		this.setLimit(capacity);
+	}
+
+	/**
+	 * Views have no own backing array.
+	 *
+	 * @return nothing
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public byte[] getData() {
+		throw new UnsupportedOperationException("A view of an AdvancedByteBuffer is not backed by an own array.");
+	}
+
+	@Override
+	public boolean hasArray() {
+		return false;
+	}
+
+	@Override
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	@Override
+	public boolean isReadOnly() {
+		return this.readOnly;
+	}
+
+	@Override
+	protected ByteBuffer createStorageView() {
+		ByteBuffer storage = this.parent.createStorageView();
+		storage.limit(this.offset + this.capacity);
+		storage.position(this.offset);
+		ByteBuffer view = this.readOnly ? storage.slice().asReadOnlyBuffer() : storage.slice();
+		return view.order(this.getOrder());
+	}
+
+	/**
+	 * Views cannot grow.
+	 *
+	 * @param newCapacity the new capacity of the buffer
+	 * @throws ReadOnlyBufferException when the view is read-only
+	 * @throws IllegalStateException   always otherwise
+	 */
+	@Override
+	protected void resize(int newCapacity) {
+		this.checkWritable();
+		throw new IllegalStateException("Tried resizing a view of an AdvancedByteBuffer.");
+	}
+
+	@Override
+	protected byte getByteAt(int index) {
+		return this.parent.getByteAt(this.translate(index, 1));
+	}
+
+	@Override
+	protected void putByteAt(int index, byte value) {
+		this.checkWritable();
+		this.parent.putByteAt(this.translate(index, 1), value);
+	}
+
+	@Override
+	protected short getShortAt(int index) {
+		return this.parent.getShortAt(this.translate(index, 2));
+	}
+
+	@Override
+	protected void putShortAt(int index, short value) {
+		this.checkWritable();
+		this.parent.putShortAt(this.translate(index, 2), value);
+	}
+
+	@Override
+	protected int getIntAt(int index) {
+		return this.parent.getIntAt(this.translate(index, 4));
+	}
+
+	@Override
+	protected void putIntAt(int index, int value) {
+		this.checkWritable();
+		this.parent.putIntAt(this.translate(index, 4), value);
+	}
+
+	@Override
+	protected long getLongAt(int index) {
+		return this.parent.getLongAt(this.translate(index, 8));
+	}
+
+	@Override
+	protected void putLongAt(int index, long value) {
+		this.checkWritable();
+		this.parent.putLongAt(this.translate(index, 8), value);
+	}
+
+	@Override
+	protected void getShortsAt(int index, short[] dst, int offset, int length) {
+		this.parent.getShortsAt(this.translate(index, (long) length * 2), dst, offset, length);
+	}
+
+	@Override
+	protected void putShortsAt(int index, short[] src, int offset, int length) {
+		this.checkWritable();
+		this.parent.putShortsAt(this.translate(index, (long) length * 2), src, offset, length);
+	}
+
+	@Override
+	protected void getIntsAt(int index, int[] dst, int offset, int length) {
+		this.parent.getIntsAt(this.translate(index, (long) length * 4), dst, offset, length);
+	}
+
+	@Override
+	protected void putIntsAt(int index, int[] src, int offset, int length) {
+		this.checkWritable();
+		this.parent.putIntsAt(this.translate(index, (long) length * 4), src, offset, length);
+	}
+
+	@Override
+	protected void getLongsAt(int index, long[] dst, int offset, int length) {
+		this.parent.getLongsAt(this.translate(index, (long) length * 8), dst, offset, length);
+	}
+
+	@Override
+	protected void putLongsAt(int index, long[] src, int offset, int length) {
+		this.checkWritable();
+		this.parent.putLongsAt(this.translate(index, (long) length * 8), src, offset, length);
+	}
+
+	@Override
+	protected void getFloatsAt(int index, float[] dst, int offset, int length) {
+		this.parent.getFloatsAt(this.translate(index, (long) length * 4), dst, offset, length);
+	}
+
+	@Override
+	protected void putFloatsAt(int index, float[] src, int offset, int length) {
+		this.checkWritable();
+		this.parent.putFloatsAt(this.translate(index, (long) length * 4), src, offset, length);
+	}
+
+	@Override
+	protected void getDoublesAt(int index, double[] dst, int offset, int length) {
+		this.parent.getDoublesAt(this.translate(index, (long) length * 8), dst, offset, length);
+	}
+
+	@Override
+	protected void putDoublesAt(int index, double[] src, int offset, int length) {
+		this.checkWritable();
+		this.parent.putDoublesAt(this.translate(index, (long) length * 8), src, offset, length);
+	}
+
+	@Override
+	protected void getBytesAt(int index, byte[] dst, int offset, int length) {
+		this.parent.getBytesAt(this.translate(index, length), dst, offset, length);
+	}
+
+	@Override
+	protected void putBytesAt(int index, byte[] src, int offset, int length) {
+		this.checkWritable();
+		this.parent.putBytesAt(this.translate(index, length), src, offset, length);
+	}
+
+	@Override
+	protected String getStringAt(int index, int length, Charset charset) {
+		return this.parent.getStringAt(this.translate(index, length), length, charset);
+	}
+
+	/**
+	 * Translates the given index of the view into the index of the parent.
+	 *
+	 * @param index the index in the view
+	 * @param bytes the amount of bytes that will be accessed
+	 * @return the index in the parent
+	 * @throws IndexOutOfBoundsException when the accessed bytes are not inside of the view
+	 */
+	private int translate(int index, long bytes) {
+		if (index < 0 || bytes < 0 || index + bytes > this.capacity)
+			throw new IndexOutOfBoundsException("Tried accessing " + bytes + " bytes at index " + index + " of a view of an AdvancedByteBuffer with capacity " + this.capacity + ".");
+		return this.offset + index;
+	}
+
+	/**
+	 * Checks if the view accepts writes.
+	 *
+	 * @throws ReadOnlyBufferException when the view is read-only
+	 */
+	private void checkWritable() {
+		if (this.readOnly)
+			throw new ReadOnlyBufferException();
+	}
+
+}
@@ -0,0 +1,68 @@
+package pw.masy.gutils.buffer;
+
+import java.nio.ByteOrder;
+import lombok.Getter;
+
+/**
+ * Reader for values with an arbitrary amount of bits from an {@link AdvancedByteBuffer}, written by a {@link BitWriter}.
+ *
+ * <p>Every value is read from a single 64 bit word of the buffer as long as at least 8 bytes are left.
+ * After every read, the position of the buffer is right behind the byte containing the last read bit.</p>
+ */
+public class BitReader {
+
+	@Getter private final AdvancedByteBuffer buffer;
+	private final boolean bigEndian;
+	private long bitIndex;
+
+	/**
+	 * Constructs a new bit reader reading from the given buffer, starting at its current position.
+	 *
+	 * @param buffer the {@link AdvancedByteBuffer} the bits will be read from
+	 */
+	public BitReader(AdvancedByteBuffer buffer) {
+		this.buffer = buffer;
+		this.bigEndian = buffer.getOrder() == ByteOrder.BIG_ENDIAN;
+		this.bitIndex = (long) buffer.getPosition() << 3;
+	}
+
+	/**
+	 * Reads a value with the given amount of bits.
+	 *
+	 * @param bits the amount of bits of the value, between 1 and 64
+	 * @return the read value in the lowest bits of the long
+	 * @throws IllegalArgumentException  when the amount of bits is not between 1 and 64
+	 * @throws IndexOutOfBoundsException when the bits exceed the capacity of the buffer
+	 */
+	public long readBits(int bits) {
+		if (bits < 1 || bits > 64)
+			throw new IllegalArgumentException("Tried reading " + bits + " bits from AdvancedByteBuffer.");
+		if (bits > 56)
+			return this.readBits(bits - 32) << 32 | this.readBits(32);
+
+		int capacity = this.buffer.getCapacity();
+		if (this.bitIndex + bits > (long) capacity << 3)
+			throw new IndexOutOfBoundsException("Tried reading bits beyond the capacity of AdvancedByteBuffer.");
+
+		int index = (int) (this.bitIndex >>> 3);
+		long word;
+		if (index <= capacity - 8) {
+			word = this.buffer.getLongAt(index);
+			if (!this.bigEndian)
+				word = Long.reverseBytes(word);
+		} else {
+			word = 0;
+			for (int n = 0; n < 8; n++) {
+				word <<= 8;
+				if (index + n < capacity)
+					word |= this.buffer.getByteAt(index + n) & 0xFF;
+			}
+		}
+
+		long value = (word << (this.bitIndex & 7)) >>> (64 - bits);
+		this.bitIndex += bits;
+		this.buffer.setPosition((int) ((this.bitIndex + 7) >>> 3));
+		return value;
+	}
+
+}
@@ -0,0 +1,79 @@
+package pw.masy.gutils.buffer;
+
+import java.nio.ByteOrder;
+import lombok.Getter;
+
+/**
+ * Writer for values with an arbitrary amount of bits into an {@link AdvancedByteBuffer}.
+ *
+ * <p>The bits are written most significant bit first, independent of the byte order of the buffer.
+ * They are collected in a 64 bit word which is written into the buffer as a whole once it is full.
+ * The remaining bits have to be written with {@link #flush()} before the buffer is used otherwise.</p>
+ */
+public class BitWriter {
+
+	@Getter private final AdvancedByteBuffer buffer;
+	private final boolean bigEndian;
+	private long accumulator;
+	private int count;
+
+	/**
+	 * Constructs a new bit writer writing into the given buffer, starting at its current position.
+	 *
+	 * @param buffer the {@link AdvancedByteBuffer} the bits will be written into
+	 */
+	public BitWriter(AdvancedByteBuffer buffer) {
+		this.buffer = buffer;
+		this.bigEndian = buffer.getOrder() == ByteOrder.BIG_ENDIAN;
+	}
+
+	/**
+	 * Writes the lowest bits of the given value.
+	 *
+	 * @param value the value of which the lowest bits will be written
+	 * @param bits  the amount of bits that will be written, between 1 and 64
+	 * @return the instance of the {@link BitWriter}
+	 * @throws IllegalArgumentException when the amount of bits is not between 1 and 64
+	 */
+	public BitWriter writeBits(long value, int bits) {
+		if (bits < 1 || bits > 64)
+			throw new IllegalArgumentException("Tried writing " + bits + " bits into AdvancedByteBuffer.");
+
+		if (bits < 64)
+			value &= (1L << bits) - 1;
+
+		int free = 64 - this.count;
+		if (bits < free) {
+			this.accumulator = (this.accumulator << bits) | value;
+			this.count += bits;
+		} else {
+			int rest = bits - free;
+			long word = (this.accumulator << free) | (value >>> rest);
+			this.buffer.writeLong(this.bigEndian ? word : Long.reverseBytes(word));
+			this.accumulator = rest == 0 ? 0 : value & ((1L << rest) - 1);
+			this.count = rest;
+		}
+		return this;
+	}
+
+	/**
+	 * Writes the remaining bits into the buffer, filling up the last byte with zeros.<br>
+	 * Afterwards the position of the buffer is right behind the last written bit.
+	 *
+	 * @return the {@link AdvancedByteBuffer} the bits have been written into
+	 */
+	public AdvancedByteBuffer flush() {
+		if (this.count > 0) {
+			long aligned = this.accumulator << (64 - this.count);
+			int bytes = (this.count + 7) >> 3;
+			this.buffer.ensureSpace(bytes);
+			for (int n = 0; n < bytes; n++) {
+				this.buffer.writeByte((int) (aligned >>> (56 - (n << 3))));
+			}
+			this.accumulator = 0;
+			this.count = 0;
+		}
+		return this.buffer;
+	}
+
+}
@@ -0,0 +1,618 @@
+package pw.masy.gutils.buffer;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteOrder;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Helper class reading and writing primitives in either byte order from and to byte arrays with a single memory access per value.
+ *
+ * <p>The values are accessed through the methods of <code>sun.misc.Unsafe</code>, which are looked up as constant {@link MethodHandle}s,
+ * so the JIT compiles them to plain memory accesses without the compiler warning of referencing the internal class.
+ * Values are swapped if the requested byte order differs from the native byte order of the platform,
+ * arrays in native byte order are copied as a single block of memory.
+ * Float and double arrays in native byte order are copied as a block as well, only NaN values are rewritten afterwards.
+ * Since the memory is accessed without bounds checks, every method checks the bounds once before accessing the array.
+ * If <code>sun.misc.Unsafe</code> is not available or the platform does not support unaligned access, the values are accessed byte by byte.</p>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ByteArrayAccess {
+
+	private static final boolean NATIVE_BIG_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
+	private static final MethodHandle GET_SHORT;
+	private static final MethodHandle PUT_SHORT;
+	private static final MethodHandle GET_INT;
+	private static final MethodHandle PUT_INT;
+	private static final MethodHandle GET_LONG;
+	private static final MethodHandle PUT_LONG;
+	private static final MethodHandle COPY_MEMORY;
+	private static final boolean WORD_ACCESS;
+	private static final long BYTE_ARRAY_OFFSET;
+	private static final long SHORT_ARRAY_OFFSET;
+	private static final long INT_ARRAY_OFFSET;
+	private static final long LONG_ARRAY_OFFSET;
+	private static final long FLOAT_ARRAY_OFFSET;
+	private static final long DOUBLE_ARRAY_OFFSET;
+
+	static {
+		MethodHandle[] handles = new MethodHandle[7];
+		long[] offsets = new long[6];
+		String arch = System.getProperty("os.arch", "");
+		if (arch.equals("amd64") || arch.equals("x86_64") || arch.equals("i386") || arch.equals("x86") || arch.equals("aarch64")
+				|| arch.equals("ppc64le")) {
+			try {
+				Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+				Field field = unsafeClass.getDeclaredField("theUnsafe");
+				field.setAccessible(true);
+				Object unsafe = field.get(null);
+				MethodHandles.Lookup lookup = MethodHandles.lookup();
+				Class<?>[] types = {short.class, int.class, long.class};
+				String[] names = {"Short", "Int", "Long"};
+				for (int n = 0; n < types.length; n++) {
+					handles[n * 2] = lookup.findVirtual(unsafeClass, "get" + names[n], MethodType.methodType(types[n], Object.class, long.class)).bindTo(unsafe);
+					handles[n * 2 + 1] = lookup.findVirtual(unsafeClass, "put" + names[n], MethodType.methodType(void.class, Object.class, long.class, types[n])).bindTo(unsafe);
+				}
+				handles[6] = lookup.findVirtual(unsafeClass, "copyMemory", MethodType.methodType(void.class, Object.class, long.class, Object.class, long.class, long.class)).bindTo(unsafe);
+				MethodHandle arrayBaseOffset = lookup.findVirtual(unsafeClass, "arrayBaseOffset", MethodType.methodType(int.class, Class.class)).bindTo(unsafe);
+				Class<?>[] arrays = {byte[].class, short[].class, int[].class, long[].class, float[].class, double[].class};
+				for (int n = 0; n < arrays.length; n++) {
+					offsets[n] = (int) arrayBaseOffset.invokeExact(arrays[n]);
+				}
+			} catch (Throwable ignored) {
+				handles = new MethodHandle[7];
+			}
+		}
+		GET_SHORT = handles[0];
+		PUT_SHORT = handles[1];
+		GET_INT = handles[2];
+		PUT_INT = handles[3];
+		GET_LONG = handles[4];
+		PUT_LONG = handles[5];
+		COPY_MEMORY = handles[6];
+		WORD_ACCESS = COPY_MEMORY != null;
+		BYTE_ARRAY_OFFSET = offsets[0];
+		SHORT_ARRAY_OFFSET = offsets[1];
+		INT_ARRAY_OFFSET = offsets[2];
+		LONG_ARRAY_OFFSET = offsets[3];
+		FLOAT_ARRAY_OFFSET = offsets[4];
+		DOUBLE_ARRAY_OFFSET = offsets[5];
+	}
+
+	/**
+	 * Gets the short starting at the given index of the array.
+	 *
+	 * @param array     the array the short will be read from
+	 * @param index     the index of the first byte of the short
+	 * @param bigEndian whether the short is stored in big-endian or little-endian byte order
+	 * @return the read short
+	 * @throws ArrayIndexOutOfBoundsException when the short is not inside the array
+	 */
+	static short getShort(byte[] array, int index, boolean bigEndian) {
+		checkBounds(array, index, 2);
+		return getShortUnchecked(array, index, bigEndian);
+	}
+
+	/**
+	 * Sets the short starting at the given index of the array.
+	 *
+	 * @param array     the array the short will be written to
+	 * @param index     the index of the first byte of the short
+	 * @param value     the short that will be written
+	 * @param bigEndian whether the short will be stored in big-endian or little-endian byte order
+	 * @throws ArrayIndexOutOfBoundsException when the short is not inside the array
+	 */
+	static void putShort(byte[] array, int index, short value, boolean bigEndian) {
+		checkBounds(array, index, 2);
+		putShortUnchecked(array, index, value, bigEndian);
+	}
+
+	/**
+	 * Gets the int starting at the given index of the array.
+	 *
+	 * @param array     the array the int will be read from
+	 * @param index     the index of the first byte of the int
+	 * @param bigEndian whether the int is stored in big-endian or little-endian byte order
+	 * @return the read int
+	 * @throws ArrayIndexOutOfBoundsException when the int is not inside the array
+	 */
+	static int getInt(byte[] array, int index, boolean bigEndian) {
+		checkBounds(array, index, 4);
+		return getIntUnchecked(array, index, bigEndian);
+	}
+
+	/**
+	 * Sets the int starting at the given index of the array.
+	 *
+	 * @param array     the array the int will be written to
+	 * @param index     the index of the first byte of the int
+	 * @param value     the int that will be written
+	 * @param bigEndian whether the int will be stored in big-endian or little-endian byte order
+	 * @throws ArrayIndexOutOfBoundsException when the int is not inside the array
+	 */
+	static void putInt(byte[] array, int index, int value, boolean bigEndian) {
+		checkBounds(array, index, 4);
+		putIntUnchecked(array, index, value, bigEndian);
+	}
+
+	/**
+	 * Gets the long starting at the given index of the array.
+	 *
+	 * @param array     the array the long will be read from
+	 * @param index     the index of the first byte of the long
+	 * @param bigEndian whether the long is stored in big-endian or little-endian byte order
+	 * @return the read long
+	 * @throws ArrayIndexOutOfBoundsException when the long is not inside the array
+	 */
+	static long getLong(byte[] array, int index, boolean bigEndian) {
+		checkBounds(array, index, 8);
+		return getLongUnchecked(array, index, bigEndian);
+	}
+
+	/**
+	 * Sets the long starting at the given index of the array.
+	 *
+	 * @param array     the array the long will be written to
+	 * @param index     the index of the first byte of the long
+	 * @param value     the long that will be written
+	 * @param bigEndian whether the long will be stored in big-endian or little-endian byte order
+	 * @throws ArrayIndexOutOfBoundsException when the long is not inside the array
+	 */
+	static void putLong(byte[] array, int index, long value, boolean bigEndian) {
+		checkBounds(array, index, 8);
+		putLongUnchecked(array, index, value, bigEndian);
+	}
+
+	/**
+	 * Reads the given amount of shorts starting at the given index of the array into the given short array.
+	 *
+	 * @param array     the array the shorts will be read from
+	 * @param index     the index of the first byte of the first short
+	 * @param dst       the short array the values will be written to
+	 * @param offset    the index of the first value in the short array
+	 * @param length    the amount of shorts that will be read
+	 * @param bigEndian whether the shorts are stored in big-endian or little-endian byte order
+	 * @throws ArrayIndexOutOfBoundsException when the shorts are not inside the array
+	 */
+	static void getShorts(byte[] array, int index, short[] dst, int offset, int length, boolean bigEndian) {
+		checkBounds(array, index, length * 2);
+		checkBounds(dst.length, offset, length);
+		if (WORD_ACCESS && bigEndian == NATIVE_BIG_ENDIAN) {
+			copyMemory(array, BYTE_ARRAY_OFFSET + index, dst, SHORT_ARRAY_OFFSET + offset * 2L, length * 2L);
+		} else {
+			for (int n = 0; n < length; n++) {
+				dst[offset + n] = getShortUnchecked(array, index + n * 2, bigEndian);
+			}
+		}
+	}
+
+	/**
+	 * Writes the given amount of shorts from the given short array into the array.
+	 *
+	 * @param array     the array the shorts will be written to
+	 * @param index     the index of the first byte of the first short
+	 * @param src       the short array the values will be read from
+	 * @param offset    the index of the first value in the short array
+	 * @param length    the amount of shorts that will be written
+	 * @param bigEndian whether the shorts will be stored in big-endian or little-endian byte order
+	 * @throws ArrayIndexOutOfBoundsException when the shorts do not fit into the array
+	 */
+	static void putShorts(byte[] array, int index, short[] src, int offset, int length, boolean bigEndian) {
+		checkBounds(array, index, length * 2);
+		checkBounds(src.length, offset, length);
+		if (WORD_ACCESS && bigEndian == NATIVE_BIG_ENDIAN) {
+			copyMemory(src, SHORT_ARRAY_OFFSET + offset * 2L, array, BYTE_ARRAY_OFFSET + index, length * 2L);
+		} else {
+			for (int n = 0; n < length; n++) {
+				putShortUnchecked(array, index + n * 2, src[offset + n], bigEndian);
+			}
+		}
+	}
+
+	/**
+	 * Reads the given amount of ints starting at the given index of the array into the given int array.
+	 *
+	 * @param array     the array the ints will be read from
+	 * @param index     the index of the first byte of the first int
+	 * @param dst       the int array the values will be written to
+	 * @param offset    the index of the first value in the int array
+	 * @param length    the amount of ints that will be read
+	 * @param bigEndian whether the ints are stored in big-endian or little-endian byte order
+	 * @throws ArrayIndexOutOfBoundsException when the ints are not inside the array
+	 */
+	static void getInts(byte[] array, int index, int[] dst, int offset, int length, boolean bigEndian) {
+		checkBounds(array, index, length * 4);
+		checkBounds(dst.length, offset, length);
+		if (WORD_ACCESS && bigEndian == NATIVE_BIG_ENDIAN) {
+			copyMemory(array, BYTE_ARRAY_OFFSET + index, dst, INT_ARRAY_OFFSET + offset * 4L, length * 4L);
+		} else {
+			for (int n = 0; n < length; n++) {
+				dst[offset + n] = getIntUnchecked(array, index + n * 4, bigEndian);
+			}
+		}
+	}
+
+	/**
+	 * Writes the given amount of ints from the given int array into the array.
+	 *
+	 * @param array     the array the ints will be written to
+	 * @param index     the index of the first byte of the first int
+	 * @param src       the int array the values will be read from
+	 * @param offset    the index of the first value in the int array
+	 * @param length    the amount of ints that will be written
+	 * @param bigEndian whether the ints will be stored in big-endian or little-endian byte order
+	 * @throws ArrayIndexOutOfBoundsException when the ints do not fit into the array
+	 */
+	static void putInts(byte[] array, int index, int[] src, int offset, int length, boolean bigEndian) {
+		checkBounds(array, index, length * 4);
+		checkBounds(src.length, offset, length);
+		if (WORD_ACCESS && bigEndian == NATIVE_BIG_ENDIAN) {
+			copyMemory(src, INT_ARRAY_OFFSET + offset * 4L, array, BYTE_ARRAY_OFFSET + index, length * 4L);
+		} else {
+			for (int n = 0; n < length; n++) {
+				putIntUnchecked(array, index + n * 4, src[offset + n], bigEndian);
+			}
+		}
+	}
+
+	/**
+	 * Reads the given amount of longs starting at the given index of the array into the given long array.
+	 *
+	 * @param array     the array the longs will be read from
+	 * @param index     the index of the first byte of the first long
+	 * @param dst       the long array the values will be written to
+	 * @param offset    the index of the first value in the long array
+	 * @param length    the amount of longs that will be read
+	 * @param bigEndian whether the longs are stored in big-endian or little-endian byte order
+	 * @throws ArrayIndexOutOfBoundsException when the longs are not inside the array
+	 */
+	static void getLongs(byte[] array, int index, long[] dst, int offset, int length, boolean bigEndian) {
+		checkBounds(array, index, length * 8);
+		checkBounds(dst.length, offset, length);
+		if (WORD_ACCESS && bigEndian == NATIVE_BIG_ENDIAN) {
+			copyMemory(array, BYTE_ARRAY_OFFSET + index, dst, LONG_ARRAY_OFFSET + offset * 8L, length * 8L);
+		} else {
+			for (int n = 0; n < length; n++) {
+				dst[offset + n] = getLongUnchecked(array, index + n * 8, bigEndian);
+			}
+		}
+	}
+
+	/**
+	 * Writes the given amount of longs from the given long array into the array.
+	 *
+	 * @param array     the array the longs will be written to
+	 * @param index     the index of the first byte of the first long
+	 * @param src       the long array the values will be read from
+	 * @param offset    the index of the first value in the long array
+	 * @param length    the amount of longs that will be written
+	 * @param bigEndian whether the longs will be stored in big-endian or little-endian byte order
+	 * @throws ArrayIndexOutOfBoundsException when the longs do not fit into the array
+	 */
+	static void putLongs(byte[] array, int index, long[] src, int offset, int length, boolean bigEndian) {
+		checkBounds(array, index, length * 8);
+		checkBounds(src.length, offset, length);
+		if (WORD_ACCESS && bigEndian == NATIVE_BIG_ENDIAN) {
+			copyMemory(src, LONG_ARRAY_OFFSET + offset * 8L, array, BYTE_ARRAY_OFFSET + index, length * 8L);
+		} else {
+			for (int n = 0; n < length; n++) {
+				putLongUnchecked(array, index + n * 8, src[offset + n], bigEndian);
+			}
+		}
+	}
+
+	/**
+	 * Reads the given amount of floats starting at the given index of the array into the given float array.
+	 *
+	 * @param array     the array the floats will be read from
+	 * @param index     the index of the first byte of the first float
+	 * @param dst       the float array the values will be written to
+	 * @param offset    the index of the first value in the float array
+	 * @param length    the amount of floats that will be read
+	 * @param bigEndian whether the floats are stored in big-endian or little-endian byte order
+	 * @throws ArrayIndexOutOfBoundsException when the floats are not inside the array
+	 */
+	static void getFloats(byte[] array, int index, float[] dst, int offset, int length, boolean bigEndian) {
+		checkBounds(array, index, length * 4);
+		checkBounds(dst.length, offset, length);
+		if (WORD_ACCESS && bigEndian == NATIVE_BIG_ENDIAN) {
+			copyMemory(array, BYTE_ARRAY_OFFSET + index, dst, FLOAT_ARRAY_OFFSET + offset * 4L, length * 4L);
+		} else {
+			for (int n = 0; n < length; n++) {
+				dst[offset + n] = Float.intBitsToFloat(getIntUnchecked(array, index + n * 4, bigEndian));
+			}
+		}
+	}
+
+	/**
+	 * Writes the given amount of floats from the given float array into the array.<br>
+	 * Every NaN value is written as the canonical NaN.
+	 *
+	 * @param array     the array the floats will be written to
+	 * @param index     the index of the first byte of the first float
+	 * @param src       the float array the values will be read from
+	 * @param offset    the index of the first value in the float array
+	 * @param length    the amount of floats that will be written
+	 * @param bigEndian whether the floats will be stored in big-endian or little-endian byte order
+	 * @throws ArrayIndexOutOfBoundsException when the floats do not fit into the array
+	 */
+	static void putFloats(byte[] array, int index, float[] src, int offset, int length, boolean bigEndian) {
+		checkBounds(array, index, length * 4);
+		checkBounds(src.length, offset, length);
+		if (WORD_ACCESS && bigEndian == NATIVE_BIG_ENDIAN) {
+			copyMemory(src, FLOAT_ARRAY_OFFSET + offset * 4L, array, BYTE_ARRAY_OFFSET + index, length * 4L);
+			// the copy keeps the bits of every NaN, so only NaN values are rewritten as the canonical NaN
+			for (int n = 0; n < length; n++) {
+				float value = src[offset + n];
+				if (value != value)
+					putIntUnchecked(array, index + n * 4, Float.floatToIntBits(value), bigEndian);
+			}
+		} else {
+			for (int n = 0; n < length; n++) {
+				putIntUnchecked(array, index + n * 4, Float.floatToIntBits(src[offset + n]), bigEndian);
+			}
+		}
+	}
+
+	/**
+	 * Reads the given amount of doubles starting at the given index of the array into the given double array.
+	 *
+	 * @param array     the array the doubles will be read from
+	 * @param index     the index of the first byte of the first double
+	 * @param dst       the double array the values will be written to
+	 * @param offset    the index of the first value in the double array
+	 * @param length    the amount of doubles that will be read
+	 * @param bigEndian whether the doubles are stored in big-endian or little-endian byte order
+	 * @throws ArrayIndexOutOfBoundsException when the doubles are not inside the array
+	 */
+	static void getDoubles(byte[] array, int index, double[] dst, int offset, int length, boolean bigEndian) {
+		checkBounds(array, index, length * 8);
+		checkBounds(dst.length, offset, length);
+		if (WORD_ACCESS && bigEndian == NATIVE_BIG_ENDIAN) {
+			copyMemory(array, BYTE_ARRAY_OFFSET + index, dst, DOUBLE_ARRAY_OFFSET + offset * 8L, length * 8L);
+		} else {
+			for (int n = 0; n < length; n++) {
+				dst[offset + n] = Double.longBitsToDouble(getLongUnchecked(array, index + n * 8, bigEndian));
+			}
+		}
+	}
+
+	/**
+	 * Writes the given amount of doubles from the given double array into the array.<br>
+	 * Every NaN value is written as the canonical NaN.
+	 *
+	 * @param array     the array the doubles will be written to
+	 * @param index     the index of the first byte of the first double
+	 * @param src       the double array the values will be read from
+	 * @param offset    the index of the first value in the double array
+	 * @param length    the amount of doubles that will be written
+	 * @param bigEndian whether the doubles will be stored in big-endian or little-endian byte order
+	 * @throws ArrayIndexOutOfBoundsException when the doubles do not fit into the array
+	 */
+	static void putDoubles(byte[] array, int index, double[] src, int offset, int length, boolean bigEndian) {
+		checkBounds(array, index, length * 8);
+		checkBounds(src.length, offset, length);
+		if (WORD_ACCESS && bigEndian == NATIVE_BIG_ENDIAN) {
+			copyMemory(src, DOUBLE_ARRAY_OFFSET + offset * 8L, array, BYTE_ARRAY_OFFSET + index, length * 8L);
+			// the copy keeps the bits of every NaN, so only NaN values are rewritten as the canonical NaN
+			for (int n = 0; n < length; n++) {
+				double value = src[offset + n];
+				if (value != value)
+					putLongUnchecked(array, index + n * 8, Double.doubleToLongBits(value), bigEndian);
+			}
+		} else {
+			for (int n = 0; n < length; n++) {
+				putLongUnchecked(array, index + n * 8, Double.doubleToLongBits(src[offset + n]), bigEndian);
+			}
+		}
+	}
+
+	/**
+	 * Gets the short starting at the given index of the array without checking the bounds of the array.
+	 *
+	 * @param array     the array the short will be read from
+	 * @param index     the index of the first byte of the short
+	 * @param bigEndian whether the short is stored in big-endian or little-endian byte order
+	 * @return the read short
+	 */
+	private static short getShortUnchecked(byte[] array, int index, boolean bigEndian) {
+		if (!WORD_ACCESS) {
+			if (bigEndian)
+				return (short) (((array[index] & 0xFF) << 8) | (array[index + 1] & 0xFF));
+			else
+				return (short) ((array[index] & 0xFF) | ((array[index + 1] & 0xFF) << 8));
+		}
+
+		short value = unsafeGetShort(array, index);
+		return bigEndian == NATIVE_BIG_ENDIAN ? value : Short.reverseBytes(value);
+	}
+
+	/**
+	 * Sets the short starting at the given index of the array without checking the bounds of the array.
+	 *
+	 * @param array     the array the short will be written to
+	 * @param index     the index of the first byte of the short
+	 * @param value     the short that will be written
+	 * @param bigEndian whether the short will be stored in big-endian or little-endian byte order
+	 */
+	private static void putShortUnchecked(byte[] array, int index, short value, boolean bigEndian) {
+		if (!WORD_ACCESS) {
+			if (!bigEndian)
+				value = Short.reverseBytes(value);
+			array[index] = (byte) (value >> 8);
+			array[index + 1] = (byte) value;
+		} else {
+			unsafePutShort(array, index, bigEndian == NATIVE_BIG_ENDIAN ? value : Short.reverseBytes(value));
+		}
+	}
+
+	/**
+	 * Gets the int starting at the given index of the array without checking the bounds of the array.
+	 *
+	 * @param array     the array the int will be read from
+	 * @param index     the index of the first byte of the int
+	 * @param bigEndian whether the int is stored in big-endian or little-endian byte order
+	 * @return the read int
+	 */
+	private static int getIntUnchecked(byte[] array, int index, boolean bigEndian) {
+		if (!WORD_ACCESS) {
+			int value = ((array[index] & 0xFF) << 24) | ((array[index + 1] & 0xFF) << 16) | ((array[index + 2] & 0xFF) << 8)
+					| (array[index + 3] & 0xFF);
+			return bigEndian ? value : Integer.reverseBytes(value);
+		}
+
+		int value = unsafeGetInt(array, index);
+		return bigEndian == NATIVE_BIG_ENDIAN ? value : Integer.reverseBytes(value);
+	}
+
+	/**
+	 * Sets the int starting at the given index of the array without checking the bounds of the array.
+	 *
+	 * @param array     the array the int will be written to
+	 * @param index     the index of the first byte of the int
+	 * @param value     the int that will be written
+	 * @param bigEndian whether the int will be stored in big-endian or little-endian byte order
+	 */
+	private static void putIntUnchecked(byte[] array, int index, int value, boolean bigEndian) {
+		if (!WORD_ACCESS) {
+			if (!bigEndian)
+				value = Integer.reverseBytes(value);
+			array[index] = (byte) (value >> 24);
+			array[index + 1] = (byte) (value >> 16);
+			array[index + 2] = (byte) (value >> 8);
+			array[index + 3] = (byte) value;
+		} else {
+			unsafePutInt(array, index, bigEndian == NATIVE_BIG_ENDIAN ? value : Integer.reverseBytes(value));
+		}
+	}
+
+	/**
+	 * Gets the long starting at the given index of the array without checking the bounds of the array.
+	 *
+	 * @param array     the array the long will be read from
+	 * @param index     the index of the first byte of the long
+	 * @param bigEndian whether the long is stored in big-endian or little-endian byte order
+	 * @return the read long
+	 */
+	private static long getLongUnchecked(byte[] array, int index, boolean bigEndian) {
+		if (!WORD_ACCESS) {
+			long value = ((long) getIntUnchecked(array, index, true) << 32) | (getIntUnchecked(array, index + 4, true) & 0xFFFFFFFFL);
+			return bigEndian ? value : Long.reverseBytes(value);
+		}
+
+		long value = unsafeGetLong(array, index);
+		return bigEndian == NATIVE_BIG_ENDIAN ? value : Long.reverseBytes(value);
+	}
+
+	/**
+	 * Sets the long starting at the given index of the array without checking the bounds of the array.
+	 *
+	 * @param array     the array the long will be written to
+	 * @param index     the index of the first byte of the long
+	 * @param value     the long that will be written
+	 * @param bigEndian whether the long will be stored in big-endian or little-endian byte order
+	 */
+	private static void putLongUnchecked(byte[] array, int index, long value, boolean bigEndian) {
+		if (!WORD_ACCESS) {
+			if (!bigEndian)
+				value = Long.reverseBytes(value);
+			putIntUnchecked(array, index, (int) (value >> 32), true);
+			putIntUnchecked(array, index + 4, (int) value, true);
+		} else {
+			unsafePutLong(array, index, bigEndian == NATIVE_BIG_ENDIAN ? value : Long.reverseBytes(value));
+		}
+	}
+
+	private static short unsafeGetShort(byte[] array, int index) {
+		try {
+			return (short) GET_SHORT.invokeExact((Object) array, BYTE_ARRAY_OFFSET + index);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	private static void unsafePutShort(byte[] array, int index, short value) {
+		try {
+			PUT_SHORT.invokeExact((Object) array, BYTE_ARRAY_OFFSET + index, value);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	private static int unsafeGetInt(byte[] array, int index) {
+		try {
+			return (int) GET_INT.invokeExact((Object) array, BYTE_ARRAY_OFFSET + index);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	private static void unsafePutInt(byte[] array, int index, int value) {
+		try {
+			PUT_INT.invokeExact((Object) array, BYTE_ARRAY_OFFSET + index, value);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	private static long unsafeGetLong(byte[] array, int index) {
+		try {
+			return (long) GET_LONG.invokeExact((Object) array, BYTE_ARRAY_OFFSET + index);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	private static void unsafePutLong(byte[] array, int index, long value) {
+		try {
+			PUT_LONG.invokeExact((Object) array, BYTE_ARRAY_OFFSET + index, value);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	private static void copyMemory(Object src, long srcOffset, Object dst, long dstOffset, long bytes) {
+		try {
+			COPY_MEMORY.invokeExact(src, srcOffset, dst, dstOffset, bytes);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	private static RuntimeException rethrow(Throwable throwable) {
+		if (throwable instanceof RuntimeException)
+			throw (RuntimeException) throwable;
+		if (throwable instanceof Error)
+			throw (Error) throwable;
+		return new IllegalStateException(throwable);
+	}
+
+	/**
+	 * Checks if the given amount of bytes at the given index are inside the array.
+	 *
+	 * @param array the array that will be checked
+	 * @param index the index of the first byte
+	 * @param size  the amount of bytes
+	 * @throws ArrayIndexOutOfBoundsException when the bytes are not inside the array
+	 */
+	private static void checkBounds(byte[] array, int index, int size) {
+		checkBounds(array.length, index, size);
+	}
+
+	/**
+	 * Checks if the given amount of elements at the given index are inside an array with the given length.
+	 *
+	 * @param arrayLength the length of the array
+	 * @param index       the index of the first element
+	 * @param size        the amount of elements
+	 * @throws ArrayIndexOutOfBoundsException when the elements are not inside the array
+	 */
+	private static void checkBounds(int arrayLength, int index, int size) {
+		if (index < 0 || size < 0 || index > arrayLength - size)
+			throw new ArrayIndexOutOfBoundsException("Tried accessing " + size + " elements at index " + index + " of an array with length " + arrayLength + ".");
+	}
+
+}
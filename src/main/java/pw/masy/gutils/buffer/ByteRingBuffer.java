@@ -0,0 +1,316 @@
+package pw.masy.gutils.buffer;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import lombok.Getter;
+
+/**
+ * Ring buffer handing off length-prefixed records of bytes from one or multiple producer threads to a single consumer thread.
+ *
+ * <p>Producers claim space for a record through their {@link Producer} and write it in place with the methods of the returned
+ * {@link AdvancedByteBuffer}. Multiple records can be claimed before they are committed together. The consumer reads committed
+ * records in order through a read-only view of the ring, nothing is copied or allocated per record.</p>
+ *
+ * <p>Space is claimed without locks, with a compare-and-set by multiple producers. Commits become visible in the order the space
+ * has been claimed, so a producer committing its records waits for the producers which claimed space before it.
+ * Waiting for space, for preceding commits and for records is done with the {@link WaitStrategy} of the ring.</p>
+ *
+ * <p>Every record is stored as an int holding its length followed by its bytes, aligned to 4 bytes. Records never wrap around
+ * the end of the ring, the remaining space is skipped instead, so a record can be at most half the capacity of the ring.</p>
+ */
+public class ByteRingBuffer {
+
+	static final int HEADER_SIZE = 4;
+
+	private final AdvancedByteBuffer storage;
+	@Getter private final int capacity;
+	@Getter private final boolean multiProducer;
+	@Getter private final WaitStrategy waitStrategy;
+	private final int mask;
+	private final AtomicLong tail = new AtomicLong();
+	private final AtomicLong published = new AtomicLong();
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicBoolean producerCreated = new AtomicBoolean();
+	private final AdvancedByteBuffer readView;
+
+	/**
+	 * Constructs a new ring buffer using the {@link WaitStrategy#YIELDING} strategy.
+	 *
+	 * @param capacity      the capacity in bytes, a power of two and at least 16
+	 * @param multiProducer whether multiple producers write into the ring
+	 * @throws IllegalArgumentException when the capacity is not a power of two or too small
+	 */
+	public ByteRingBuffer(int capacity, boolean multiProducer) {
+		this(capacity, multiProducer, WaitStrategy.YIELDING);
+	}
+
+	/**
+	 * Constructs a new ring buffer.
+	 *
+	 * @param capacity      the capacity in bytes, a power of two and at least 16
+	 * @param multiProducer whether multiple producers write into the ring
+	 * @param waitStrategy  the {@link WaitStrategy} of waiting producers and consumers
+	 * @throws IllegalArgumentException when the capacity is not a power of two or too small
+	 */
+	public ByteRingBuffer(int capacity, boolean multiProducer, WaitStrategy waitStrategy) {
+		if (capacity < 16 || Integer.bitCount(capacity) != 1)
+			throw new IllegalArgumentException("Capacity of a ByteRingBuffer has to be a power of two and at least 16: " + capacity);
+		this.storage = new AdvancedByteBuffer(capacity);
+		this.capacity = capacity;
+		this.multiProducer = multiProducer;
+		this.waitStrategy = waitStrategy;
+		this.mask = capacity - 1;
+		this.readView = this.storage.asReadOnlyBuffer();
+	}
+
+	/**
+	 * Creates a producer writing into the ring.<br>
+	 * A producer must only be used by a single thread at a time.
+	 *
+	 * @return the {@link Producer}
+	 * @throws IllegalStateException when the ring has a single producer which has already been created
+	 */
+	public Producer createProducer() {
+		if (!this.multiProducer && !this.producerCreated.compareAndSet(false, true))
+			throw new IllegalStateException("Tried creating a second producer of a single producer ByteRingBuffer.");
+		return new Producer();
+	}
+
+	/**
+	 * Gets the maximum length of a single record.
+	 *
+	 * @return the maximum length in bytes
+	 */
+	public int getMaxRecordLength() {
+		return (this.capacity >> 1) - HEADER_SIZE;
+	}
+
+	/**
+	 * Gets the amount of bytes of committed records that have not been read yet, including headers and skipped space.
+	 *
+	 * @return the amount of bytes
+	 */
+	public int getReadableBytes() {
+		return (int) (this.published.get() - this.head.get());
+	}
+
+	/**
+	 * Reads all committed records.<br>
+	 * Must only be called by the single consumer thread.
+	 *
+	 * @param handler the {@link Consumer} receiving the records
+	 * @return the amount of records read
+	 * @see #read(Consumer, int)
+	 */
+	public int read(Consumer<AdvancedByteBuffer> handler) {
+		return this.read(handler, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Reads up to the given amount of committed records without waiting.<br>
+	 * Every record is passed as read-only view of the ring, with the position at the first byte of the record and the limit after its last byte.
+	 * The view is reused for every record and only valid until the handler returns. The space of all records is released
+	 * once after the last record has been handled.
+	 *
+	 * @param handler    the {@link Consumer} receiving the records
+	 * @param maxRecords the maximum amount of records that will be read
+	 * @return the amount of records read
+	 */
+	public int read(Consumer<AdvancedByteBuffer> handler, int maxRecords) {
+		long position = this.head.get();
+		long end = this.published.get();
+		int count = 0;
+		try {
+			while (position < end && count < maxRecords) {
+				int index = (int) position & this.mask;
+				int length = this.storage.getIntAt(index);
+				if (length < 0) {
+					position -= length;
+					continue;
+				}
+
+				this.readView.setPosition(index + HEADER_SIZE);
+				this.readView.setLimit(index + HEADER_SIZE + length);
+				position += align(HEADER_SIZE + length);
+				count++;
+				handler.accept(this.readView);
+			}
+		} finally {
+			this.head.lazySet(position);
+		}
+		return count;
+	}
+
+	/**
+	 * Waits until at least one record has been committed and reads up to the given amount of records.<br>
+	 * Must only be called by the single consumer thread.
+	 *
+	 * @param handler    the {@link Consumer} receiving the records
+	 * @param maxRecords the maximum amount of records that will be read
+	 * @return the amount of records read, at least 1
+	 * @see #read(Consumer, int)
+	 */
+	public int awaitRead(Consumer<AdvancedByteBuffer> handler, int maxRecords) {
+		for (int attempt = 0; ; attempt++) {
+			int count = this.read(handler, maxRecords);
+			if (count > 0)
+				return count;
+			this.waitStrategy.idle(attempt);
+		}
+	}
+
+	private static int align(int size) {
+		return (size + 3) & ~3;
+	}
+
+	/**
+	 * Producer writing records into a {@link ByteRingBuffer}.
+	 *
+	 * <p>{@link #claim(int)} returns the same {@link AdvancedByteBuffer} for every record, with the position at the first byte
+	 * of the record and the limit after the claimed space. The record ends at the position of the buffer when the next record
+	 * is claimed or the records are committed, so less than the claimed space can be used. The buffer cannot grow, so writing
+	 * beyond the claimed space throws an {@link IllegalStateException} at once. The record is then dropped and the pending records
+	 * of the producer are committed, so producers waiting for them are not blocked.</p>
+	 */
+	public final class Producer {
+
+		private final AdvancedByteBufferView view = new AdvancedByteBufferView(ByteRingBuffer.this.storage, 0, 0, false) {
+			@Override
+			protected void resize(int newCapacity) {
+				Producer.this.abortRecord();
+				throw new IllegalStateException("Record of ByteRingBuffer exceeded its claimed space.");
+			}
+		};
+		private long[] regions = new long[8];
+		private int regionCount;
+		private long recordStart = -1;
+
+		private Producer() {
+		}
+
+		/**
+		 * Claims space for a record, waiting until there is enough space in the ring.<br>
+		 * If there is not enough space, the pending records of this producer are committed before waiting.
+		 *
+		 * @param maxLength the maximum length of the record
+		 * @return the {@link AdvancedByteBuffer} the record will be written to
+		 * @throws IllegalArgumentException when the length is negative or greater than {@link #getMaxRecordLength()}
+		 */
+		public AdvancedByteBuffer claim(int maxLength) {
+			return this.claim(maxLength, true);
+		}
+
+		/**
+		 * Claims space for a record if there is enough space in the ring.
+		 *
+		 * @param maxLength the maximum length of the record
+		 * @return the {@link AdvancedByteBuffer} the record will be written to or <i>null</i> if there is not enough space
+		 * @throws IllegalArgumentException when the length is negative or greater than {@link #getMaxRecordLength()}
+		 */
+		public AdvancedByteBuffer tryClaim(int maxLength) {
+			return this.claim(maxLength, false);
+		}
+
+		/**
+		 * Commits all claimed records, making them visible to the consumer.<br>
+		 * When multiple producers write into the ring, this waits until the records claimed before by other producers are committed.
+		 */
+		public void commit() {
+			this.finishRecord();
+			ByteRingBuffer ring = ByteRingBuffer.this;
+			for (int n = 0; n < this.regionCount; n += 2) {
+				if (ring.multiProducer) {
+					for (int attempt = 0; ring.published.get() != this.regions[n]; attempt++) {
+						ring.waitStrategy.idle(attempt);
+					}
+				}
+				ring.published.lazySet(this.regions[n + 1]);
+			}
+			this.regionCount = 0;
+		}
+
+		private AdvancedByteBuffer claim(int maxLength, boolean wait) {
+			ByteRingBuffer ring = ByteRingBuffer.this;
+			if (maxLength < 0 || maxLength > ring.getMaxRecordLength())
+				throw new IllegalArgumentException("Length of a record has to be between 0 and " + ring.getMaxRecordLength() + ": " + maxLength);
+			this.finishRecord();
+
+			int size = align(HEADER_SIZE + maxLength);
+			long start;
+			int padding;
+			for (int attempt = 0; ; ) {
+				start = ring.tail.get();
+				int index = (int) start & ring.mask;
+				padding = ring.capacity - index < size ? ring.capacity - index : 0;
+				if (start + padding + size - ring.head.get() > ring.capacity) {
+					if (!wait)
+						return null;
+					if (this.regionCount > 0)
+						this.commit();
+					ring.waitStrategy.idle(attempt++);
+				} else if (!ring.multiProducer) {
+					ring.tail.lazySet(start + padding + size);
+					break;
+				} else if (ring.tail.compareAndSet(start, start + padding + size)) {
+					break;
+				}
+			}
+
+			if (padding > 0)
+				ring.storage.putIntAt((int) start & ring.mask, -padding);
+			this.addRegion(start, start + padding + size);
+			this.recordStart = start + padding;
+			this.view.moveTo(((int) this.recordStart & ring.mask) + HEADER_SIZE, maxLength);
+			return this.view;
+		}
+
+		/**
+		 * Writes the header of the current record and gives back the unused part of its claimed space.
+		 */
+		private void finishRecord() {
+			if (this.recordStart < 0)
+				return;
+			ByteRingBuffer ring = ByteRingBuffer.this;
+			int length = this.view.getPosition();
+			ring.storage.putIntAt((int) this.recordStart & ring.mask, length);
+			long used = this.recordStart + align(HEADER_SIZE + length);
+			long end = this.regions[this.regionCount - 1];
+			this.recordStart = -1;
+			if (used < end) {
+				if (ring.tail.compareAndSet(end, used)) {
+					this.regions[this.regionCount - 1] = used;
+				} else {
+					ring.storage.putIntAt((int) used & ring.mask, (int) (used - end));
+				}
+			}
+		}
+
+		/**
+		 * Drops the current record by turning its claimed space into skipped space and commits the pending records,
+		 * so the claimed space is published even though the record failed.
+		 */
+		private void abortRecord() {
+			if (this.recordStart < 0)
+				return;
+			ByteRingBuffer ring = ByteRingBuffer.this;
+			ring.storage.putIntAt((int) this.recordStart & ring.mask, (int) (this.recordStart - this.regions[this.regionCount - 1]));
+			this.recordStart = -1;
+			this.commit();
+		}
+
+		private void addRegion(long start, long end) {
+			if (this.regionCount > 0 && this.regions[this.regionCount - 1] == start) {
+				this.regions[this.regionCount - 1] = end;
+				return;
+			}
+			if (this.regionCount == this.regions.length)
+				this.regions = Arrays.copyOf(this.regions, this.regions.length * 2);
+			this.regions[this.regionCount++] = start;
+			this.regions[this.regionCount++] = end;
+		}
+
+	}
+
+}
@@ -0,0 +1,329 @@
+package pw.masy.gutils.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Implementation of the {@link AdvancedByteBuffer} storing its content in native memory instead of a byte array.
+ *
+ * <p>The content of the buffer can be handed to channels and native libraries without copying it by using {@link #asByteBuffer()}.
+ * The native memory of the buffer should be released by calling {@link #free()} once the buffer is not needed anymore.
+ * Otherwise it will be released by the garbage collector once the buffer is unreachable. When the buffer grows, the old memory
+ * is left to the garbage collector as well, so views created by {@link #asByteBuffer()} before stay valid.</p>
+ *
+ * <p>Since the buffer has no backing array, {@link #getData()} is not supported.</p>
+ */
+public class DirectAdvancedByteBuffer extends AdvancedByteBuffer {
+
+	private static final ByteBuffer EMPTY = ByteBuffer.allocateDirect(0);
+
+	private ByteBuffer buffer;
+
+	/**
+	 * Constructs a new direct advanced byte buffer with the capacity 0 and threshold 16.
+	 */
+	public DirectAdvancedByteBuffer() {
+		this(0);
+	}
+
+	/**
+	 * Constructs a new direct advanced byte buffer with the given capacity and threshold 16.
+	 *
+	 * @param capacity the original capacity of the buffer
+	 */
+	public DirectAdvancedByteBuffer(int capacity) {
+		this(capacity, 16);
+	}
+
+	/**
+	 * Constructs a new direct advanced byte buffer with the given capacity and threshold.
+	 *
+	 * @param capacity  the original capacity of the buffer
+	 * @param threshold the threshold of the buffer
+	 */
+	public DirectAdvancedByteBuffer(int capacity, int threshold) {
+		this(ByteBuffer.allocateDirect(capacity), threshold);
+	}
+
+	/**
+	 * Constructs a new direct advanced byte buffer with the given capacity, threshold 16 and growth policy.
+	 *
+	 * @param capacity     the original capacity of the buffer
+	 * @param growthPolicy the {@link GrowthPolicy} used when the buffer has to be resized
+	 */
+	public DirectAdvancedByteBuffer(int capacity, GrowthPolicy growthPolicy) {
+		this(capacity, 16);
+		this.setGrowthPolicy(growthPolicy);
+	}
+
+	/**
+	 * Constructs a new direct advanced byte buffer with the given capacity, threshold 16 and byte order.
+	 *
+	 * @param capacity the original capacity of the buffer
+	 * @param order    the {@link ByteOrder} multi-byte values will be stored in
+	 */
+	public DirectAdvancedByteBuffer(int capacity, ByteOrder order) {
+		this(ByteBuffer.allocateDirect(capacity).order(order), 16);
+	}
+
+	/**
+	 * Constructs a new direct advanced byte buffer storing its content in the given direct buffer.<br>
+	 * The position and limit of the given buffer are ignored, the whole capacity of it will be used.
+	 * Multi-byte values are stored in the byte order of the given buffer.
+	 *
+	 * @param buffer    the direct {@link ByteBuffer} the content will be stored in
+	 * @param threshold the threshold of the buffer
+	 * @throws IllegalArgumentException when the given buffer is not direct
+	 */
+	protected DirectAdvancedByteBuffer(ByteBuffer buffer, int threshold) {
+		super(null, buffer.capacity(), threshold, buffer.order());
+		if (!buffer.isDirect())
+			throw new IllegalArgumentException("The storage of a DirectAdvancedByteBuffer has to be a direct buffer.");
+
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Releases the native memory of the buffer.<br>
+	 * Afterwards the buffer is empty and every view created by {@link #asByteBuffer()} must not be used anymore.
+	 *
+	 * @return the instance of the {@link DirectAdvancedByteBuffer}
+	 */
+	public DirectAdvancedByteBuffer free() {
+		ByteBuffer old = this.buffer;
+		this.buffer = EMPTY;
+		this.rewind();
+		this.setLimit(0);
+		if (old.capacity() > 0)
+			DirectMemory.free(old);
+		return this;
+	}
+
+	/**
+	 * Direct buffers have no backing array.
+	 *
+	 * @return nothing
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public byte[] getData() {
+		throw new UnsupportedOperationException("DirectAdvancedByteBuffer is not backed by an array.");
+	}
+
+	@Override
+	public boolean hasArray() {
+		return false;
+	}
+
+	@Override
+	public int getCapacity() {
+		return this.buffer.capacity();
+	}
+
+	/**
+	 * Gets the direct buffer the content is stored in.
+	 *
+	 * @return the direct {@link ByteBuffer} of the buffer
+	 */
+	protected ByteBuffer getBuffer() {
+		return this.buffer;
+	}
+
+	/**
+	 * Replaces the direct buffer the content is stored in without copying or releasing anything.
+	 *
+	 * @param buffer the new direct {@link ByteBuffer} of the buffer
+	 */
+	protected void setBuffer(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	@Override
+	protected ByteBuffer createStorageView() {
+		return this.buffer.duplicate().order(this.getOrder());
+	}
+
+	@Override
+	protected void resize(int newCapacity) {
+		ByteBuffer newBuffer = ByteBuffer.allocateDirect(newCapacity).order(this.getOrder());
+		ByteBuffer content = this.buffer.duplicate();
+		content.clear().limit(Math.min(content.capacity(), newCapacity));
+		newBuffer.put(content).clear();
+		// the old memory is released by its cleaner, views created by asByteBuffer() may still be in use
+		this.buffer = newBuffer;
+	}
+
+	@Override
+	protected byte getByteAt(int index) {
+		return this.buffer.get(index);
+	}
+
+	@Override
+	protected void putByteAt(int index, byte value) {
+		this.buffer.put(index, value);
+	}
+
+	@Override
+	protected short getShortAt(int index) {
+		return this.buffer.getShort(index);
+	}
+
+	@Override
+	protected void putShortAt(int index, short value) {
+		this.buffer.putShort(index, value);
+	}
+
+	@Override
+	protected int getIntAt(int index) {
+		return this.buffer.getInt(index);
+	}
+
+	@Override
+	protected void putIntAt(int index, int value) {
+		this.buffer.putInt(index, value);
+	}
+
+	@Override
+	protected long getLongAt(int index) {
+		return this.buffer.getLong(index);
+	}
+
+	@Override
+	protected void putLongAt(int index, long value) {
+		this.buffer.putLong(index, value);
+	}
+
+	@Override
+	protected void getShortsAt(int index, short[] dst, int offset, int length) {
+		this.view(index).asShortBuffer().get(dst, offset, length);
+	}
+
+	@Override
+	protected void putShortsAt(int index, short[] src, int offset, int length) {
+		this.view(index).asShortBuffer().put(src, offset, length);
+	}
+
+	@Override
+	protected void getIntsAt(int index, int[] dst, int offset, int length) {
+		this.view(index).asIntBuffer().get(dst, offset, length);
+	}
+
+	@Override
+	protected void putIntsAt(int index, int[] src, int offset, int length) {
+		this.view(index).asIntBuffer().put(src, offset, length);
+	}
+
+	@Override
+	protected void getLongsAt(int index, long[] dst, int offset, int length) {
+		this.view(index).asLongBuffer().get(dst, offset, length);
+	}
+
+	@Override
+	protected void putLongsAt(int index, long[] src, int offset, int length) {
+		this.view(index).asLongBuffer().put(src, offset, length);
+	}
+
+	@Override
+	protected void getFloatsAt(int index, float[] dst, int offset, int length) {
+		this.view(index).asFloatBuffer().get(dst, offset, length);
+	}
+
+	@Override
+	protected void putFloatsAt(int index, float[] src, int offset, int length) {
+		if (offset < 0 || length < 0 || offset > src.length - length || index < 0 || index > this.buffer.capacity() - length * 4)
+			throw new IndexOutOfBoundsException("Tried writing " + length + " floats to DirectAdvancedByteBuffer at invalid position.");
+
+		if (this.getOrder() == ByteOrder.nativeOrder()) {
+			this.view(index).asFloatBuffer().put(src, offset, length);
+			// the bulk copy keeps the bits of every NaN, so only NaN values are rewritten as the canonical NaN
+			for (int n = 0; n < length; n++) {
+				float value = src[offset + n];
+				if (value != value)
+					this.buffer.putInt(index + n * 4, Float.floatToIntBits(value));
+			}
+		} else {
+			for (int n = 0; n < length; n++) {
+				this.buffer.putInt(index + n * 4, Float.floatToIntBits(src[offset + n]));
+			}
+		}
+	}
+
+	@Override
+	protected void getDoublesAt(int index, double[] dst, int offset, int length) {
+		this.view(index).asDoubleBuffer().get(dst, offset, length);
+	}
+
+	@Override
+	protected void putDoublesAt(int index, double[] src, int offset, int length) {
+		if (offset < 0 || length < 0 || offset > src.length - length || index < 0 || index > this.buffer.capacity() - length * 8)
+			throw new IndexOutOfBoundsException("Tried writing " + length + " doubles to DirectAdvancedByteBuffer at invalid position.");
+
+		if (this.getOrder() == ByteOrder.nativeOrder()) {
+			this.view(index).asDoubleBuffer().put(src, offset, length);
+			// the bulk copy keeps the bits of every NaN, so only NaN values are rewritten as the canonical NaN
+			for (int n = 0; n < length; n++) {
+				double value = src[offset + n];
+				if (value != value)
+					this.buffer.putLong(index + n * 8, Double.doubleToLongBits(value));
+			}
+		} else {
+			for (int n = 0; n < length; n++) {
+				this.buffer.putLong(index + n * 8, Double.doubleToLongBits(src[offset + n]));
+			}
+		}
+	}
+
+	@Override
+	protected void getBytesAt(int index, byte[] dst, int offset, int length) {
+		this.view(index).get(dst, offset, length);
+	}
+
+	@Override
+	protected void putBytesAt(int index, byte[] src, int offset, int length) {
+		this.view(index).put(src, offset, length);
+	}
+
+	/**
+	 * Decodes the given amount of bytes into a string.<br>
+	 * ASCII content of UTF-8 strings is decoded directly from native memory, everything else is copied into a temporary array first.
+	 *
+	 * @param index   the index of the first byte of the string
+	 * @param length  the amount of bytes of the string
+	 * @param charset the charset that will be used to convert the bytes into a string
+	 * @return the decoded string
+	 */
+	@Override
+	protected String getStringAt(int index, int length, Charset charset) {
+		if (StandardCharsets.UTF_8.equals(charset)) {
+			char[] chars = new char[length];
+			int n = 0;
+			for (; n < length; n++) {
+				byte b = this.buffer.get(index + n);
+				if (b < 0)
+					break;
+				chars[n] = (char) b;
+			}
+			if (n == length)
+				return new String(chars);
+		}
+
+		byte[] bytes = new byte[length];
+		this.getBytesAt(index, bytes, 0, length);
+		return new String(bytes, charset);
+	}
+
+	/**
+	 * Creates a view of the storage starting at the given index.
+	 *
+	 * @param index the index of the first byte of the view
+	 * @return a {@link ByteBuffer} sharing the storage of the buffer
+	 */
+	private ByteBuffer view(int index) {
+		ByteBuffer view = this.createStorageView();
+		view.position(index);
+		return view;
+	}
+
+}
@@ -0,0 +1,69 @@
+package pw.masy.gutils.buffer;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Helper class for releasing the native memory of direct {@link ByteBuffer}s without waiting for the garbage collector.
+ *
+ * <p>Java 9 and newer expose <code>sun.misc.Unsafe.invokeCleaner(ByteBuffer)</code> for this. On Java 8 the cleaner of the buffer
+ * is invoked directly. If neither is accessible, the memory is released by the garbage collector once the buffer is unreachable.</p>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class DirectMemory {
+
+	private static final Object UNSAFE;
+	private static final Method INVOKE_CLEANER;
+
+	static {
+		Object unsafe = null;
+		Method invokeCleaner = null;
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Field field = unsafeClass.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			unsafe = field.get(null);
+		} catch (ReflectiveOperationException | RuntimeException ignored) {
+			invokeCleaner = null;
+		}
+		UNSAFE = unsafe;
+		INVOKE_CLEANER = invokeCleaner;
+	}
+
+	/**
+	 * Releases the native memory of the given direct buffer.<br>
+	 * The buffer and every view of it must not be used afterwards.
+	 *
+	 * @param buffer the direct {@link ByteBuffer} that will be released
+	 * @return <i>true</i> if the memory has been released, <i>false</i> if it will be released by the garbage collector
+	 */
+	static boolean free(ByteBuffer buffer) {
+		if (!buffer.isDirect())
+			return false;
+
+		try {
+			if (INVOKE_CLEANER != null) {
+				INVOKE_CLEANER.invoke(UNSAFE, buffer);
+				return true;
+			}
+
+			Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+			cleanerMethod.setAccessible(true);
+			Object cleaner = cleanerMethod.invoke(buffer);
+			if (cleaner == null)
+				return false;
+
+			Method cleanMethod = cleaner.getClass().getMethod("clean");
+			cleanMethod.setAccessible(true);
+			cleanMethod.invoke(cleaner);
+			return true;
+		} catch (ReflectiveOperationException | RuntimeException ignored) {
+			return false;
+		}
+	}
+
+}
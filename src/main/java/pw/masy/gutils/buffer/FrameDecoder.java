@@ -0,0 +1,218 @@
+package pw.masy.gutils.buffer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.function.Consumer;
+import lombok.Getter;
+
+/**
+ * Incremental decoder of frames prefixed with their length as var int, reassembling frames from partial reads of a stream.
+ *
+ * <p>Bytes are read into a reusable buffer and every complete frame is passed to a handler as a view of that buffer, with the position
+ * at the first byte of the frame and the limit after its last byte. The view is reused for every frame and only valid until the handler returns.
+ * A frame that arrived within a single read is never copied. Only the bytes of an incomplete frame are moved to the start of the buffer,
+ * and only once there is too little space left behind them. The buffer grows when a frame does not fit into it,
+ * up to the maximum frame size.</p>
+ *
+ * <p>By default, the length is read like {@link AdvancedByteBuffer#readVarInt()}, so frames written with
+ * {@link AdvancedByteBuffer#writeByteArray(byte[])} can be decoded. Unsigned var ints as written by
+ * {@link AdvancedByteBuffer#writeUnsignedVarInt(int)} are supported as well. A malformed length or a frame exceeding the maximum size
+ * is reported as {@link IOException}, the stream cannot be decoded any further afterwards.</p>
+ *
+ * <p>A decoder is not thread-safe, every connection needs its own decoder.</p>
+ */
+public class FrameDecoder {
+
+	private static final int MAX_HEADER_SIZE = 5;
+	private static final int MIN_READ_SIZE = 1024;
+
+	@Getter private final int maxFrameSize;
+	@Getter private final boolean zigzagLength;
+	private AdvancedByteBuffer frameView;
+	private ByteBuffer readView;
+	private byte[] data;
+	private int readIndex;
+	private int writeIndex;
+	private int pendingFrameSize;
+
+	/**
+	 * Constructs a new frame decoder reading zigzag encoded lengths, starting with a buffer of up to 64 KiB.
+	 *
+	 * @param maxFrameSize the maximum size of a frame in bytes, excluding its length
+	 * @throws IllegalArgumentException when the maximum frame size is negative
+	 */
+	public FrameDecoder(int maxFrameSize) {
+		this((int) Math.max(16, Math.min(65536, (long) maxFrameSize + MAX_HEADER_SIZE)), maxFrameSize, true);
+	}
+
+	/**
+	 * Constructs a new frame decoder.
+	 *
+	 * @param initialCapacity the initial capacity of the buffer
+	 * @param maxFrameSize    the maximum size of a frame in bytes, excluding its length
+	 * @param zigzagLength    whether the length is zigzag encoded like {@link AdvancedByteBuffer#writeVarInt(int)}
+	 *                        or unsigned like {@link AdvancedByteBuffer#writeUnsignedVarInt(int)}
+	 * @throws IllegalArgumentException when the maximum frame size is negative or the initial capacity is smaller than 16
+	 */
+	public FrameDecoder(int initialCapacity, int maxFrameSize, boolean zigzagLength) {
+		if (maxFrameSize < 0 || maxFrameSize > Integer.MAX_VALUE - MAX_HEADER_SIZE)
+			throw new IllegalArgumentException("Maximum frame size has to be between 0 and " + (Integer.MAX_VALUE - MAX_HEADER_SIZE) + ": " + maxFrameSize);
+		if (initialCapacity < 16)
+			throw new IllegalArgumentException("Initial capacity of a FrameDecoder has to be at least 16: " + initialCapacity);
+		this.maxFrameSize = maxFrameSize;
+		this.zigzagLength = zigzagLength;
+		this.setBuffer(new byte[initialCapacity]);
+	}
+
+	/**
+	 * Reads once from the given channel and passes all complete frames to the handler.
+	 *
+	 * @param channel the {@link ReadableByteChannel} the bytes will be read from
+	 * @param handler the {@link Consumer} receiving the frames
+	 * @return the amount of decoded frames or -1 at the end of the stream
+	 * @throws IOException when a frame is malformed, the stream ends within a frame or the channel could not be read
+	 */
+	public int read(ReadableByteChannel channel, Consumer<AdvancedByteBuffer> handler) throws IOException {
+		this.prepareSpace();
+		this.readView.limit(this.data.length).position(this.writeIndex);
+		int read = channel.read(this.readView);
+		if (read < 0) {
+			if (this.writeIndex > this.readIndex)
+				throw new EOFException("Unexpected end of stream within a frame.");
+			return -1;
+		}
+		this.writeIndex += read;
+		return this.decode(handler);
+	}
+
+	/**
+	 * Appends the given bytes and passes all complete frames to the handler.<br>
+	 * The bytes are copied into the buffer of the decoder, {@link #read(ReadableByteChannel, Consumer)} should be preferred when reading a channel.
+	 *
+	 * @param src     the array holding the bytes
+	 * @param offset  the index of the first byte
+	 * @param length  the amount of bytes
+	 * @param handler the {@link Consumer} receiving the frames
+	 * @return the amount of decoded frames
+	 * @throws IOException when a frame is malformed
+	 */
+	public int feed(byte[] src, int offset, int length, Consumer<AdvancedByteBuffer> handler) throws IOException {
+		if (offset < 0 || length < 0 || offset + length > src.length)
+			throw new IndexOutOfBoundsException("Tried feeding " + length + " bytes at offset " + offset + " of an array with length " + src.length + ".");
+
+		int count = 0;
+		while (length > 0) {
+			this.prepareSpace();
+			int chunk = Math.min(length, this.data.length - this.writeIndex);
+			System.arraycopy(src, offset, this.data, this.writeIndex, chunk);
+			this.writeIndex += chunk;
+			offset += chunk;
+			length -= chunk;
+			count += this.decode(handler);
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the amount of buffered bytes not belonging to a complete frame yet.
+	 *
+	 * @return the amount of bytes
+	 */
+	public int getBufferedBytes() {
+		return this.writeIndex - this.readIndex;
+	}
+
+	/**
+	 * Gets the current capacity of the buffer.
+	 *
+	 * @return the capacity in bytes
+	 */
+	public int getCapacity() {
+		return this.data.length;
+	}
+
+	/**
+	 * Discards all buffered bytes, for example to reuse the decoder for another connection.
+	 */
+	public void reset() {
+		this.readIndex = this.writeIndex = this.pendingFrameSize = 0;
+	}
+
+	/**
+	 * Passes all complete frames in the buffer to the handler.
+	 *
+	 * @param handler the {@link Consumer} receiving the frames
+	 * @return the amount of decoded frames
+	 * @throws IOException when a frame is malformed
+	 */
+	private int decode(Consumer<AdvancedByteBuffer> handler) throws IOException {
+		int count = 0;
+		while (true) {
+			int index = this.readIndex;
+			int raw = 0;
+			boolean complete = false;
+			for (int shift = 0; shift < 7 * MAX_HEADER_SIZE && index < this.writeIndex; shift += 7) {
+				byte value = this.data[index++];
+				raw |= (value & 0x7F) << shift;
+				if (value >= 0) {
+					complete = true;
+					break;
+				}
+			}
+			if (!complete) {
+				if (index - this.readIndex >= MAX_HEADER_SIZE)
+					throw new IOException("Malformed length of frame.");
+				this.pendingFrameSize = 0;
+				break;
+			}
+
+			long length = this.zigzagLength ? (raw >>> 1) ^ -(raw & 1) : raw & 0xFFFFFFFFL;
+			if (length < 0 || length > this.maxFrameSize)
+				throw new IOException("Length of frame is out of range: " + length);
+			if (this.writeIndex - index < length) {
+				this.pendingFrameSize = index - this.readIndex + (int) length;
+				break;
+			}
+
+			this.frameView.setPosition(index);
+			this.frameView.setLimit(index + (int) length);
+			this.readIndex = index + (int) length;
+			this.pendingFrameSize = 0;
+			count++;
+			handler.accept(this.frameView);
+		}
+		if (this.readIndex == this.writeIndex)
+			this.readIndex = this.writeIndex = 0;
+		return count;
+	}
+
+	/**
+	 * Makes room behind the buffered bytes, moving them to the start of the buffer or growing the buffer
+	 * only if the pending frame does not fit or too little space is left for the next read.
+	 */
+	private void prepareSpace() {
+		int buffered = this.writeIndex - this.readIndex;
+		int needed = Math.max(this.pendingFrameSize, buffered + MAX_HEADER_SIZE);
+		if (needed > this.data.length) {
+			long capacity = Math.max(needed, Math.min((long) this.data.length << 1, (long) this.maxFrameSize + MAX_HEADER_SIZE));
+			byte[] grown = new byte[(int) capacity];
+			System.arraycopy(this.data, this.readIndex, grown, 0, buffered);
+			this.setBuffer(grown);
+		} else if (this.readIndex > 0 && (this.readIndex + needed > this.data.length || this.data.length - this.writeIndex < Math.min(MIN_READ_SIZE, this.data.length >> 2))) {
+			System.arraycopy(this.data, this.readIndex, this.data, 0, buffered);
+		} else {
+			return;
+		}
+		this.readIndex = 0;
+		this.writeIndex = buffered;
+	}
+
+	private void setBuffer(byte[] data) {
+		this.data = data;
+		this.frameView = new AdvancedByteBuffer(data).duplicate();
+		this.readView = ByteBuffer.wrap(data);
+	}
+
+}
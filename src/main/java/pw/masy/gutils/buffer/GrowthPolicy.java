@@ -0,0 +1,55 @@
+package pw.masy.gutils.buffer;
+
+/**
+ * Represents a strategy deciding how much the storage of an {@link AdvancedByteBuffer} grows when more space is needed.
+ *
+ * <p>The {@link #FIXED_STEP} policy grows the buffer by either the amount needed or the threshold and is the default of every buffer.
+ * Since every resize copies the whole content of the buffer, buffers that are filled byte by byte should use one of the geometric
+ * policies instead, which keep the amount of resizes logarithmic to the final size of the buffer.</p>
+ */
+@FunctionalInterface
+public interface GrowthPolicy {
+
+	/**
+	 * Grows the buffer by either the amount of bytes needed or the threshold (which ever is greater).
+	 */
+	GrowthPolicy FIXED_STEP = (capacity, bytesNeeded, minCapacity, threshold) -> capacity + Math.max(bytesNeeded, threshold);
+	/**
+	 * Doubles the capacity of the buffer.
+	 */
+	GrowthPolicy DOUBLING = (capacity, bytesNeeded, minCapacity, threshold) -> Math.max(capacity << 1, threshold);
+	/**
+	 * Grows the capacity of the buffer by half of its current capacity.
+	 */
+	GrowthPolicy ONE_AND_A_HALF = (capacity, bytesNeeded, minCapacity, threshold) -> Math.max(capacity + (capacity >> 1), threshold);
+
+	/**
+	 * Creates a policy doubling the capacity of the buffer until it grows by more than the given step per resize.
+	 * From there on the buffer grows by the given step.
+	 *
+	 * @param maxStep the maximum amount of bytes the buffer grows by per resize
+	 * @return the capped doubling policy
+	 * @throws IllegalArgumentException when the maximum step is not greater than 0
+	 */
+	static GrowthPolicy cappedDoubling(int maxStep) {
+		if (maxStep <= 0)
+			throw new IllegalArgumentException("The maximum step of a growth policy has to be greater than 0 but was: " + maxStep);
+
+		return (capacity, bytesNeeded, minCapacity, threshold) -> capacity + Math.max(Math.min(capacity, maxStep), threshold);
+	}
+
+	/**
+	 * Calculates the new capacity of a buffer.
+	 *
+	 * <p>The returned capacity may be smaller than <code>minCapacity</code>, in which case the buffer will be resized to exactly
+	 * <code>minCapacity</code>. This also applies when the calculation overflows.</p>
+	 *
+	 * @param capacity    the current capacity of the buffer
+	 * @param bytesNeeded the amount of bytes that will be written at the current position
+	 * @param minCapacity the smallest capacity that fits the bytes needed
+	 * @param threshold   the threshold of the buffer
+	 * @return the new capacity of the buffer
+	 */
+	int grow(int capacity, int bytesNeeded, int minCapacity, int threshold);
+
+}
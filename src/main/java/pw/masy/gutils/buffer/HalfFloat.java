@@ -0,0 +1,100 @@
+package pw.masy.gutils.buffer;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Helper class for converting floats from and to IEEE 754 half-precision floats.
+ *
+ * <p>Half floats have 1 sign bit, 5 exponent bits and 10 mantissa bits. They represent values up to 65504
+ * with about 3 significant decimal digits, including subnormals, infinities and NaN.</p>
+ *
+ * <p>Floats are converted with rounding to the nearest half float, ties to even. Half floats are converted with three lookup tables
+ * indexed by the exponent and the mantissa, so no branches are needed.</p>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class HalfFloat {
+
+	private static final int[] MANTISSA_TABLE = new int[2048];
+	private static final int[] EXPONENT_TABLE = new int[64];
+	private static final int[] OFFSET_TABLE = new int[64];
+
+	static {
+		for (int n = 1; n < 1024; n++) {
+			int mantissa = n << 13;
+			int exponent = 0;
+			while ((mantissa & 0x00800000) == 0) {
+				exponent -= 0x00800000;
+				mantissa <<= 1;
+			}
+			MANTISSA_TABLE[n] = (mantissa & ~0x00800000) | (exponent + 0x38800000);
+		}
+		for (int n = 1024; n < 2048; n++) {
+			MANTISSA_TABLE[n] = 0x38000000 + ((n - 1024) << 13);
+		}
+
+		for (int n = 1; n < 31; n++) {
+			EXPONENT_TABLE[n] = n << 23;
+			EXPONENT_TABLE[n + 32] = 0x80000000 + (n << 23);
+		}
+		EXPONENT_TABLE[31] = 0x47800000;
+		EXPONENT_TABLE[32] = 0x80000000;
+		EXPONENT_TABLE[63] = 0xC7800000;
+
+		for (int n = 0; n < 64; n++) {
+			OFFSET_TABLE[n] = n == 0 || n == 32 ? 0 : 1024;
+		}
+	}
+
+	/**
+	 * Converts the given float to the nearest half float.<br>
+	 * Values too big for a half float become infinity, values too small become zero.
+	 *
+	 * @param value the float that will be converted
+	 * @return the bits of the half float
+	 */
+	static short fromFloat(float value) {
+		int bits = Float.floatToRawIntBits(value);
+		int sign = (bits >>> 16) & 0x8000;
+		int exponent = ((bits >>> 23) & 0xFF) - 112;
+		int mantissa = bits & 0x7FFFFF;
+
+		if (exponent == 143)
+			return (short) (sign | 0x7C00 | (mantissa != 0 ? 0x200 | (mantissa >>> 13) : 0));
+		if (exponent >= 31)
+			return (short) (sign | 0x7C00);
+
+		if (exponent <= 0) {
+			if (exponent < -10)
+				return (short) sign;
+
+			mantissa |= 0x800000;
+			int shift = 14 - exponent;
+			int half = mantissa >>> shift;
+			int remainder = mantissa & ((1 << shift) - 1);
+			int halfway = 1 << (shift - 1);
+			if (remainder > halfway || (remainder == halfway && (half & 1) != 0))
+				half++;
+			return (short) (sign | half);
+		}
+
+		int half = (exponent << 10) | (mantissa >>> 13);
+		int remainder = mantissa & 0x1FFF;
+		if (remainder > 0x1000 || (remainder == 0x1000 && (half & 1) != 0))
+			half++;
+		return (short) (sign | half);
+	}
+
+	/**
+	 * Converts the given half float to a float.<br>
+	 * Every half float can be represented exactly as a float.
+	 *
+	 * @param half the bits of the half float
+	 * @return the float
+	 */
+	static float toFloat(short half) {
+		int index = (half >>> 10) & 0x3F;
+		return Float.intBitsToFloat(MANTISSA_TABLE[OFFSET_TABLE[index] + (half & 0x3FF)] + EXPONENT_TABLE[index]);
+	}
+
+}
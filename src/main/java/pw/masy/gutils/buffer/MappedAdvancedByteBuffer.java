@@ -0,0 +1,160 @@
+package pw.masy.gutils.buffer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Implementation of the {@link AdvancedByteBuffer} storing its content in a memory-mapped region of a file.
+ *
+ * <p>Reading and writing the buffer directly reads and writes the file, so big files can be processed without loading them onto the heap.
+ * A single buffer can map at most 2 GiB, bigger files have to be mapped region by region using the offset.</p>
+ *
+ * <p>When the buffer is writable and {@link #growable}, it grows by remapping a bigger region of the file, extending the file if necessary.
+ * Changes are written back by the operating system at some point, {@link #force()} writes them back immediately.
+ * The buffer has to be closed with {@link #close()} to release the mapping and the file.</p>
+ */
+public class MappedAdvancedByteBuffer extends DirectAdvancedByteBuffer implements Closeable {
+
+	@Getter private final FileChannel.MapMode mode;
+	@Getter private final long offset;
+	@Getter @Setter private boolean growable;
+	private final FileChannel channel;
+
+	/**
+	 * Constructs a new mapped advanced byte buffer over the given region of the given file, storing multi-byte values in big-endian order.
+	 *
+	 * @param path   the path of the file that will be mapped
+	 * @param mode   the {@link FileChannel.MapMode} of the mapping
+	 * @param offset the position in the file where the mapped region starts
+	 * @param size   the size of the mapped region
+	 * @throws IOException when the file could not be opened or mapped
+	 */
+	public MappedAdvancedByteBuffer(Path path, FileChannel.MapMode mode, long offset, int size) throws IOException {
+		this(path, mode, offset, size, ByteOrder.BIG_ENDIAN);
+	}
+
+	/**
+	 * Constructs a new mapped advanced byte buffer over the given region of the given file.<br>
+	 * Files opened with {@link FileChannel.MapMode#READ_WRITE} are created if they do not exist and the buffer is growable by default.
+	 *
+	 * @param path   the path of the file that will be mapped
+	 * @param mode   the {@link FileChannel.MapMode} of the mapping
+	 * @param offset the position in the file where the mapped region starts
+	 * @param size   the size of the mapped region
+	 * @param order  the {@link ByteOrder} multi-byte values will be stored in
+	 * @throws IOException when the file could not be opened or mapped
+	 */
+	public MappedAdvancedByteBuffer(Path path, FileChannel.MapMode mode, long offset, int size, ByteOrder order) throws IOException {
+		this(open(path, mode), mode, offset, size, order);
+	}
+
+	/**
+	 * Constructs a new mapped advanced byte buffer over the given region of the given channel.<br>
+	 * The buffer takes ownership of the channel and closes it when the buffer is closed.
+	 *
+	 * @param channel the {@link FileChannel} of the file that will be mapped
+	 * @param mode    the {@link FileChannel.MapMode} of the mapping
+	 * @param offset  the position in the file where the mapped region starts
+	 * @param size    the size of the mapped region
+	 * @param order   the {@link ByteOrder} multi-byte values will be stored in
+	 * @throws IOException when the region could not be mapped
+	 */
+	private MappedAdvancedByteBuffer(FileChannel channel, FileChannel.MapMode mode, long offset, int size, ByteOrder order) throws IOException {
+		super(mapOrClose(channel, mode, offset, size).order(order), 16);
+		this.channel = channel;
+		this.mode = mode;
+		this.offset = offset;
+		this.growable = mode == FileChannel.MapMode.READ_WRITE;
+	}
+
+	/**
+	 * Writes all changes of the mapped region back to the file.
+	 *
+	 * @return the instance of the {@link MappedAdvancedByteBuffer}
+	 */
+	public MappedAdvancedByteBuffer force() {
+		ByteBuffer buffer = this.getBuffer();
+		if (buffer instanceof MappedByteBuffer)
+			((MappedByteBuffer) buffer).force();
+		return this;
+	}
+
+	/**
+	 * Releases the mapping and closes the file.<br>
+	 * Changes of a {@link FileChannel.MapMode#READ_WRITE} mapping are written back before.
+	 *
+	 * @throws IOException when the file could not be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		if (this.mode == FileChannel.MapMode.READ_WRITE)
+			this.force();
+		this.free();
+		this.channel.close();
+	}
+
+	/**
+	 * Remaps the region of the file with the new capacity.<br>
+	 * The content does not have to be copied, since it is stored in the file. The old mapping is not released eagerly,
+	 * so views created before stay valid until they are unreachable or the buffer is freed.
+	 *
+	 * @param newCapacity the new capacity of the buffer
+	 * @throws IllegalStateException when the buffer is not growable
+	 * @throws UncheckedIOException  when the region could not be remapped
+	 */
+	@Override
+	protected void resize(int newCapacity) {
+		if (!this.growable && newCapacity > this.getCapacity())
+			throw new IllegalStateException("Tried growing MappedAdvancedByteBuffer which is not growable.");
+
+		// the old mapping is released by its cleaner, views created by asByteBuffer() may still be in use
+		try {
+			this.setBuffer(this.channel.map(this.mode, this.offset, newCapacity).order(this.getOrder()));
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Could not remap MappedAdvancedByteBuffer.", ex);
+		}
+	}
+
+	/**
+	 * Opens the given file for the given map mode.
+	 *
+	 * @param path the path of the file
+	 * @param mode the {@link FileChannel.MapMode} the file will be mapped with
+	 * @return the opened {@link FileChannel}
+	 * @throws IOException when the file could not be opened
+	 */
+	private static FileChannel open(Path path, FileChannel.MapMode mode) throws IOException {
+		if (mode == FileChannel.MapMode.READ_WRITE)
+			return FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+		return FileChannel.open(path, StandardOpenOption.READ);
+	}
+
+	/**
+	 * Maps the given region of the given channel, closing the channel if the region could not be mapped.
+	 *
+	 * @param channel the {@link FileChannel} of the file that will be mapped
+	 * @param mode    the {@link FileChannel.MapMode} of the mapping
+	 * @param offset  the position in the file where the mapped region starts
+	 * @param size    the size of the mapped region
+	 * @return the mapped region
+	 * @throws IOException when the region could not be mapped
+	 */
+	private static MappedByteBuffer mapOrClose(FileChannel channel, FileChannel.MapMode mode, long offset, int size) throws IOException {
+		try {
+			return channel.map(mode, offset, size);
+		} catch (IOException | RuntimeException ex) {
+			channel.close();
+			throw ex;
+		}
+	}
+
+}
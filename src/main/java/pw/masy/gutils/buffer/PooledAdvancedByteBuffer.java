@@ -0,0 +1,43 @@
+package pw.masy.gutils.buffer;
+
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Implementation of the {@link AdvancedByteBuffer} which is handed out by an {@link AdvancedByteBufferPool}.
+ *
+ * <p>The buffer has to be given back by calling {@link #release()} once it is not needed anymore.
+ * It must not be used after it has been released, since it will be handed out to the next caller of {@link AdvancedByteBufferPool#acquire(int)}.</p>
+ */
+public class PooledAdvancedByteBuffer extends AdvancedByteBuffer {
+
+	@Getter private final AdvancedByteBufferPool pool;
+	@Getter(AccessLevel.PACKAGE) private final AtomicBoolean released = new AtomicBoolean();
+	@Getter(AccessLevel.PACKAGE) @Setter(AccessLevel.PACKAGE) private AdvancedByteBufferPool.LeakTracker tracker;
+
+	/**
+	 * Constructs a new pooled advanced byte buffer with the given capacity and byte order.
+	 *
+	 * @param pool     the {@link AdvancedByteBufferPool} the buffer belongs to
+	 * @param capacity the original capacity of the buffer
+	 * @param order    the {@link ByteOrder} multi-byte values will be stored in
+	 */
+	PooledAdvancedByteBuffer(AdvancedByteBufferPool pool, int capacity, ByteOrder order) {
+		super(new byte[capacity], capacity, 16, order);
+		this.pool = pool;
+	}
+
+	/**
+	 * Gives the buffer back to its pool.
+	 *
+	 * @throws IllegalStateException when the buffer has already been released
+	 * @see AdvancedByteBufferPool#release(PooledAdvancedByteBuffer)
+	 */
+	public void release() {
+		this.pool.release(this);
+	}
+
+}
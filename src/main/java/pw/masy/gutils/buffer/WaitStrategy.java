@@ -0,0 +1,59 @@
+package pw.masy.gutils.buffer;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Represents a strategy deciding how a thread waits for a {@link ByteRingBuffer}, either for free space or for records.
+ *
+ * <p>{@link #BUSY_SPIN} has the lowest latency but occupies a whole core while waiting, it should only be used
+ * when every waiting thread has a core of its own. {@link #YIELDING} and {@link #PARKING} spin for a short time
+ * and then give up the core, trading some latency for less CPU usage.</p>
+ */
+@FunctionalInterface
+public interface WaitStrategy {
+
+	/**
+	 * Spins without ever giving up the core.
+	 */
+	WaitStrategy BUSY_SPIN = attempt -> {
+	};
+	/**
+	 * Spins for 100 attempts and yields afterwards.
+	 */
+	WaitStrategy YIELDING = attempt -> {
+		if (attempt >= 100)
+			Thread.yield();
+	};
+	/**
+	 * Spins for 100 attempts, yields for another 100 attempts and parks for 50 microseconds afterwards.
+	 */
+	WaitStrategy PARKING = parking(50_000);
+
+	/**
+	 * Creates a strategy spinning for 100 attempts, yielding for another 100 attempts and parking for the given time afterwards.
+	 *
+	 * @param nanos the time a waiting thread is parked for in nanoseconds
+	 * @return the parking strategy
+	 * @throws IllegalArgumentException when the time is not greater than 0
+	 */
+	static WaitStrategy parking(long nanos) {
+		if (nanos <= 0)
+			throw new IllegalArgumentException("The park time of a wait strategy has to be greater than 0 but was: " + nanos);
+
+		return attempt -> {
+			if (attempt >= 200) {
+				LockSupport.parkNanos(nanos);
+			} else if (attempt >= 100) {
+				Thread.yield();
+			}
+		};
+	}
+
+	/**
+	 * Waits once before the condition is checked again.
+	 *
+	 * @param attempt the amount of times the thread already waited for the current condition, starting with 0
+	 */
+	void idle(int attempt);
+
+}
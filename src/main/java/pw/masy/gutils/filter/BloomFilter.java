@@ -0,0 +1,237 @@
+package pw.masy.gutils.filter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.Getter;
+import pw.masy.gutils.buffer.AdvancedByteBuffer;
+import pw.masy.gutils.xxhasher.XXHashHelper;
+
+/**
+ * Bloom filter backed by an array of longs, using the xxHash64 of the elements.
+ *
+ * <p>The filter answers whether an element might have been added. There are no false negatives, the rate of false positives
+ * depends on the size of the filter and the amount of added elements. Elements cannot be removed.</p>
+ *
+ * <p>The bit positions are derived from a single 64bit hash by double hashing, so elements can also be added by their hash,
+ * for example one calculated with a {@link pw.masy.gutils.xxhasher.XXHash64Hasher}. Bits are set with atomic operations,
+ * so elements can be added and checked by multiple threads at the same time without locking.</p>
+ */
+public class BloomFilter {
+
+	private final AtomicLongArray words;
+	@Getter private final long bitCount;
+	@Getter private final int hashFunctions;
+
+	/**
+	 * Constructs a new bloom filter sized for the given amount of elements and rate of false positives.
+	 *
+	 * @param expectedElements  the amount of elements that will be added
+	 * @param falsePositiveRate the rate of false positives once all elements have been added, between 0 and 1 exclusive
+	 * @throws IllegalArgumentException when the amount of elements is not positive, the rate is out of range or the filter would be too big
+	 */
+	public BloomFilter(long expectedElements, double falsePositiveRate) {
+		this(optimalBitCount(expectedElements, falsePositiveRate), optimalHashFunctions(falsePositiveRate));
+	}
+
+	/**
+	 * Constructs a new bloom filter with the given amount of bits and hash functions.
+	 *
+	 * @param bitCount      the amount of bits, rounded up to a multiple of 64
+	 * @param hashFunctions the amount of bits set for every element
+	 * @throws IllegalArgumentException when an argument is not positive or the filter would be too big
+	 */
+	public BloomFilter(long bitCount, int hashFunctions) {
+		if (bitCount <= 0 || hashFunctions <= 0)
+			throw new IllegalArgumentException("Bit count and hash functions have to be greater than 0: " + bitCount + ", " + hashFunctions);
+		if ((bitCount + 63) >>> 6 > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Bloom filter would be too big: " + bitCount + " bits");
+		this.words = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+		this.bitCount = (long) this.words.length() << 6;
+		this.hashFunctions = hashFunctions;
+	}
+
+	private BloomFilter(long[] words, int hashFunctions) {
+		this.words = new AtomicLongArray(words);
+		this.bitCount = (long) words.length << 6;
+		this.hashFunctions = hashFunctions;
+	}
+
+	/**
+	 * Reads a bloom filter written by {@link #writeTo(AdvancedByteBuffer)}.
+	 *
+	 * @param buffer the {@link AdvancedByteBuffer} the filter will be read from
+	 * @return the bloom filter
+	 * @throws IllegalArgumentException when the serialized filter is malformed
+	 */
+	public static BloomFilter readFrom(AdvancedByteBuffer buffer) {
+		int hashFunctions = buffer.readVarInt();
+		int length = buffer.readVarInt();
+		if (hashFunctions <= 0 || length <= 0)
+			throw new IllegalArgumentException("Malformed bloom filter: " + hashFunctions + " hash functions, " + length + " words");
+		long[] words = new long[length];
+		for (int n = 0; n < length; n++) {
+			words[n] = buffer.readLong();
+		}
+		return new BloomFilter(words, hashFunctions);
+	}
+
+	/**
+	 * Writes the filter into the given buffer.<br>
+	 * Elements added by other threads while writing may or may not be included.
+	 *
+	 * @param buffer the {@link AdvancedByteBuffer} the filter will be written to
+	 * @return the instance of the {@link BloomFilter}
+	 */
+	public BloomFilter writeTo(AdvancedByteBuffer buffer) {
+		buffer.writeVarInt(this.hashFunctions).writeVarInt(this.words.length());
+		for (int n = 0; n < this.words.length(); n++) {
+			buffer.writeLong(this.words.get(n));
+		}
+		return this;
+	}
+
+	/**
+	 * Adds the given element.
+	 *
+	 * @param data the bytes of the element
+	 * @return <i>true</i> if the filter changed, <i>false</i> if the element might have been added before
+	 */
+	public boolean put(byte[] data) {
+		return this.putHash(XXHashHelper.hash64(data));
+	}
+
+	/**
+	 * Adds the element stored in the given region of an array.
+	 *
+	 * @param data   the array holding the bytes of the element
+	 * @param offset the index of the first byte
+	 * @param length the amount of bytes
+	 * @return <i>true</i> if the filter changed, <i>false</i> if the element might have been added before
+	 */
+	public boolean put(byte[] data, int offset, int length) {
+		return this.putHash(XXHashHelper.hash64(data, offset, length, 0));
+	}
+
+	/**
+	 * Adds the element stored between the position and the limit of the given buffer.<br>
+	 * The position of the buffer is not changed.
+	 *
+	 * @param buffer the {@link AdvancedByteBuffer} holding the bytes of the element
+	 * @return <i>true</i> if the filter changed, <i>false</i> if the element might have been added before
+	 */
+	public boolean put(AdvancedByteBuffer buffer) {
+		return this.putHash(XXHashHelper.hash64(buffer));
+	}
+
+	/**
+	 * Adds the element with the given 64bit hash.
+	 *
+	 * @param hash the hash of the element
+	 * @return <i>true</i> if the filter changed, <i>false</i> if the element might have been added before
+	 */
+	public boolean putHash(long hash) {
+		long combined = hash;
+		long step = (hash >>> 32) | 1;
+		boolean changed = false;
+		for (int n = 0; n < this.hashFunctions; n++) {
+			long bit = (combined & Long.MAX_VALUE) % this.bitCount;
+			int index = (int) (bit >>> 6);
+			long mask = 1L << bit;
+			long word = this.words.get(index);
+			while ((word & mask) == 0) {
+				if (this.words.compareAndSet(index, word, word | mask)) {
+					changed = true;
+					break;
+				}
+				word = this.words.get(index);
+			}
+			combined += step;
+		}
+		return changed;
+	}
+
+	/**
+	 * Checks whether the given element might have been added.
+	 *
+	 * @param data the bytes of the element
+	 * @return <i>false</i> if the element has definitely not been added, otherwise <i>true</i>
+	 */
+	public boolean mightContain(byte[] data) {
+		return this.mightContainHash(XXHashHelper.hash64(data));
+	}
+
+	/**
+	 * Checks whether the element stored in the given region of an array might have been added.
+	 *
+	 * @param data   the array holding the bytes of the element
+	 * @param offset the index of the first byte
+	 * @param length the amount of bytes
+	 * @return <i>false</i> if the element has definitely not been added, otherwise <i>true</i>
+	 */
+	public boolean mightContain(byte[] data, int offset, int length) {
+		return this.mightContainHash(XXHashHelper.hash64(data, offset, length, 0));
+	}
+
+	/**
+	 * Checks whether the element stored between the position and the limit of the given buffer might have been added.<br>
+	 * The position of the buffer is not changed.
+	 *
+	 * @param buffer the {@link AdvancedByteBuffer} holding the bytes of the element
+	 * @return <i>false</i> if the element has definitely not been added, otherwise <i>true</i>
+	 */
+	public boolean mightContain(AdvancedByteBuffer buffer) {
+		return this.mightContainHash(XXHashHelper.hash64(buffer));
+	}
+
+	/**
+	 * Checks whether the element with the given 64bit hash might have been added.
+	 *
+	 * @param hash the hash of the element
+	 * @return <i>false</i> if the element has definitely not been added, otherwise <i>true</i>
+	 */
+	public boolean mightContainHash(long hash) {
+		long combined = hash;
+		long step = (hash >>> 32) | 1;
+		for (int n = 0; n < this.hashFunctions; n++) {
+			long bit = (combined & Long.MAX_VALUE) % this.bitCount;
+			if ((this.words.get((int) (bit >>> 6)) & (1L << bit)) == 0)
+				return false;
+			combined += step;
+		}
+		return true;
+	}
+
+	/**
+	 * Estimates the current rate of false positives from the amount of set bits.
+	 *
+	 * @return the estimated rate of false positives
+	 */
+	public double getExpectedFalsePositiveRate() {
+		long setBits = 0;
+		for (int n = 0; n < this.words.length(); n++) {
+			setBits += Long.bitCount(this.words.get(n));
+		}
+		return Math.pow((double) setBits / this.bitCount, this.hashFunctions);
+	}
+
+	/**
+	 * Removes all elements.
+	 */
+	public void clear() {
+		for (int n = 0; n < this.words.length(); n++) {
+			this.words.set(n, 0);
+		}
+	}
+
+	private static long optimalBitCount(long expectedElements, double falsePositiveRate) {
+		if (expectedElements <= 0)
+			throw new IllegalArgumentException("Expected elements have to be greater than 0: " + expectedElements);
+		if (!(falsePositiveRate > 0 && falsePositiveRate < 1))
+			throw new IllegalArgumentException("False positive rate has to be between 0 and 1: " + falsePositiveRate);
+		return (long) Math.ceil(-expectedElements * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+	}
+
+	private static int optimalHashFunctions(double falsePositiveRate) {
+		return Math.max(1, (int) Math.round(-Math.log(falsePositiveRate) / Math.log(2)));
+	}
+
+}
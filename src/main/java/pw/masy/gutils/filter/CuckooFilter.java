@@ -0,0 +1,351 @@
+package pw.masy.gutils.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import pw.masy.gutils.buffer.AdvancedByteBuffer;
+import pw.masy.gutils.xxhasher.XXHashHelper;
+
+/**
+ * Cuckoo filter storing 16bit fingerprints of the xxHash64 of the elements, four of them packed into a long per bucket.
+ *
+ * <p>Like a {@link BloomFilter}, the filter answers whether an element might have been added, without false negatives.
+ * Unlike a bloom filter, elements can be removed again, and at the same memory usage the rate of false positives is lower,
+ * about 0.012% independent of the amount of added elements. Adding fails once the filter is nearly full.
+ * Removing an element that has not been added may remove another element with the same fingerprint.</p>
+ *
+ * <p>Lookups never lock and can run at any time. Elements are added and removed under a lock. While fingerprints are relocated,
+ * a fingerprint can be in neither of the buckets a lookup reads, so relocations are guarded by a version counter,
+ * which is odd during a relocation. A lookup that found nothing is repeated when the version changed in the meantime,
+ * so concurrent lookups never miss an element.</p>
+ */
+public class CuckooFilter {
+
+	private static final int SLOTS = 4;
+	private static final int MAX_KICKS = 256;
+	private static final int MAX_BUCKETS = 1 << 30;
+
+	private final AtomicLongArray buckets;
+	private final AtomicLong version = new AtomicLong();
+	private final int mask;
+	private final int[] pathBuckets = new int[MAX_KICKS];
+	private final int[] pathSlots = new int[MAX_KICKS];
+	private int seed = 0x2545F491;
+	private volatile long count;
+
+	/**
+	 * Constructs a new cuckoo filter able to hold at least the given amount of elements.
+	 *
+	 * @param capacity the amount of elements the filter has to hold
+	 * @throws IllegalArgumentException when the capacity is not positive or too big
+	 */
+	public CuckooFilter(long capacity) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("Capacity has to be greater than 0: " + capacity);
+		long needed = (long) Math.ceil(capacity / (SLOTS * 0.95));
+		if (needed > MAX_BUCKETS)
+			throw new IllegalArgumentException("Cuckoo filter would be too big: " + capacity + " elements");
+		int bucketCount = Math.max(1, Integer.highestOneBit((int) needed - 1) << 1);
+		this.buckets = new AtomicLongArray(bucketCount);
+		this.mask = bucketCount - 1;
+	}
+
+	private CuckooFilter(long[] buckets, long count) {
+		this.buckets = new AtomicLongArray(buckets);
+		this.mask = buckets.length - 1;
+		this.count = count;
+	}
+
+	/**
+	 * Reads a cuckoo filter written by {@link #writeTo(AdvancedByteBuffer)}.
+	 *
+	 * @param buffer the {@link AdvancedByteBuffer} the filter will be read from
+	 * @return the cuckoo filter
+	 * @throws IllegalArgumentException when the serialized filter is malformed
+	 */
+	public static CuckooFilter readFrom(AdvancedByteBuffer buffer) {
+		int length = buffer.readVarInt();
+		if (length <= 0 || length > MAX_BUCKETS || Integer.bitCount(length) != 1)
+			throw new IllegalArgumentException("Malformed cuckoo filter: " + length + " buckets");
+		long count = 0;
+		long[] buckets = new long[length];
+		for (int n = 0; n < length; n++) {
+			buckets[n] = buffer.readLong();
+			for (int slot = 0; slot < SLOTS; slot++) {
+				if (fingerprint(buckets[n], slot) != 0)
+					count++;
+			}
+		}
+		return new CuckooFilter(buckets, count);
+	}
+
+	/**
+	 * Writes the filter into the given buffer.<br>
+	 * Elements added or removed by other threads while writing may or may not be included.
+	 *
+	 * @param buffer the {@link AdvancedByteBuffer} the filter will be written to
+	 * @return the instance of the {@link CuckooFilter}
+	 */
+	public CuckooFilter writeTo(AdvancedByteBuffer buffer) {
+		buffer.writeVarInt(this.buckets.length());
+		for (int n = 0; n < this.buckets.length(); n++) {
+			buffer.writeLong(this.buckets.get(n));
+		}
+		return this;
+	}
+
+	/**
+	 * Adds the given element.
+	 *
+	 * @param data the bytes of the element
+	 * @return <i>true</i> if the element has been added, <i>false</i> if the filter is full
+	 */
+	public boolean put(byte[] data) {
+		return this.putHash(XXHashHelper.hash64(data));
+	}
+
+	/**
+	 * Adds the element stored in the given region of an array.
+	 *
+	 * @param data   the array holding the bytes of the element
+	 * @param offset the index of the first byte
+	 * @param length the amount of bytes
+	 * @return <i>true</i> if the element has been added, <i>false</i> if the filter is full
+	 */
+	public boolean put(byte[] data, int offset, int length) {
+		return this.putHash(XXHashHelper.hash64(data, offset, length, 0));
+	}
+
+	/**
+	 * Adds the element stored between the position and the limit of the given buffer.<br>
+	 * The position of the buffer is not changed.
+	 *
+	 * @param buffer the {@link AdvancedByteBuffer} holding the bytes of the element
+	 * @return <i>true</i> if the element has been added, <i>false</i> if the filter is full
+	 */
+	public boolean put(AdvancedByteBuffer buffer) {
+		return this.putHash(XXHashHelper.hash64(buffer));
+	}
+
+	/**
+	 * Adds the element with the given 64bit hash.<br>
+	 * Adding an element multiple times stores its fingerprint multiple times, so it can be removed as often as it has been added.
+	 *
+	 * @param hash the hash of the element
+	 * @return <i>true</i> if the element has been added, <i>false</i> if the filter is full
+	 */
+	public synchronized boolean putHash(long hash) {
+		int fingerprint = fingerprint(hash);
+		int first = (int) hash & this.mask;
+		int second = this.alternate(first, fingerprint);
+		if (this.insert(first, fingerprint) || this.insert(second, fingerprint)) {
+			this.count++;
+			return true;
+		}
+
+		// search a path of relocations ending at a free slot without changing anything yet
+		int bucket = this.nextRandom(2) == 0 ? first : second;
+		int current = fingerprint;
+		for (int depth = 0; depth < MAX_KICKS; depth++) {
+			int slot = this.chooseSlot(bucket, depth);
+			if (slot < 0)
+				return false;
+			this.pathBuckets[depth] = bucket;
+			this.pathSlots[depth] = slot;
+			current = fingerprint(this.buckets.get(bucket), slot);
+			bucket = this.alternate(bucket, current);
+
+			int free = freeSlot(this.buckets.get(bucket));
+			if (free >= 0) {
+				this.version.incrementAndGet();
+				this.set(bucket, free, current);
+				for (int n = depth; n > 0; n--) {
+					this.set(this.pathBuckets[n], this.pathSlots[n], fingerprint(this.buckets.get(this.pathBuckets[n - 1]), this.pathSlots[n - 1]));
+				}
+				this.set(this.pathBuckets[0], this.pathSlots[0], fingerprint);
+				this.version.incrementAndGet();
+				this.count++;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether the given element might have been added.
+	 *
+	 * @param data the bytes of the element
+	 * @return <i>false</i> if the element has definitely not been added, otherwise <i>true</i>
+	 */
+	public boolean mightContain(byte[] data) {
+		return this.mightContainHash(XXHashHelper.hash64(data));
+	}
+
+	/**
+	 * Checks whether the element stored in the given region of an array might have been added.
+	 *
+	 * @param data   the array holding the bytes of the element
+	 * @param offset the index of the first byte
+	 * @param length the amount of bytes
+	 * @return <i>false</i> if the element has definitely not been added, otherwise <i>true</i>
+	 */
+	public boolean mightContain(byte[] data, int offset, int length) {
+		return this.mightContainHash(XXHashHelper.hash64(data, offset, length, 0));
+	}
+
+	/**
+	 * Checks whether the element stored between the position and the limit of the given buffer might have been added.<br>
+	 * The position of the buffer is not changed.
+	 *
+	 * @param buffer the {@link AdvancedByteBuffer} holding the bytes of the element
+	 * @return <i>false</i> if the element has definitely not been added, otherwise <i>true</i>
+	 */
+	public boolean mightContain(AdvancedByteBuffer buffer) {
+		return this.mightContainHash(XXHashHelper.hash64(buffer));
+	}
+
+	/**
+	 * Checks whether the element with the given 64bit hash might have been added.
+	 *
+	 * @param hash the hash of the element
+	 * @return <i>false</i> if the element has definitely not been added, otherwise <i>true</i>
+	 */
+	public boolean mightContainHash(long hash) {
+		int fingerprint = fingerprint(hash);
+		int first = (int) hash & this.mask;
+		int second = this.alternate(first, fingerprint);
+		long version;
+		do {
+			version = this.version.get();
+			if (findSlot(this.buckets.get(first), fingerprint) >= 0 || findSlot(this.buckets.get(second), fingerprint) >= 0)
+				return true;
+		} while ((version & 1) != 0 || this.version.get() != version);
+		return false;
+	}
+
+	/**
+	 * Removes one occurrence of the given element.
+	 *
+	 * @param data the bytes of the element
+	 * @return <i>true</i> if a matching fingerprint has been removed, otherwise <i>false</i>
+	 */
+	public boolean remove(byte[] data) {
+		return this.removeHash(XXHashHelper.hash64(data));
+	}
+
+	/**
+	 * Removes one occurrence of the element with the given 64bit hash.
+	 *
+	 * @param hash the hash of the element
+	 * @return <i>true</i> if a matching fingerprint has been removed, otherwise <i>false</i>
+	 */
+	public synchronized boolean removeHash(long hash) {
+		int fingerprint = fingerprint(hash);
+		int first = (int) hash & this.mask;
+		for (int bucket : new int[] {first, this.alternate(first, fingerprint)}) {
+			int slot = findSlot(this.buckets.get(bucket), fingerprint);
+			if (slot >= 0) {
+				this.set(bucket, slot, 0);
+				this.count--;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the amount of added elements.
+	 *
+	 * @return the amount of elements
+	 */
+	public long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Gets the maximum amount of elements the filter can hold.<br>
+	 * Adding usually starts failing at about 95% of the capacity.
+	 *
+	 * @return the amount of slots
+	 */
+	public long getCapacity() {
+		return (long) this.buckets.length() * SLOTS;
+	}
+
+	/**
+	 * Removes all elements.
+	 */
+	public synchronized void clear() {
+		for (int n = 0; n < this.buckets.length(); n++) {
+			this.buckets.set(n, 0);
+		}
+		this.count = 0;
+	}
+
+	private boolean insert(int bucket, int fingerprint) {
+		int slot = freeSlot(this.buckets.get(bucket));
+		if (slot < 0)
+			return false;
+		this.set(bucket, slot, fingerprint);
+		return true;
+	}
+
+	/**
+	 * Chooses a random slot of the given bucket that is not already part of the current relocation path.
+	 *
+	 * @param bucket the index of the bucket
+	 * @param depth  the length of the current path
+	 * @return the slot or -1 if all slots are part of the path
+	 */
+	private int chooseSlot(int bucket, int depth) {
+		int start = this.nextRandom(SLOTS);
+		for (int n = 0; n < SLOTS; n++) {
+			int slot = (start + n) & (SLOTS - 1);
+			boolean used = false;
+			for (int step = 0; step < depth && !used; step++) {
+				used = this.pathBuckets[step] == bucket && this.pathSlots[step] == slot;
+			}
+			if (!used)
+				return slot;
+		}
+		return -1;
+	}
+
+	private void set(int bucket, int slot, int fingerprint) {
+		long shift = slot << 4;
+		long value = this.buckets.get(bucket);
+		this.buckets.set(bucket, (value & ~(0xFFFFL << shift)) | ((long) fingerprint << shift));
+	}
+
+	private int alternate(int bucket, int fingerprint) {
+		return (bucket ^ (fingerprint * 0x5BD1E995)) & this.mask;
+	}
+
+	private int nextRandom(int bound) {
+		this.seed ^= this.seed << 13;
+		this.seed ^= this.seed >>> 17;
+		this.seed ^= this.seed << 5;
+		return (this.seed >>> 8) % bound;
+	}
+
+	private static int fingerprint(long hash) {
+		int fingerprint = (int) (hash >>> 48);
+		return fingerprint == 0 ? 1 : fingerprint;
+	}
+
+	private static int fingerprint(long bucket, int slot) {
+		return (int) (bucket >>> (slot << 4)) & 0xFFFF;
+	}
+
+	private static int freeSlot(long bucket) {
+		return findSlot(bucket, 0);
+	}
+
+	private static int findSlot(long bucket, int fingerprint) {
+		for (int slot = 0; slot < SLOTS; slot++) {
+			if (fingerprint(bucket, slot) == fingerprint)
+				return slot;
+		}
+		return -1;
+	}
+
+}
@@ -0,0 +1,395 @@
+package pw.masy.gutils.lz4;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.Getter;
+import net.jpountz.lz4.LZ4Compressor;
+
+/**
+ * Compressor choosing per payload whether it is stored, compressed with the fast compressor or with a high compression level.
+ *
+ * <p>Payloads bigger than a few samples are estimated first, by compressing evenly spaced samples with the fast compressor.
+ * Payloads whose estimated ratio is below the minimum ratio, like already compressed textures, are stored uncompressed without
+ * compressing them completely. Compressible payloads are compressed with the highest level whose estimated time stays within
+ * the latency budget. The time per byte of the chosen level is measured while compressing, so the estimate adapts to the machine and the data.
+ * Since a level is only chosen once its estimate fits the budget, every 64th measured payload also compresses a sample
+ * with the next higher level. This way levels whose initial estimate is too pessimistic are measured as well and chosen once they
+ * turn out to be fast enough.</p>
+ *
+ * <p>Every payload starts with a byte telling whether it is stored or compressed and its uncompressed length as a little-endian int,
+ * so {@link #decompress(byte[])} needs no further information. The compressor can be used by multiple threads at the same time,
+ * the {@link Stats} collect the ratio and the throughput of all payloads.</p>
+ */
+public class LZ4AdaptiveCompressor {
+
+	static final byte STORED = 0;
+	static final byte COMPRESSED = 1;
+	static final int HEADER_SIZE = 5;
+
+	private static final int[] LEVELS = {0, 3, 6, 9, 12, 17};
+	private static final long[] INITIAL_COSTS = {2 << 10, 10 << 10, 20 << 10, 40 << 10, 80 << 10, 200 << 10};
+	private static final int SAMPLE_SIZE = 4096;
+	private static final int SAMPLES = 4;
+	private static final int MIN_MEASURED_LENGTH = 16 * 1024;
+	private static final int PROBE_INTERVAL = 64;
+	private static final int MAX_EXPANSION = 255;
+	private static final ThreadLocal<byte[]> SAMPLE_BUFFER = ThreadLocal.withInitial(() -> new byte[LZ4Helper.COMPRESSOR.maxCompressedLength(MIN_MEASURED_LENGTH)]);
+
+	@Getter private final int maxLevel;
+	@Getter private final long latencyBudget;
+	@Getter private final double minRatio;
+	@Getter private final Stats stats = new Stats();
+	private final LZ4Compressor[] compressors;
+	private final AtomicLongArray costs;
+	private final AtomicLong measuredPayloads = new AtomicLong();
+
+	/**
+	 * Constructs a new adaptive compressor using levels up to 9, a latency budget of 1 ms and a minimum ratio of 1.1.
+	 */
+	public LZ4AdaptiveCompressor() {
+		this(9, 1_000_000L, 1.1);
+	}
+
+	/**
+	 * Constructs a new adaptive compressor.
+	 *
+	 * @param maxLevel      the highest compression level that may be used, 0 to only use the fast compressor
+	 * @param latencyBudget the time in nanoseconds compressing a single payload should take at most
+	 * @param minRatio      the minimum estimated ratio of uncompressed to compressed size needed to compress a payload
+	 * @throws IllegalArgumentException when the level is out of range or the budget or ratio is negative
+	 */
+	public LZ4AdaptiveCompressor(int maxLevel, long latencyBudget, double minRatio) {
+		if (maxLevel < 0 || maxLevel > LZ4Helper.MAX_HIGH_COMPRESSION_LEVEL)
+			throw new IllegalArgumentException("The maximum compression level has to be between 0 and " + LZ4Helper.MAX_HIGH_COMPRESSION_LEVEL + " but was: " + maxLevel);
+		if (latencyBudget < 0 || minRatio < 0)
+			throw new IllegalArgumentException("The latency budget and the minimum ratio must not be negative.");
+
+		this.maxLevel = maxLevel;
+		this.latencyBudget = latencyBudget;
+		this.minRatio = minRatio;
+
+		int levels = 1;
+		while (levels < LEVELS.length && LEVELS[levels] <= maxLevel) {
+			levels++;
+		}
+		this.compressors = new LZ4Compressor[levels];
+		this.compressors[0] = LZ4Helper.COMPRESSOR;
+		for (int n = 1; n < levels; n++) {
+			this.compressors[n] = LZ4Helper.getHighCompressor(LEVELS[n]);
+		}
+		this.costs = new AtomicLongArray(Arrays.copyOf(INITIAL_COSTS, levels));
+	}
+
+	/**
+	 * Creates an adaptive compressor for latency sensitive payloads, which only uses the fast compressor and stores payloads
+	 * that would not get at least 10% smaller.
+	 *
+	 * @return the adaptive compressor
+	 */
+	public static LZ4AdaptiveCompressor forLowLatency() {
+		return new LZ4AdaptiveCompressor(0, 0, 1.1);
+	}
+
+	/**
+	 * Creates an adaptive compressor for archival data, which uses the highest compression level regardless of the time needed.
+	 *
+	 * @return the adaptive compressor
+	 */
+	public static LZ4AdaptiveCompressor forArchival() {
+		return new LZ4AdaptiveCompressor(LZ4Helper.MAX_HIGH_COMPRESSION_LEVEL, Long.MAX_VALUE, 1.02);
+	}
+
+	/**
+	 * Compresses the given payload.
+	 *
+	 * @param src the payload
+	 * @return the stored or compressed payload
+	 */
+	public byte[] compress(byte[] src) {
+		return this.compress(src, 0, src.length);
+	}
+
+	/**
+	 * Compresses the given region of an array.<br>
+	 * The payload is stored uncompressed if its estimated ratio is too low or it does not get smaller.
+	 *
+	 * @param src    the array holding the payload
+	 * @param offset the index of the first byte of the payload
+	 * @param length the size of the payload
+	 * @return the stored or compressed payload
+	 */
+	public byte[] compress(byte[] src, int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > src.length)
+			throw new IndexOutOfBoundsException("Tried compressing " + length + " bytes at offset " + offset + " of an array with length " + src.length + ".");
+
+		long start = System.nanoTime();
+		int choice = this.estimateRatio(src, offset, length) < this.minRatio ? -1 : this.chooseLevel(length);
+		byte[] dst = null;
+		if (choice >= 0) {
+			LZ4Compressor compressor = this.compressors[choice];
+			byte[] compressed = new byte[HEADER_SIZE + compressor.maxCompressedLength(length)];
+			long compressionStart = System.nanoTime();
+			int size = compressor.compress(src, offset, length, compressed, HEADER_SIZE, compressed.length - HEADER_SIZE);
+			if (length >= MIN_MEASURED_LENGTH) {
+				this.measure(choice, length, System.nanoTime() - compressionStart);
+				if (choice + 1 < this.compressors.length && this.measuredPayloads.getAndIncrement() % PROBE_INTERVAL == 0)
+					this.probe(choice + 1, src, offset, length);
+			}
+
+			if (size < length) {
+				dst = Arrays.copyOf(compressed, HEADER_SIZE + size);
+				writeHeader(dst, COMPRESSED, length);
+			} else {
+				choice = -1;
+			}
+		}
+		if (dst == null) {
+			dst = new byte[HEADER_SIZE + length];
+			writeHeader(dst, STORED, length);
+			System.arraycopy(src, offset, dst, HEADER_SIZE, length);
+		}
+
+		this.stats.record(choice < 0 ? -1 : LEVELS[choice], length, dst.length, System.nanoTime() - start);
+		return dst;
+	}
+
+	/**
+	 * Decompresses the given payload written by {@link #compress(byte[])}.
+	 *
+	 * @param src the stored or compressed payload
+	 * @return the uncompressed payload
+	 * @throws IllegalArgumentException     when the payload is malformed
+	 * @throws net.jpountz.lz4.LZ4Exception when the compressed block is malformed
+	 */
+	public static byte[] decompress(byte[] src) {
+		return decompress(src, 0, src.length);
+	}
+
+	/**
+	 * Decompresses the given region of an array holding a payload written by {@link #compress(byte[], int, int)}.
+	 *
+	 * @param src    the array holding the stored or compressed payload
+	 * @param offset the index of the first byte of the payload
+	 * @param length the size of the payload
+	 * @return the uncompressed payload
+	 * @throws IndexOutOfBoundsException    when the region is outside of the array
+	 * @throws IllegalArgumentException     when the payload is malformed
+	 * @throws net.jpountz.lz4.LZ4Exception when the compressed block is malformed
+	 */
+	public static byte[] decompress(byte[] src, int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > src.length)
+			throw new IndexOutOfBoundsException("Tried decompressing " + length + " bytes at offset " + offset + " of an array with length " + src.length + ".");
+		if (length < HEADER_SIZE)
+			throw new IllegalArgumentException("Tried decompressing payload of " + length + " bytes, which is too small for its header.");
+
+		int size = (src[offset + 1] & 0xFF) | (src[offset + 2] & 0xFF) << 8 | (src[offset + 3] & 0xFF) << 16 | src[offset + 4] << 24;
+		if (size < 0)
+			throw new IllegalArgumentException("Tried decompressing payload with negative length.");
+
+		byte[] dst;
+		if (src[offset] == STORED) {
+			if (length - HEADER_SIZE != size)
+				throw new IllegalArgumentException("Tried decompressing stored payload of " + (length - HEADER_SIZE) + " bytes, but " + size + " bytes were expected.");
+			dst = new byte[size];
+			System.arraycopy(src, offset + HEADER_SIZE, dst, 0, size);
+		} else if (src[offset] == COMPRESSED) {
+			// every byte of an LZ4 block expands to at most 255 bytes, bigger sizes can only come from a malformed header
+			if (size > (long) (length - HEADER_SIZE) * MAX_EXPANSION)
+				throw new IllegalArgumentException("Tried decompressing block of " + (length - HEADER_SIZE) + " bytes, which cannot hold " + size + " bytes.");
+			dst = new byte[size];
+			int decompressed = LZ4Helper.SAFE_DECOMPRESSOR.decompress(src, offset + HEADER_SIZE, length - HEADER_SIZE, dst, 0, size);
+			if (decompressed != size)
+				throw new IllegalArgumentException("Tried decompressing payload of " + decompressed + " bytes, but " + size + " bytes were expected.");
+		} else {
+			throw new IllegalArgumentException("Tried decompressing payload of unknown type: " + src[offset]);
+		}
+		return dst;
+	}
+
+	/**
+	 * Gets the currently estimated time the given compression level needs per byte.
+	 *
+	 * @param level the compression level, 0 for the fast compressor
+	 * @return the estimated time in nanoseconds per byte
+	 * @throws IllegalArgumentException when the level is not used by this compressor
+	 */
+	public double getEstimatedCost(int level) {
+		for (int n = 0; n < this.compressors.length; n++) {
+			if (LEVELS[n] == level)
+				return this.costs.get(n) / 1024.0;
+		}
+		throw new IllegalArgumentException("The compression level " + level + " is not used by this compressor.");
+	}
+
+	/**
+	 * Estimates the compression ratio of the given payload by compressing evenly spaced samples with the fast compressor.
+	 *
+	 * @param src    the array holding the payload
+	 * @param offset the index of the first byte of the payload
+	 * @param length the size of the payload
+	 * @return the estimated ratio, infinity for payloads too small to be sampled
+	 */
+	private double estimateRatio(byte[] src, int offset, int length) {
+		if (this.minRatio <= 0 || length <= SAMPLE_SIZE * SAMPLES * 2)
+			return Double.POSITIVE_INFINITY;
+
+		byte[] buffer = SAMPLE_BUFFER.get();
+		long compressed = 0;
+		for (int n = 0; n < SAMPLES; n++) {
+			int sample = offset + (int) ((long) (length - SAMPLE_SIZE) * n / (SAMPLES - 1));
+			compressed += LZ4Helper.COMPRESSOR.compress(src, sample, SAMPLE_SIZE, buffer, 0, buffer.length);
+		}
+		return (double) (SAMPLE_SIZE * SAMPLES) / compressed;
+	}
+
+	/**
+	 * Chooses the highest compression level whose estimated time for the given payload stays within the latency budget.
+	 *
+	 * @param length the size of the payload
+	 * @return the index of the compressor
+	 */
+	private int chooseLevel(int length) {
+		int choice = 0;
+		for (int n = 1; n < this.compressors.length; n++) {
+			if ((double) this.costs.get(n) * length / 1024.0 <= this.latencyBudget)
+				choice = n;
+		}
+		return choice;
+	}
+
+	/**
+	 * Measures the given compressor by compressing a sample from the middle of the payload with it.<br>
+	 * The sample is thrown away, only its time is used to update the estimate of the compressor.
+	 *
+	 * @param choice the index of the compressor
+	 * @param src    the array holding the payload
+	 * @param offset the index of the first byte of the payload
+	 * @param length the size of the payload, at least {@link #MIN_MEASURED_LENGTH}
+	 */
+	private void probe(int choice, byte[] src, int offset, int length) {
+		byte[] buffer = SAMPLE_BUFFER.get();
+		int sample = offset + (length - MIN_MEASURED_LENGTH) / 2;
+		long start = System.nanoTime();
+		this.compressors[choice].compress(src, sample, MIN_MEASURED_LENGTH, buffer, 0, buffer.length);
+		this.measure(choice, MIN_MEASURED_LENGTH, System.nanoTime() - start);
+	}
+
+	/**
+	 * Updates the estimated time per byte of the given compressor with a measured compression.<br>
+	 * The estimate is a moving average, so single outliers only have a small impact.
+	 *
+	 * @param choice  the index of the compressor
+	 * @param length  the size of the payload
+	 * @param elapsed the time in nanoseconds the compression took
+	 */
+	private void measure(int choice, int length, long elapsed) {
+		long cost = (elapsed << 10) / length;
+		long old = this.costs.get(choice);
+		this.costs.lazySet(choice, old + (cost - old) / 8);
+	}
+
+	private static void writeHeader(byte[] dst, byte type, int length) {
+		dst[0] = type;
+		dst[1] = (byte) length;
+		dst[2] = (byte) (length >>> 8);
+		dst[3] = (byte) (length >>> 16);
+		dst[4] = (byte) (length >>> 24);
+	}
+
+	/**
+	 * Statistics about the payloads compressed by an {@link LZ4AdaptiveCompressor}.
+	 */
+	public static final class Stats {
+
+		private final AtomicLong payloads = new AtomicLong();
+		private final AtomicLong storedPayloads = new AtomicLong();
+		private final AtomicLong fastPayloads = new AtomicLong();
+		private final AtomicLong highPayloads = new AtomicLong();
+		private final AtomicLong inputBytes = new AtomicLong();
+		private final AtomicLong outputBytes = new AtomicLong();
+		private final AtomicLong nanos = new AtomicLong();
+
+		private Stats() {
+		}
+
+		/**
+		 * Records a compressed payload.
+		 *
+		 * @param level  the level used, 0 for the fast compressor and -1 for stored payloads
+		 * @param input  the size of the uncompressed payload
+		 * @param output the size of the stored or compressed payload
+		 * @param time   the time in nanoseconds the compression took, including the estimation
+		 */
+		private void record(int level, long input, long output, long time) {
+			this.payloads.incrementAndGet();
+			(level < 0 ? this.storedPayloads : level == 0 ? this.fastPayloads : this.highPayloads).incrementAndGet();
+			this.inputBytes.addAndGet(input);
+			this.outputBytes.addAndGet(output);
+			this.nanos.addAndGet(time);
+		}
+
+		public long getPayloads() {
+			return this.payloads.get();
+		}
+
+		public long getStoredPayloads() {
+			return this.storedPayloads.get();
+		}
+
+		public long getFastPayloads() {
+			return this.fastPayloads.get();
+		}
+
+		public long getHighPayloads() {
+			return this.highPayloads.get();
+		}
+
+		public long getInputBytes() {
+			return this.inputBytes.get();
+		}
+
+		public long getOutputBytes() {
+			return this.outputBytes.get();
+		}
+
+		public long getNanos() {
+			return this.nanos.get();
+		}
+
+		/**
+		 * Calculates the ratio of uncompressed to compressed size of all payloads, including their headers.
+		 *
+		 * @return the compression ratio or 1 if nothing has been compressed
+		 */
+		public double getRatio() {
+			long output = this.outputBytes.get();
+			return output == 0 ? 1 : (double) this.inputBytes.get() / output;
+		}
+
+		/**
+		 * Calculates the amount of uncompressed bytes compressed per second.
+		 *
+		 * @return the throughput in bytes per second or 0 if nothing has been compressed
+		 */
+		public double getThroughput() {
+			long time = this.nanos.get();
+			return time == 0 ? 0 : this.inputBytes.get() * 1e9 / time;
+		}
+
+		/**
+		 * Resets all statistics.
+		 */
+		public void reset() {
+			this.payloads.set(0);
+			this.storedPayloads.set(0);
+			this.fastPayloads.set(0);
+			this.highPayloads.set(0);
+			this.inputBytes.set(0);
+			this.outputBytes.set(0);
+			this.nanos.set(0);
+		}
+
+	}
+
+}
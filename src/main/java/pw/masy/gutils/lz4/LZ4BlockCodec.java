@@ -0,0 +1,294 @@
+package pw.masy.gutils.lz4;
+
+import java.util.Arrays;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import net.jpountz.lz4.LZ4Exception;
+
+/**
+ * Compressor and decompressor for LZ4 blocks which may reference data in front of the block.
+ *
+ * <p>The LZ4 implementations of lz4-java only compress and decompress self-contained blocks. Linked blocks of a frame and
+ * blocks compressed with a dictionary instead reference up to 64 KiB of data preceding them. Both are supported here by
+ * keeping that data in the same array right in front of the block, the so called window.</p>
+ *
+ * <p>The compressor uses a hash table of earlier positions which can be kept between blocks of the same stream.
+ * Positions in the hash table in front of the window start are ignored.</p>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class LZ4BlockCodec {
+
+	static final int MAX_DISTANCE = 65535;
+	static final int WINDOW_SIZE = 65536;
+
+	private static final int HASH_LOG = 12;
+	private static final int MIN_MATCH = 4;
+	private static final int LAST_LITERALS = 5;
+	private static final int MF_LIMIT = 12;
+	private static final int SKIP_TRIGGER = 6;
+
+	/**
+	 * Creates a new empty hash table for the compressor.
+	 *
+	 * @return the hash table
+	 */
+	static int[] newHashTable() {
+		int[] table = new int[1 << HASH_LOG];
+		Arrays.fill(table, Integer.MIN_VALUE);
+		return table;
+	}
+
+	/**
+	 * Calculates the maximum size of a compressed block.
+	 *
+	 * @param length the size of the uncompressed block
+	 * @return the maximum size of the compressed block
+	 */
+	static int maxCompressedLength(int length) {
+		return length + length / 255 + 16;
+	}
+
+	/**
+	 * Moves every position in the hash table by the given amount towards the start, after the window has been moved.
+	 *
+	 * @param table the hash table
+	 * @param shift the amount of bytes the window has been moved
+	 */
+	static void slide(int[] table, int shift) {
+		for (int n = 0; n < table.length; n++) {
+			int position = table[n];
+			table[n] = position == Integer.MIN_VALUE || position - shift < 0 ? Integer.MIN_VALUE : position - shift;
+		}
+	}
+
+	/**
+	 * Adds every position of the given area to the hash table, so following blocks can reference the area.
+	 *
+	 * @param buffer the array holding the area
+	 * @param start  the index of the first byte of the area
+	 * @param end    the index behind the last byte of the area
+	 * @param table  the hash table
+	 */
+	static void insert(byte[] buffer, int start, int end, int[] table) {
+		for (int n = start; n <= end - MIN_MATCH; n++) {
+			table[hash(readInt(buffer, n))] = n;
+		}
+	}
+
+	/**
+	 * Restores the entries of the hash table which may have been changed by compressing the given area.<br>
+	 * This allows reusing a hash table prepared for a dictionary without copying it for every block.
+	 *
+	 * @param buffer   the array holding the compressed area
+	 * @param start    the index of the first byte of the area
+	 * @param end      the index behind the last byte of the area
+	 * @param table    the hash table that will be restored
+	 * @param original the hash table before the area has been compressed
+	 */
+	static void restore(byte[] buffer, int start, int end, int[] table, int[] original) {
+		for (int n = start; n <= end - MIN_MATCH; n++) {
+			int hash = hash(readInt(buffer, n));
+			table[hash] = original[hash];
+		}
+	}
+
+	/**
+	 * Compresses the given area of the buffer into an LZ4 block.<br>
+	 * Matches may start anywhere between the window start and the area, at most {@link #MAX_DISTANCE} bytes before the match.
+	 * The destination must have space for {@link #maxCompressedLength(int)} bytes.
+	 *
+	 * @param buffer      the array holding the window and the area
+	 * @param windowStart the index of the first byte which may be referenced
+	 * @param offset      the index of the first byte of the area
+	 * @param length      the size of the area
+	 * @param dst         the array the block will be written to
+	 * @param dstOffset   the index in the destination where the block will start
+	 * @param table       the hash table of the stream
+	 * @return the size of the compressed block
+	 */
+	static int compress(byte[] buffer, int windowStart, int offset, int length, byte[] dst, int dstOffset, int[] table) {
+		int end = offset + length;
+		int anchor = offset;
+		int dstPosition = dstOffset;
+
+		if (length >= MF_LIMIT + 1) {
+			int matchFindLimit = end - MF_LIMIT;
+			int matchLimit = end - LAST_LITERALS;
+			int position = offset;
+
+			while (position <= matchFindLimit) {
+				int searchMatches = 1 << SKIP_TRIGGER;
+				int match = Integer.MIN_VALUE;
+				while (position <= matchFindLimit) {
+					int sequence = readInt(buffer, position);
+					int hash = hash(sequence);
+					int candidate = table[hash];
+					table[hash] = position;
+					if (candidate >= windowStart && position - candidate <= MAX_DISTANCE && readInt(buffer, candidate) == sequence) {
+						match = candidate;
+						break;
+					}
+					position += searchMatches++ >>> SKIP_TRIGGER;
+				}
+				if (match == Integer.MIN_VALUE)
+					break;
+
+				while (position > anchor && match > windowStart && buffer[position - 1] == buffer[match - 1]) {
+					position--;
+					match--;
+				}
+
+				int matchLength = MIN_MATCH;
+				while (position + matchLength < matchLimit && buffer[match + matchLength] == buffer[position + matchLength]) {
+					matchLength++;
+				}
+
+				dstPosition = writeSequence(buffer, anchor, position - anchor, position - match, matchLength, dst, dstPosition);
+				position += matchLength;
+				anchor = position;
+				if (position - 2 >= offset && position <= matchFindLimit)
+					table[hash(readInt(buffer, position - 2))] = position - 2;
+			}
+		}
+
+		int literals = end - anchor;
+		int token = dstPosition++;
+		dst[token] = (byte) (Math.min(literals, 15) << 4);
+		dstPosition = writeLength(literals, dst, dstPosition);
+		System.arraycopy(buffer, anchor, dst, dstPosition, literals);
+		return dstPosition + literals - dstOffset;
+	}
+
+	/**
+	 * Decompresses the given LZ4 block into the buffer.<br>
+	 * Matches may reference every byte between the window start and the decompressed data.
+	 *
+	 * @param src         the array holding the block
+	 * @param srcOffset   the index of the first byte of the block
+	 * @param srcLength   the size of the block
+	 * @param buffer      the array holding the window, the block will be decompressed into it
+	 * @param windowStart the index of the first byte which may be referenced
+	 * @param offset      the index where the decompressed data will start
+	 * @param maxLength   the maximum size of the decompressed data
+	 * @return the size of the decompressed data
+	 * @throws LZ4Exception when the block is malformed
+	 */
+	static int decompress(byte[] src, int srcOffset, int srcLength, byte[] buffer, int windowStart, int offset, int maxLength) {
+		int srcPosition = srcOffset;
+		int srcEnd = srcOffset + srcLength;
+		int position = offset;
+		int end = offset + maxLength;
+
+		while (true) {
+			if (srcPosition >= srcEnd)
+				throw new LZ4Exception("Malformed LZ4 block at " + srcPosition + ".");
+
+			int token = src[srcPosition++] & 0xFF;
+			int literals = token >>> 4;
+			if (literals == 15) {
+				int b;
+				do {
+					if (srcPosition >= srcEnd)
+						throw new LZ4Exception("Malformed LZ4 block at " + srcPosition + ".");
+					b = src[srcPosition++] & 0xFF;
+					literals += b;
+				} while (b == 255 && literals > 0);
+			}
+			if (literals < 0 || literals > srcEnd - srcPosition || literals > end - position)
+				throw new LZ4Exception("Malformed LZ4 block at " + srcPosition + ".");
+
+			System.arraycopy(src, srcPosition, buffer, position, literals);
+			srcPosition += literals;
+			position += literals;
+			if (srcPosition == srcEnd)
+				return position - offset;
+
+			if (srcEnd - srcPosition < 2)
+				throw new LZ4Exception("Malformed LZ4 block at " + srcPosition + ".");
+			int distance = (src[srcPosition] & 0xFF) | (src[srcPosition + 1] & 0xFF) << 8;
+			srcPosition += 2;
+			if (distance == 0 || position - distance < windowStart)
+				throw new LZ4Exception("Malformed LZ4 block at " + srcPosition + ", match outside of window.");
+
+			int matchLength = token & 0x0F;
+			if (matchLength == 15) {
+				int b;
+				do {
+					if (srcPosition >= srcEnd)
+						throw new LZ4Exception("Malformed LZ4 block at " + srcPosition + ".");
+					b = src[srcPosition++] & 0xFF;
+					matchLength += b;
+				} while (b == 255 && matchLength > 0);
+			}
+			matchLength += MIN_MATCH;
+			if (matchLength < MIN_MATCH || matchLength > end - position)
+				throw new LZ4Exception("Malformed LZ4 block at " + srcPosition + ".");
+
+			int match = position - distance;
+			if (distance >= matchLength) {
+				System.arraycopy(buffer, match, buffer, position, matchLength);
+			} else {
+				for (int n = 0; n < matchLength; n++) {
+					buffer[position + n] = buffer[match + n];
+				}
+			}
+			position += matchLength;
+		}
+	}
+
+	/**
+	 * Writes a sequence of literals followed by a match.
+	 *
+	 * @param buffer      the array holding the literals
+	 * @param anchor      the index of the first literal
+	 * @param literals    the amount of literals
+	 * @param distance    the distance of the match
+	 * @param matchLength the length of the match
+	 * @param dst         the array the sequence will be written to
+	 * @param dstPosition the index where the sequence will start
+	 * @return the index behind the sequence
+	 */
+	private static int writeSequence(byte[] buffer, int anchor, int literals, int distance, int matchLength, byte[] dst, int dstPosition) {
+		int token = dstPosition++;
+		dstPosition = writeLength(literals, dst, dstPosition);
+		System.arraycopy(buffer, anchor, dst, dstPosition, literals);
+		dstPosition += literals;
+
+		dst[dstPosition++] = (byte) distance;
+		dst[dstPosition++] = (byte) (distance >>> 8);
+
+		int remaining = matchLength - MIN_MATCH;
+		dst[token] = (byte) ((Math.min(literals, 15) << 4) | Math.min(remaining, 15));
+		return writeLength(remaining, dst, dstPosition);
+	}
+
+	/**
+	 * Writes the extension bytes of a length which does not fit into the 4 bits of the token.
+	 *
+	 * @param length      the length
+	 * @param dst         the array the bytes will be written to
+	 * @param dstPosition the index of the first byte
+	 * @return the index behind the last written byte
+	 */
+	private static int writeLength(int length, byte[] dst, int dstPosition) {
+		if (length < 15)
+			return dstPosition;
+
+		length -= 15;
+		while (length >= 255) {
+			dst[dstPosition++] = (byte) 255;
+			length -= 255;
+		}
+		dst[dstPosition++] = (byte) length;
+		return dstPosition;
+	}
+
+	private static int readInt(byte[] buffer, int index) {
+		return (buffer[index] & 0xFF) | (buffer[index + 1] & 0xFF) << 8 | (buffer[index + 2] & 0xFF) << 16 | buffer[index + 3] << 24;
+	}
+
+	private static int hash(int sequence) {
+		return (sequence * -1640531535) >>> (32 - HASH_LOG);
+	}
+
+}
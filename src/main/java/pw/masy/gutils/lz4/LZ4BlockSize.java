@@ -0,0 +1,40 @@
+package pw.masy.gutils.lz4;
+
+import lombok.Getter;
+
+/**
+ * Represents the maximum size of the blocks of an LZ4 frame.
+ *
+ * <p>Compressing and decompressing a frame needs a buffer of one block on each side, linked blocks additionally
+ * keep the last 64 KiB of the previous blocks. Bigger blocks compress slightly better, smaller blocks need less memory.</p>
+ */
+public enum LZ4BlockSize {
+
+	SIZE_64KB(4, 64 * 1024),
+	SIZE_256KB(5, 256 * 1024),
+	SIZE_1MB(6, 1024 * 1024),
+	SIZE_4MB(7, 4 * 1024 * 1024);
+
+	@Getter private final int id;
+	@Getter private final int size;
+
+	LZ4BlockSize(int id, int size) {
+		this.id = id;
+		this.size = size;
+	}
+
+	/**
+	 * Gets the block size of the given id of a frame descriptor.
+	 *
+	 * @param id the id of the block size
+	 * @return the block size or <i>null</i> if the id is unknown
+	 */
+	static LZ4BlockSize byId(int id) {
+		for (LZ4BlockSize blockSize : values()) {
+			if (blockSize.id == id)
+				return blockSize;
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,225 @@
+package pw.masy.gutils.lz4;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import lombok.Getter;
+import net.jpountz.xxhash.StreamingXXHash32;
+import pw.masy.gutils.xxhasher.XXHashHelper;
+
+/**
+ * Output stream compressing everything written to it into an LZ4 frame.
+ *
+ * <p>The frame follows the LZ4 frame format, so it can be read by the lz4 command line tool and every other implementation.
+ * The data is compressed block by block, the memory needed is constant and only depends on the block size.</p>
+ *
+ * <p>Independent blocks are compressed with {@link LZ4Helper#COMPRESSOR} and can be decompressed on their own.
+ * Linked blocks may reference the last 64 KiB of the previous blocks, which compresses streams of many similar small records
+ * noticeably better. The content checksum is an xxHash32 of the uncompressed data, verified when the frame is read.</p>
+ *
+ * <p>{@link #flush()} compresses the data written so far into a block, even if the block is not full.
+ * The frame is only complete after the stream has been closed.</p>
+ */
+public class LZ4CompressingOutputStream extends FilterOutputStream {
+
+	static final int MAGIC = 0x184D2204;
+	static final int FLAG_VERSION = 0x40;
+	static final int FLAG_BLOCK_INDEPENDENCE = 0x20;
+	static final int FLAG_BLOCK_CHECKSUM = 0x10;
+	static final int FLAG_CONTENT_SIZE = 0x08;
+	static final int FLAG_CONTENT_CHECKSUM = 0x04;
+	static final int FLAG_DICTIONARY_ID = 0x01;
+	static final int UNCOMPRESSED_BLOCK = 0x80000000;
+
+	@Getter private final LZ4BlockSize blockSize;
+	@Getter private final boolean linkedBlocks;
+	@Getter private final boolean contentChecksum;
+	private final byte[] window;
+	private final byte[] compressed;
+	private final int[] hashTable;
+	private final StreamingXXHash32 hasher;
+	private int blockStart;
+	private int blockEnd;
+	private boolean headerWritten;
+	private boolean closed;
+
+	/**
+	 * Constructs a new compressing output stream writing a frame of independent 64 KiB blocks with a content checksum.
+	 *
+	 * @param out the {@link OutputStream} the frame will be written to
+	 */
+	public LZ4CompressingOutputStream(OutputStream out) {
+		this(out, LZ4BlockSize.SIZE_64KB, false, true);
+	}
+
+	/**
+	 * Constructs a new compressing output stream.
+	 *
+	 * @param out             the {@link OutputStream} the frame will be written to
+	 * @param blockSize       the maximum size of the uncompressed blocks
+	 * @param linkedBlocks    whether blocks may reference the data of the previous blocks
+	 * @param contentChecksum whether an xxHash32 of the uncompressed data will be appended to the frame
+	 */
+	public LZ4CompressingOutputStream(OutputStream out, LZ4BlockSize blockSize, boolean linkedBlocks, boolean contentChecksum) {
+		super(out);
+		this.blockSize = blockSize;
+		this.linkedBlocks = linkedBlocks;
+		this.contentChecksum = contentChecksum;
+		this.window = new byte[(linkedBlocks ? LZ4BlockCodec.WINDOW_SIZE : 0) + blockSize.getSize()];
+		this.compressed = new byte[4 + Math.max(LZ4BlockCodec.maxCompressedLength(blockSize.getSize()), LZ4Helper.COMPRESSOR.maxCompressedLength(blockSize.getSize()))];
+		this.hashTable = linkedBlocks ? LZ4BlockCodec.newHashTable() : null;
+		this.hasher = contentChecksum ? XXHashHelper.get32BitHasher(0) : null;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		this.ensureOpen();
+		this.window[this.blockEnd++] = (byte) b;
+		if (this.blockEnd - this.blockStart == this.blockSize.getSize())
+			this.writeBlock();
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		this.ensureOpen();
+		if (off < 0 || len < 0 || off + len > b.length)
+			throw new IndexOutOfBoundsException("Tried writing " + len + " bytes at offset " + off + " of an array with length " + b.length + ".");
+
+		while (len > 0) {
+			int length = Math.min(len, this.blockSize.getSize() - (this.blockEnd - this.blockStart));
+			System.arraycopy(b, off, this.window, this.blockEnd, length);
+			this.blockEnd += length;
+			off += length;
+			len -= length;
+			if (this.blockEnd - this.blockStart == this.blockSize.getSize())
+				this.writeBlock();
+		}
+	}
+
+	/**
+	 * Compresses the data written so far into a block and flushes the underlying stream.
+	 *
+	 * @throws IOException when the block could not be written
+	 */
+	@Override
+	public void flush() throws IOException {
+		this.ensureOpen();
+		this.writeBlock();
+		this.out.flush();
+	}
+
+	/**
+	 * Compresses the remaining data, finishes the frame and closes the underlying stream.
+	 *
+	 * @throws IOException when the frame could not be finished
+	 */
+	@Override
+	public void close() throws IOException {
+		if (this.closed)
+			return;
+
+		try {
+			this.writeBlock();
+			this.writeHeader();
+			byte[] end = new byte[this.contentChecksum ? 8 : 4];
+			if (this.contentChecksum)
+				writeIntLE(this.hasher.getValue(), end, 4);
+			this.out.write(end);
+			this.out.flush();
+		} finally {
+			this.closed = true;
+			this.out.close();
+		}
+	}
+
+	/**
+	 * Compresses the buffered data into a block and writes it.<br>
+	 * Blocks which do not get smaller are stored uncompressed.
+	 *
+	 * @throws IOException when the block could not be written
+	 */
+	private void writeBlock() throws IOException {
+		this.writeHeader();
+		int length = this.blockEnd - this.blockStart;
+		if (length == 0)
+			return;
+
+		if (this.hasher != null)
+			this.hasher.update(this.window, this.blockStart, length);
+
+		int compressedLength;
+		if (this.linkedBlocks) {
+			compressedLength = LZ4BlockCodec.compress(this.window, 0, this.blockStart, length, this.compressed, 4, this.hashTable);
+		} else {
+			compressedLength = LZ4Helper.COMPRESSOR.compress(this.window, this.blockStart, length, this.compressed, 4, this.compressed.length - 4);
+		}
+
+		if (compressedLength < length) {
+			writeIntLE(compressedLength, this.compressed, 0);
+			this.out.write(this.compressed, 0, 4 + compressedLength);
+		} else {
+			writeIntLE(length | UNCOMPRESSED_BLOCK, this.compressed, 0);
+			this.out.write(this.compressed, 0, 4);
+			this.out.write(this.window, this.blockStart, length);
+		}
+
+		if (!this.linkedBlocks) {
+			this.blockStart = this.blockEnd = 0;
+		} else if (this.blockEnd > LZ4BlockCodec.WINDOW_SIZE) {
+			int shift = this.blockEnd - LZ4BlockCodec.WINDOW_SIZE;
+			System.arraycopy(this.window, shift, this.window, 0, LZ4BlockCodec.WINDOW_SIZE);
+			LZ4BlockCodec.slide(this.hashTable, shift);
+			this.blockStart = this.blockEnd = LZ4BlockCodec.WINDOW_SIZE;
+		} else {
+			this.blockStart = this.blockEnd;
+		}
+	}
+
+	/**
+	 * Writes the magic number and the frame descriptor, if not written yet.
+	 *
+	 * @throws IOException when the header could not be written
+	 */
+	private void writeHeader() throws IOException {
+		if (this.headerWritten)
+			return;
+
+		byte[] header = new byte[7];
+		writeIntLE(MAGIC, header, 0);
+		header[4] = (byte) (FLAG_VERSION | (this.linkedBlocks ? 0 : FLAG_BLOCK_INDEPENDENCE) | (this.contentChecksum ? FLAG_CONTENT_CHECKSUM : 0));
+		header[5] = (byte) (this.blockSize.getId() << 4);
+		header[6] = headerChecksum(header, 4, 2);
+		this.out.write(header);
+		this.headerWritten = true;
+	}
+
+	/**
+	 * Checks if the stream is still open.
+	 *
+	 * @throws IOException when the stream has been closed
+	 */
+	private void ensureOpen() throws IOException {
+		if (this.closed)
+			throw new IOException("Tried writing to a closed LZ4CompressingOutputStream.");
+	}
+
+	/**
+	 * Calculates the checksum of a frame descriptor.
+	 *
+	 * @param descriptor the array holding the descriptor
+	 * @param offset     the index of the first byte of the descriptor
+	 * @param length     the size of the descriptor
+	 * @return the second byte of the xxHash32 of the descriptor
+	 */
+	static byte headerChecksum(byte[] descriptor, int offset, int length) {
+		return (byte) (XXHashHelper.hash32(descriptor, offset, length, 0) >>> 8);
+	}
+
+	private static void writeIntLE(int value, byte[] dst, int offset) {
+		dst[offset] = (byte) value;
+		dst[offset + 1] = (byte) (value >>> 8);
+		dst[offset + 2] = (byte) (value >>> 16);
+		dst[offset + 3] = (byte) (value >>> 24);
+	}
+
+}
@@ -0,0 +1,221 @@
+package pw.masy.gutils.lz4;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import lombok.Getter;
+import net.jpountz.lz4.LZ4Exception;
+import pw.masy.gutils.xxhasher.XXHashHelper;
+
+/**
+ * Reader of the indexed containers written by {@link LZ4ParallelCompressor}.
+ *
+ * <p>Only the index of the container is loaded into memory. Blocks are read and decompressed on demand, either in parallel
+ * by {@link #decompress(OutputStream, ForkJoinPool)} or at random positions by {@link #read(long, byte[], int, int)}.
+ * The checksum of every decompressed block is verified.</p>
+ *
+ * <p>The container can be read by multiple threads at the same time. Reads of a {@link FileChannel} use positional reads,
+ * reads of other channels are serialized.</p>
+ */
+public class LZ4Container implements Closeable {
+
+	private final SeekableByteChannel channel;
+	@Getter private final int blockSize;
+	@Getter private final int blockCount;
+	@Getter private final long length;
+	private final long[] offsets;
+	private final int[] compressedLengths;
+	private final int[] checksums;
+
+	/**
+	 * Constructs a new container reading the given channel.<br>
+	 * The container takes ownership of the channel and closes it when the container is closed.
+	 *
+	 * @param channel the {@link SeekableByteChannel} holding the container
+	 * @throws IOException when the container is malformed or could not be read
+	 */
+	public LZ4Container(SeekableByteChannel channel) throws IOException {
+		this.channel = channel;
+		long size = channel.size();
+		if (size < LZ4ParallelCompressor.HEADER_SIZE + LZ4ParallelCompressor.TRAILER_SIZE)
+			throw new IOException("Channel is too small for an LZ4 container: " + size);
+
+		ByteBuffer header = this.readAt(0, LZ4ParallelCompressor.HEADER_SIZE);
+		ByteBuffer trailer = this.readAt(size - LZ4ParallelCompressor.TRAILER_SIZE, LZ4ParallelCompressor.TRAILER_SIZE);
+		if (header.getInt() != LZ4ParallelCompressor.MAGIC || trailer.getInt(20) != LZ4ParallelCompressor.MAGIC)
+			throw new IOException("Invalid magic number of LZ4 container.");
+
+		this.blockSize = header.getInt();
+		long indexPosition = trailer.getLong();
+		this.length = trailer.getLong();
+		this.blockCount = trailer.getInt();
+		if (this.blockSize <= 0 || this.blockCount < 0 || indexPosition + (long) this.blockCount * LZ4ParallelCompressor.INDEX_ENTRY_SIZE + LZ4ParallelCompressor.TRAILER_SIZE != size
+				|| this.length > (long) this.blockCount * this.blockSize || this.length <= (long) (this.blockCount - 1) * this.blockSize)
+			throw new IOException("Malformed index of LZ4 container.");
+
+		ByteBuffer index = this.readAt(indexPosition, this.blockCount * LZ4ParallelCompressor.INDEX_ENTRY_SIZE);
+		this.offsets = new long[this.blockCount + 1];
+		this.compressedLengths = new int[this.blockCount];
+		this.checksums = new int[this.blockCount];
+		this.offsets[0] = LZ4ParallelCompressor.HEADER_SIZE;
+		for (int n = 0; n < this.blockCount; n++) {
+			this.compressedLengths[n] = index.getInt();
+			this.checksums[n] = index.getInt();
+			this.offsets[n + 1] = this.offsets[n] + (this.compressedLengths[n] & ~LZ4ParallelCompressor.UNCOMPRESSED_BLOCK);
+		}
+		if (this.offsets[this.blockCount] != indexPosition)
+			throw new IOException("Malformed index of LZ4 container.");
+	}
+
+	/**
+	 * Decompresses the whole container into the given stream, using the common pool.
+	 *
+	 * @param out the {@link OutputStream} the data will be written to
+	 * @throws IOException when the container is malformed or the data could not be written
+	 */
+	public void decompress(OutputStream out) throws IOException {
+		this.decompress(out, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Decompresses the whole container into the given stream.<br>
+	 * The blocks are decompressed in parallel on the given pool and written in order by the calling thread.
+	 *
+	 * @param out  the {@link OutputStream} the data will be written to
+	 * @param pool the {@link ForkJoinPool} the blocks will be decompressed on
+	 * @throws IOException when the container is malformed or the data could not be written
+	 */
+	public void decompress(OutputStream out, ForkJoinPool pool) throws IOException {
+		ArrayDeque<ForkJoinTask<byte[]>> inFlight = new ArrayDeque<>();
+		int maxBlocksInFlight = pool.getParallelism() * 2;
+		int next = 0;
+		try {
+			while (next < this.blockCount || !inFlight.isEmpty()) {
+				while (next < this.blockCount && inFlight.size() < maxBlocksInFlight) {
+					int block = next++;
+					inFlight.add(pool.submit(() -> this.readBlock(block)));
+				}
+				out.write(inFlight.poll().get());
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while decompressing LZ4 container.", ex);
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof IOException)
+				throw (IOException) ex.getCause();
+			throw new IOException("Could not decompress LZ4 container.", ex.getCause());
+		} finally {
+			for (ForkJoinTask<byte[]> task : inFlight) {
+				task.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * Reads decompressed bytes at the given position of the uncompressed data.<br>
+	 * Only the blocks containing the requested bytes are decompressed.
+	 *
+	 * @param position the position in the uncompressed data
+	 * @param dst      the array the bytes will be written to
+	 * @param offset   the index in the array of the first byte
+	 * @param length   the maximum amount of bytes that will be read
+	 * @return the amount of bytes read or -1 if the position is at or behind the end of the data
+	 * @throws IOException when the container is malformed or could not be read
+	 */
+	public int read(long position, byte[] dst, int offset, int length) throws IOException {
+		if (position < 0 || offset < 0 || length < 0 || offset + length > dst.length)
+			throw new IndexOutOfBoundsException("Tried reading " + length + " bytes at position " + position + " into an array with length " + dst.length + " at offset " + offset + ".");
+		if (position >= this.length)
+			return -1;
+
+		int read = (int) Math.min(length, this.length - position);
+		int done = 0;
+		while (done < read) {
+			int block = (int) ((position + done) / this.blockSize);
+			int blockOffset = (int) ((position + done) % this.blockSize);
+			byte[] data = this.readBlock(block);
+			int count = Math.min(read - done, data.length - blockOffset);
+			System.arraycopy(data, blockOffset, dst, offset + done, count);
+			done += count;
+		}
+		return read;
+	}
+
+	/**
+	 * Reads, decompresses and verifies the block with the given index.
+	 *
+	 * @param block the index of the block
+	 * @return the uncompressed block
+	 * @throws IOException when the block is malformed or could not be read
+	 */
+	public byte[] readBlock(int block) throws IOException {
+		if (block < 0 || block >= this.blockCount)
+			throw new IndexOutOfBoundsException("Tried reading block " + block + " of LZ4 container with " + this.blockCount + " blocks.");
+
+		int size = block == this.blockCount - 1 ? (int) (this.length - (long) block * this.blockSize) : this.blockSize;
+		int compressedLength = this.compressedLengths[block];
+		byte[] data;
+		if ((compressedLength & LZ4ParallelCompressor.UNCOMPRESSED_BLOCK) != 0) {
+			if ((compressedLength & ~LZ4ParallelCompressor.UNCOMPRESSED_BLOCK) != size)
+				throw new IOException("Malformed block " + block + " of LZ4 container.");
+			data = this.readAt(this.offsets[block], size).array();
+		} else {
+			ByteBuffer compressed = this.readAt(this.offsets[block], compressedLength);
+			data = new byte[size];
+			try {
+				if (LZ4Helper.SAFE_DECOMPRESSOR.decompress(compressed.array(), 0, compressedLength, data, 0, size) != size)
+					throw new IOException("Malformed block " + block + " of LZ4 container.");
+			} catch (LZ4Exception ex) {
+				throw new IOException("Malformed block " + block + " of LZ4 container.", ex);
+			}
+		}
+
+		if (XXHashHelper.hash32(data, 0, data.length, 0) != this.checksums[block])
+			throw new IOException("Checksum of block " + block + " of LZ4 container does not match.");
+		return data;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.channel.close();
+	}
+
+	/**
+	 * Reads the given amount of bytes at the given position of the channel.
+	 *
+	 * @param position the position in the channel
+	 * @param size     the amount of bytes
+	 * @return a little-endian {@link ByteBuffer} backed by an array holding the bytes
+	 * @throws IOException when the channel ends early or could not be read
+	 */
+	private ByteBuffer readAt(long position, int size) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+		if (this.channel instanceof FileChannel) {
+			FileChannel file = (FileChannel) this.channel;
+			while (buffer.hasRemaining()) {
+				if (file.read(buffer, position + buffer.position()) < 0)
+					throw new EOFException("Unexpected end of LZ4 container.");
+			}
+		} else {
+			synchronized (this.channel) {
+				this.channel.position(position);
+				while (buffer.hasRemaining()) {
+					if (this.channel.read(buffer) < 0)
+						throw new EOFException("Unexpected end of LZ4 container.");
+				}
+			}
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+}
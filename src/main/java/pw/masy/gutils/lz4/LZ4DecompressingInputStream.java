@@ -0,0 +1,284 @@
+package pw.masy.gutils.lz4;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.xxhash.StreamingXXHash32;
+import pw.masy.gutils.xxhasher.XXHashHelper;
+
+/**
+ * Input stream decompressing LZ4 frames.
+ *
+ * <p>Frames with independent or linked blocks, block checksums, content sizes and content checksums are supported,
+ * so frames of every implementation of the LZ4 frame format can be read. Concatenated frames are read one after another
+ * and skippable frames are skipped. Frames using a dictionary id are rejected.</p>
+ *
+ * <p>The data is decompressed block by block, the memory needed is constant and only depends on the block size of the frame.
+ * Blocks are decompressed with a safe decompressor and all checksums are verified, so frames from untrusted sources can be read.</p>
+ */
+public class LZ4DecompressingInputStream extends FilterInputStream {
+
+	private static final int SKIPPABLE_MAGIC = 0x184D2A50;
+	private static final int SKIPPABLE_MAGIC_MASK = 0xFFFFFFF0;
+
+	private final byte[] header = new byte[15];
+	private final StreamingXXHash32 hasher = XXHashHelper.get32BitHasher(0);
+	private byte[] window = new byte[0];
+	private byte[] compressed = new byte[0];
+	private int blockSize;
+	private boolean linkedBlocks;
+	private boolean blockChecksum;
+	private boolean contentChecksum;
+	private boolean inFrame;
+	private boolean finished;
+	private int position;
+	private int end;
+
+	/**
+	 * Constructs a new decompressing input stream.
+	 *
+	 * @param in the {@link InputStream} the frames will be read from
+	 */
+	public LZ4DecompressingInputStream(InputStream in) {
+		super(in);
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!this.fill())
+			return -1;
+		return this.window[this.position++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (off < 0 || len < 0 || off + len > b.length)
+			throw new IndexOutOfBoundsException("Tried reading " + len + " bytes at offset " + off + " of an array with length " + b.length + ".");
+		if (len == 0)
+			return 0;
+		if (!this.fill())
+			return -1;
+
+		int length = Math.min(len, this.end - this.position);
+		System.arraycopy(this.window, this.position, b, off, length);
+		this.position += length;
+		return length;
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		long skipped = 0;
+		while (skipped < n && this.fill()) {
+			int length = (int) Math.min(n - skipped, this.end - this.position);
+			this.position += length;
+			skipped += length;
+		}
+		return skipped;
+	}
+
+	@Override
+	public int available() {
+		return this.end - this.position;
+	}
+
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+
+	@Override
+	public void mark(int readlimit) {
+	}
+
+	@Override
+	public void reset() throws IOException {
+		throw new IOException("LZ4DecompressingInputStream does not support marks.");
+	}
+
+	/**
+	 * Decompresses blocks until there is decompressed data left or the last frame has been read.
+	 *
+	 * @return <i>true</i> if there is decompressed data left, <i>false</i> at the end of the stream
+	 * @throws IOException when a frame is malformed or could not be read
+	 */
+	private boolean fill() throws IOException {
+		while (this.position == this.end) {
+			if (this.finished)
+				return false;
+			if (!this.inFrame && !this.readHeader()) {
+				this.finished = true;
+				return false;
+			}
+			this.readBlock();
+		}
+		return true;
+	}
+
+	/**
+	 * Reads the header of the next frame, skipping skippable frames.
+	 *
+	 * @return <i>true</i> if a frame has been found, <i>false</i> at the end of the stream
+	 * @throws IOException when the header is malformed or could not be read
+	 */
+	private boolean readHeader() throws IOException {
+		int magic;
+		while (true) {
+			int read = this.readFully(this.header, 0, 4, true);
+			if (read == 0)
+				return false;
+
+			magic = readIntLE(this.header, 0);
+			if ((magic & SKIPPABLE_MAGIC_MASK) != SKIPPABLE_MAGIC)
+				break;
+
+			this.readFully(this.header, 0, 4, false);
+			long size = readIntLE(this.header, 0) & 0xFFFFFFFFL;
+			while (size > 0) {
+				long skipped = this.in.skip(size);
+				if (skipped <= 0) {
+					if (this.in.read() < 0)
+						throw new EOFException("Unexpected end of a skippable LZ4 frame.");
+					skipped = 1;
+				}
+				size -= skipped;
+			}
+		}
+		if (magic != LZ4CompressingOutputStream.MAGIC)
+			throw new IOException("Invalid magic number of LZ4 frame: " + Integer.toHexString(magic));
+
+		this.readFully(this.header, 0, 2, false);
+		int flags = this.header[0] & 0xFF;
+		if ((flags & 0xC0) != LZ4CompressingOutputStream.FLAG_VERSION)
+			throw new IOException("Unsupported version of LZ4 frame: " + (flags >>> 6));
+		if ((flags & LZ4CompressingOutputStream.FLAG_DICTIONARY_ID) != 0)
+			throw new IOException("LZ4 frames with a dictionary id are not supported.");
+
+		LZ4BlockSize size = LZ4BlockSize.byId((this.header[1] >>> 4) & 0x07);
+		if (size == null)
+			throw new IOException("Invalid block size of LZ4 frame: " + ((this.header[1] >>> 4) & 0x07));
+
+		int descriptorLength = 2;
+		if ((flags & LZ4CompressingOutputStream.FLAG_CONTENT_SIZE) != 0) {
+			this.readFully(this.header, 2, 8, false);
+			descriptorLength += 8;
+		}
+		this.readFully(this.header, descriptorLength, 1, false);
+		if (this.header[descriptorLength] != LZ4CompressingOutputStream.headerChecksum(this.header, 0, descriptorLength))
+			throw new IOException("Checksum of LZ4 frame descriptor does not match.");
+
+		this.linkedBlocks = (flags & LZ4CompressingOutputStream.FLAG_BLOCK_INDEPENDENCE) == 0;
+		this.blockChecksum = (flags & LZ4CompressingOutputStream.FLAG_BLOCK_CHECKSUM) != 0;
+		this.contentChecksum = (flags & LZ4CompressingOutputStream.FLAG_CONTENT_CHECKSUM) != 0;
+		this.blockSize = size.getSize();
+
+		int windowSize = (this.linkedBlocks ? LZ4BlockCodec.WINDOW_SIZE : 0) + this.blockSize;
+		if (this.window.length < windowSize)
+			this.window = new byte[windowSize];
+		if (this.compressed.length < this.blockSize)
+			this.compressed = new byte[this.blockSize];
+		this.position = this.end = 0;
+		this.hasher.reset();
+		this.inFrame = true;
+		return true;
+	}
+
+	/**
+	 * Reads and decompresses the next block of the current frame, or the end of the frame.
+	 *
+	 * @throws IOException when the block is malformed or could not be read
+	 */
+	private void readBlock() throws IOException {
+		this.readFully(this.header, 0, 4, false);
+		int size = readIntLE(this.header, 0);
+		if (size == 0) {
+			this.finishFrame();
+			return;
+		}
+
+		boolean uncompressed = (size & LZ4CompressingOutputStream.UNCOMPRESSED_BLOCK) != 0;
+		size &= ~LZ4CompressingOutputStream.UNCOMPRESSED_BLOCK;
+		if (size > this.blockSize)
+			throw new IOException("Size of LZ4 block exceeds the block size of the frame: " + size);
+
+		if (!this.linkedBlocks) {
+			this.end = 0;
+		} else if (this.window.length - this.end < this.blockSize) {
+			int shift = this.end - LZ4BlockCodec.WINDOW_SIZE;
+			System.arraycopy(this.window, shift, this.window, 0, LZ4BlockCodec.WINDOW_SIZE);
+			this.end = LZ4BlockCodec.WINDOW_SIZE;
+		}
+		this.position = this.end;
+
+		byte[] block = uncompressed ? this.window : this.compressed;
+		int blockOffset = uncompressed ? this.end : 0;
+		this.readFully(block, blockOffset, size, false);
+		if (this.blockChecksum) {
+			this.readFully(this.header, 0, 4, false);
+			if (XXHashHelper.hash32(block, blockOffset, size, 0) != readIntLE(this.header, 0))
+				throw new IOException("Checksum of LZ4 block does not match.");
+		}
+
+		int length = size;
+		if (!uncompressed) {
+			try {
+				if (this.linkedBlocks) {
+					length = LZ4BlockCodec.decompress(this.compressed, 0, size, this.window, 0, this.end, this.blockSize);
+				} else {
+					length = LZ4Helper.SAFE_DECOMPRESSOR.decompress(this.compressed, 0, size, this.window, 0, this.blockSize);
+				}
+			} catch (LZ4Exception ex) {
+				throw new IOException("Malformed LZ4 block.", ex);
+			}
+		}
+
+		if (this.contentChecksum)
+			this.hasher.update(this.window, this.position, length);
+		this.end += length;
+	}
+
+	/**
+	 * Verifies the content checksum of the current frame.
+	 *
+	 * @throws IOException when the checksum does not match or could not be read
+	 */
+	private void finishFrame() throws IOException {
+		if (this.contentChecksum) {
+			this.readFully(this.header, 0, 4, false);
+			if (this.hasher.getValue() != readIntLE(this.header, 0))
+				throw new IOException("Content checksum of LZ4 frame does not match.");
+		}
+		this.position = this.end = 0;
+		this.inFrame = false;
+	}
+
+	/**
+	 * Reads exactly the given amount of bytes from the underlying stream.
+	 *
+	 * @param b          the array the bytes will be read into
+	 * @param off        the index of the first byte
+	 * @param len        the amount of bytes
+	 * @param allowEmpty whether the end of the stream is allowed before the first byte
+	 * @return the amount of bytes read, 0 only if empty reads are allowed
+	 * @throws IOException when the stream ends early or could not be read
+	 */
+	private int readFully(byte[] b, int off, int len, boolean allowEmpty) throws IOException {
+		int read = 0;
+		while (read < len) {
+			int count = this.in.read(b, off + read, len - read);
+			if (count < 0) {
+				if (read == 0 && allowEmpty)
+					return 0;
+				throw new EOFException("Unexpected end of LZ4 frame.");
+			}
+			read += count;
+		}
+		return read;
+	}
+
+	private static int readIntLE(byte[] src, int offset) {
+		return (src[offset] & 0xFF) | (src[offset + 1] & 0xFF) << 8 | (src[offset + 2] & 0xFF) << 16 | src[offset + 3] << 24;
+	}
+
+}
@@ -0,0 +1,301 @@
+package pw.masy.gutils.lz4;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+import lombok.Getter;
+import pw.masy.gutils.buffer.AdvancedByteBuffer;
+
+/**
+ * Dictionary of content shared by many small payloads, which is used as history when compressing and decompressing them.
+ *
+ * <p>LZ4 can only find matches in data it has already seen, so small payloads barely compress on their own.
+ * With a dictionary every payload is compressed as if the dictionary had been compressed right in front of it,
+ * so recurring content like packet headers and field names is encoded as short references into the dictionary.
+ * Both sides need exactly the same dictionary, which is identified by its id.</p>
+ *
+ * <p>Dictionaries are trained with {@link #train(int, int, Collection)} from sample payloads. The training picks the segments
+ * of the samples whose content occurs in the most samples, so the dictionary holds what the payloads have in common.
+ * A dictionary holds at most 64 KiB, since LZ4 cannot reference anything further away.</p>
+ *
+ * <p>The dictionary is immutable and can be used by multiple threads at the same time, every thread keeps its own working buffers.</p>
+ */
+public class LZ4Dictionary {
+
+	public static final int MAX_SIZE = LZ4BlockCodec.MAX_DISTANCE;
+
+	private static final int GRAM_LENGTH = 8;
+	private static final int SEGMENT_LENGTH = 48;
+	private static final int SEGMENT_STEP = 4;
+	private static final int COUNTER_BITS = 20;
+
+	@Getter private final int id;
+	private final byte[] content;
+	private final int[] hashTable;
+	private final ThreadLocal<byte[]> window;
+	private final ThreadLocal<int[]> threadHashTable;
+
+	/**
+	 * Constructs a new dictionary with the given content.
+	 *
+	 * @param id      the id identifying the dictionary and its version
+	 * @param content the content of the dictionary
+	 * @throws IllegalArgumentException when the content is bigger than {@link #MAX_SIZE}
+	 */
+	public LZ4Dictionary(int id, byte[] content) {
+		if (content.length > MAX_SIZE)
+			throw new IllegalArgumentException("The content of a dictionary must not be bigger than " + MAX_SIZE + " bytes but was: " + content.length);
+
+		this.id = id;
+		this.content = content.clone();
+		this.hashTable = LZ4BlockCodec.newHashTable();
+		LZ4BlockCodec.insert(this.content, 0, this.content.length, this.hashTable);
+		this.window = ThreadLocal.withInitial(() -> Arrays.copyOf(this.content, this.content.length + 1024));
+		this.threadHashTable = ThreadLocal.withInitial(this.hashTable::clone);
+	}
+
+	/**
+	 * Trains a dictionary from the content between the position and the limit of the given samples.<br>
+	 * The positions of the samples are not changed.
+	 *
+	 * @param id      the id identifying the dictionary and its version
+	 * @param maxSize the maximum size of the dictionary, at most {@link #MAX_SIZE}
+	 * @param samples the sample payloads
+	 * @return the trained dictionary
+	 * @throws IllegalArgumentException when the maximum size is out of range
+	 */
+	public static LZ4Dictionary train(int id, int maxSize, Collection<? extends AdvancedByteBuffer> samples) {
+		if (maxSize <= 0 || maxSize > MAX_SIZE)
+			throw new IllegalArgumentException("The maximum size of a dictionary has to be between 1 and " + MAX_SIZE + " but was: " + maxSize);
+
+		byte[][] data = new byte[samples.size()][];
+		int index = 0;
+		for (AdvancedByteBuffer sample : samples) {
+			ByteBuffer content = sample.asByteBuffer();
+			data[index] = new byte[content.remaining()];
+			content.get(data[index++]);
+		}
+
+		int[] counts = new int[1 << COUNTER_BITS];
+		int[] lastSample = new int[1 << COUNTER_BITS];
+		for (int n = 0; n < data.length; n++) {
+			for (int i = 0; i <= data[n].length - GRAM_LENGTH; i++) {
+				int gram = gramHash(data[n], i);
+				if (lastSample[gram] != n + 1) {
+					lastSample[gram] = n + 1;
+					counts[gram]++;
+				}
+			}
+		}
+
+		PriorityQueue<long[]> candidates = new PriorityQueue<>((a, b) -> Long.compare(b[0], a[0]));
+		for (int n = 0; n < data.length; n++) {
+			for (int i = 0; i <= data[n].length - GRAM_LENGTH; i += SEGMENT_STEP) {
+				long score = score(data[n], i, counts);
+				if (score > 0)
+					candidates.add(new long[] {score, n, i});
+			}
+		}
+
+		List<long[]> selected = new ArrayList<>();
+		int size = 0;
+		while (size < maxSize && !candidates.isEmpty()) {
+			long[] candidate = candidates.poll();
+			byte[] sample = data[(int) candidate[1]];
+			int start = (int) candidate[2];
+			long score = score(sample, start, counts);
+			if (score == 0)
+				continue;
+			if (!candidates.isEmpty() && score < candidates.peek()[0]) {
+				candidate[0] = score;
+				candidates.add(candidate);
+				continue;
+			}
+
+			int length = Math.min(Math.min(SEGMENT_LENGTH, sample.length - start), maxSize - size);
+			for (int i = start; i <= start + length - GRAM_LENGTH; i++) {
+				counts[gramHash(sample, i)] = 0;
+			}
+			selected.add(new long[] {candidate[1], start, length});
+			size += length;
+		}
+
+		byte[] content = new byte[size];
+		int position = size;
+		for (long[] segment : selected) {
+			position -= (int) segment[2];
+			System.arraycopy(data[(int) segment[0]], (int) segment[1], content, position, (int) segment[2]);
+		}
+		return new LZ4Dictionary(id, content);
+	}
+
+	/**
+	 * Reads a dictionary written by {@link #writeTo(AdvancedByteBuffer)}.
+	 *
+	 * @param buffer the {@link AdvancedByteBuffer} the dictionary will be read from
+	 * @return the dictionary
+	 */
+	public static LZ4Dictionary readFrom(AdvancedByteBuffer buffer) {
+		int id = buffer.readVarInt();
+		return new LZ4Dictionary(id, buffer.readByteArray());
+	}
+
+	/**
+	 * Writes the id and the content of the dictionary into the given buffer.
+	 *
+	 * @param buffer the {@link AdvancedByteBuffer} the dictionary will be written to
+	 * @return the instance of the {@link LZ4Dictionary}
+	 */
+	public LZ4Dictionary writeTo(AdvancedByteBuffer buffer) {
+		buffer.writeVarInt(this.id).writeByteArray(this.content);
+		return this;
+	}
+
+	/**
+	 * Gets a copy of the content of the dictionary.
+	 *
+	 * @return the content
+	 */
+	public byte[] getContent() {
+		return this.content.clone();
+	}
+
+	/**
+	 * Gets the size of the content of the dictionary.
+	 *
+	 * @return the size in bytes
+	 */
+	public int getSize() {
+		return this.content.length;
+	}
+
+	/**
+	 * Compresses the given region of an array into a single LZ4 block using the dictionary.<br>
+	 * The block does not contain the uncompressed length, it has to be passed to {@link #decompress(byte[], int, int, int)}.
+	 *
+	 * @param src    the array holding the payload
+	 * @param offset the index of the first byte of the payload
+	 * @param length the size of the payload
+	 * @return the compressed block
+	 */
+	public byte[] compress(byte[] src, int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > src.length)
+			throw new IndexOutOfBoundsException("Tried compressing " + length + " bytes at offset " + offset + " of an array with length " + src.length + ".");
+
+		byte[] window = this.window(length);
+		int[] table = this.threadHashTable.get();
+		System.arraycopy(src, offset, window, this.content.length, length);
+
+		byte[] compressed = new byte[LZ4BlockCodec.maxCompressedLength(length)];
+		int size = LZ4BlockCodec.compress(window, 0, this.content.length, length, compressed, 0, table);
+		LZ4BlockCodec.restore(window, this.content.length, this.content.length + length, table, this.hashTable);
+		return Arrays.copyOf(compressed, size);
+	}
+
+	/**
+	 * Decompresses the given LZ4 block compressed with this dictionary.
+	 *
+	 * @param src    the array holding the block
+	 * @param offset the index of the first byte of the block
+	 * @param length the size of the block
+	 * @param size   the size of the uncompressed payload
+	 * @return the uncompressed payload
+	 * @throws IllegalArgumentException     when the block does not decompress to the given size
+	 * @throws net.jpountz.lz4.LZ4Exception when the block is malformed
+	 */
+	public byte[] decompress(byte[] src, int offset, int length, int size) {
+		if (size < 0)
+			throw new IllegalArgumentException("Tried decompressing LZ4 block with negative length.");
+
+		byte[] window = this.window(size);
+		int decompressed = LZ4BlockCodec.decompress(src, offset, length, window, 0, this.content.length, size);
+		if (decompressed != size)
+			throw new IllegalArgumentException("Tried decompressing LZ4 block of " + decompressed + " bytes, but " + size + " bytes were expected.");
+		return Arrays.copyOfRange(window, this.content.length, this.content.length + size);
+	}
+
+	/**
+	 * Compresses the content between the position and the limit of the source into the destination using the dictionary.<br>
+	 * The id of the dictionary, the uncompressed length and the compressed block are written at the position of the destination.
+	 * Afterwards the position of the source is at its limit.
+	 *
+	 * @param src the {@link AdvancedByteBuffer} holding the payload
+	 * @param dst the {@link AdvancedByteBuffer} the compressed payload will be written to
+	 * @return the instance of the {@link LZ4Dictionary}
+	 * @see #decompressFrom(AdvancedByteBuffer, AdvancedByteBuffer)
+	 */
+	public LZ4Dictionary compressInto(AdvancedByteBuffer src, AdvancedByteBuffer dst) {
+		byte[] payload = src.readByteArray(src.getLimit() - src.getPosition());
+
+		dst.writeVarInt(this.id).writeVarInt(payload.length).writeByteArray(this.compress(payload, 0, payload.length));
+		return this;
+	}
+
+	/**
+	 * Decompresses a payload written by {@link #compressInto(AdvancedByteBuffer, AdvancedByteBuffer)} at the position of the source
+	 * into the destination.
+	 *
+	 * @param src the {@link AdvancedByteBuffer} holding the compressed payload
+	 * @param dst the {@link AdvancedByteBuffer} the payload will be written to
+	 * @return the instance of the {@link LZ4Dictionary}
+	 * @throws IllegalArgumentException     when the payload has been compressed with another dictionary or is malformed
+	 * @throws net.jpountz.lz4.LZ4Exception when the block is malformed
+	 */
+	public LZ4Dictionary decompressFrom(AdvancedByteBuffer src, AdvancedByteBuffer dst) {
+		int id = src.readVarInt();
+		if (id != this.id)
+			throw new IllegalArgumentException("Tried decompressing payload compressed with dictionary " + id + " using dictionary " + this.id + ".");
+
+		int size = src.readVarInt();
+		byte[] block = src.readByteArray();
+		dst.writeByteArrayRaw(this.decompress(block, 0, block.length, size));
+		return this;
+	}
+
+	/**
+	 * Gets the working buffer of the current thread, which starts with the content of the dictionary.
+	 *
+	 * @param length the amount of bytes needed behind the dictionary
+	 * @return the working buffer
+	 */
+	private byte[] window(int length) {
+		byte[] window = this.window.get();
+		if (window.length < this.content.length + length) {
+			window = Arrays.copyOf(window, this.content.length + Math.max(length, window.length - this.content.length) * 2);
+			this.window.set(window);
+		}
+		return window;
+	}
+
+	/**
+	 * Scores the segment starting at the given index by the amount of samples containing each of its grams.<br>
+	 * Grams contained in only one sample do not count, since they cannot help compressing other payloads.
+	 *
+	 * @param sample the sample holding the segment
+	 * @param start  the index of the first byte of the segment
+	 * @param counts the amount of samples containing each gram
+	 * @return the score of the segment
+	 */
+	private static long score(byte[] sample, int start, int[] counts) {
+		int end = Math.min(start + SEGMENT_LENGTH, sample.length);
+		long score = 0;
+		for (int n = start; n <= end - GRAM_LENGTH; n++) {
+			int count = counts[gramHash(sample, n)];
+			if (count > 1)
+				score += count;
+		}
+		return score;
+	}
+
+	private static int gramHash(byte[] data, int index) {
+		long gram = 0;
+		for (int n = 0; n < GRAM_LENGTH; n++) {
+			gram = gram << 8 | (data[index + n] & 0xFF);
+		}
+		return (int) ((gram * 0x9E3779B97F4A7C15L) >>> (64 - COUNTER_BITS));
+	}
+
+}
@@ -1,19 +1,143 @@
 package pw.masy.gutils.lz4;
 
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import net.jpountz.lz4.LZ4Compressor;
 import net.jpountz.lz4.LZ4Factory;
 import net.jpountz.lz4.LZ4FastDecompressor;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import pw.masy.gutils.buffer.AdvancedByteBuffer;
 
 /**
- * Helper class providing a compressor and decompressor of LZ4.
+ * Helper class providing a compressor and decompressor of LZ4.<br>
+ * The safe decompressor validates its input and should be used for data received from untrusted sources.
+ *
+ * <p>Data which does not fit into memory can be compressed into LZ4 frames with {@link LZ4CompressingOutputStream}
+ * and decompressed with {@link LZ4DecompressingInputStream}, channels can be wrapped with the adapters of this class.</p>
+ *
+ * <p>The high compressor compresses slower but better and produces the same block format, so both compressors share the decompressors.
+ * {@link LZ4AdaptiveCompressor} chooses between them per payload.</p>
+ *
+ * <p>The content of an {@link AdvancedByteBuffer} can be compressed into another one without copying it
+ * with {@link #compressInto(AdvancedByteBuffer, AdvancedByteBuffer)}.</p>
  */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class LZ4Helper {
 
 	private static final LZ4Factory FACTORY = LZ4Factory.fastestInstance();
+	public static final int MAX_HIGH_COMPRESSION_LEVEL = 17;
 	public static final LZ4Compressor COMPRESSOR = FACTORY.fastCompressor();
+	public static final LZ4Compressor HIGH_COMPRESSOR = FACTORY.highCompressor();
 	public static final LZ4FastDecompressor DECOMPRESSOR = FACTORY.fastDecompressor();
+	public static final LZ4SafeDecompressor SAFE_DECOMPRESSOR = FACTORY.safeDecompressor();
+
+	/**
+	 * Gets a high compressor with the given compression level.<br>
+	 * Higher levels compress better but slower, the level of {@link #HIGH_COMPRESSOR} is 9.
+	 *
+	 * @param level the compression level between 1 and 17
+	 * @return the high compressor
+	 * @throws IllegalArgumentException when the level is out of range
+	 */
+	public static LZ4Compressor getHighCompressor(int level) {
+		if (level < 1 || level > MAX_HIGH_COMPRESSION_LEVEL)
+			throw new IllegalArgumentException("The compression level has to be between 1 and " + MAX_HIGH_COMPRESSION_LEVEL + " but was: " + level);
+
+		return FACTORY.highCompressor(level);
+	}
+
+	/**
+	 * Compresses the content between the position and the limit of the source with LZ4 into the destination.
+	 *
+	 * @param src the {@link AdvancedByteBuffer} holding the content
+	 * @param dst the {@link AdvancedByteBuffer} the compressed block will be written into
+	 * @see #compressInto(AdvancedByteBuffer, AdvancedByteBuffer, LZ4Compressor)
+	 */
+	public static void compressInto(AdvancedByteBuffer src, AdvancedByteBuffer dst) {
+		compressInto(src, dst, COMPRESSOR);
+	}
+
+	/**
+	 * Compresses the content between the position and the limit of the source with the given LZ4 compressor into the destination.
+	 *
+	 * <p>The length of the content is written as var int, followed by the length of the compressed block as int and the block itself.
+	 * The block is compressed straight from the storage of the source into the storage of the destination, so no bytes are copied.
+	 * The destination is resized only if the worst case size of the block does not fit. Afterwards the position of the source is at its limit.</p>
+	 *
+	 * @param src        the {@link AdvancedByteBuffer} holding the content
+	 * @param dst        the {@link AdvancedByteBuffer} the compressed block will be written into
+	 * @param compressor the {@link LZ4Compressor} that will be used
+	 * @throws IllegalArgumentException when the position of the source is greater than its limit
+	 * @see #decompressFrom(AdvancedByteBuffer, AdvancedByteBuffer)
+	 */
+	public static void compressInto(AdvancedByteBuffer src, AdvancedByteBuffer dst, LZ4Compressor compressor) {
+		int length = src.getLimit() - src.getPosition();
+		if (length < 0)
+			throw new IllegalArgumentException("Tried compressing AdvancedByteBuffer with position behind its limit.");
+
+		int maxLength = compressor.maxCompressedLength(length);
+		dst.writeVarInt(length).ensureSpace(4 + maxLength);
+		ByteBuffer block = dst.slice(dst.getPosition(), 4 + maxLength).asByteBuffer();
+		int compressed = compressor.compress(src.slice(src.getPosition(), length).asByteBuffer(), 0, length, block, 4, maxLength);
+		block.putInt(0, compressed);
+		dst.skip(4 + compressed);
+		src.skip(length);
+	}
+
+	/**
+	 * Decompresses a block written by {@link #compressInto(AdvancedByteBuffer, AdvancedByteBuffer)} from the source into the destination.
+	 *
+	 * <p>The block is decompressed straight from the storage of the source into the storage of the destination at its current position.
+	 * The block is validated while decompressing, so corrupted or malicious input cannot read or write outside of the buffers.
+	 * Afterwards the positions of both buffers are behind the block.</p>
+	 *
+	 * @param src the {@link AdvancedByteBuffer} the compressed block will be read from
+	 * @param dst the {@link AdvancedByteBuffer} the content will be written into
+	 * @throws IllegalArgumentException     when the length of the block is negative, exceeds the source or does not match its content
+	 * @throws net.jpountz.lz4.LZ4Exception when the block is malformed
+	 */
+	public static void decompressFrom(AdvancedByteBuffer src, AdvancedByteBuffer dst) {
+		int length = src.readVarInt();
+		int compressed = src.readInt();
+		if (length < 0 || compressed < 0)
+			throw new IllegalArgumentException("Tried decompressing LZ4 block with negative length into AdvancedByteBuffer.");
+
+		ByteBuffer block = src.slice(src.getPosition(), compressed).asByteBuffer();
+		dst.ensureSpace(length);
+		int decompressed = SAFE_DECOMPRESSOR.decompress(block, 0, compressed, dst.slice(dst.getPosition(), length).asByteBuffer(), 0, length);
+		if (decompressed != length)
+			throw new IllegalArgumentException("Tried decompressing LZ4 block of " + decompressed + " bytes, but " + length + " bytes were expected.");
+
+		src.skip(compressed);
+		dst.skip(length);
+	}
+
+	/**
+	 * Creates a channel compressing everything written to it into an LZ4 frame written to the given channel.<br>
+	 * The frame is only complete after the returned channel has been closed, which also closes the given channel.
+	 *
+	 * @param channel         the {@link WritableByteChannel} the frame will be written to
+	 * @param blockSize       the maximum size of the uncompressed blocks
+	 * @param linkedBlocks    whether blocks may reference the data of the previous blocks
+	 * @param contentChecksum whether an xxHash32 of the uncompressed data will be appended to the frame
+	 * @return the compressing {@link WritableByteChannel}
+	 */
+	public static WritableByteChannel newCompressingChannel(WritableByteChannel channel, LZ4BlockSize blockSize, boolean linkedBlocks, boolean contentChecksum) {
+		return Channels.newChannel(new LZ4CompressingOutputStream(Channels.newOutputStream(channel), blockSize, linkedBlocks, contentChecksum));
+	}
+
+	/**
+	 * Creates a channel decompressing the LZ4 frames read from the given channel.
+	 *
+	 * @param channel the {@link ReadableByteChannel} the frames will be read from
+	 * @return the decompressing {@link ReadableByteChannel}
+	 */
+	public static ReadableByteChannel newDecompressingChannel(ReadableByteChannel channel) {
+		return Channels.newChannel(new LZ4DecompressingInputStream(Channels.newInputStream(channel)));
+	}
 
 }
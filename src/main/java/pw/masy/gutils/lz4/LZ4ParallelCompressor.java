@@ -0,0 +1,205 @@
+package pw.masy.gutils.lz4;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import lombok.Getter;
+import pw.masy.gutils.xxhasher.XXHashHelper;
+
+/**
+ * Compressor splitting its input into blocks of a fixed size, which are compressed in parallel on a {@link ForkJoinPool}.
+ *
+ * <p>The blocks are written into an indexed container which can be read with {@link LZ4Container}, either block by block in parallel
+ * or at random positions. The container has the following layout, all numbers are stored in little-endian order:</p>
+ * <ul>
+ * <li>header: the magic number and the block size as ints</li>
+ * <li>the blocks, one after another</li>
+ * <li>index: for every block the compressed size and the xxHash32 of the uncompressed block as ints,
+ * the highest bit of the size is set if the block is stored uncompressed</li>
+ * <li>trailer: the position of the index and the uncompressed size as longs, the amount of blocks and the magic number as ints</li>
+ * </ul>
+ *
+ * <p>Only a limited amount of blocks is compressed at the same time, so the memory needed does not depend on the size of the input.
+ * The blocks are still read and written in order by the calling thread.</p>
+ */
+public class LZ4ParallelCompressor {
+
+	static final int MAGIC = 0x4C5A3443;
+	static final int HEADER_SIZE = 8;
+	static final int INDEX_ENTRY_SIZE = 8;
+	static final int TRAILER_SIZE = 24;
+	static final int UNCOMPRESSED_BLOCK = 0x80000000;
+
+	@Getter private final ForkJoinPool pool;
+	@Getter private final int blockSize;
+	private final int maxBlocksInFlight;
+
+	/**
+	 * Constructs a new parallel compressor using the common pool and blocks of 1 MiB.
+	 */
+	public LZ4ParallelCompressor() {
+		this(ForkJoinPool.commonPool(), 1 << 20);
+	}
+
+	/**
+	 * Constructs a new parallel compressor.
+	 *
+	 * @param pool      the {@link ForkJoinPool} the blocks will be compressed on
+	 * @param blockSize the size of the uncompressed blocks
+	 * @throws IllegalArgumentException when the block size is not greater than 0
+	 */
+	public LZ4ParallelCompressor(ForkJoinPool pool, int blockSize) {
+		if (blockSize <= 0)
+			throw new IllegalArgumentException("The block size has to be greater than 0 but was: " + blockSize);
+
+		this.pool = pool;
+		this.blockSize = blockSize;
+		this.maxBlocksInFlight = pool.getParallelism() * 2;
+	}
+
+	/**
+	 * Compresses the given data into a container.
+	 *
+	 * @param data the data that will be compressed
+	 * @return the container
+	 */
+	public byte[] compress(byte[] data) {
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 64);
+			this.compress(new ByteArrayInputStream(data), out);
+			return out.toByteArray();
+		} catch (IOException ex) {
+			throw new IllegalStateException("Could not compress byte array.", ex);
+		}
+	}
+
+	/**
+	 * Compresses everything read from the given stream into a container written to the given stream.<br>
+	 * Neither of the streams is closed.
+	 *
+	 * @param in  the {@link InputStream} the data will be read from
+	 * @param out the {@link OutputStream} the container will be written to
+	 * @return the amount of uncompressed bytes
+	 * @throws IOException when the data could not be read or the container could not be written
+	 */
+	public long compress(InputStream in, OutputStream out) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(MAGIC).putInt(this.blockSize);
+		out.write(header.array());
+
+		ArrayDeque<ForkJoinTask<Block>> inFlight = new ArrayDeque<>();
+		ArrayDeque<Block> unused = new ArrayDeque<>();
+		int[] index = new int[64];
+		int blocks = 0;
+		long length = 0;
+		long position = HEADER_SIZE;
+
+		while (true) {
+			Block block = unused.isEmpty() ? new Block(this.blockSize) : unused.poll();
+			block.length = readFully(in, block.data);
+			if (block.length > 0) {
+				inFlight.add(this.pool.submit(block::compress));
+				length += block.length;
+			} else {
+				unused.add(block);
+			}
+
+			boolean last = block.length < this.blockSize;
+			while (!inFlight.isEmpty() && (last || inFlight.size() >= this.maxBlocksInFlight)) {
+				Block compressed = inFlight.poll().join();
+				if (blocks * 2 == index.length)
+					index = Arrays.copyOf(index, index.length * 2);
+				position += compressed.writeTo(out);
+				index[blocks * 2] = compressed.compressedLength;
+				index[blocks * 2 + 1] = compressed.checksum;
+				blocks++;
+				unused.add(compressed);
+			}
+			if (last)
+				break;
+		}
+
+		ByteBuffer footer = ByteBuffer.allocate(blocks * INDEX_ENTRY_SIZE + TRAILER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		footer.asIntBuffer().put(index, 0, blocks * 2);
+		footer.position(blocks * INDEX_ENTRY_SIZE);
+		footer.putLong(position).putLong(length).putInt(blocks).putInt(MAGIC);
+		out.write(footer.array());
+		out.flush();
+		return length;
+	}
+
+	/**
+	 * Reads until the given array is full or the stream ends.
+	 *
+	 * @param in   the {@link InputStream} that will be read
+	 * @param data the array the bytes will be read into
+	 * @return the amount of bytes read
+	 * @throws IOException when the stream could not be read
+	 */
+	private static int readFully(InputStream in, byte[] data) throws IOException {
+		int read = 0;
+		while (read < data.length) {
+			int count = in.read(data, read, data.length - read);
+			if (count < 0)
+				break;
+			read += count;
+		}
+		return read;
+	}
+
+	/**
+	 * Block of the input together with its compressed form, reused for following blocks after it has been written.
+	 */
+	private static final class Block {
+
+		private final byte[] data;
+		private final byte[] compressed;
+		private int length;
+		private int compressedLength;
+		private int checksum;
+
+		private Block(int blockSize) {
+			this.data = new byte[blockSize];
+			this.compressed = new byte[LZ4Helper.COMPRESSOR.maxCompressedLength(blockSize)];
+		}
+
+		/**
+		 * Compresses and hashes the block, called on the pool.
+		 *
+		 * @return the instance of the block
+		 */
+		private Block compress() {
+			this.checksum = XXHashHelper.hash32(this.data, 0, this.length, 0);
+
+			int size = LZ4Helper.COMPRESSOR.compress(this.data, 0, this.length, this.compressed, 0, this.compressed.length);
+			this.compressedLength = size < this.length ? size : this.length | UNCOMPRESSED_BLOCK;
+			return this;
+		}
+
+		/**
+		 * Writes the compressed or the uncompressed block, whichever is smaller.
+		 *
+		 * @param out the {@link OutputStream} the block will be written to
+		 * @return the amount of bytes written
+		 * @throws IOException when the block could not be written
+		 */
+		private int writeTo(OutputStream out) throws IOException {
+			if ((this.compressedLength & UNCOMPRESSED_BLOCK) != 0) {
+				out.write(this.data, 0, this.length);
+				return this.length;
+			}
+			out.write(this.compressed, 0, this.compressedLength);
+			return this.compressedLength;
+		}
+
+	}
+
+}
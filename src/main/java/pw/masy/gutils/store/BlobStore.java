@@ -0,0 +1,575 @@
+package pw.masy.gutils.store;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.Getter;
+import net.jpountz.lz4.LZ4Exception;
+import pw.masy.gutils.lz4.LZ4Helper;
+import pw.masy.gutils.xxhasher.XXHashHelper;
+
+/**
+ * Content-addressed store keeping every distinct blob only once.
+ *
+ * <p>Blobs are addressed by a 64bit key, which is the xxHash64 of their content. Storing a blob that is already stored
+ * only increases its reference count, the content is compared byte by byte before, so hash collisions never merge different blobs.
+ * When two different blobs collide, the later one is keyed by its hash with the next seed instead.
+ * A blob is removed once it has been released as often as it has been stored or retained.</p>
+ *
+ * <p>Blobs are compressed with LZ4, or stored uncompressed if they do not shrink, and appended to segment files in the directory of the store.
+ * Reference count changes are appended as small records as well, nothing is ever overwritten, so a crash loses at most
+ * the last incomplete record. When the store is opened, all segments are replayed to rebuild the index held in memory.
+ * Space of removed blobs is only reclaimed by {@link #compact()}.</p>
+ *
+ * <p>All methods are synchronized, the store can be used by multiple threads.</p>
+ */
+public class BlobStore implements Closeable {
+
+	private static final int MAGIC = 0x424C4F42;
+	private static final int VERSION = 1;
+	private static final int SEGMENT_HEADER_SIZE = 8;
+	private static final byte BLOB_RECORD = 1;
+	private static final byte REFERENCE_RECORD = 2;
+	private static final int BLOB_HEADER_SIZE = 25;
+	private static final int REFERENCE_RECORD_SIZE = 13;
+	private static final int UNCOMPRESSED = 0x80000000;
+	private static final String SEGMENT_PREFIX = "segment-";
+	private static final String SEGMENT_SUFFIX = ".dat";
+
+	@Getter private final Path directory;
+	@Getter private final long segmentSize;
+	private final TreeMap<Integer, FileChannel> segments = new TreeMap<>();
+	private final Map<Long, Entry> index = new HashMap<>();
+	private final ByteBuffer header = ByteBuffer.allocate(BLOB_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+	private byte[] compressed = new byte[0];
+	private int segment;
+	private FileChannel channel;
+	private long position;
+	@Getter private long liveBytes;
+	@Getter private long diskSize;
+	@Getter private long deduplicatedBytes;
+	private boolean closed;
+
+	/**
+	 * Constructs a new blob store in the given directory with segments of 64 MiB.
+	 *
+	 * @param directory the directory holding the segment files, it is created if it does not exist
+	 * @throws IOException when the directory could not be created or a segment is malformed or could not be read
+	 */
+	public BlobStore(Path directory) throws IOException {
+		this(directory, 64L << 20);
+	}
+
+	/**
+	 * Constructs a new blob store in the given directory.<br>
+	 * A new segment is started once the current one would exceed the segment size, bigger blobs get a segment of their own.
+	 *
+	 * @param directory   the directory holding the segment files, it is created if it does not exist
+	 * @param segmentSize the maximum size of a segment file in bytes
+	 * @throws IOException when the directory could not be created or a segment is malformed or could not be read
+	 * @throws IllegalArgumentException when the segment size is too small to hold a segment header
+	 */
+	public BlobStore(Path directory, long segmentSize) throws IOException {
+		if (segmentSize <= SEGMENT_HEADER_SIZE)
+			throw new IllegalArgumentException("Segment size has to be greater than " + SEGMENT_HEADER_SIZE + ": " + segmentSize);
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		Files.createDirectories(directory);
+
+		try {
+			List<Integer> ids = new ArrayList<>();
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+				for (Path path : stream) {
+					String name = path.getFileName().toString();
+					ids.add(Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+				}
+			} catch (NumberFormatException ex) {
+				throw new IOException("Invalid name of blob store segment.", ex);
+			}
+			ids.sort(null);
+			for (int n = 0; n < ids.size(); n++) {
+				this.replay(ids.get(n), n == ids.size() - 1);
+			}
+
+			if (this.segments.isEmpty()) {
+				this.startSegment(0);
+			} else {
+				this.segment = this.segments.lastKey();
+				this.channel = this.segments.get(this.segment);
+				this.position = this.channel.size();
+				this.channel.position(this.position);
+			}
+		} catch (IOException | RuntimeException ex) {
+			this.closeSegments();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Stores the given blob, or retains it if it is already stored.
+	 *
+	 * @param data the content of the blob
+	 * @return the key of the blob
+	 * @throws IOException when the blob could not be written or the stored blob could not be read for verification
+	 */
+	public long put(byte[] data) throws IOException {
+		return this.put(data, 0, data.length);
+	}
+
+	/**
+	 * Stores the given region of an array as blob, or retains it if it is already stored.
+	 *
+	 * @param data   the array holding the content of the blob
+	 * @param offset the index of the first byte
+	 * @param length the amount of bytes
+	 * @return the key of the blob
+	 * @throws IOException when the blob could not be written or the stored blob could not be read for verification
+	 */
+	public synchronized long put(byte[] data, int offset, int length) throws IOException {
+		this.checkOpen();
+		if (offset < 0 || length < 0 || offset + length > data.length)
+			throw new IndexOutOfBoundsException("Tried storing " + length + " bytes at offset " + offset + " of an array with length " + data.length + ".");
+
+		int checksum = XXHashHelper.hash32(data, offset, length, 0);
+		for (long seed = 0; ; seed++) {
+			long key = XXHashHelper.hash64(data, offset, length, seed);
+			Entry entry = this.index.get(key);
+			if (entry == null) {
+				this.writeBlob(key, data, offset, length, checksum);
+				return key;
+			}
+			if (entry.length == length && entry.checksum == checksum && equals(this.read(key, entry), data, offset)) {
+				this.writeReference(key, 1);
+				entry.references++;
+				this.deduplicatedBytes += length;
+				return key;
+			}
+		}
+	}
+
+	/**
+	 * Reads the blob with the given key.
+	 *
+	 * @param key the key of the blob
+	 * @return the content of the blob or <i>null</i> if there is no blob with the given key
+	 * @throws IOException when the blob is corrupted or could not be read
+	 */
+	public synchronized byte[] get(long key) throws IOException {
+		this.checkOpen();
+		Entry entry = this.index.get(key);
+		return entry == null ? null : this.read(key, entry);
+	}
+
+	/**
+	 * Checks whether a blob with the given key is stored.
+	 *
+	 * @param key the key of the blob
+	 * @return <i>true</i> if the blob is stored, otherwise <i>false</i>
+	 */
+	public synchronized boolean contains(long key) {
+		return this.index.containsKey(key);
+	}
+
+	/**
+	 * Gets the reference count of the blob with the given key.
+	 *
+	 * @param key the key of the blob
+	 * @return the reference count or 0 if there is no blob with the given key
+	 */
+	public synchronized int getReferences(long key) {
+		Entry entry = this.index.get(key);
+		return entry == null ? 0 : entry.references;
+	}
+
+	/**
+	 * Increases the reference count of the blob with the given key.
+	 *
+	 * @param key the key of the blob
+	 * @throws IOException when the reference could not be written
+	 * @throws IllegalArgumentException when there is no blob with the given key
+	 */
+	public synchronized void retain(long key) throws IOException {
+		this.checkOpen();
+		Entry entry = this.index.get(key);
+		if (entry == null)
+			throw new IllegalArgumentException("There is no blob with the key " + Long.toHexString(key) + ".");
+		this.writeReference(key, 1);
+		entry.references++;
+	}
+
+	/**
+	 * Decreases the reference count of the blob with the given key, removing the blob when it drops to 0.
+	 *
+	 * @param key the key of the blob
+	 * @return <i>true</i> if the blob has been removed, otherwise <i>false</i>
+	 * @throws IOException when the reference could not be written
+	 * @throws IllegalArgumentException when there is no blob with the given key
+	 */
+	public synchronized boolean release(long key) throws IOException {
+		this.checkOpen();
+		Entry entry = this.index.get(key);
+		if (entry == null)
+			throw new IllegalArgumentException("There is no blob with the key " + Long.toHexString(key) + ".");
+		this.writeReference(key, -1);
+		if (--entry.references > 0)
+			return false;
+		this.index.remove(key);
+		this.liveBytes -= entry.storedLength();
+		return true;
+	}
+
+	/**
+	 * Gets the amount of stored blobs.
+	 *
+	 * @return the amount of blobs
+	 */
+	public synchronized int getBlobCount() {
+		return this.index.size();
+	}
+
+	/**
+	 * Writes all blobs and references to the disk.
+	 *
+	 * @throws IOException when the segment could not be written
+	 */
+	public synchronized void flush() throws IOException {
+		this.checkOpen();
+		this.channel.force(false);
+	}
+
+	/**
+	 * Rewrites all stored blobs into new segments and deletes the old segments, reclaiming the space of removed blobs and references.<br>
+	 * The old segments are only deleted after the new ones have been written to the disk, the store stays consistent if this is interrupted.
+	 *
+	 * @throws IOException when a segment could not be read, written or deleted
+	 */
+	public synchronized void compact() throws IOException {
+		this.checkOpen();
+		List<Integer> old = new ArrayList<>(this.segments.keySet());
+		List<FileChannel> written = new ArrayList<>();
+		this.startSegment(this.segment + 1);
+		written.add(this.channel);
+
+		for (Map.Entry<Long, Entry> mapping : this.index.entrySet()) {
+			Entry entry = mapping.getValue();
+			byte[] stored = this.readStored(entry);
+			FileChannel current = this.channel;
+			this.writeBlobRecord(mapping.getKey(), entry.references, entry.length, entry.storedLength, entry.checksum, stored, 0, stored.length, entry);
+			if (this.channel != current)
+				written.add(this.channel);
+		}
+		for (FileChannel channel : written) {
+			channel.force(true);
+		}
+
+		for (int id : old) {
+			FileChannel channel = this.segments.remove(id);
+			this.diskSize -= channel.size();
+			channel.close();
+			Files.delete(this.segmentPath(id));
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (this.closed)
+			return;
+		this.closed = true;
+		try {
+			this.channel.force(false);
+		} finally {
+			this.closeSegments();
+		}
+	}
+
+	/**
+	 * Compresses the given blob and appends it to the current segment.
+	 *
+	 * @param key      the key of the blob
+	 * @param data     the array holding the content of the blob
+	 * @param offset   the index of the first byte
+	 * @param length   the amount of bytes
+	 * @param checksum the xxHash32 of the content
+	 * @throws IOException when the blob could not be written
+	 */
+	private void writeBlob(long key, byte[] data, int offset, int length, int checksum) throws IOException {
+		int maxLength = LZ4Helper.COMPRESSOR.maxCompressedLength(length);
+		if (this.compressed.length < maxLength)
+			this.compressed = new byte[maxLength];
+		int compressedLength = LZ4Helper.COMPRESSOR.compress(data, offset, length, this.compressed, 0, maxLength);
+
+		Entry entry = new Entry();
+		entry.references = 1;
+		if (compressedLength < length) {
+			this.writeBlobRecord(key, 1, length, compressedLength, checksum, this.compressed, 0, compressedLength, entry);
+		} else {
+			this.writeBlobRecord(key, 1, length, length | UNCOMPRESSED, checksum, data, offset, length, entry);
+		}
+		this.index.put(key, entry);
+		this.liveBytes += entry.storedLength();
+	}
+
+	/**
+	 * Appends a blob record to the current segment and updates the given entry to point to it.
+	 *
+	 * @param key          the key of the blob
+	 * @param references   the reference count of the blob
+	 * @param length       the uncompressed length of the blob
+	 * @param storedLength the stored length of the blob, with the highest bit set if it is stored uncompressed
+	 * @param checksum     the xxHash32 of the content
+	 * @param data         the array holding the stored bytes
+	 * @param offset       the index of the first stored byte
+	 * @param dataLength   the amount of stored bytes
+	 * @param entry        the {@link Entry} that will point to the record
+	 * @throws IOException when the record could not be written
+	 */
+	private void writeBlobRecord(long key, int references, int length, int storedLength, int checksum, byte[] data, int offset, int dataLength, Entry entry) throws IOException {
+		this.prepare(BLOB_HEADER_SIZE + dataLength);
+		this.header.clear();
+		this.header.put(BLOB_RECORD).putLong(key).putInt(references).putInt(length).putInt(storedLength).putInt(checksum).flip();
+		ByteBuffer content = ByteBuffer.wrap(data, offset, dataLength);
+		this.append(this.header, content);
+
+		entry.segment = this.segment;
+		entry.position = this.position - dataLength;
+		entry.length = length;
+		entry.storedLength = storedLength;
+		entry.checksum = checksum;
+	}
+
+	/**
+	 * Appends a reference count change to the current segment.
+	 *
+	 * @param key   the key of the blob
+	 * @param delta the change of the reference count
+	 * @throws IOException when the record could not be written
+	 */
+	private void writeReference(long key, int delta) throws IOException {
+		this.prepare(REFERENCE_RECORD_SIZE);
+		this.header.clear();
+		this.header.put(REFERENCE_RECORD).putLong(key).putInt(delta).flip();
+		this.append(this.header);
+	}
+
+	/**
+	 * Starts a new segment if the record with the given size does not fit into the current one.
+	 *
+	 * @param recordSize the size of the record
+	 * @throws IOException when the new segment could not be created
+	 */
+	private void prepare(int recordSize) throws IOException {
+		if (this.position > SEGMENT_HEADER_SIZE && this.position + recordSize > this.segmentSize)
+			this.startSegment(this.segment + 1);
+	}
+
+	/**
+	 * Creates the segment with the given id and makes it the current segment.
+	 *
+	 * @param id the id of the segment
+	 * @throws IOException when the segment could not be created
+	 */
+	private void startSegment(int id) throws IOException {
+		FileChannel created = FileChannel.open(this.segmentPath(id), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		this.segments.put(id, created);
+		this.segment = id;
+		this.channel = created;
+		this.position = 0;
+		ByteBuffer segmentHeader = ByteBuffer.allocate(SEGMENT_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN).putInt(MAGIC).putInt(VERSION);
+		segmentHeader.flip();
+		this.append(segmentHeader);
+	}
+
+	private void append(ByteBuffer... buffers) throws IOException {
+		long length = 0;
+		for (ByteBuffer buffer : buffers) {
+			length += buffer.remaining();
+		}
+		for (long written = 0; written < length; ) {
+			written += this.channel.write(buffers);
+		}
+		this.position += length;
+		this.diskSize += length;
+	}
+
+	/**
+	 * Reads, decompresses and verifies the blob of the given entry.
+	 *
+	 * @param key   the key of the blob
+	 * @param entry the {@link Entry} of the blob
+	 * @return the content of the blob
+	 * @throws IOException when the blob is corrupted or could not be read
+	 */
+	private byte[] read(long key, Entry entry) throws IOException {
+		byte[] stored = this.readStored(entry);
+		byte[] data = stored;
+		if ((entry.storedLength & UNCOMPRESSED) == 0) {
+			data = new byte[entry.length];
+			try {
+				if (LZ4Helper.SAFE_DECOMPRESSOR.decompress(stored, 0, stored.length, data, 0, entry.length) != entry.length)
+					throw new IOException("Malformed blob " + Long.toHexString(key) + ".");
+			} catch (LZ4Exception ex) {
+				throw new IOException("Malformed blob " + Long.toHexString(key) + ".", ex);
+			}
+		}
+		if (XXHashHelper.hash32(data, 0, data.length, 0) != entry.checksum)
+			throw new IOException("Checksum of blob " + Long.toHexString(key) + " does not match.");
+		return data;
+	}
+
+	private byte[] readStored(Entry entry) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(entry.storedLength());
+		readFully(this.segments.get(entry.segment), buffer, entry.position);
+		return buffer.array();
+	}
+
+	/**
+	 * Reads all records of the segment with the given id into the index.<br>
+	 * An incomplete record at the end of the last segment is the result of an interrupted write and is truncated.
+	 *
+	 * @param id   the id of the segment
+	 * @param last whether this is the last segment
+	 * @throws IOException when the segment is malformed or could not be read
+	 */
+	private void replay(int id, boolean last) throws IOException {
+		Path path = this.segmentPath(id);
+		FileChannel segment = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		this.segments.put(id, segment);
+		long size = segment.size();
+		ByteBuffer buffer = ByteBuffer.allocate(BLOB_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.limit(SEGMENT_HEADER_SIZE);
+		if (size < SEGMENT_HEADER_SIZE || readFully(segment, buffer, 0).getInt() != MAGIC || buffer.getInt() != VERSION)
+			throw new IOException("Invalid header of blob store segment " + path + ".");
+
+		long position = SEGMENT_HEADER_SIZE;
+		while (position < size) {
+			buffer.clear();
+			buffer.limit(1);
+			byte type = readFully(segment, buffer, position).get();
+			if (type == BLOB_RECORD && position + BLOB_HEADER_SIZE <= size) {
+				buffer.clear();
+				readFully(segment, buffer, position);
+				buffer.get();
+				long key = buffer.getLong();
+				Entry entry = new Entry();
+				entry.references = buffer.getInt();
+				entry.length = buffer.getInt();
+				entry.storedLength = buffer.getInt();
+				entry.checksum = buffer.getInt();
+				entry.segment = id;
+				entry.position = position + BLOB_HEADER_SIZE;
+				if (entry.length >= 0 && entry.references > 0 && entry.position + entry.storedLength() <= size) {
+					Entry replaced = this.index.put(key, entry);
+					if (replaced != null)
+						this.liveBytes -= replaced.storedLength();
+					this.liveBytes += entry.storedLength();
+					position = entry.position + entry.storedLength();
+					continue;
+				}
+			} else if (type == REFERENCE_RECORD && position + REFERENCE_RECORD_SIZE <= size) {
+				buffer.clear().limit(REFERENCE_RECORD_SIZE);
+				readFully(segment, buffer, position);
+				buffer.get();
+				long key = buffer.getLong();
+				int delta = buffer.getInt();
+				// references of blobs from segments deleted by an interrupted compaction are already part of the compacted blobs
+				Entry entry = this.index.get(key);
+				if (entry != null) {
+					entry.references += delta;
+					if (entry.references <= 0) {
+						this.index.remove(key);
+						this.liveBytes -= entry.storedLength();
+					}
+				}
+				position += REFERENCE_RECORD_SIZE;
+				continue;
+			}
+
+			if (!last)
+				throw new IOException("Malformed record at position " + position + " of blob store segment " + path + ".");
+			segment.truncate(position);
+			break;
+		}
+		this.diskSize += segment.size();
+	}
+
+	private Path segmentPath(int id) {
+		return this.directory.resolve(SEGMENT_PREFIX + String.format("%08d", id) + SEGMENT_SUFFIX);
+	}
+
+	private void checkOpen() {
+		if (this.closed)
+			throw new IllegalStateException("BlobStore is closed.");
+	}
+
+	private void closeSegments() throws IOException {
+		IOException exception = null;
+		for (FileChannel segment : this.segments.values()) {
+			try {
+				segment.close();
+			} catch (IOException ex) {
+				exception = ex;
+			}
+		}
+		this.segments.clear();
+		if (exception != null)
+			throw exception;
+	}
+
+	/**
+	 * Reads the remaining bytes of the given buffer at the given position of the channel.
+	 *
+	 * @param channel  the {@link FileChannel} that will be read
+	 * @param buffer   the {@link ByteBuffer} the bytes will be read into
+	 * @param position the position in the channel
+	 * @return the flipped buffer
+	 * @throws IOException when the channel ends early or could not be read
+	 */
+	private static ByteBuffer readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		int start = buffer.position();
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position() - start) < 0)
+				throw new EOFException("Unexpected end of blob store segment.");
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	private static boolean equals(byte[] stored, byte[] data, int offset) {
+		for (int n = 0; n < stored.length; n++) {
+			if (stored[n] != data[offset + n])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Location and metadata of a stored blob.
+	 */
+	private static final class Entry {
+
+		private int segment;
+		private long position;
+		private int length;
+		private int storedLength;
+		private int checksum;
+		private int references;
+
+		private int storedLength() {
+			return this.storedLength & ~UNCOMPRESSED;
+		}
+
+	}
+
+}
@@ -0,0 +1,465 @@
+package pw.masy.gutils.xxhasher;
+
+import lombok.Getter;
+
+/**
+ * Fluent incremental hasher calculating the 64bit xxHash of primitive values and arrays.
+ *
+ * <p>Every value is hashed as if it had been written into a byte array in little-endian order, so the hash equals the xxHash64
+ * of the serialized values, for example {@link XXHashHelper#hash64(byte[])} of an {@link pw.masy.gutils.buffer.AdvancedByteBuffer}
+ * using {@link java.nio.ByteOrder#LITTLE_ENDIAN}. The values are consumed directly, no bytes are copied or buffered
+ * except for the last incomplete lanes.</p>
+ *
+ * <p>A hasher is not thread-safe, but it can be reused with {@link #reset()}. {@link #getValue()} does not change the state,
+ * so more values can be added afterwards.</p>
+ */
+public final class XXHash64Hasher {
+
+	private static final long PRIME1 = 0x9E3779B185EBCA87L;
+	private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+	private static final long PRIME3 = 0x165667B19E3779F9L;
+	private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+	private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+	@Getter private long seed;
+	private long v1;
+	private long v2;
+	private long v3;
+	private long v4;
+	private long lane0;
+	private long lane1;
+	private long lane2;
+	private int lanes;
+	private long pending;
+	private int pendingBytes;
+	private long length;
+
+	/**
+	 * Constructs a new hasher with the seed 0.
+	 */
+	public XXHash64Hasher() {
+		this(0);
+	}
+
+	/**
+	 * Constructs a new hasher with the given seed.
+	 *
+	 * @param seed the seed of the hash
+	 */
+	public XXHash64Hasher(long seed) {
+		this.reset(seed);
+	}
+
+	/**
+	 * Resets the hasher to its initial state, keeping its seed.
+	 *
+	 * @return the instance of the {@link XXHash64Hasher}
+	 */
+	public XXHash64Hasher reset() {
+		return this.reset(this.seed);
+	}
+
+	/**
+	 * Resets the hasher to its initial state with the given seed.
+	 *
+	 * @param seed the new seed of the hash
+	 * @return the instance of the {@link XXHash64Hasher}
+	 */
+	public XXHash64Hasher reset(long seed) {
+		this.seed = seed;
+		this.v1 = seed + PRIME1 + PRIME2;
+		this.v2 = seed + PRIME2;
+		this.v3 = seed;
+		this.v4 = seed - PRIME1;
+		this.lanes = 0;
+		this.pending = 0;
+		this.pendingBytes = 0;
+		this.length = 0;
+		return this;
+	}
+
+	/**
+	 * Gets the amount of bytes hashed so far.
+	 *
+	 * @return the amount of bytes
+	 */
+	public long getLength() {
+		return this.length;
+	}
+
+	/**
+	 * Hashes the given byte as 1 byte.
+	 *
+	 * @param value the byte that will be hashed
+	 * @return the instance of the {@link XXHash64Hasher}
+	 */
+	public XXHash64Hasher putByte(byte value) {
+		return this.put(value & 0xFFL, 1);
+	}
+
+	/**
+	 * Hashes the given boolean as 1 byte, 1 for <i>true</i> and 0 for <i>false</i>.
+	 *
+	 * @param value the boolean that will be hashed
+	 * @return the instance of the {@link XXHash64Hasher}
+	 */
+	public XXHash64Hasher putBoolean(boolean value) {
+		return this.put(value ? 1 : 0, 1);
+	}
+
+	/**
+	 * Hashes the given short as 2 bytes.
+	 *
+	 * @param value the short that will be hashed
+	 * @return the instance of the {@link XXHash64Hasher}
+	 */
+	public XXHash64Hasher putShort(short value) {
+		return this.put(value & 0xFFFFL, 2);
+	}
+
+	/**
+	 * Hashes the given char as 2 bytes.
+	 *
+	 * @param value the char that will be hashed
+	 * @return the instance of the {@link XXHash64Hasher}
+	 */
+	public XXHash64Hasher putChar(char value) {
+		return this.put(value, 2);
+	}
+
+	/**
+	 * Hashes the given int as 4 bytes.
+	 *
+	 * @param value the int that will be hashed
+	 * @return the instance of the {@link XXHash64Hasher}
+	 */
+	public XXHash64Hasher putInt(int value) {
+		return this.put(value & 0xFFFFFFFFL, 4);
+	}
+
+	/**
+	 * Hashes the given float as the 4 bytes of {@link Float#floatToIntBits(float)}.
+	 *
+	 * @param value the float that will be hashed
+	 * @return the instance of the {@link XXHash64Hasher}
+	 */
+	public XXHash64Hasher putFloat(float value) {
+		return this.putInt(Float.floatToIntBits(value));
+	}
+
+	/**
+	 * Hashes the given long as 8 bytes.
+	 *
+	 * @param value the long that will be hashed
+	 * @return the instance of the {@link XXHash64Hasher}
+	 */
+	public XXHash64Hasher putLong(long value) {
+		return this.put(value, 8);
+	}
+
+	/**
+	 * Hashes the given double as the 8 bytes of {@link Double#doubleToLongBits(double)}.
+	 *
+	 * @param value the double that will be hashed
+	 * @return the instance of the {@link XXHash64Hasher}
+	 */
+	public XXHash64Hasher putDouble(double value) {
+		return this.putLong(Double.doubleToLongBits(value));
+	}
+
+	/**
+	 * Hashes the UTF-16 code units of the given characters, without their length.
+	 *
+	 * @param value the characters that will be hashed
+	 * @return the instance of the {@link XXHash64Hasher}
+	 */
+	public XXHash64Hasher putChars(CharSequence value) {
+		for (int n = 0; n < value.length(); n++) {
+			this.put(value.charAt(n), 2);
+		}
+		return this;
+	}
+
+	/**
+	 * Hashes the given region of a byte array.
+	 *
+	 * @param data   the array holding the bytes
+	 * @param offset the index of the first byte
+	 * @param length the amount of bytes
+	 * @return the instance of the {@link XXHash64Hasher}
+	 */
+	public XXHash64Hasher putBytes(byte[] data, int offset, int length) {
+		checkRange(data.length, offset, length);
+		int n = offset;
+		int end = offset + length;
+		while (this.pendingBytes != 0 && n < end) {
+			this.put(data[n++] & 0xFFL, 1);
+		}
+		int start = n;
+		for (; n <= end - 8; n += 8) {
+			this.putLane((data[n] & 0xFFL) | (data[n + 1] & 0xFFL) << 8 | (data[n + 2] & 0xFFL) << 16 | (data[n + 3] & 0xFFL) << 24
+					| (data[n + 4] & 0xFFL) << 32 | (data[n + 5] & 0xFFL) << 40 | (data[n + 6] & 0xFFL) << 48 | (data[n + 7] & 0xFFL) << 56);
+		}
+		this.length += n - start;
+		for (; n < end; n++) {
+			this.put(data[n] & 0xFFL, 1);
+		}
+		return this;
+	}
+
+	/**
+	 * Hashes the given region of a short array.
+	 *
+	 * @param data   the array holding the shorts
+	 * @param offset the index of the first short
+	 * @param length the amount of shorts
+	 * @return the instance of the {@link XXHash64Hasher}
+	 */
+	public XXHash64Hasher putShorts(short[] data, int offset, int length) {
+		checkRange(data.length, offset, length);
+		int n = offset;
+		int end = offset + length;
+		while ((this.pendingBytes & 7) != 0 && n < end) {
+			this.put(data[n++] & 0xFFFFL, 2);
+		}
+		if (this.pendingBytes == 0) {
+			int start = n;
+			for (; n <= end - 4; n += 4) {
+				this.putLane((data[n] & 0xFFFFL) | (data[n + 1] & 0xFFFFL) << 16 | (data[n + 2] & 0xFFFFL) << 32 | (long) data[n + 3] << 48);
+			}
+			this.length += (long) (n - start) * 2;
+		}
+		for (; n < end; n++) {
+			this.put(data[n] & 0xFFFFL, 2);
+		}
+		return this;
+	}
+
+	/**
+	 * Hashes the given region of an int array.
+	 *
+	 * @param data   the array holding the ints
+	 * @param offset the index of the first int
+	 * @param length the amount of ints
+	 * @return the instance of the {@link XXHash64Hasher}
+	 */
+	public XXHash64Hasher putInts(int[] data, int offset, int length) {
+		checkRange(data.length, offset, length);
+		int n = offset;
+		int end = offset + length;
+		if (this.pendingBytes == 4 && n < end)
+			this.put(data[n++] & 0xFFFFFFFFL, 4);
+		if (this.pendingBytes == 0) {
+			int start = n;
+			for (; n <= end - 2; n += 2) {
+				this.putLane((data[n] & 0xFFFFFFFFL) | (long) data[n + 1] << 32);
+			}
+			this.length += (long) (n - start) * 4;
+		}
+		for (; n < end; n++) {
+			this.put(data[n] & 0xFFFFFFFFL, 4);
+		}
+		return this;
+	}
+
+	/**
+	 * Hashes the given region of a float array, using the bits of {@link Float#floatToIntBits(float)}.
+	 *
+	 * @param data   the array holding the floats
+	 * @param offset the index of the first float
+	 * @param length the amount of floats
+	 * @return the instance of the {@link XXHash64Hasher}
+	 */
+	public XXHash64Hasher putFloats(float[] data, int offset, int length) {
+		checkRange(data.length, offset, length);
+		int n = offset;
+		int end = offset + length;
+		if (this.pendingBytes == 4 && n < end)
+			this.putFloat(data[n++]);
+		if (this.pendingBytes == 0) {
+			int start = n;
+			for (; n <= end - 2; n += 2) {
+				this.putLane((Float.floatToIntBits(data[n]) & 0xFFFFFFFFL) | (long) Float.floatToIntBits(data[n + 1]) << 32);
+			}
+			this.length += (long) (n - start) * 4;
+		}
+		for (; n < end; n++) {
+			this.putFloat(data[n]);
+		}
+		return this;
+	}
+
+	/**
+	 * Hashes the given region of a long array.
+	 *
+	 * @param data   the array holding the longs
+	 * @param offset the index of the first long
+	 * @param length the amount of longs
+	 * @return the instance of the {@link XXHash64Hasher}
+	 */
+	public XXHash64Hasher putLongs(long[] data, int offset, int length) {
+		checkRange(data.length, offset, length);
+		int end = offset + length;
+		if (this.pendingBytes != 0) {
+			for (int n = offset; n < end; n++) {
+				this.put(data[n], 8);
+			}
+			return this;
+		}
+
+		int n = offset;
+		while (this.lanes != 0 && n < end) {
+			this.putLane(data[n++]);
+		}
+		for (; n <= end - 4; n += 4) {
+			this.v1 = round(this.v1, data[n]);
+			this.v2 = round(this.v2, data[n + 1]);
+			this.v3 = round(this.v3, data[n + 2]);
+			this.v4 = round(this.v4, data[n + 3]);
+		}
+		for (; n < end; n++) {
+			this.putLane(data[n]);
+		}
+		this.length += (long) length * 8;
+		return this;
+	}
+
+	/**
+	 * Hashes the given region of a double array, using the bits of {@link Double#doubleToLongBits(double)}.
+	 *
+	 * @param data   the array holding the doubles
+	 * @param offset the index of the first double
+	 * @param length the amount of doubles
+	 * @return the instance of the {@link XXHash64Hasher}
+	 */
+	public XXHash64Hasher putDoubles(double[] data, int offset, int length) {
+		checkRange(data.length, offset, length);
+		int end = offset + length;
+		if (this.pendingBytes != 0) {
+			for (int n = offset; n < end; n++) {
+				this.putDouble(data[n]);
+			}
+			return this;
+		}
+
+		for (int n = offset; n < end; n++) {
+			this.putLane(Double.doubleToLongBits(data[n]));
+		}
+		this.length += (long) length * 8;
+		return this;
+	}
+
+	/**
+	 * Calculates the hash of all values added since the last reset.<br>
+	 * The state of the hasher is not changed.
+	 *
+	 * @return the 64bit xxHash
+	 */
+	public long getValue() {
+		long hash;
+		if (this.length >= 32) {
+			hash = Long.rotateLeft(this.v1, 1) + Long.rotateLeft(this.v2, 7) + Long.rotateLeft(this.v3, 12) + Long.rotateLeft(this.v4, 18);
+			hash = merge(hash, this.v1);
+			hash = merge(hash, this.v2);
+			hash = merge(hash, this.v3);
+			hash = merge(hash, this.v4);
+		} else {
+			hash = this.seed + PRIME5;
+		}
+		hash += this.length;
+
+		if (this.lanes > 0)
+			hash = tail(hash, this.lane0);
+		if (this.lanes > 1)
+			hash = tail(hash, this.lane1);
+		if (this.lanes > 2)
+			hash = tail(hash, this.lane2);
+
+		long rest = this.pending;
+		int bytes = this.pendingBytes;
+		if (bytes >= 4) {
+			hash ^= (rest & 0xFFFFFFFFL) * PRIME1;
+			hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+			rest >>>= 32;
+			bytes -= 4;
+		}
+		for (; bytes > 0; bytes--) {
+			hash ^= (rest & 0xFF) * PRIME5;
+			hash = Long.rotateLeft(hash, 11) * PRIME1;
+			rest >>>= 8;
+		}
+
+		hash ^= hash >>> 33;
+		hash *= PRIME2;
+		hash ^= hash >>> 29;
+		hash *= PRIME3;
+		hash ^= hash >>> 32;
+		return hash;
+	}
+
+	/**
+	 * Adds the given amount of little-endian bytes of a value.
+	 *
+	 * @param value the value, all bits above the given bytes have to be 0
+	 * @param bytes the amount of bytes between 1 and 8
+	 * @return the instance of the {@link XXHash64Hasher}
+	 */
+	private XXHash64Hasher put(long value, int bytes) {
+		this.length += bytes;
+		this.pending |= value << (this.pendingBytes << 3);
+		this.pendingBytes += bytes;
+		if (this.pendingBytes >= 8) {
+			this.putLane(this.pending);
+			this.pendingBytes -= 8;
+			this.pending = this.pendingBytes == 0 ? 0 : value >>> ((bytes - this.pendingBytes) << 3);
+		}
+		return this;
+	}
+
+	/**
+	 * Adds a complete lane of 8 bytes, processing a stripe once 4 lanes are complete.<br>
+	 * The length is not updated.
+	 *
+	 * @param lane the lane
+	 */
+	private void putLane(long lane) {
+		switch (this.lanes) {
+			case 0:
+				this.lane0 = lane;
+				this.lanes = 1;
+				break;
+			case 1:
+				this.lane1 = lane;
+				this.lanes = 2;
+				break;
+			case 2:
+				this.lane2 = lane;
+				this.lanes = 3;
+				break;
+			default:
+				this.v1 = round(this.v1, this.lane0);
+				this.v2 = round(this.v2, this.lane1);
+				this.v3 = round(this.v3, this.lane2);
+				this.v4 = round(this.v4, lane);
+				this.lanes = 0;
+		}
+	}
+
+	private static long round(long accumulator, long lane) {
+		return Long.rotateLeft(accumulator + lane * PRIME2, 31) * PRIME1;
+	}
+
+	private static long merge(long hash, long accumulator) {
+		return (hash ^ round(0, accumulator)) * PRIME1 + PRIME4;
+	}
+
+	private static long tail(long hash, long lane) {
+		return Long.rotateLeft(hash ^ round(0, lane), 27) * PRIME1 + PRIME4;
+	}
+
+	private static void checkRange(int arrayLength, int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > arrayLength)
+			throw new IndexOutOfBoundsException("Tried hashing " + length + " values at offset " + offset + " of an array with length " + arrayLength + ".");
+	}
+
+}
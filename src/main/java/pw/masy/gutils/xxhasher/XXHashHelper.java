@@ -1,18 +1,33 @@
 package pw.masy.gutils.xxhasher;
 
+import java.nio.ByteBuffer;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import net.jpountz.xxhash.StreamingXXHash32;
 import net.jpountz.xxhash.StreamingXXHash64;
+import net.jpountz.xxhash.XXHash32;
+import net.jpountz.xxhash.XXHash64;
 import net.jpountz.xxhash.XXHashFactory;
+import pw.masy.gutils.buffer.AdvancedByteBuffer;
 
 /**
  * Helper class providing methods to hash byte arrays.
+ *
+ * <p>The <code>hash32</code> and <code>hash64</code> methods hash a whole block of bytes at once with stateless hashers.
+ * They can be called by multiple threads at the same time and allocate nothing, so they should be preferred over the streaming
+ * hashers whenever the data is available at once. The streaming hashers are only needed for data arriving in pieces
+ * and must not be shared between threads.</p>
+ *
+ * <p>Arrays of other primitive types are hashed as their little-endian bytes without copying them, so their hash equals
+ * the hash of the serialized array. Mixed primitive values can be hashed the same way with a {@link XXHash64Hasher}.</p>
  */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class XXHashHelper {
 
 	private static final XXHashFactory FACTORY = XXHashFactory.fastestInstance();
+	private static final XXHash32 HASH32 = FACTORY.hash32();
+	private static final XXHash64 HASH64 = FACTORY.hash64();
+	private static final ThreadLocal<XXHash64Hasher> PRIMITIVE_HASHERS = ThreadLocal.withInitial(XXHash64Hasher::new);
 
 	/**
 	 * Creates a 32bit hasher with the given seed.
@@ -60,4 +75,290 @@ public final class XXHashHelper {
 		return hasher.getValue();
 	}
 
+	/**
+	 * Hashes the given byte array to a 32bit hash with the seed 0.
+	 *
+	 * @param data the bytes that will be hashed
+	 * @return the 32bit hash of the byte array
+	 */
+	public static int hash32(byte[] data) {
+		return HASH32.hash(data, 0, data.length, 0);
+	}
+
+	/**
+	 * Hashes the given region of a byte array to a 32bit hash.
+	 *
+	 * @param data   the array holding the bytes that will be hashed
+	 * @param offset the index of the first byte
+	 * @param length the amount of bytes
+	 * @param seed   the seed of the hash
+	 * @return the 32bit hash of the region
+	 */
+	public static int hash32(byte[] data, int offset, int length, int seed) {
+		return HASH32.hash(data, offset, length, seed);
+	}
+
+	/**
+	 * Hashes the content between the position and the limit of the given buffer to a 32bit hash with the seed 0.<br>
+	 * The position of the buffer is not changed. Direct buffers are hashed without copying their content.
+	 *
+	 * @param buffer the {@link ByteBuffer} that will be hashed
+	 * @return the 32bit hash of the content
+	 */
+	public static int hash32(ByteBuffer buffer) {
+		return HASH32.hash(buffer, buffer.position(), buffer.remaining(), 0);
+	}
+
+	/**
+	 * Hashes the given region of a buffer to a 32bit hash.<br>
+	 * The position and the limit of the buffer are ignored and not changed.
+	 *
+	 * @param buffer the {@link ByteBuffer} holding the bytes that will be hashed
+	 * @param offset the index of the first byte
+	 * @param length the amount of bytes
+	 * @param seed   the seed of the hash
+	 * @return the 32bit hash of the region
+	 */
+	public static int hash32(ByteBuffer buffer, int offset, int length, int seed) {
+		return HASH32.hash(buffer, offset, length, seed);
+	}
+
+	/**
+	 * Hashes the content between the position and the limit of the given buffer to a 32bit hash with the seed 0.<br>
+	 * The position of the buffer is not changed.
+	 *
+	 * @param buffer the {@link AdvancedByteBuffer} that will be hashed
+	 * @return the 32bit hash of the content
+	 * @see #hash32(AdvancedByteBuffer, int, int, int)
+	 */
+	public static int hash32(AdvancedByteBuffer buffer) {
+		return hash32(buffer, buffer.getPosition(), buffer.getLimit() - buffer.getPosition(), 0);
+	}
+
+	/**
+	 * Hashes the given region of a buffer to a 32bit hash.<br>
+	 * The region is hashed straight from the storage of the buffer, without copying it. The position and the limit of the buffer
+	 * are ignored and not changed.
+	 *
+	 * @param buffer the {@link AdvancedByteBuffer} holding the bytes that will be hashed
+	 * @param offset the index of the first byte
+	 * @param length the amount of bytes
+	 * @param seed   the seed of the hash
+	 * @return the 32bit hash of the region
+	 * @throws IllegalArgumentException when the region is not inside of the buffer
+	 */
+	public static int hash32(AdvancedByteBuffer buffer, int offset, int length, int seed) {
+		validateRegion(buffer, offset, length);
+		if (buffer.hasArray())
+			return HASH32.hash(buffer.getData(), offset, length, seed);
+		return HASH32.hash(buffer.asByteBuffer(), offset, length, seed);
+	}
+
+	/**
+	 * Hashes the given byte array to a 64bit hash with the seed 0.
+	 *
+	 * @param data the bytes that will be hashed
+	 * @return the 64bit hash of the byte array
+	 */
+	public static long hash64(byte[] data) {
+		return HASH64.hash(data, 0, data.length, 0);
+	}
+
+	/**
+	 * Hashes the given region of a byte array to a 64bit hash.
+	 *
+	 * @param data   the array holding the bytes that will be hashed
+	 * @param offset the index of the first byte
+	 * @param length the amount of bytes
+	 * @param seed   the seed of the hash
+	 * @return the 64bit hash of the region
+	 */
+	public static long hash64(byte[] data, int offset, int length, long seed) {
+		return HASH64.hash(data, offset, length, seed);
+	}
+
+	/**
+	 * Hashes the content between the position and the limit of the given buffer to a 64bit hash with the seed 0.<br>
+	 * The position of the buffer is not changed. Direct buffers are hashed without copying their content.
+	 *
+	 * @param buffer the {@link ByteBuffer} that will be hashed
+	 * @return the 64bit hash of the content
+	 */
+	public static long hash64(ByteBuffer buffer) {
+		return HASH64.hash(buffer, buffer.position(), buffer.remaining(), 0);
+	}
+
+	/**
+	 * Hashes the given region of a buffer to a 64bit hash.<br>
+	 * The position and the limit of the buffer are ignored and not changed.
+	 *
+	 * @param buffer the {@link ByteBuffer} holding the bytes that will be hashed
+	 * @param offset the index of the first byte
+	 * @param length the amount of bytes
+	 * @param seed   the seed of the hash
+	 * @return the 64bit hash of the region
+	 */
+	public static long hash64(ByteBuffer buffer, int offset, int length, long seed) {
+		return HASH64.hash(buffer, offset, length, seed);
+	}
+
+	/**
+	 * Hashes the content between the position and the limit of the given buffer to a 64bit hash with the seed 0.<br>
+	 * The position of the buffer is not changed.
+	 *
+	 * @param buffer the {@link AdvancedByteBuffer} that will be hashed
+	 * @return the 64bit hash of the content
+	 * @see #hash64(AdvancedByteBuffer, int, int, long)
+	 */
+	public static long hash64(AdvancedByteBuffer buffer) {
+		return hash64(buffer, buffer.getPosition(), buffer.getLimit() - buffer.getPosition(), 0);
+	}
+
+	/**
+	 * Hashes the given region of a buffer to a 64bit hash.<br>
+	 * The region is hashed straight from the storage of the buffer, without copying it. The position and the limit of the buffer
+	 * are ignored and not changed.
+	 *
+	 * @param buffer the {@link AdvancedByteBuffer} holding the bytes that will be hashed
+	 * @param offset the index of the first byte
+	 * @param length the amount of bytes
+	 * @param seed   the seed of the hash
+	 * @return the 64bit hash of the region
+	 * @throws IllegalArgumentException when the region is not inside of the buffer
+	 */
+	public static long hash64(AdvancedByteBuffer buffer, int offset, int length, long seed) {
+		validateRegion(buffer, offset, length);
+		if (buffer.hasArray())
+			return HASH64.hash(buffer.getData(), offset, length, seed);
+		return HASH64.hash(buffer.asByteBuffer(), offset, length, seed);
+	}
+
+	/**
+	 * Hashes the given short array as little-endian bytes to a 64bit hash with the seed 0.
+	 *
+	 * @param data the shorts that will be hashed
+	 * @return the 64bit hash of the array
+	 */
+	public static long hash64(short[] data) {
+		return hash64(data, 0, data.length, 0);
+	}
+
+	/**
+	 * Hashes the given region of a short array as little-endian bytes to a 64bit hash.
+	 *
+	 * @param data   the array holding the shorts that will be hashed
+	 * @param offset the index of the first short
+	 * @param length the amount of shorts
+	 * @param seed   the seed of the hash
+	 * @return the 64bit hash of the region
+	 */
+	public static long hash64(short[] data, int offset, int length, long seed) {
+		return PRIMITIVE_HASHERS.get().reset(seed).putShorts(data, offset, length).getValue();
+	}
+
+	/**
+	 * Hashes the given int array as little-endian bytes to a 64bit hash with the seed 0.
+	 *
+	 * @param data the ints that will be hashed
+	 * @return the 64bit hash of the array
+	 */
+	public static long hash64(int[] data) {
+		return hash64(data, 0, data.length, 0);
+	}
+
+	/**
+	 * Hashes the given region of a int array as little-endian bytes to a 64bit hash.
+	 *
+	 * @param data   the array holding the ints that will be hashed
+	 * @param offset the index of the first int
+	 * @param length the amount of ints
+	 * @param seed   the seed of the hash
+	 * @return the 64bit hash of the region
+	 */
+	public static long hash64(int[] data, int offset, int length, long seed) {
+		return PRIMITIVE_HASHERS.get().reset(seed).putInts(data, offset, length).getValue();
+	}
+
+	/**
+	 * Hashes the given long array as little-endian bytes to a 64bit hash with the seed 0.
+	 *
+	 * @param data the longs that will be hashed
+	 * @return the 64bit hash of the array
+	 */
+	public static long hash64(long[] data) {
+		return hash64(data, 0, data.length, 0);
+	}
+
+	/**
+	 * Hashes the given region of a long array as little-endian bytes to a 64bit hash.
+	 *
+	 * @param data   the array holding the longs that will be hashed
+	 * @param offset the index of the first long
+	 * @param length the amount of longs
+	 * @param seed   the seed of the hash
+	 * @return the 64bit hash of the region
+	 */
+	public static long hash64(long[] data, int offset, int length, long seed) {
+		return PRIMITIVE_HASHERS.get().reset(seed).putLongs(data, offset, length).getValue();
+	}
+
+	/**
+	 * Hashes the given float array as little-endian bytes to a 64bit hash with the seed 0.
+	 *
+	 * @param data the floats that will be hashed
+	 * @return the 64bit hash of the array
+	 */
+	public static long hash64(float[] data) {
+		return hash64(data, 0, data.length, 0);
+	}
+
+	/**
+	 * Hashes the given region of a float array as little-endian bytes to a 64bit hash.
+	 *
+	 * @param data   the array holding the floats that will be hashed
+	 * @param offset the index of the first float
+	 * @param length the amount of floats
+	 * @param seed   the seed of the hash
+	 * @return the 64bit hash of the region
+	 */
+	public static long hash64(float[] data, int offset, int length, long seed) {
+		return PRIMITIVE_HASHERS.get().reset(seed).putFloats(data, offset, length).getValue();
+	}
+
+	/**
+	 * Hashes the given double array as little-endian bytes to a 64bit hash with the seed 0.
+	 *
+	 * @param data the doubles that will be hashed
+	 * @return the 64bit hash of the array
+	 */
+	public static long hash64(double[] data) {
+		return hash64(data, 0, data.length, 0);
+	}
+
+	/**
+	 * Hashes the given region of a double array as little-endian bytes to a 64bit hash.
+	 *
+	 * @param data   the array holding the doubles that will be hashed
+	 * @param offset the index of the first double
+	 * @param length the amount of doubles
+	 * @param seed   the seed of the hash
+	 * @return the 64bit hash of the region
+	 */
+	public static long hash64(double[] data, int offset, int length, long seed) {
+		return PRIMITIVE_HASHERS.get().reset(seed).putDoubles(data, offset, length).getValue();
+	}
+
+	/**
+	 * Checks if the given region is inside of the capacity of the buffer.
+	 *
+	 * @param buffer the {@link AdvancedByteBuffer} holding the region
+	 * @param offset the index of the first byte of the region
+	 * @param length the amount of bytes of the region
+	 * @throws IllegalArgumentException when the region is not inside of the buffer
+	 */
+	private static void validateRegion(AdvancedByteBuffer buffer, int offset, int length) {
+		if (offset < 0 || length < 0 || (long) offset + length > buffer.getCapacity())
+			throw new IllegalArgumentException("Tried hashing region of AdvancedByteBuffer outside of its capacity.");
+	}
+
 }
@@ -0,0 +1,103 @@
+package pw.masy.gutils.buffer;
+
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdvancedByteBufferPoolTest {
+
+	@Test
+	public void testReuse() {
+		AdvancedByteBufferPool pool = new AdvancedByteBufferPool(100, 5000, 4, 2, ByteOrder.BIG_ENDIAN);
+		Assert.assertEquals(128, pool.getMinCapacity());
+		Assert.assertEquals(8192, pool.getMaxCapacity());
+
+		PooledAdvancedByteBuffer buffer = pool.acquire(1000);
+		Assert.assertEquals(1024, buffer.getCapacity());
+		buffer.writeLong(2345622332345345L).writeString("pooled");
+		buffer.release();
+
+		PooledAdvancedByteBuffer reused = pool.acquire(513);
+		Assert.assertSame(buffer, reused);
+		Assert.assertEquals(0, reused.getPosition());
+		Assert.assertEquals(1024, reused.getLimit());
+		Assert.assertNotSame(buffer, pool.acquire(1025));
+		Assert.assertNotSame(buffer, pool.acquire(0));
+		Assert.assertEquals(3, pool.getAllocations());
+	}
+
+	@Test
+	public void testGrownBufferChangesSizeClass() {
+		AdvancedByteBufferPool pool = new AdvancedByteBufferPool(128, 8192, 4, 2, ByteOrder.BIG_ENDIAN);
+		PooledAdvancedByteBuffer buffer = pool.acquire(128);
+		buffer.writeByteArrayRaw(new byte[200]);
+		Assert.assertEquals(256, buffer.getCapacity());
+		buffer.release();
+
+		Assert.assertSame(buffer, pool.acquire(200));
+	}
+
+	@Test
+	public void testSharedQueue() throws InterruptedException {
+		AdvancedByteBufferPool pool = new AdvancedByteBufferPool(128, 8192, 4, 0, ByteOrder.LITTLE_ENDIAN);
+		PooledAdvancedByteBuffer buffer = pool.acquire();
+		Assert.assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.getOrder());
+		buffer.release();
+
+		PooledAdvancedByteBuffer[] acquired = new PooledAdvancedByteBuffer[1];
+		Thread thread = new Thread(() -> acquired[0] = pool.acquire());
+		thread.start();
+		thread.join();
+		Assert.assertSame(buffer, acquired[0]);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testDoubleRelease() {
+		AdvancedByteBufferPool pool = new AdvancedByteBufferPool();
+		PooledAdvancedByteBuffer buffer = pool.acquire();
+		buffer.release();
+		buffer.release();
+	}
+
+	@Test
+	public void testConcurrentDoubleRelease() throws InterruptedException {
+		AdvancedByteBufferPool pool = new AdvancedByteBufferPool(128, 8192, 4, 0, ByteOrder.BIG_ENDIAN);
+		for (int round = 0; round < 1000; round++) {
+			PooledAdvancedByteBuffer buffer = pool.acquire();
+			AtomicInteger failures = new AtomicInteger();
+			Runnable release = () -> {
+				try {
+					buffer.release();
+				} catch (IllegalStateException e) {
+					failures.incrementAndGet();
+				}
+			};
+			Thread thread = new Thread(release);
+			thread.start();
+			release.run();
+			thread.join();
+			Assert.assertEquals(1, failures.get());
+		}
+		Assert.assertNotSame(pool.acquire(), pool.acquire());
+	}
+
+	@Test
+	public void testLeakDetection() throws InterruptedException {
+		AdvancedByteBufferPool pool = new AdvancedByteBufferPool();
+		AtomicInteger reported = new AtomicInteger();
+		pool.setLeakDetection(true);
+		pool.setLeakListener(origin -> reported.incrementAndGet());
+
+		pool.acquire().release();
+		pool.acquire();
+		for (int n = 0; n < 50 && pool.checkLeaks() == 0; n++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+
+		Assert.assertEquals(1, pool.getLeaks());
+		Assert.assertEquals(1, reported.get());
+	}
+
+}
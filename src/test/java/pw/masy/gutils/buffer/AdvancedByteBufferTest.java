@@ -1,6 +1,19 @@
 package pw.masy.gutils.buffer;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -13,6 +26,44 @@ public class AdvancedByteBufferTest {
 		Assert.assertEquals(57, buffer.getCapacity());
 	}
 
+	@Test
+	public void testGrowthPolicy() {
+		AdvancedByteBuffer buffer = new AdvancedByteBuffer(32, GrowthPolicy.DOUBLING);
+		buffer.ensureSpace(33);
+		Assert.assertEquals(64, buffer.getCapacity());
+		buffer.ensureSpace(200);
+		Assert.assertEquals(200, buffer.getCapacity());
+
+		AdvancedByteBuffer buffer2 = new AdvancedByteBuffer(32, GrowthPolicy.ONE_AND_A_HALF);
+		buffer2.ensureSpace(33);
+		Assert.assertEquals(48, buffer2.getCapacity());
+
+		AdvancedByteBuffer buffer3 = new AdvancedByteBuffer(32, GrowthPolicy.cappedDoubling(48));
+		buffer3.ensureSpace(33);
+		Assert.assertEquals(64, buffer3.getCapacity());
+		buffer3.ensureSpace(65);
+		Assert.assertEquals(112, buffer3.getCapacity());
+
+		AdvancedByteBuffer buffer4 = new AdvancedByteBuffer(0, GrowthPolicy.DOUBLING);
+		for (int n = 0; n < 1000; n++) {
+			buffer4.writeByte(n);
+		}
+		Assert.assertEquals(1024, buffer4.getCapacity());
+		buffer4.rewind();
+		for (int n = 0; n < 1000; n++) {
+			Assert.assertEquals((byte) n, buffer4.readByte());
+		}
+
+		AdvancedByteBuffer buffer5 = new AdvancedByteBuffer(4);
+		buffer5.writeInt(1);
+		buffer5.reserve(100);
+		Assert.assertEquals(104, buffer5.getCapacity());
+		buffer5.reserve(50);
+		Assert.assertEquals(104, buffer5.getCapacity());
+		buffer5.rewind();
+		Assert.assertEquals(1, buffer5.readInt());
+	}
+
 	@Test
 	public void testByte() {
 		AdvancedByteBuffer buffer = new AdvancedByteBuffer(1);
@@ -101,6 +152,127 @@ public class AdvancedByteBufferTest {
 		Assert.assertArrayEquals(section, buffer6.readVarIntArray());
 	}
 
+	@Test
+	public void testUnsignedVarInt() {
+		AdvancedByteBuffer buffer = new AdvancedByteBuffer(4);
+		buffer.writeUnsignedVarInt(-1).writeUnsignedVarInt(Integer.MIN_VALUE).writeUnsignedVarInt(127).writeUnsignedVarInt(128);
+		buffer.rewind();
+		Assert.assertEquals(0xFFFFFFFFL, buffer.readUnsignedVarInt());
+		Assert.assertEquals(0x80000000L, buffer.readUnsignedVarInt());
+		Assert.assertEquals(127, buffer.readUnsignedVarInt());
+		Assert.assertEquals(128, buffer.readUnsignedVarInt());
+		Assert.assertEquals(13, buffer.getPosition());
+	}
+
+	@Test
+	public void testVarLong() {
+		long[] values = new long[]{0, 1, -1, 63, -64, 87234876348675L, -872376523765L, Long.MAX_VALUE, Long.MIN_VALUE};
+		AdvancedByteBuffer buffer = new AdvancedByteBuffer(4);
+		for (long value : values) {
+			buffer.writeVarLong(value);
+		}
+		buffer.writeUnsignedVarLong(-1L).writeVarLongArray(values);
+		buffer.rewind();
+
+		Assert.assertEquals(1, new AdvancedByteBuffer(1).writeVarLong(-64).getPosition());
+		for (long value : values) {
+			Assert.assertEquals(value, buffer.readVarLong());
+		}
+		Assert.assertEquals(-1L, buffer.readUnsignedVarLong());
+		Assert.assertArrayEquals(values, buffer.readVarLongArray());
+	}
+
+	@Test
+	public void testGroupVarInt() {
+		int[] array = new int[]{-23, 444444, 0, 123487614, 255, 256, 65535, 65536, 16777216, -1, 7};
+		for (AdvancedByteBuffer buffer : new AdvancedByteBuffer[]{new AdvancedByteBuffer(4), new AdvancedByteBuffer(4, ByteOrder.LITTLE_ENDIAN), new DirectAdvancedByteBuffer(4)}) {
+			buffer.writeGroupVarIntArray(array);
+			buffer.writeGroupVarIntArrayRaw(new int[]{1, 2});
+			Assert.assertEquals(1 + 3 + 29 + 3, buffer.getPosition());
+			buffer.rewind();
+
+			Assert.assertArrayEquals(array, buffer.readGroupVarIntArray());
+			Assert.assertArrayEquals(new int[]{1, 2}, buffer.readGroupVarIntArray(2));
+		}
+	}
+
+	@Test
+	public void testDeltaEncoding() {
+		Random random = new Random(3);
+		int[] ids = new int[1000];
+		long[] timestamps = new long[1000];
+		int[] positions = new int[1000];
+		long[] spread = new long[1000];
+		positions[0] = 1000000;
+		for (int n = 1; n < ids.length; n++) {
+			ids[n] = ids[n - 1] + 1 + random.nextInt(5);
+			timestamps[n] = n == 1 ? 1555000000000L : timestamps[n - 1] + 50 + random.nextInt(3) - 1;
+			positions[n] = 1000000 + random.nextInt(300);
+			spread[n] = random.nextLong();
+		}
+		int[] extremes = new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -1};
+
+		AdvancedByteBuffer buffer = new AdvancedByteBuffer(0);
+		buffer.writeDeltaIntArray(ids);
+		Assert.assertTrue(buffer.getPosition() < 1100);
+		buffer.writeDeltaOfDeltaLongArray(timestamps);
+		buffer.writeFrameOfReferenceIntArray(positions);
+		buffer.writeDeltaLongArray(spread).writeDeltaOfDeltaIntArray(extremes).writeFrameOfReferenceLongArray(spread);
+		buffer.writeFrameOfReferenceIntArray(extremes).writeFrameOfReferenceIntArray(new int[]{5, 5}).writeFrameOfReferenceLongArray(new long[0]);
+		buffer.rewind();
+
+		Assert.assertArrayEquals(ids, buffer.readDeltaIntArray());
+		int start = buffer.getPosition();
+		Assert.assertArrayEquals(timestamps, buffer.readDeltaOfDeltaLongArray());
+		Assert.assertTrue(buffer.getPosition() - start < 1100);
+		start = buffer.getPosition();
+		Assert.assertArrayEquals(positions, buffer.readFrameOfReferenceIntArray());
+		Assert.assertTrue(buffer.getPosition() - start < 1200);
+		Assert.assertArrayEquals(spread, buffer.readDeltaLongArray());
+		Assert.assertArrayEquals(extremes, buffer.readDeltaOfDeltaIntArray());
+		Assert.assertArrayEquals(spread, buffer.readFrameOfReferenceLongArray());
+		Assert.assertArrayEquals(extremes, buffer.readFrameOfReferenceIntArray());
+		Assert.assertArrayEquals(new int[]{5, 5}, buffer.readFrameOfReferenceIntArray());
+		Assert.assertArrayEquals(new long[0], buffer.readFrameOfReferenceLongArray());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMalformedFrameOfReference() {
+		AdvancedByteBuffer buffer = new AdvancedByteBuffer(16);
+		buffer.writeVarInt(2).writeVarInt(0).writeByte((byte) 33).writeLong(-1);
+		buffer.rewind();
+		buffer.readFrameOfReferenceIntArray();
+	}
+
+	@Test
+	public void testHalfAndQuantizedFloats() {
+		float[] floats = new float[]{0f, 1f, -2.5f, 0.333f, 1211.12f, -12314.123123f, 70000f};
+		for (AdvancedByteBuffer buffer : new AdvancedByteBuffer[]{new AdvancedByteBuffer(4), new DirectAdvancedByteBuffer(4, ByteOrder.LITTLE_ENDIAN)}) {
+			buffer.writeHalfFloat(0.333f).writeHalfFloatArray(floats);
+			buffer.writeQuantizedFloat(0.25f, -1f, 1f, 10).writeQuantizedFloat(5f, -1f, 1f, 10);
+			buffer.writeQuantizedFloatArray(floats, -15000f, 15000f, 12).writeQuantizedFloatArrayRaw(floats, -15000f, 15000f, 20);
+			Assert.assertEquals(2 + 1 + 14 + 2 + 2 + 1 + 11 + 18, buffer.getPosition());
+			buffer.rewind();
+
+			Assert.assertEquals(0.333f, buffer.readHalfFloat(), 0.0002f);
+			float[] halfs = buffer.readHalfFloatArray();
+			for (int n = 0; n < floats.length - 1; n++) {
+				Assert.assertEquals(floats[n], halfs[n], Math.abs(floats[n]) / 1024);
+			}
+			Assert.assertEquals(Float.POSITIVE_INFINITY, halfs[floats.length - 1], 0);
+
+			Assert.assertEquals(0.25f, buffer.readQuantizedFloat(-1f, 1f, 10), 1f / 1023);
+			Assert.assertEquals(1f, buffer.readQuantizedFloat(-1f, 1f, 10), 0);
+			float[] coarse = buffer.readQuantizedFloatArray(-15000f, 15000f, 12);
+			float[] fine = buffer.readQuantizedFloatArray(new float[floats.length], -15000f, 15000f, 20);
+			for (int n = 0; n < floats.length - 1; n++) {
+				Assert.assertEquals(floats[n], coarse[n], 30000f / 4095 / 2);
+				Assert.assertEquals(floats[n], fine[n], 30000f / 1048575 / 2 + 0.001f);
+			}
+			Assert.assertEquals(15000f, coarse[floats.length - 1], 0);
+		}
+	}
+
 	@Test
 	public void testChar() {
 		AdvancedByteBuffer buffer = new AdvancedByteBuffer(1);
@@ -405,4 +577,302 @@ public class AdvancedByteBufferTest {
 		Assert.assertArrayEquals(section, buffer5.readDoubleArray(), 0);
 	}
 
+	@Test
+	public void testNativeOrderFloatArrays() {
+		float[] floats = new float[]{1.5f, Float.intBitsToFloat(0x7FC00001), -0f, Float.intBitsToFloat(0xFFC00000), Float.MAX_VALUE};
+		double[] doubles = new double[]{1.5, Double.longBitsToDouble(0x7FF8000000000001L), -0d, Double.NaN, Double.MIN_VALUE};
+		for (AdvancedByteBuffer array : new AdvancedByteBuffer[]{new AdvancedByteBuffer(0, ByteOrder.nativeOrder()), new DirectAdvancedByteBuffer(0, ByteOrder.nativeOrder())}) {
+			array.writeByte(1).writeFloatArrayRaw(floats).writeDoubleArrayRaw(doubles);
+			AdvancedByteBuffer single = new AdvancedByteBuffer(0, ByteOrder.nativeOrder());
+			single.writeByte(1);
+			for (float value : floats) {
+				single.writeFloat(value);
+			}
+			for (double value : doubles) {
+				single.writeDouble(value);
+			}
+			Assert.assertArrayEquals(Arrays.copyOf(single.getData(), single.getPosition()), Arrays.copyOf(new AdvancedByteBuffer(array).getData(), array.getPosition()));
+
+			array.seek(1);
+			Assert.assertArrayEquals(floats, array.readFloatArray(floats.length), 0);
+			Assert.assertArrayEquals(doubles, array.readDoubleArray(doubles.length), 0);
+		}
+	}
+
+	@Test
+	public void testLegacyEncoding() {
+		Random random = new Random(1337L);
+		short[] shorts = new short[257];
+		int[] ints = new int[257];
+		long[] longs = new long[257];
+		float[] floats = new float[257];
+		double[] doubles = new double[257];
+		for (int n = 0; n < 257; n++) {
+			shorts[n] = (short) random.nextInt();
+			ints[n] = random.nextInt();
+			longs[n] = random.nextLong();
+			floats[n] = random.nextFloat() * random.nextInt();
+			doubles[n] = random.nextDouble() * random.nextLong();
+		}
+		floats[7] = Float.NaN;
+		doubles[7] = Double.NEGATIVE_INFINITY;
+
+		int size = 3 + 257 * 2 + 257 * 4 + 257 * 8 + 257 * 4 + 257 * 8 + 2 + 4 + 8 + 4 + 8;
+		byte[] expected = new byte[size];
+		int position = 3;
+		for (short value : shorts) {
+			position = legacyPut(expected, position, value, 2);
+		}
+		for (int value : ints) {
+			position = legacyPut(expected, position, value, 4);
+		}
+		for (long value : longs) {
+			position = legacyPut(expected, position, value, 8);
+		}
+		for (float value : floats) {
+			position = legacyPut(expected, position, Float.floatToIntBits(value), 4);
+		}
+		for (double value : doubles) {
+			position = legacyPut(expected, position, Double.doubleToLongBits(value), 8);
+		}
+		position = legacyPut(expected, position, shorts[3], 2);
+		position = legacyPut(expected, position, ints[3], 4);
+		position = legacyPut(expected, position, longs[3], 8);
+		position = legacyPut(expected, position, Float.floatToIntBits(floats[3]), 4);
+		legacyPut(expected, position, Double.doubleToLongBits(doubles[3]), 8);
+
+		AdvancedByteBuffer buffer = new AdvancedByteBuffer(4);
+		buffer.seek(3);
+		buffer.writeShortArrayRaw(shorts).writeIntArrayRaw(ints).writeLongArrayRaw(longs);
+		buffer.writeFloatArrayRaw(floats).writeDoubleArrayRaw(doubles);
+		buffer.writeShort(shorts[3]).writeInt(ints[3]).writeLong(longs[3]).writeFloat(floats[3]).writeDouble(doubles[3]);
+		Assert.assertEquals(size, buffer.getPosition());
+		Assert.assertArrayEquals(expected, Arrays.copyOf(buffer.getData(), size));
+
+		AdvancedByteBuffer buffer2 = new AdvancedByteBuffer(expected);
+		buffer2.seek(3);
+		Assert.assertArrayEquals(shorts, buffer2.readShortArray(257));
+		Assert.assertArrayEquals(ints, buffer2.readIntArray(257));
+		Assert.assertArrayEquals(longs, buffer2.readLongArray(257));
+		Assert.assertArrayEquals(floats, buffer2.readFloatArray(257), 0);
+		Assert.assertArrayEquals(doubles, buffer2.readDoubleArray(257), 0);
+		Assert.assertEquals(shorts[3], buffer2.readShort());
+		Assert.assertEquals(ints[3], buffer2.readInt());
+		Assert.assertEquals(longs[3], buffer2.readLong());
+		Assert.assertEquals(floats[3], buffer2.readFloat(), 0);
+		Assert.assertEquals(doubles[3], buffer2.readDouble(), 0);
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testReadOutOfBounds() {
+		AdvancedByteBuffer buffer = new AdvancedByteBuffer(new byte[7]);
+		buffer.readLong();
+	}
+
+	@Test
+	public void testByteArrays() {
+		byte[] bytes = new byte[3000];
+		new Random(7).nextBytes(bytes);
+
+		for (AdvancedByteBuffer buffer : new AdvancedByteBuffer[]{new AdvancedByteBuffer(4), new DirectAdvancedByteBuffer(4)}) {
+			buffer.writeByte(42);
+			buffer.writeByteArray(bytes);
+			buffer.writeByteArray(bytes, 100, 1099);
+			buffer.writeByteArrayRaw(bytes, 2000, 2999);
+			buffer.rewind();
+
+			Assert.assertEquals((byte) 42, buffer.readByte());
+			Assert.assertArrayEquals(bytes, buffer.readByteArray());
+			Assert.assertArrayEquals(Arrays.copyOfRange(bytes, 100, 1100), buffer.readByteArray());
+			Assert.assertArrayEquals(Arrays.copyOfRange(bytes, 2000, 3000), buffer.readByteArray(new byte[1000]));
+		}
+	}
+
+	@Test
+	public void testUtf8Strings() {
+		String[] strings = new String[]{"", "plain ascii", "gr\u00fc\u00dfe", "\u65e5\u672c\u8a9e", "emoji \ud83d\ude00!", "lone \ud83d surrogate \ude00", "end \ud83d"};
+		Charset utf8 = Charset.forName("UTF-8");
+
+		for (AdvancedByteBuffer buffer : new AdvancedByteBuffer[]{new AdvancedByteBuffer(4), new DirectAdvancedByteBuffer(4)}) {
+			for (String string : strings) {
+				AdvancedByteBuffer expected = new AdvancedByteBuffer(4);
+				expected.writeByteArray(string.getBytes(utf8));
+				int start = buffer.getPosition();
+				buffer.writeString(new StringBuilder(string));
+				Assert.assertArrayEquals(Arrays.copyOf(expected.getData(), expected.getPosition()), Arrays.copyOfRange(new AdvancedByteBuffer(buffer).getData(), start, buffer.getPosition()));
+				buffer.writeString(string, utf8);
+			}
+			buffer.rewind();
+
+			for (String string : strings) {
+				String decoded = new String(string.getBytes(utf8), utf8);
+				Assert.assertEquals(decoded, buffer.readString());
+				Assert.assertEquals(decoded, buffer.readString(utf8));
+			}
+		}
+	}
+
+	@Test
+	public void testChannels() throws IOException {
+		for (AdvancedByteBuffer buffer : new AdvancedByteBuffer[]{new AdvancedByteBuffer(4), new DirectAdvancedByteBuffer(4)}) {
+			buffer.writeInt(234562235).writeString("channel").writeLong(-872376523765L);
+			buffer.flip();
+
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			Assert.assertEquals(buffer.getLimit(), buffer.writeTo(Channels.newChannel(out)));
+			Assert.assertEquals(buffer.getLimit(), buffer.getPosition());
+
+			AdvancedByteBuffer copy = new AdvancedByteBuffer(2);
+			ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(out.toByteArray()));
+			Assert.assertEquals(4, copy.readFrom(in, 4));
+			Assert.assertEquals(out.size() - 4, copy.readFrom(in, 100));
+			Assert.assertEquals(-1, copy.readFrom(in, 100));
+			copy.rewind();
+			Assert.assertEquals(234562235, copy.readInt());
+			Assert.assertEquals("channel", copy.readString());
+			Assert.assertEquals(-872376523765L, copy.readLong());
+		}
+	}
+
+	@Test
+	public void testGatheringWrite() throws IOException {
+		AdvancedByteBuffer heap = new AdvancedByteBuffer(16).writeInt(-1276512462).writeShort((short) 21421).flip();
+		DirectAdvancedByteBuffer direct = new DirectAdvancedByteBuffer(16);
+		direct.writeLong(2345622332345345L).flip();
+
+		File file = File.createTempFile("gutils", ".bin");
+		file.deleteOnExit();
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			Assert.assertEquals(14, AdvancedByteBuffer.writeTo(channel, heap, direct));
+			Assert.assertEquals(6, heap.getPosition());
+			Assert.assertEquals(8, direct.getPosition());
+
+			channel.position(0);
+			AdvancedByteBuffer read = new AdvancedByteBuffer(0);
+			Assert.assertEquals(14, read.readFrom(channel, 14));
+			read.rewind();
+			Assert.assertEquals(-1276512462, read.readInt());
+			Assert.assertEquals((short) 21421, read.readShort());
+			Assert.assertEquals(2345622332345345L, read.readLong());
+		}
+		direct.free();
+	}
+
+	@Test
+	public void testSliceAndDuplicate() {
+		for (AdvancedByteBuffer buffer : new AdvancedByteBuffer[]{new AdvancedByteBuffer(4), new DirectAdvancedByteBuffer(4, ByteOrder.LITTLE_ENDIAN)}) {
+			buffer.writeInt(234562235).writeString("shared").writeLongArrayRaw(new long[]{187364L, -872376523765L});
+
+			AdvancedByteBuffer slice = buffer.slice(4, 7);
+			Assert.assertEquals(0, slice.getPosition());
+			Assert.assertEquals(7, slice.getCapacity());
+			Assert.assertEquals(buffer.getOrder(), slice.getOrder());
+			Assert.assertEquals("shared", slice.readString());
+
+			AdvancedByteBuffer longs = buffer.slice(11, 16).slice(8, 8);
+			Assert.assertEquals(-872376523765L, longs.readLong());
+			longs.rewind().writeLong(0L);
+
+			AdvancedByteBuffer duplicate = buffer.duplicate();
+			Assert.assertEquals(buffer.getPosition(), duplicate.getPosition());
+			duplicate.rewind();
+			Assert.assertEquals(27, buffer.getPosition());
+			Assert.assertEquals(234562235, duplicate.readInt());
+			Assert.assertEquals(0, duplicate.seek(19).readLong());
+
+			buffer.writeByteArrayRaw(new byte[100]);
+			buffer.writeInt(-1276512462, 0);
+			Assert.assertEquals(-1276512462, duplicate.rewind().readInt());
+
+			ByteBuffer view = slice.rewind().asByteBuffer();
+			Assert.assertEquals(7, view.remaining());
+			Assert.assertEquals(12, view.get(0));
+			Assert.assertEquals('s', view.get(1));
+		}
+	}
+
+	@Test
+	public void testSliceBounds() {
+		AdvancedByteBuffer slice = new AdvancedByteBuffer(16).slice(4, 4);
+		slice.writeInt(234562235);
+		try {
+			slice.writeByte(1);
+			Assert.fail();
+		} catch (IllegalStateException ignored) {
+		}
+
+		try {
+			slice.seek(2).readInt();
+			Assert.fail();
+		} catch (IndexOutOfBoundsException ignored) {
+		}
+	}
+
+	@Test(expected = ReadOnlyBufferException.class)
+	public void testReadOnly() {
+		AdvancedByteBuffer buffer = new AdvancedByteBuffer(16).writeInt(234562235);
+		AdvancedByteBuffer readOnly = buffer.asReadOnlyBuffer();
+		Assert.assertTrue(readOnly.isReadOnly());
+		Assert.assertTrue(readOnly.slice(0, 4).isReadOnly());
+		Assert.assertTrue(readOnly.asByteBuffer().isReadOnly());
+		Assert.assertEquals(234562235, readOnly.rewind().readInt());
+		readOnly.writeInt(1, 0);
+	}
+
+	@Test
+	public void testByteOrder() {
+		short[] shorts = new short[]{12332, 21421, -21421, 134, -12344};
+		int[] ints = new int[]{324235235, -235235235, 235235235, -1276512462, -23897634};
+		long[] longs = new long[]{87234876348675L, -872376523765L, -2376534275234L, 187364L, 123243222224L};
+		float[] floats = new float[]{21.123f, 1211.12f, -12314.123123f, -12897324.032f, -0.1111111111111111111111f};
+		double[] doubles = new double[]{21.123, 1211.12, -12314.123123, -12897324.032, -0.1111111111111111111111};
+
+		for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+			ByteBuffer expected = ByteBuffer.allocate(200).order(order);
+			expected.putShort((short) 23472).putInt(234562235).putLong(2345622332345345L).putFloat(123.25f).putDouble(-0.5);
+			expected.asShortBuffer().put(shorts);
+			expected.position(expected.position() + 10);
+			expected.asIntBuffer().put(ints);
+			expected.position(expected.position() + 20);
+			expected.asLongBuffer().put(longs);
+			expected.position(expected.position() + 40);
+			expected.asFloatBuffer().put(floats);
+			expected.position(expected.position() + 20);
+			expected.asDoubleBuffer().put(doubles);
+			expected.position(expected.position() + 40);
+
+			AdvancedByteBuffer buffer = new AdvancedByteBuffer(200, order);
+			Assert.assertEquals(order, buffer.getOrder());
+			buffer.writeShort((short) 23472).writeInt(234562235).writeLong(2345622332345345L).writeFloat(123.25f).writeDouble(-0.5);
+			buffer.writeShortArrayRaw(shorts).writeIntArrayRaw(ints).writeLongArrayRaw(longs);
+			buffer.writeFloatArrayRaw(floats).writeDoubleArrayRaw(doubles);
+			Assert.assertEquals(expected.position(), buffer.getPosition());
+			Assert.assertArrayEquals(expected.array(), buffer.getData());
+
+			buffer.rewind();
+			Assert.assertEquals((short) 23472, buffer.readShort());
+			Assert.assertEquals(234562235, buffer.readInt());
+			Assert.assertEquals(2345622332345345L, buffer.readLong());
+			Assert.assertEquals(123.25f, buffer.readFloat(), 0);
+			Assert.assertEquals(-0.5, buffer.readDouble(), 0);
+			Assert.assertArrayEquals(shorts, buffer.readShortArray(5));
+			Assert.assertArrayEquals(ints, buffer.readIntArray(5));
+			Assert.assertArrayEquals(longs, buffer.readLongArray(5));
+			Assert.assertArrayEquals(floats, buffer.readFloatArray(5), 0);
+			Assert.assertArrayEquals(doubles, buffer.readDoubleArray(5), 0);
+
+			AdvancedByteBuffer copy = new AdvancedByteBuffer(buffer);
+			Assert.assertEquals(order, copy.getOrder());
+			copy.writeInt(1337, 0);
+			Assert.assertEquals(1337, new AdvancedByteBuffer(copy.getData(), order).readInt());
+		}
+	}
+
+	private static int legacyPut(byte[] array, int position, long value, int size) {
+		for (int n = size - 1; n >= 0; n--) {
+			array[position++] = (byte) ((value >> (n * 8)) & 0xFF);
+		}
+		return position;
+	}
+
 }
@@ -0,0 +1,74 @@
+package pw.masy.gutils.buffer;
+
+import java.nio.ByteOrder;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BitStreamTest {
+
+	@Test
+	public void testBits() {
+		Random random = new Random(42);
+		int[] widths = new int[500];
+		long[] values = new long[500];
+		for (int n = 0; n < widths.length; n++) {
+			widths[n] = 1 + random.nextInt(64);
+			values[n] = widths[n] == 64 ? random.nextLong() : random.nextLong() & ((1L << widths[n]) - 1);
+		}
+
+		for (AdvancedByteBuffer buffer : new AdvancedByteBuffer[]{new AdvancedByteBuffer(4), new AdvancedByteBuffer(4, ByteOrder.LITTLE_ENDIAN), new DirectAdvancedByteBuffer(4)}) {
+			buffer.writeByte(42);
+			BitWriter writer = new BitWriter(buffer);
+			long bits = 0;
+			for (int n = 0; n < widths.length; n++) {
+				writer.writeBits(values[n], widths[n]);
+				bits += widths[n];
+			}
+			writer.flush().writeInt(-1276512462);
+			Assert.assertEquals(1 + (bits + 7) / 8 + 4, buffer.getPosition());
+
+			buffer.rewind();
+			Assert.assertEquals((byte) 42, buffer.readByte());
+			BitReader reader = new BitReader(buffer);
+			for (int n = 0; n < widths.length; n++) {
+				Assert.assertEquals(values[n], reader.readBits(widths[n]));
+			}
+			Assert.assertEquals(-1276512462, buffer.readInt());
+		}
+	}
+
+	@Test
+	public void testBitOrder() {
+		AdvancedByteBuffer buffer = new AdvancedByteBuffer(2, ByteOrder.LITTLE_ENDIAN);
+		new BitWriter(buffer).writeBits(1, 1).writeBits(5, 3).flush();
+		Assert.assertEquals(1, buffer.getPosition());
+		Assert.assertEquals((byte) 0xD0, buffer.getData()[0]);
+	}
+
+	@Test
+	public void testPackInts() {
+		Random random = new Random(7);
+		for (int bits = 1; bits <= 32; bits++) {
+			int[] values = new int[1000];
+			for (int n = 0; n < values.length; n++) {
+				values[n] = random.nextInt() >>> (32 - bits);
+			}
+
+			AdvancedByteBuffer buffer = new AdvancedByteBuffer(0);
+			buffer.packInts(values, bits);
+			Assert.assertEquals((values.length * bits + 7) / 8, buffer.getPosition());
+			buffer.rewind();
+			Assert.assertArrayEquals(values, buffer.unpackInts(values.length, bits));
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testReadBeyondCapacity() {
+		AdvancedByteBuffer buffer = new AdvancedByteBuffer(new byte[2]);
+		BitReader reader = new BitReader(buffer);
+		reader.readBits(14);
+		reader.readBits(3);
+	}
+
+}
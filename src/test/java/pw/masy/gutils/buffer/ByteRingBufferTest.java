@@ -0,0 +1,130 @@
+package pw.masy.gutils.buffer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ByteRingBufferTest {
+
+	@Test
+	public void testRecords() {
+		ByteRingBuffer ring = new ByteRingBuffer(64, false);
+		ByteRingBuffer.Producer producer = ring.createProducer();
+		producer.claim(16).writeInt(1).writeShort((short) 2);
+		producer.claim(8).writeLong(3);
+		Assert.assertEquals(0, ring.read(buffer -> Assert.fail()));
+
+		producer.commit();
+		Assert.assertEquals(24, ring.getReadableBytes());
+		List<Long> values = new ArrayList<>();
+		Assert.assertEquals(2, ring.read(buffer -> {
+			Assert.assertTrue(buffer.isReadOnly());
+			if (buffer.getLimit() - buffer.getPosition() == 6) {
+				values.add((long) buffer.readInt());
+				values.add((long) buffer.readShort());
+			} else {
+				values.add(buffer.readLong());
+			}
+		}));
+		Assert.assertEquals(3, values.size());
+		Assert.assertEquals(3L, (long) values.get(2));
+		Assert.assertEquals(0, ring.getReadableBytes());
+	}
+
+	@Test
+	public void testWrapAround() {
+		ByteRingBuffer ring = new ByteRingBuffer(64, false);
+		ByteRingBuffer.Producer producer = ring.createProducer();
+		int[] next = {0};
+		for (int n = 0; n < 100; n++) {
+			AdvancedByteBuffer record = producer.tryClaim(20);
+			Assert.assertNotNull(record);
+			record.writeInt(n).writeInt(n * 7);
+			producer.commit();
+			Assert.assertEquals(1, ring.read(buffer -> {
+				Assert.assertEquals(8, buffer.getLimit() - buffer.getPosition());
+				Assert.assertEquals(next[0], buffer.readInt());
+				Assert.assertEquals(next[0]++ * 7, buffer.readInt());
+			}));
+		}
+
+		int claimed = 0;
+		AdvancedByteBuffer record;
+		while ((record = producer.tryClaim(ring.getMaxRecordLength())) != null) {
+			record.writeLong(1).writeLong(2).writeLong(3).writeInt(claimed++);
+		}
+		Assert.assertTrue(claimed >= 1 && claimed <= 2);
+		producer.commit();
+		Assert.assertEquals(claimed, ring.read(buffer -> Assert.assertEquals(28, buffer.getLimit() - buffer.getPosition())));
+		Assert.assertNotNull(producer.tryClaim(ring.getMaxRecordLength()));
+	}
+
+	@Test
+	public void testExceedingClaim() {
+		ByteRingBuffer ring = new ByteRingBuffer(64, true);
+		ByteRingBuffer.Producer first = ring.createProducer();
+		ByteRingBuffer.Producer second = ring.createProducer();
+		first.claim(4).writeInt(1);
+		AdvancedByteBuffer record = first.claim(6);
+		second.claim(4).writeInt(2);
+		try {
+			record.writeInt(3).writeInt(4);
+			Assert.fail();
+		} catch (IllegalStateException ignored) {
+		}
+		Assert.assertEquals(6, record.getCapacity());
+
+		second.commit();
+		List<Integer> values = new ArrayList<>();
+		Assert.assertEquals(2, ring.read(buffer -> values.add(buffer.readInt())));
+		Assert.assertEquals(Arrays.asList(1, 2), values);
+		Assert.assertEquals(0, ring.getReadableBytes());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testSecondSingleProducer() {
+		ByteRingBuffer ring = new ByteRingBuffer(64, false);
+		ring.createProducer();
+		ring.createProducer();
+	}
+
+	@Test
+	public void testMultipleProducers() throws InterruptedException {
+		ByteRingBuffer ring = new ByteRingBuffer(1024, true);
+		int producers = 3;
+		int records = 20000;
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			int id = p;
+			threads.add(new Thread(() -> {
+				ByteRingBuffer.Producer producer = ring.createProducer();
+				for (int n = 0; n < records; n++) {
+					producer.claim(32).writeInt(id).writeInt(n);
+					if (n % 4 == 3)
+						producer.commit();
+				}
+				producer.commit();
+			}));
+		}
+		threads.forEach(Thread::start);
+
+		int[] expected = new int[producers];
+		int read = 0;
+		while (read < producers * records) {
+			read += ring.awaitRead(buffer -> {
+				Assert.assertEquals(8, buffer.getLimit() - buffer.getPosition());
+				int id = buffer.readInt();
+				Assert.assertEquals(expected[id]++, buffer.readInt());
+			}, 64);
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		for (int count : expected) {
+			Assert.assertEquals(records, count);
+		}
+	}
+
+}
@@ -0,0 +1,111 @@
+package pw.masy.gutils.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DirectAdvancedByteBufferTest {
+
+	@Test
+	public void testPrimitives() {
+		DirectAdvancedByteBuffer buffer = new DirectAdvancedByteBuffer(4, GrowthPolicy.DOUBLING);
+		buffer.writeByte(23);
+		buffer.writeShort((short) -12344);
+		buffer.writeInt(-1276512462);
+		buffer.writeLong(87234876348675L);
+		buffer.writeFloat(-12314.123123f);
+		buffer.writeDouble(-0.1111111111111111111111);
+		buffer.writeVarInt(-324876523);
+		buffer.writeString("this is a test string");
+		buffer.writeIntArray(new int[]{324235235, -235235235, 235235235});
+		buffer.rewind();
+
+		Assert.assertEquals((byte) 23, buffer.readByte());
+		Assert.assertEquals((short) -12344, buffer.readShort());
+		Assert.assertEquals(-1276512462, buffer.readInt());
+		Assert.assertEquals(87234876348675L, buffer.readLong());
+		Assert.assertEquals(-12314.123123f, buffer.readFloat(), 0);
+		Assert.assertEquals(-0.1111111111111111111111, buffer.readDouble(), 0);
+		Assert.assertEquals(-324876523, buffer.readVarInt());
+		Assert.assertEquals("this is a test string", buffer.readString());
+		Assert.assertArrayEquals(new int[]{324235235, -235235235, 235235235}, buffer.readIntArray());
+		buffer.free();
+	}
+
+	@Test
+	public void testSameEncoding() {
+		AdvancedByteBuffer heap = new AdvancedByteBuffer(64);
+		DirectAdvancedByteBuffer direct = new DirectAdvancedByteBuffer(64);
+		heap.writeLong(-2376534275234L).writeFloatArrayRaw(new float[]{21.123f, 1211.12f}).writeShort((short) 21421);
+		direct.writeLong(-2376534275234L).writeFloatArrayRaw(new float[]{21.123f, 1211.12f}).writeShort((short) 21421);
+
+		Assert.assertEquals(heap.getPosition(), direct.getPosition());
+		Assert.assertArrayEquals(heap.getData(), new AdvancedByteBuffer(direct).getData());
+		direct.free();
+	}
+
+	@Test
+	public void testByteBufferView() {
+		DirectAdvancedByteBuffer buffer = new DirectAdvancedByteBuffer(16);
+		buffer.writeInt(234562235);
+		buffer.writeInt(-23897634);
+		buffer.flip();
+
+		ByteBuffer view = buffer.asByteBuffer();
+		Assert.assertTrue(view.isDirect());
+		Assert.assertEquals(8, view.remaining());
+		Assert.assertEquals(234562235, view.getInt());
+		Assert.assertEquals(-23897634, view.getInt());
+
+		view.putInt(0, 1337);
+		Assert.assertEquals(1337, buffer.readInt());
+
+		buffer.free();
+		Assert.assertEquals(0, buffer.getCapacity());
+		Assert.assertEquals(0, buffer.getPosition());
+	}
+
+	@Test
+	public void testHasArray() {
+		AdvancedByteBuffer heap = new AdvancedByteBuffer(8);
+		DirectAdvancedByteBuffer direct = new DirectAdvancedByteBuffer(8);
+		Assert.assertTrue(heap.hasArray());
+		Assert.assertFalse(heap.duplicate().hasArray());
+		Assert.assertFalse(direct.hasArray());
+		Assert.assertFalse(direct.asReadOnlyBuffer().hasArray());
+		direct.free();
+	}
+
+	@Test
+	public void testByteBufferViewAfterGrowing() {
+		DirectAdvancedByteBuffer buffer = new DirectAdvancedByteBuffer(8);
+		buffer.writeLong(8124567812345L);
+		ByteBuffer view = buffer.asByteBuffer();
+		buffer.writeLong(-1).writeLong(-2);
+		Assert.assertTrue(buffer.getCapacity() > 8);
+		Assert.assertEquals(8124567812345L, view.getLong(0));
+		buffer.free();
+	}
+
+	@Test
+	public void testLittleEndian() {
+		AdvancedByteBuffer heap = new AdvancedByteBuffer(8, ByteOrder.LITTLE_ENDIAN);
+		DirectAdvancedByteBuffer direct = new DirectAdvancedByteBuffer(8, ByteOrder.LITTLE_ENDIAN);
+		heap.writeInt(-235235235).writeDoubleArrayRaw(new double[]{1211.12, -12314.123123}).writeShortArrayRaw(new short[]{12332, -12344});
+		direct.writeInt(-235235235).writeDoubleArrayRaw(new double[]{1211.12, -12314.123123}).writeShortArrayRaw(new short[]{12332, -12344});
+
+		Assert.assertEquals(ByteOrder.LITTLE_ENDIAN, direct.getOrder());
+		Assert.assertArrayEquals(heap.getData(), new AdvancedByteBuffer(direct).getData());
+
+		direct.flip();
+		ByteBuffer view = direct.asByteBuffer();
+		Assert.assertEquals(ByteOrder.LITTLE_ENDIAN, view.order());
+		Assert.assertEquals(-235235235, view.getInt());
+		Assert.assertEquals(-235235235, direct.readInt());
+		Assert.assertArrayEquals(new double[]{1211.12, -12314.123123}, direct.readDoubleArray(2), 0);
+		Assert.assertArrayEquals(new short[]{12332, -12344}, direct.readShortArray(2));
+		direct.free();
+	}
+
+}
@@ -0,0 +1,126 @@
+package pw.masy.gutils.buffer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FrameDecoderTest {
+
+	@Test
+	public void testPartialReads() throws IOException {
+		Random random = new Random(25);
+		List<byte[]> frames = new ArrayList<>();
+		AdvancedByteBuffer stream = new AdvancedByteBuffer(64);
+		for (int n = 0; n < 200; n++) {
+			byte[] frame = new byte[random.nextInt(n % 50 == 0 ? 100000 : 300)];
+			random.nextBytes(frame);
+			frames.add(frame);
+			stream.writeByteArray(frame);
+		}
+		stream.flip();
+		byte[] bytes = stream.readByteArray(stream.getLimit());
+
+		List<byte[]> decoded = new ArrayList<>();
+		FrameDecoder decoder = new FrameDecoder(256, 1 << 20, true);
+		ReadableByteChannel channel = new ChunkedChannel(bytes, random);
+		while (decoder.read(channel, frame -> decoded.add(frame.readByteArray(frame.getLimit() - frame.getPosition()))) >= 0) {
+			Assert.assertTrue(decoder.getBufferedBytes() < 100010);
+		}
+
+		Assert.assertEquals(frames.size(), decoded.size());
+		for (int n = 0; n < frames.size(); n++) {
+			Assert.assertArrayEquals(frames.get(n), decoded.get(n));
+		}
+		Assert.assertTrue(decoder.getCapacity() >= frames.stream().mapToInt(frame -> frame.length).max().getAsInt());
+	}
+
+	@Test
+	public void testUnsignedLengths() throws IOException {
+		AdvancedByteBuffer stream = new AdvancedByteBuffer(64);
+		stream.writeUnsignedVarInt(200).writeByteArrayRaw(new byte[200]).writeUnsignedVarInt(3).writeByte(1).writeByte(2).writeByte(3);
+		stream.flip();
+		byte[] bytes = stream.readByteArray(stream.getLimit());
+
+		FrameDecoder decoder = new FrameDecoder(64, 1000, false);
+		List<Integer> lengths = new ArrayList<>();
+		Assert.assertEquals(0, decoder.feed(bytes, 0, 100, frame -> lengths.add(frame.getLimit() - frame.getPosition())));
+		Assert.assertEquals(2, decoder.feed(bytes, 100, bytes.length - 100, frame -> lengths.add(frame.getLimit() - frame.getPosition())));
+		Assert.assertEquals(200, (int) lengths.get(0));
+		Assert.assertEquals(3, (int) lengths.get(1));
+		Assert.assertEquals(0, decoder.getBufferedBytes());
+	}
+
+	@Test
+	public void testSmallMaxFrameSize() throws IOException {
+		AdvancedByteBuffer stream = new AdvancedByteBuffer(16);
+		stream.writeByteArray(new byte[0]).writeByteArray(new byte[] {1, 2, 3});
+		stream.flip();
+		byte[] bytes = stream.readByteArray(stream.getLimit());
+
+		FrameDecoder decoder = new FrameDecoder(3);
+		Assert.assertEquals(16, decoder.getCapacity());
+		List<Integer> lengths = new ArrayList<>();
+		Assert.assertEquals(2, decoder.feed(bytes, 0, bytes.length, frame -> lengths.add(frame.getLimit() - frame.getPosition())));
+		Assert.assertEquals(0, (int) lengths.get(0));
+		Assert.assertEquals(3, (int) lengths.get(1));
+		new FrameDecoder(0);
+	}
+
+	@Test(expected = IOException.class)
+	public void testFrameTooBig() throws IOException {
+		byte[] bytes = new AdvancedByteBuffer(8).writeVarInt(1001).getData();
+		new FrameDecoder(1000).feed(bytes, 0, 2, frame -> Assert.fail());
+	}
+
+	@Test(expected = EOFException.class)
+	public void testEndWithinFrame() throws IOException {
+		AdvancedByteBuffer stream = new AdvancedByteBuffer(64).writeByteArray(new byte[10]);
+		byte[] bytes = new byte[stream.getPosition() - 1];
+		System.arraycopy(stream.getData(), 0, bytes, 0, bytes.length);
+
+		FrameDecoder decoder = new FrameDecoder(100);
+		ReadableByteChannel channel = new ChunkedChannel(bytes, new Random(1));
+		while (decoder.read(channel, frame -> Assert.fail()) >= 0) {
+			Assert.assertTrue(decoder.getBufferedBytes() > 0);
+		}
+	}
+
+	private static final class ChunkedChannel implements ReadableByteChannel {
+
+		private final byte[] data;
+		private final Random random;
+		private int position;
+
+		private ChunkedChannel(byte[] data, Random random) {
+			this.data = data;
+			this.random = random;
+		}
+
+		@Override
+		public int read(ByteBuffer dst) {
+			if (this.position == this.data.length)
+				return -1;
+			int length = Math.min(Math.min(dst.remaining(), 1 + this.random.nextInt(700)), this.data.length - this.position);
+			dst.put(this.data, this.position, length);
+			this.position += length;
+			return length;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return true;
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
+}
@@ -0,0 +1,50 @@
+package pw.masy.gutils.buffer;
+
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HalfFloatTest {
+
+	@Test
+	public void testKnownValues() {
+		Assert.assertEquals((short) 0x3C00, HalfFloat.fromFloat(1f));
+		Assert.assertEquals((short) 0xC000, HalfFloat.fromFloat(-2f));
+		Assert.assertEquals((short) 0x7BFF, HalfFloat.fromFloat(65504f));
+		Assert.assertEquals((short) 0x7C00, HalfFloat.fromFloat(65520f));
+		Assert.assertEquals((short) 0x0001, HalfFloat.fromFloat((float) Math.pow(2, -24)));
+		Assert.assertEquals((short) 0x8000, HalfFloat.fromFloat(-0f));
+		Assert.assertEquals((short) 0x0000, HalfFloat.fromFloat(1e-10f));
+		Assert.assertEquals((short) 0xFC00, HalfFloat.fromFloat(Float.NEGATIVE_INFINITY));
+		Assert.assertTrue(Float.isNaN(HalfFloat.toFloat(HalfFloat.fromFloat(Float.NaN))));
+		Assert.assertEquals(0.099975586f, HalfFloat.toFloat(HalfFloat.fromFloat(0.1f)), 0);
+	}
+
+	@Test
+	public void testAllHalfFloats() {
+		for (int n = 0; n < 65536; n++) {
+			short half = (short) n;
+			float value = HalfFloat.toFloat(half);
+			if (Float.isNaN(value)) {
+				Assert.assertEquals(0x7C00, n & 0x7C00);
+				continue;
+			}
+			Assert.assertEquals(half, HalfFloat.fromFloat(value));
+		}
+	}
+
+	@Test
+	public void testRoundToNearest() {
+		Random random = new Random(11);
+		for (int n = 0; n < 100000; n++) {
+			float value = (random.nextFloat() - 0.5f) * (float) Math.pow(2, random.nextInt(40) - 24);
+			short half = HalfFloat.fromFloat(value);
+			float rounded = HalfFloat.toFloat(half);
+			float lower = HalfFloat.toFloat((short) (half - 1));
+			float upper = HalfFloat.toFloat((short) (half + 1));
+			Assert.assertTrue(Float.isNaN(lower) || Math.abs(rounded - value) <= Math.abs(lower - value));
+			Assert.assertTrue(Float.isNaN(upper) || Math.abs(rounded - value) <= Math.abs(upper - value));
+		}
+	}
+
+}
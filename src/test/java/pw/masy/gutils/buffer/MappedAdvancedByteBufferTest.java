@@ -0,0 +1,68 @@
+package pw.masy.gutils.buffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MappedAdvancedByteBufferTest {
+
+	@Test
+	public void testWriteAndRead() throws IOException {
+		Path file = Files.createTempFile("gutils", ".bin");
+		try {
+			AdvancedByteBuffer heap = new AdvancedByteBuffer(64);
+			try (MappedAdvancedByteBuffer buffer = new MappedAdvancedByteBuffer(file, FileChannel.MapMode.READ_WRITE, 0, 4)) {
+				buffer.setGrowthPolicy(GrowthPolicy.DOUBLING);
+				heap.writeInt(-1276512462).writeString("mapped region").writeDoubleArray(new double[]{21.123, -0.5});
+				buffer.writeInt(-1276512462).writeString("mapped region").writeDoubleArray(new double[]{21.123, -0.5});
+				Assert.assertEquals(heap.getPosition(), buffer.getPosition());
+				buffer.force();
+			}
+
+			byte[] content = Files.readAllBytes(file);
+			Assert.assertTrue(content.length >= heap.getPosition());
+			for (int n = 0; n < heap.getPosition(); n++) {
+				Assert.assertEquals(heap.getData()[n], content[n]);
+			}
+
+			try (MappedAdvancedByteBuffer buffer = new MappedAdvancedByteBuffer(file, FileChannel.MapMode.READ_ONLY, 4, heap.getPosition() - 4)) {
+				Assert.assertFalse(buffer.isGrowable());
+				Assert.assertEquals("mapped region", buffer.readString());
+				Assert.assertArrayEquals(new double[]{21.123, -0.5}, buffer.readDoubleArray(), 0);
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testByteBufferViewAfterGrowing() throws IOException {
+		Path file = Files.createTempFile("gutils", ".bin");
+		try (MappedAdvancedByteBuffer buffer = new MappedAdvancedByteBuffer(file, FileChannel.MapMode.READ_WRITE, 0, 8)) {
+			buffer.writeLong(8124567812345L);
+			ByteBuffer view = buffer.asByteBuffer();
+			buffer.writeLong(-1).writeLong(-2);
+			Assert.assertTrue(buffer.getCapacity() > 8);
+			Assert.assertEquals(8124567812345L, view.getLong(0));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testNotGrowable() throws IOException {
+		Path file = Files.createTempFile("gutils", ".bin");
+		try (MappedAdvancedByteBuffer buffer = new MappedAdvancedByteBuffer(file, FileChannel.MapMode.READ_WRITE, 0, 4)) {
+			buffer.setGrowable(false);
+			buffer.writeInt(234562235);
+			buffer.writeInt(234562235);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+}
@@ -0,0 +1,79 @@
+package pw.masy.gutils.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import pw.masy.gutils.buffer.AdvancedByteBuffer;
+import pw.masy.gutils.xxhasher.XXHash64Hasher;
+
+public class BloomFilterTest {
+
+	@Test
+	public void testFalsePositiveRate() {
+		BloomFilter filter = new BloomFilter(10000, 0.01);
+		Assert.assertEquals(7, filter.getHashFunctions());
+		Assert.assertTrue(filter.put("region-0".getBytes()));
+		Assert.assertFalse(filter.put("region-0".getBytes()));
+		for (int n = 0; n < 10000; n++) {
+			filter.put(("region-" + n).getBytes());
+		}
+		for (int n = 0; n < 10000; n++) {
+			Assert.assertTrue(filter.mightContain(("region-" + n).getBytes()));
+		}
+
+		int falsePositives = 0;
+		for (int n = 10000; n < 110000; n++) {
+			if (filter.mightContain(("region-" + n).getBytes()))
+				falsePositives++;
+		}
+		Assert.assertTrue(falsePositives < 1500);
+		Assert.assertEquals(0.01, filter.getExpectedFalsePositiveRate(), 0.005);
+	}
+
+	@Test
+	public void testSerialization() {
+		BloomFilter filter = new BloomFilter(1000, 0.001);
+		XXHash64Hasher hasher = new XXHash64Hasher();
+		for (int n = 0; n < 1000; n++) {
+			filter.putHash(hasher.reset().putInt(n).putInt(-n).getValue());
+		}
+
+		AdvancedByteBuffer buffer = new AdvancedByteBuffer(16);
+		filter.writeTo(buffer);
+		buffer.rewind();
+		BloomFilter copy = BloomFilter.readFrom(buffer);
+		Assert.assertEquals(filter.getBitCount(), copy.getBitCount());
+		Assert.assertEquals(filter.getHashFunctions(), copy.getHashFunctions());
+		for (int n = 0; n < 1000; n++) {
+			Assert.assertTrue(copy.mightContainHash(hasher.reset().putInt(n).putInt(-n).getValue()));
+		}
+	}
+
+	@Test
+	public void testConcurrentInserts() throws InterruptedException {
+		BloomFilter filter = new BloomFilter(40000, 0.01);
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			int offset = t * 10000;
+			threads.add(new Thread(() -> {
+				for (int n = offset; n < offset + 10000; n++) {
+					filter.put(("chunk-" + n).getBytes());
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		for (int n = 0; n < 40000; n++) {
+			Assert.assertTrue(filter.mightContain(("chunk-" + n).getBytes()));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidRate() {
+		new BloomFilter(100, 1.0);
+	}
+
+}
@@ -0,0 +1,138 @@
+package pw.masy.gutils.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Assert;
+import org.junit.Test;
+import pw.masy.gutils.buffer.AdvancedByteBuffer;
+
+public class CuckooFilterTest {
+
+	@Test
+	public void testFalsePositiveRate() {
+		CuckooFilter filter = new CuckooFilter(10000);
+		for (int n = 0; n < 10000; n++) {
+			Assert.assertTrue(filter.put(("region-" + n).getBytes()));
+		}
+		Assert.assertEquals(10000, filter.getCount());
+		for (int n = 0; n < 10000; n++) {
+			Assert.assertTrue(filter.mightContain(("region-" + n).getBytes()));
+		}
+
+		int falsePositives = 0;
+		for (int n = 10000; n < 110000; n++) {
+			if (filter.mightContain(("region-" + n).getBytes()))
+				falsePositives++;
+		}
+		Assert.assertTrue(falsePositives < 50);
+	}
+
+	@Test
+	public void testFillingAndRemoving() {
+		CuckooFilter filter = new CuckooFilter(4096);
+		int added = 0;
+		while (filter.put(("resource-" + added).getBytes())) {
+			added++;
+		}
+		Assert.assertTrue(added > filter.getCapacity() * 0.9);
+		Assert.assertTrue(added < filter.getCapacity());
+		for (int n = 0; n < added; n++) {
+			Assert.assertTrue(filter.mightContain(("resource-" + n).getBytes()));
+		}
+
+		for (int n = 0; n < added; n += 2) {
+			Assert.assertTrue(filter.remove(("resource-" + n).getBytes()));
+		}
+		Assert.assertEquals(added - (added + 1) / 2, filter.getCount());
+		for (int n = 1; n < added; n += 2) {
+			Assert.assertTrue(filter.mightContain(("resource-" + n).getBytes()));
+		}
+		Assert.assertTrue(filter.put("resource-new".getBytes()));
+	}
+
+	@Test
+	public void testSerialization() {
+		CuckooFilter filter = new CuckooFilter(1000);
+		for (int n = 0; n < 1000; n++) {
+			filter.putHash(n * 0x9E3779B97F4A7C15L);
+		}
+
+		AdvancedByteBuffer buffer = new AdvancedByteBuffer(16);
+		filter.writeTo(buffer);
+		buffer.rewind();
+		CuckooFilter copy = CuckooFilter.readFrom(buffer);
+		Assert.assertEquals(1000, copy.getCount());
+		Assert.assertEquals(filter.getCapacity(), copy.getCapacity());
+		for (int n = 0; n < 1000; n++) {
+			Assert.assertTrue(copy.mightContainHash(n * 0x9E3779B97F4A7C15L));
+		}
+	}
+
+	@Test
+	public void testConcurrentInsertsAndLookups() throws InterruptedException {
+		CuckooFilter filter = new CuckooFilter(40000);
+		for (int n = 0; n < 1000; n++) {
+			filter.put(("chunk-" + n).getBytes());
+		}
+		List<Thread> threads = new ArrayList<>();
+		List<Integer> misses = new ArrayList<>();
+		for (int t = 1; t < 4; t++) {
+			int offset = t * 10000;
+			threads.add(new Thread(() -> {
+				for (int n = offset; n < offset + 10000; n++) {
+					filter.put(("chunk-" + n).getBytes());
+				}
+			}));
+		}
+		threads.add(new Thread(() -> {
+			for (int round = 0; round < 20; round++) {
+				for (int n = 0; n < 1000; n++) {
+					if (!filter.mightContain(("chunk-" + n).getBytes())) {
+						synchronized (misses) {
+							misses.add(n);
+						}
+					}
+				}
+			}
+		}));
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		Assert.assertTrue(misses.isEmpty());
+		Assert.assertEquals(31000, filter.getCount());
+	}
+
+	@Test
+	public void testLookupsWhileRelocating() throws InterruptedException {
+		CuckooFilter filter = new CuckooFilter(4096);
+		int stable = (int) (filter.getCapacity() * 0.85);
+		for (int n = 0; n < stable; n++) {
+			Assert.assertTrue(filter.putHash(n * 0x9E3779B97F4A7C15L));
+		}
+
+		AtomicBoolean done = new AtomicBoolean();
+		Thread writer = new Thread(() -> {
+			for (int n = 0; n < 20000; n++) {
+				long hash = ~n * 0xC2B2AE3D27D4EB4FL;
+				if (filter.putHash(hash))
+					filter.removeHash(hash);
+			}
+			done.set(true);
+		});
+		writer.start();
+
+		int misses = 0;
+		while (!done.get()) {
+			for (int n = 0; n < stable; n++) {
+				if (!filter.mightContainHash(n * 0x9E3779B97F4A7C15L))
+					misses++;
+			}
+		}
+		writer.join();
+		Assert.assertEquals(0, misses);
+		Assert.assertEquals(stable, filter.getCount());
+	}
+
+}
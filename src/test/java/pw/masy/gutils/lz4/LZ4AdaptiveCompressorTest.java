@@ -0,0 +1,107 @@
+package pw.masy.gutils.lz4;
+
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LZ4AdaptiveCompressorTest {
+
+	@Test
+	public void testIncompressibleIsStored() {
+		LZ4AdaptiveCompressor compressor = new LZ4AdaptiveCompressor();
+		for (int length : new int[] {0, 100, 200_000}) {
+			byte[] data = new byte[length];
+			new Random(length).nextBytes(data);
+			byte[] stored = compressor.compress(data);
+			Assert.assertEquals(length + 5, stored.length);
+			Assert.assertArrayEquals(data, LZ4AdaptiveCompressor.decompress(stored));
+		}
+		Assert.assertEquals(3, compressor.getStats().getStoredPayloads());
+		Assert.assertEquals(0, compressor.getStats().getFastPayloads() + compressor.getStats().getHighPayloads());
+	}
+
+	@Test
+	public void testLevelSelection() {
+		byte[] data = createData(300_000);
+		LZ4AdaptiveCompressor fast = LZ4AdaptiveCompressor.forLowLatency();
+		LZ4AdaptiveCompressor archival = LZ4AdaptiveCompressor.forArchival();
+
+		byte[] fastCompressed = fast.compress(data);
+		byte[] archivalCompressed = archival.compress(data);
+		Assert.assertEquals(1, fast.getStats().getFastPayloads());
+		Assert.assertEquals(1, archival.getStats().getHighPayloads());
+		Assert.assertTrue(archivalCompressed.length < fastCompressed.length);
+		Assert.assertArrayEquals(data, LZ4AdaptiveCompressor.decompress(fastCompressed));
+		Assert.assertArrayEquals(data, LZ4AdaptiveCompressor.decompress(archivalCompressed));
+
+		LZ4AdaptiveCompressor.Stats stats = archival.getStats();
+		Assert.assertEquals(data.length, stats.getInputBytes());
+		Assert.assertEquals(archivalCompressed.length, stats.getOutputBytes());
+		Assert.assertTrue(stats.getRatio() > 2);
+		Assert.assertTrue(stats.getThroughput() > 0);
+		stats.reset();
+		Assert.assertEquals(0, stats.getPayloads());
+	}
+
+	@Test
+	public void testLatencyBudget() {
+		byte[] data = createData(100_000);
+		LZ4AdaptiveCompressor compressor = new LZ4AdaptiveCompressor(9, 0, 1.1);
+		compressor.compress(data);
+		Assert.assertEquals(1, compressor.getStats().getFastPayloads());
+
+		compressor = new LZ4AdaptiveCompressor(9, Long.MAX_VALUE, 1.1);
+		compressor.compress(data);
+		Assert.assertEquals(1, compressor.getStats().getHighPayloads());
+		Assert.assertTrue(compressor.getEstimatedCost(9) > 0);
+	}
+
+	@Test
+	public void testUnchosenLevelIsMeasured() {
+		byte[] data = createData(100_000);
+		LZ4AdaptiveCompressor compressor = new LZ4AdaptiveCompressor(9, 0, 1.1);
+		double initialCost = compressor.getEstimatedCost(3);
+		for (int n = 0; n < 3; n++) {
+			compressor.compress(data);
+		}
+		Assert.assertEquals(3, compressor.getStats().getFastPayloads());
+		Assert.assertNotEquals(initialCost, compressor.getEstimatedCost(3), 0);
+		Assert.assertEquals(20.0, compressor.getEstimatedCost(6), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidLevel() {
+		new LZ4AdaptiveCompressor(18, 0, 1);
+	}
+
+	@Test
+	public void testMalformedPayloads() {
+		byte[] huge = new byte[]{LZ4AdaptiveCompressor.COMPRESSED, 0, 0, 0, 0x7F, 0};
+		byte[] stored = new byte[]{LZ4AdaptiveCompressor.STORED, 0, 0, 0, 0x7F, 1, 2};
+		for (byte[] payload : new byte[][]{huge, stored}) {
+			try {
+				LZ4AdaptiveCompressor.decompress(payload);
+				Assert.fail();
+			} catch (IllegalArgumentException ignored) {
+			}
+		}
+
+		byte[] compressed = new LZ4AdaptiveCompressor().compress(new byte[100000]);
+		Assert.assertEquals(100000, LZ4AdaptiveCompressor.decompress(compressed).length);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testDecompressOutOfBounds() {
+		LZ4AdaptiveCompressor.decompress(new byte[]{LZ4AdaptiveCompressor.STORED, 0, 0, 0, 0}, 1, 5);
+	}
+
+	private static byte[] createData(int length) {
+		Random random = new Random(length);
+		byte[] data = new byte[length];
+		for (int n = 0; n < length; n++) {
+			data[n] = (byte) ('a' + (random.nextInt(4) == 0 ? random.nextInt(26) : n % 17));
+		}
+		return data;
+	}
+
+}
@@ -0,0 +1,97 @@
+package pw.masy.gutils.lz4;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LZ4ContainerTest {
+
+	@Test
+	public void testParallelRoundTrip() throws IOException {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			byte[] data = createData(1_000_003);
+			LZ4ParallelCompressor compressor = new LZ4ParallelCompressor(pool, 16 * 1024);
+			Path file = write(compressor.compress(data));
+			try (LZ4Container container = new LZ4Container(FileChannel.open(file, StandardOpenOption.READ))) {
+				Assert.assertEquals(data.length, container.getLength());
+				Assert.assertEquals(62, container.getBlockCount());
+				Assert.assertTrue(Files.size(file) < data.length);
+
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				container.decompress(out, pool);
+				Assert.assertArrayEquals(data, out.toByteArray());
+
+				Random random = new Random(5);
+				for (int n = 0; n < 100; n++) {
+					int position = random.nextInt(data.length);
+					byte[] read = new byte[random.nextInt(40_000)];
+					int count = container.read(position, read, 0, read.length);
+					Assert.assertEquals(Math.min(read.length, data.length - position), count);
+					for (int i = 0; i < count; i++) {
+						Assert.assertEquals(data[position + i], read[i]);
+					}
+				}
+				Assert.assertEquals(-1, container.read(data.length, new byte[1], 0, 1));
+			} finally {
+				Files.delete(file);
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testEmptyAndIncompressible() throws IOException {
+		LZ4ParallelCompressor compressor = new LZ4ParallelCompressor(ForkJoinPool.commonPool(), 4096);
+		byte[] random = new byte[4096 * 3];
+		new Random(9).nextBytes(random);
+
+		for (byte[] data : new byte[][] {new byte[0], random}) {
+			Path file = write(compressor.compress(data));
+			try (LZ4Container container = new LZ4Container(FileChannel.open(file, StandardOpenOption.READ))) {
+				Assert.assertEquals(data.length / 4096, container.getBlockCount());
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				container.decompress(out);
+				Assert.assertArrayEquals(data, out.toByteArray());
+			} finally {
+				Files.delete(file);
+			}
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testCorruptedBlock() throws IOException {
+		byte[] container = new LZ4ParallelCompressor(ForkJoinPool.commonPool(), 4096).compress(createData(20_000));
+		container[LZ4ParallelCompressor.HEADER_SIZE + 100] ^= 0x10;
+		Path file = write(container);
+		try (LZ4Container reader = new LZ4Container(FileChannel.open(file, StandardOpenOption.READ))) {
+			reader.decompress(new ByteArrayOutputStream());
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	private static Path write(byte[] data) throws IOException {
+		Path file = Files.createTempFile("gutils", ".lz4c");
+		Files.write(file, data);
+		return file;
+	}
+
+	private static byte[] createData(int length) {
+		Random random = new Random(length);
+		byte[] data = new byte[length];
+		for (int n = 0; n < length; n++) {
+			data[n] = (byte) (n % 251 < 200 ? n % 7 : random.nextInt(256));
+		}
+		return data;
+	}
+
+}
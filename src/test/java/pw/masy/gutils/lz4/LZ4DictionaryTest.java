@@ -0,0 +1,102 @@
+package pw.masy.gutils.lz4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import pw.masy.gutils.buffer.AdvancedByteBuffer;
+
+public class LZ4DictionaryTest {
+
+	@Test
+	public void testSmallPackets() {
+		Random random = new Random(11);
+		List<AdvancedByteBuffer> samples = new ArrayList<>();
+		for (int n = 0; n < 500; n++) {
+			samples.add(createPacket(random));
+		}
+		LZ4Dictionary dictionary = LZ4Dictionary.train(1, 16 * 1024, samples);
+		Assert.assertTrue(dictionary.getSize() > 0);
+		Assert.assertTrue(dictionary.getSize() <= 16 * 1024);
+		Assert.assertEquals(0, samples.get(0).getPosition());
+
+		long uncompressed = 0;
+		long plain = 0;
+		long withDictionary = 0;
+		for (int n = 0; n < 200; n++) {
+			AdvancedByteBuffer packet = createPacket(random);
+			byte[] data = packet.readByteArray(packet.getLimit());
+			byte[] compressed = dictionary.compress(data, 0, data.length);
+			Assert.assertArrayEquals(data, dictionary.decompress(compressed, 0, compressed.length, data.length));
+
+			uncompressed += data.length;
+			plain += LZ4Helper.COMPRESSOR.compress(data).length;
+			withDictionary += compressed.length;
+		}
+		Assert.assertTrue(uncompressed < plain * 1.3);
+		Assert.assertTrue(uncompressed > withDictionary * 2);
+	}
+
+	@Test
+	public void testBuffersAndVersions() {
+		Random random = new Random(12);
+		List<AdvancedByteBuffer> samples = new ArrayList<>();
+		for (int n = 0; n < 100; n++) {
+			samples.add(createPacket(random));
+		}
+		LZ4Dictionary dictionary = LZ4Dictionary.train(7, 4096, samples);
+
+		AdvancedByteBuffer serialized = new AdvancedByteBuffer(64);
+		dictionary.writeTo(serialized);
+		serialized.rewind();
+		LZ4Dictionary copy = LZ4Dictionary.readFrom(serialized);
+		Assert.assertEquals(7, copy.getId());
+		Assert.assertArrayEquals(dictionary.getContent(), copy.getContent());
+
+		AdvancedByteBuffer packet = createPacket(random);
+		byte[] data = packet.readByteArray(packet.getLimit());
+		packet.rewind();
+		AdvancedByteBuffer compressed = new AdvancedByteBuffer(64);
+		dictionary.compressInto(packet, compressed);
+		Assert.assertEquals(packet.getLimit(), packet.getPosition());
+
+		compressed.rewind();
+		AdvancedByteBuffer decompressed = new AdvancedByteBuffer(16);
+		copy.decompressFrom(compressed, decompressed);
+		Assert.assertEquals(data.length, decompressed.getPosition());
+		decompressed.rewind();
+		Assert.assertArrayEquals(data, decompressed.readByteArray(data.length));
+
+		compressed.rewind();
+		try {
+			new LZ4Dictionary(8, dictionary.getContent()).decompressFrom(compressed, new AdvancedByteBuffer(16));
+			Assert.fail();
+		} catch (IllegalArgumentException ignored) {
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooBig() {
+		new LZ4Dictionary(1, new byte[LZ4Dictionary.MAX_SIZE + 1]);
+	}
+
+	private static AdvancedByteBuffer createPacket(Random random) {
+		AdvancedByteBuffer buffer = new AdvancedByteBuffer(64);
+		int type = random.nextInt(3);
+		buffer.writeInt(0xCAFE0000 | type);
+		if (type == 0) {
+			buffer.writeString("EntityUpdatePacket").writeString("minecraft:zombie").writeLong(random.nextInt(1000));
+			buffer.writeDouble(random.nextInt(512) + 0.5).writeDouble(64).writeDouble(random.nextInt(512) + 0.25);
+			buffer.writeString("health").writeFloat(20).writeString("armor").writeFloat(random.nextInt(20));
+		} else if (type == 1) {
+			buffer.writeString("ChunkHeaderPacket").writeInt(random.nextInt(64)).writeInt(random.nextInt(64));
+			buffer.writeString("biome:plains").writeString("sections").writeByte(16).writeByteArray(new byte[32]);
+		} else {
+			buffer.writeString("PlayerInfoPacket").writeString("player-" + random.nextInt(100)).writeString("gamemode:survival");
+			buffer.writeLong(random.nextLong()).writeBoolean(random.nextBoolean());
+		}
+		return buffer.flip();
+	}
+
+}
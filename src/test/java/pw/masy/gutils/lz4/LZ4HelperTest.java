@@ -0,0 +1,44 @@
+package pw.masy.gutils.lz4;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import pw.masy.gutils.buffer.AdvancedByteBuffer;
+import pw.masy.gutils.buffer.DirectAdvancedByteBuffer;
+
+public class LZ4HelperTest {
+
+	@Test
+	public void testCompression() {
+		byte[] content = new byte[20000];
+		Random random = new Random(5);
+		for (int n = 0; n < content.length; n++) {
+			content[n] = (byte) (random.nextInt(4) == 0 ? random.nextInt() : n % 64);
+		}
+
+		AdvancedByteBuffer[] sources = new AdvancedByteBuffer[]{new AdvancedByteBuffer(16), new DirectAdvancedByteBuffer(16)};
+		AdvancedByteBuffer[] targets = new AdvancedByteBuffer[]{new AdvancedByteBuffer(16), new DirectAdvancedByteBuffer(16)};
+		for (AdvancedByteBuffer source : sources) {
+			source.clear();
+			source.writeInt(42).writeByteArrayRaw(content).flip();
+			source.readInt();
+			for (AdvancedByteBuffer target : targets) {
+				AdvancedByteBuffer compressed = new AdvancedByteBuffer(4);
+				compressed.writeByte(7);
+				LZ4Helper.compressInto(source.seek(4), compressed);
+				Assert.assertEquals(source.getLimit(), source.getPosition());
+				Assert.assertTrue(compressed.getPosition() < content.length);
+
+				int end = compressed.getPosition();
+				compressed.rewind().readByte();
+				target.clear().writeShort((short) 1);
+				LZ4Helper.decompressFrom(compressed, target);
+				Assert.assertEquals(end, compressed.getPosition());
+				Assert.assertEquals(2 + content.length, target.getPosition());
+				Assert.assertArrayEquals(content, Arrays.copyOfRange(new AdvancedByteBuffer(target).getData(), 2, 2 + content.length));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,156 @@
+package pw.masy.gutils.lz4;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Random;
+import net.jpountz.lz4.LZ4FrameInputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LZ4StreamTest {
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		byte[] data = createData(700_000);
+		for (LZ4BlockSize blockSize : new LZ4BlockSize[] {LZ4BlockSize.SIZE_64KB, LZ4BlockSize.SIZE_256KB}) {
+			for (boolean linked : new boolean[] {false, true}) {
+				for (boolean checksum : new boolean[] {false, true}) {
+					byte[] frame = compress(data, blockSize, linked, checksum);
+					Assert.assertTrue(frame.length < data.length);
+					Assert.assertArrayEquals(data, IOUtils.toByteArray(new LZ4DecompressingInputStream(new ByteArrayInputStream(frame))));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testFlushAndSingleBytes() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] data = createData(200_000);
+		try (OutputStream out = new LZ4CompressingOutputStream(bytes, LZ4BlockSize.SIZE_64KB, true, true)) {
+			for (int n = 0; n < data.length; n += 1000) {
+				out.write(data[n]);
+				out.write(data, n + 1, 999);
+				if (n % 7000 == 0)
+					out.flush();
+			}
+		}
+
+		InputStream in = new LZ4DecompressingInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		for (int n = 0; n < 1000; n++) {
+			Assert.assertEquals(data[n] & 0xFF, in.read());
+		}
+		Assert.assertEquals(1000, in.skip(1000));
+		byte[] rest = IOUtils.toByteArray(in);
+		Assert.assertEquals(data.length - 2000, rest.length);
+		Assert.assertEquals(data[2000], rest[0]);
+		Assert.assertEquals(-1, in.read());
+	}
+
+	@Test
+	public void testLinkedBlocksCompressBetter() throws IOException {
+		byte[] record = new byte[20_000];
+		new Random(3).nextBytes(record);
+		ByteArrayOutputStream independent = new ByteArrayOutputStream();
+		ByteArrayOutputStream linked = new ByteArrayOutputStream();
+		try (OutputStream a = new LZ4CompressingOutputStream(independent, LZ4BlockSize.SIZE_64KB, false, false);
+				OutputStream b = new LZ4CompressingOutputStream(linked, LZ4BlockSize.SIZE_64KB, true, false)) {
+			for (int n = 0; n < 20; n++) {
+				record[0] = (byte) n;
+				a.write(record);
+				a.flush();
+				b.write(record);
+				b.flush();
+			}
+		}
+
+		Assert.assertTrue(independent.size() > 20 * 19_000);
+		Assert.assertTrue(linked.size() < 20_000 + 20 * 100);
+	}
+
+	@Test
+	public void testCompatibility() throws IOException {
+		byte[] data = createData(300_000);
+		byte[] frame = compress(data, LZ4BlockSize.SIZE_256KB, false, true);
+		Assert.assertArrayEquals(data, IOUtils.toByteArray(new LZ4FrameInputStream(new ByteArrayInputStream(frame))));
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (OutputStream out = new LZ4FrameOutputStream(bytes, LZ4FrameOutputStream.BLOCKSIZE.SIZE_64KB, data.length,
+				LZ4FrameOutputStream.FLG.Bits.BLOCK_INDEPENDENCE, LZ4FrameOutputStream.FLG.Bits.BLOCK_CHECKSUM,
+				LZ4FrameOutputStream.FLG.Bits.CONTENT_SIZE, LZ4FrameOutputStream.FLG.Bits.CONTENT_CHECKSUM)) {
+			out.write(data);
+		}
+		byte[] frames = new byte[bytes.size() * 2 + 12];
+		System.arraycopy(bytes.toByteArray(), 0, frames, 0, bytes.size());
+		frames[bytes.size()] = 0x50;
+		frames[bytes.size() + 1] = 0x2A;
+		frames[bytes.size() + 2] = 0x4D;
+		frames[bytes.size() + 3] = 0x18;
+		frames[bytes.size() + 4] = 4;
+		System.arraycopy(bytes.toByteArray(), 0, frames, bytes.size() + 12, bytes.size());
+
+		byte[] decompressed = IOUtils.toByteArray(new LZ4DecompressingInputStream(new ByteArrayInputStream(frames)));
+		Assert.assertEquals(data.length * 2, decompressed.length);
+		for (int n = 0; n < data.length; n++) {
+			Assert.assertEquals(data[n], decompressed[n]);
+			Assert.assertEquals(data[n], decompressed[data.length + n]);
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testCorruptedContent() throws IOException {
+		byte[] data = createData(100_000);
+		byte[] frame = compress(data, LZ4BlockSize.SIZE_64KB, true, true);
+		frame[frame.length - 1] ^= 1;
+		IOUtils.toByteArray(new LZ4DecompressingInputStream(new ByteArrayInputStream(frame)));
+	}
+
+	@Test
+	public void testChannels() throws IOException {
+		byte[] data = createData(150_000);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (WritableByteChannel channel = LZ4Helper.newCompressingChannel(Channels.newChannel(bytes), LZ4BlockSize.SIZE_64KB, true, true)) {
+			channel.write(ByteBuffer.wrap(data));
+		}
+
+		ByteBuffer decompressed = ByteBuffer.allocate(data.length + 1);
+		try (ReadableByteChannel channel = LZ4Helper.newDecompressingChannel(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())))) {
+			while (channel.read(decompressed) >= 0) {
+			}
+		}
+		Assert.assertEquals(data.length, decompressed.position());
+		decompressed.flip().limit(data.length);
+		Assert.assertEquals(ByteBuffer.wrap(data), decompressed);
+	}
+
+	private static byte[] compress(byte[] data, LZ4BlockSize blockSize, boolean linked, boolean checksum) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (OutputStream out = new LZ4CompressingOutputStream(bytes, blockSize, linked, checksum)) {
+			out.write(data);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static byte[] createData(int length) {
+		Random random = new Random(length);
+		String[] words = {"chunk", "block", "entity", "player", "world", "region", "tile", "inventory"};
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(length);
+		while (bytes.size() < length) {
+			byte[] word = words[random.nextInt(words.length)].getBytes();
+			bytes.write(word, 0, word.length);
+			bytes.write(random.nextInt(256));
+		}
+		return Arrays.copyOf(bytes.toByteArray(), length);
+	}
+
+}
@@ -0,0 +1,114 @@
+package pw.masy.gutils.store;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pw.masy.gutils.xxhasher.XXHashHelper;
+
+public class BlobStoreTest {
+
+	@Rule public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testDeduplication() throws IOException {
+		byte[] empty = new byte[16384];
+		byte[] random = new byte[10000];
+		new Random(22).nextBytes(random);
+
+		try (BlobStore store = new BlobStore(this.folder.getRoot().toPath())) {
+			long emptyKey = store.put(empty);
+			for (int n = 0; n < 99; n++) {
+				Assert.assertEquals(emptyKey, store.put(empty.clone()));
+			}
+			long randomKey = store.put(random);
+			Assert.assertEquals(XXHashHelper.hash64(random), randomKey);
+			Assert.assertEquals(2, store.getBlobCount());
+			Assert.assertEquals(100, store.getReferences(emptyKey));
+			Assert.assertEquals(99L * empty.length, store.getDeduplicatedBytes());
+			Assert.assertTrue(store.getDiskSize() < random.length + 1000 + 100 * 13);
+
+			Assert.assertArrayEquals(empty, store.get(emptyKey));
+			Assert.assertArrayEquals(random, store.get(randomKey));
+			Assert.assertNull(store.get(emptyKey + 1));
+		}
+	}
+
+	@Test
+	public void testReferencesAndReopening() throws IOException {
+		Path directory = this.folder.getRoot().toPath();
+		Random random = new Random(23);
+		byte[][] blobs = new byte[50][];
+		long[] keys = new long[blobs.length];
+		try (BlobStore store = new BlobStore(directory, 4096)) {
+			for (int n = 0; n < blobs.length; n++) {
+				blobs[n] = new byte[random.nextInt(2000)];
+				random.nextBytes(blobs[n]);
+				keys[n] = store.put(blobs[n]);
+				store.retain(keys[n]);
+			}
+			for (int n = 0; n < blobs.length; n += 2) {
+				Assert.assertFalse(store.release(keys[n]));
+				Assert.assertTrue(store.release(keys[n]));
+			}
+			Assert.assertFalse(store.contains(keys[0]));
+		}
+
+		try (BlobStore store = new BlobStore(directory, 4096)) {
+			Assert.assertEquals(blobs.length / 2, store.getBlobCount());
+			for (int n = 1; n < blobs.length; n += 2) {
+				Assert.assertEquals(2, store.getReferences(keys[n]));
+				Assert.assertArrayEquals(blobs[n], store.get(keys[n]));
+			}
+
+			long before = store.getDiskSize();
+			store.compact();
+			Assert.assertTrue(store.getDiskSize() < before);
+			Assert.assertArrayEquals(blobs[1], store.get(keys[1]));
+			store.release(keys[1]);
+		}
+
+		try (BlobStore store = new BlobStore(directory, 4096)) {
+			Assert.assertEquals(blobs.length / 2, store.getBlobCount());
+			Assert.assertEquals(1, store.getReferences(keys[1]));
+			Assert.assertEquals(2, store.getReferences(keys[3]));
+			Assert.assertArrayEquals(blobs[49], store.get(keys[49]));
+		}
+	}
+
+	@Test
+	public void testInterruptedWrite() throws IOException {
+		Path directory = this.folder.getRoot().toPath();
+		long key;
+		try (BlobStore store = new BlobStore(directory)) {
+			key = store.put(new byte[] {1, 2, 3});
+			store.put(new byte[1000]);
+		}
+		Path segment = directory.resolve("segment-00000000.dat");
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 5);
+		}
+
+		try (BlobStore store = new BlobStore(directory)) {
+			Assert.assertEquals(1, store.getBlobCount());
+			Assert.assertArrayEquals(new byte[] {1, 2, 3}, store.get(key));
+			store.put(new byte[] {4});
+			Assert.assertEquals(2, store.getBlobCount());
+		}
+		Assert.assertTrue(Files.size(segment) > 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testReleaseUnknown() throws IOException {
+		try (BlobStore store = new BlobStore(this.folder.getRoot().toPath())) {
+			store.release(42);
+		}
+	}
+
+}
@@ -0,0 +1,106 @@
+package pw.masy.gutils.xxhasher;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class XXHash64HasherTest {
+
+	@Test
+	public void testArrays() {
+		Random random = new Random(21);
+		for (int length = 0; length < 80; length++) {
+			int offset = random.nextInt(5);
+			short[] shorts = new short[offset + length];
+			int[] ints = new int[offset + length];
+			long[] longs = new long[offset + length];
+			float[] floats = new float[offset + length];
+			double[] doubles = new double[offset + length];
+			for (int n = 0; n < offset + length; n++) {
+				shorts[n] = (short) random.nextInt();
+				ints[n] = random.nextInt();
+				longs[n] = random.nextLong();
+				floats[n] = random.nextFloat();
+				doubles[n] = random.nextGaussian();
+			}
+
+			ByteBuffer bytes = ByteBuffer.allocate(length * 8).order(ByteOrder.LITTLE_ENDIAN);
+			bytes.asShortBuffer().put(shorts, offset, length);
+			Assert.assertEquals(XXHashHelper.hash64(bytes.array(), 0, length * 2, 3), XXHashHelper.hash64(shorts, offset, length, 3));
+			bytes.asIntBuffer().put(ints, offset, length);
+			Assert.assertEquals(XXHashHelper.hash64(bytes.array(), 0, length * 4, 3), XXHashHelper.hash64(ints, offset, length, 3));
+			bytes.asLongBuffer().put(longs, offset, length);
+			Assert.assertEquals(XXHashHelper.hash64(bytes.array(), 0, length * 8, 3), XXHashHelper.hash64(longs, offset, length, 3));
+			bytes.asFloatBuffer().put(floats, offset, length);
+			Assert.assertEquals(XXHashHelper.hash64(bytes.array(), 0, length * 4, 3), XXHashHelper.hash64(floats, offset, length, 3));
+			bytes.asDoubleBuffer().put(doubles, offset, length);
+			Assert.assertEquals(XXHashHelper.hash64(bytes.array(), 0, length * 8, 3), XXHashHelper.hash64(doubles, offset, length, 3));
+		}
+		Assert.assertEquals(XXHashHelper.hash64(new byte[0]), XXHashHelper.hash64(new int[0]));
+	}
+
+	@Test
+	public void testMixedValues() {
+		Random random = new Random(22);
+		XXHash64Hasher hasher = new XXHash64Hasher(9);
+		ByteBuffer bytes = ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+		for (int n = 0; n < 300; n++) {
+			switch (random.nextInt(8)) {
+				case 0:
+					byte b = (byte) random.nextInt();
+					hasher.putByte(b);
+					bytes.put(b);
+					break;
+				case 1:
+					boolean bool = random.nextBoolean();
+					hasher.putBoolean(bool);
+					bytes.put((byte) (bool ? 1 : 0));
+					break;
+				case 2:
+					char c = (char) random.nextInt();
+					hasher.putChar(c);
+					bytes.putChar(c);
+					break;
+				case 3:
+					int i = random.nextInt();
+					hasher.putInt(i);
+					bytes.putInt(i);
+					break;
+				case 4:
+					double d = random.nextDouble();
+					hasher.putDouble(d);
+					bytes.putDouble(d);
+					break;
+				case 5:
+					int[] ints = {random.nextInt(), random.nextInt(), random.nextInt()};
+					hasher.putInts(ints, 0, ints.length);
+					bytes.asIntBuffer().put(ints);
+					bytes.position(bytes.position() + 12);
+					break;
+				case 6:
+					long[] longs = {random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong()};
+					hasher.putLongs(longs, 0, longs.length);
+					bytes.asLongBuffer().put(longs);
+					bytes.position(bytes.position() + 40);
+					break;
+				default:
+					byte[] data = new byte[random.nextInt(20)];
+					random.nextBytes(data);
+					hasher.putBytes(data, 0, data.length);
+					bytes.put(data);
+			}
+			Assert.assertEquals(bytes.position(), hasher.getLength());
+			Assert.assertEquals(XXHashHelper.hash64(bytes.array(), 0, bytes.position(), 9), hasher.getValue());
+		}
+
+		Assert.assertEquals(XXHashHelper.hash64(new byte[] {1, 0}, 0, 2, 9), hasher.reset().putChars("\u0001").getValue());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testRegionOutsideOfArray() {
+		XXHashHelper.hash64(new int[4], 2, 3, 0);
+	}
+
+}
@@ -0,0 +1,67 @@
+package pw.masy.gutils.xxhasher;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import net.jpountz.xxhash.StreamingXXHash32;
+import net.jpountz.xxhash.StreamingXXHash64;
+import org.junit.Assert;
+import org.junit.Test;
+import pw.masy.gutils.buffer.AdvancedByteBuffer;
+import pw.masy.gutils.buffer.DirectAdvancedByteBuffer;
+
+public class XXHashHelperTest {
+
+	@Test
+	public void testKnownValues() {
+		Assert.assertEquals(0x02CC5D05, XXHashHelper.hash32(new byte[0]));
+		Assert.assertEquals(0xEF46DB3751D8E999L, XXHashHelper.hash64(new byte[0]));
+	}
+
+	@Test
+	public void testMatchesStreamingHashers() {
+		byte[] data = new byte[1000];
+		new Random(4).nextBytes(data);
+		StreamingXXHash32 hasher32 = XXHashHelper.get32BitHasher(17);
+		StreamingXXHash64 hasher64 = XXHashHelper.get64BitHasher(17);
+		hasher32.update(data, 100, 333);
+		hasher64.update(data, 100, 333);
+
+		Assert.assertEquals(hasher32.getValue(), XXHashHelper.hash32(data, 100, 333, 17));
+		Assert.assertEquals(hasher64.getValue(), XXHashHelper.hash64(data, 100, 333, 17));
+		Assert.assertEquals(XXHashHelper.getHash32(XXHashHelper.get32BitHasher(0), data), XXHashHelper.hash32(data));
+		Assert.assertEquals(XXHashHelper.getHash64(XXHashHelper.get64BitHasher(0), data), XXHashHelper.hash64(data));
+	}
+
+	@Test
+	public void testBuffers() {
+		byte[] data = new byte[500];
+		new Random(8).nextBytes(data);
+		int expected32 = XXHashHelper.hash32(data, 50, 400, 0);
+		long expected64 = XXHashHelper.hash64(data, 50, 400, 0);
+
+		ByteBuffer nio = ByteBuffer.allocateDirect(data.length);
+		nio.put(data).position(50).limit(450);
+		Assert.assertEquals(expected32, XXHashHelper.hash32(nio));
+		Assert.assertEquals(expected64, XXHashHelper.hash64(nio));
+		Assert.assertEquals(50, nio.position());
+
+		AdvancedByteBuffer heap = new AdvancedByteBuffer(data.length);
+		DirectAdvancedByteBuffer offHeap = new DirectAdvancedByteBuffer(data.length);
+		for (AdvancedByteBuffer buffer : new AdvancedByteBuffer[] {heap, offHeap}) {
+			buffer.writeByteArrayRaw(data);
+			buffer.flip().seek(50);
+			Assert.assertEquals(expected32, XXHashHelper.hash32(buffer, 50, 400, 0));
+			Assert.assertEquals(expected64, XXHashHelper.hash64(buffer.slice(50, 400)));
+			Assert.assertEquals(expected64, XXHashHelper.hash64(buffer.duplicate(), 50, 400, 0));
+			Assert.assertEquals(XXHashHelper.hash64(data, 50, 450, 0), XXHashHelper.hash64(buffer));
+			Assert.assertEquals(50, buffer.getPosition());
+		}
+		offHeap.free();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRegionOutsideOfBuffer() {
+		XXHashHelper.hash64(new AdvancedByteBuffer(16), 8, 9, 0);
+	}
+
+}